@@ -97,7 +97,7 @@ public class PerfClientCommand extends PerfCommand {
    @Override
    protected void onExecuteBenchmark(final ConnectionFactory producerConnectionFactory, final Destination[] jmsDestinations, final ActionContext context) throws Exception {
       final ConnectionProtocol listenerProtocol = Objects.requireNonNullElse(this.consumerProtocol, protocol);
-      final String listenerUrl = Objects.requireNonNullElse(this.consumerUrl, brokerURL);
+      final String listenerUrl = this.consumerUrl != null && ioUring ? enableIoUring(this.consumerUrl, listenerProtocol) : Objects.requireNonNullElse(this.consumerUrl, brokerURL);
       final ConnectionFactory consumerConnectionFactory = createConnectionFactory(listenerUrl, user, password, null, listenerProtocol);
       if (consumerConnections == 0) {
          if (sharedSubscription > 0) {
@@ -28,6 +28,8 @@ import java.util.concurrent.locks.LockSupport;
 
 import org.apache.activemq.artemis.cli.commands.ActionContext;
 import org.apache.activemq.artemis.cli.commands.messages.ConnectionAbstract;
+import org.apache.activemq.artemis.cli.commands.messages.ConnectionProtocol;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.cli.commands.messages.DestAbstract;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
@@ -63,6 +65,9 @@ public abstract class PerfCommand extends ConnectionAbstract {
    @Option(names = "--commit-interval", description = "Transaction size.")
    protected long commitInterval;
 
+   @Option(names = "--io-uring", description = "Use the native io_uring transport for CORE connections, falling back to epoll or nio if not supported. Default: disabled.")
+   protected boolean ioUring = false;
+
    @Parameters(description = "List of destination names. Each name can be prefixed with queue:// or topic:// and can be an FQQN in the form of <address>::<queue>. Default: queue://TEST.")
    protected List<String> destinations;
 
@@ -75,6 +80,9 @@ public abstract class PerfCommand extends ConnectionAbstract {
          context.out.println("--tx-size is deprecated, please use --commit-interval");
          commitInterval = txSize;
       }
+      if (ioUring) {
+         brokerURL = enableIoUring(brokerURL, protocol);
+      }
       final ConnectionFactory factory = createConnectionFactory(brokerURL, user, password, null, protocol);
       final Destination[] jmsDestinations = lookupDestinations(factory, destinations, numDestinations);
       Runtime.getRuntime().addShutdownHook(new Thread(() -> {
@@ -93,6 +101,13 @@ public abstract class PerfCommand extends ConnectionAbstract {
       return null;
    }
 
+   protected static String enableIoUring(String url, ConnectionProtocol protocol) {
+      if (url == null || protocol != ConnectionProtocol.CORE) {
+         return url;
+      }
+      return url + (url.contains("?") ? "&" : "?") + TransportConstants.USE_IO_URING_PROP_NAME + "=true";
+   }
+
    protected abstract void onExecuteBenchmark(ConnectionFactory factory,
                                               Destination[] jmsDestinations,
                                               ActionContext context) throws Exception;
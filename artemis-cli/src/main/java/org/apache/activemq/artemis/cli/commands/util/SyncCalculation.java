@@ -28,6 +28,7 @@ import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.aio.AIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.dsync.DSyncSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.mapped.MappedSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
@@ -247,6 +248,11 @@ public class SyncCalculation {
             factory.start();
             ((AIOSequentialFileFactory) factory).disableBufferReuse();
             return factory;
+         case DSYNC:
+            factory = new DSyncSequentialFileFactory(datafolder, 1).setDatasync(datasync);
+            ((DSyncSequentialFileFactory) factory).disableBufferReuse();
+            factory.start();
+            return factory;
          case MAPPED:
             factory = new MappedSequentialFileFactory(datafolder, fileSize, false, 0, 0, null)
                .setDatasync(datasync)
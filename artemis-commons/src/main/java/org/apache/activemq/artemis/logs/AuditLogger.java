@@ -2888,4 +2888,18 @@ public interface AuditLogger {
 
    @LogMessage(id = 601801, value = "User {} is deleting a address on target resource: {} {}", level = LogMessage.Level.INFO)
    void destroyAddress(String user, Object source, Object... args);
+
+   static void getJournalLoadTimesAsJSON(Object source) {
+      BASE_LOGGER.getJournalLoadTimesAsJSON(getCaller(), source);
+   }
+
+   @LogMessage(id = 601802, value = "User {} is getting journal load times as json on target resource: {}", level = LogMessage.Level.INFO)
+   void getJournalLoadTimesAsJSON(String user, Object source);
+
+   static void getReplicaSyncProgressAsJSON(Object source) {
+      BASE_LOGGER.getReplicaSyncProgressAsJSON(getCaller(), source);
+   }
+
+   @LogMessage(id = 601803, value = "User {} is getting replica sync progress as json on target resource: {}", level = LogMessage.Level.INFO)
+   void getReplicaSyncProgressAsJSON(String user, Object source);
 }
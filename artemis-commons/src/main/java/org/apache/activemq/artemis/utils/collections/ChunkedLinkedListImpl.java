@@ -0,0 +1,751 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link LinkedList} storing its elements in a chain of fixed size arrays (chunks) rather than in a node per element,
+ * with the same semantics as {@link LinkedListImpl}: multiple iterators can exist at the same time and they see any
+ * element added or removed either directly or via iterators, including {@link LinkedListIterator#repeat()}.
+ * <p>
+ * An element costs a single array slot, instead of a {@link LinkedListImpl.Node} when the element isn't a node
+ * itself. An element removed from the middle of a chunk leaves a hole which is skipped by the iterators, and a chunk
+ * left almost empty is merged into its neighbours, so the chunks stay reasonably dense.
+ * <p>
+ * {@link #removeWithID(String, long)} is only supported for elements which are {@link LinkedListImpl.Node}s, as
+ * required by the {@link NodeStore}. While a {@link NodeStore} is set the list also keeps the chunk of each element, so
+ * removing an element by its ID only scans that chunk rather than the whole list.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ChunkedLinkedListImpl<E> implements LinkedList<E> {
+
+   public static final int DEFAULT_CHUNK_SIZE = 128;
+
+   private static final int INITIAL_ITERATOR_ARRAY_SIZE = 10;
+
+   private final int chunkSize;
+
+   private final Comparator<E> comparator;
+
+   // every chunk between head and tail holds at least an element, at its start and end - 1 positions
+   private Chunk head;
+
+   private Chunk tail;
+
+   private int size;
+
+   // We store in an array rather than a Map for the best performance
+   private volatile Iterator[] iters;
+
+   private int numIters;
+
+   private NodeStore<E> nodeStore;
+
+   // the chunk of each element, only while there is a nodeStore
+   private Map<Object, Chunk> chunkIndex;
+
+   public ChunkedLinkedListImpl() {
+      this(DEFAULT_CHUNK_SIZE, null);
+   }
+
+   public ChunkedLinkedListImpl(Comparator<E> comparator) {
+      this(DEFAULT_CHUNK_SIZE, comparator);
+   }
+
+   public ChunkedLinkedListImpl(int chunkSize, Comparator<E> comparator) {
+      if (chunkSize < 2) {
+         throw new IllegalArgumentException("chunkSize must be at least 2, was " + chunkSize);
+      }
+      this.chunkSize = chunkSize;
+      this.comparator = comparator;
+      this.iters = createIteratorArray(INITIAL_ITERATOR_ARRAY_SIZE);
+   }
+
+   @Override
+   public void clearID() {
+      if (nodeStore != null) {
+         nodeStore.clear();
+      }
+      nodeStore = null;
+      chunkIndex = null;
+   }
+
+   @Override
+   public void setNodeStore(NodeStore<E> store) {
+      this.nodeStore = store;
+      forEach(this::putID);
+      this.chunkIndex = new IdentityHashMap<>(size);
+      for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+         for (int i = chunk.start; i < chunk.end; i++) {
+            if (chunk.elements[i] != null) {
+               chunkIndex.put(chunk.elements[i], chunk);
+            }
+         }
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private void putID(E element) {
+      if (!(element instanceof LinkedListImpl.Node)) {
+         throw new IllegalStateException("A NodeStore requires the elements to be LinkedListImpl.Node, found " + element.getClass());
+      }
+      nodeStore.storeNode(element, (LinkedListImpl.Node<E>) element);
+   }
+
+   private void itemAdded(E element) {
+      Objects.requireNonNull(element, "null elements are not supported");
+      if (nodeStore != null) {
+         putID(element);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private void itemRemoved(E element) {
+      if (nodeStore != null) {
+         nodeStore.removeNode(element, (LinkedListImpl.Node<E>) element);
+         chunkIndex.remove(element);
+      }
+   }
+
+   private void itemPlaced(Object element, Chunk chunk) {
+      if (chunkIndex != null) {
+         chunkIndex.put(element, chunk);
+      }
+   }
+
+   @Override
+   public void addHead(E e) {
+      itemAdded(e);
+      if (head == null || head.start == 0) {
+         linkFirst(new Chunk(chunkSize, chunkSize));
+      }
+      head.elements[--head.start] = e;
+      head.live++;
+      size++;
+      itemPlaced(e, head);
+   }
+
+   @Override
+   public void addTail(E e) {
+      itemAdded(e);
+      if (tail == null || tail.end == chunkSize) {
+         linkLast(new Chunk(chunkSize, 0));
+      }
+      tail.elements[tail.end++] = e;
+      tail.live++;
+      size++;
+      itemPlaced(e, tail);
+   }
+
+   /**
+    * Adds the element before the first element which isn't lower than it, according to the comparator, scanning from
+    * the head of the list.
+    */
+   @Override
+   public void addSorted(E e) {
+      Objects.requireNonNull(comparator, "comparator=null");
+
+      if (size == 0 || comparator.compare(peek(), e) <= 0) {
+         addHead(e);
+         return;
+      }
+
+      // as in LinkedListImpl, most of the times the element goes to the end of the list
+      if (comparator.compare(tail.element(tail.end - 1), e) >= 0) {
+         addTail(e);
+         return;
+      }
+
+      for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+         for (int i = chunk.start; i < chunk.end; i++) {
+            final E element = chunk.element(i);
+            if (element != null && comparator.compare(element, e) <= 0) {
+               itemAdded(e);
+               itemPlaced(e, insertBefore(chunk, i, e));
+               size++;
+               return;
+            }
+         }
+      }
+
+      // the tail was compared before scanning, so this can only happen with a buggy comparator or concurrent access
+      throw new IllegalStateException("Cannot find a suitable place for your element, There's a mismatch in the comparator or there was concurrent access on the queue");
+   }
+
+   @Override
+   public E peek() {
+      return head == null ? null : head.element(head.start);
+   }
+
+   @Override
+   public E poll() {
+      if (head == null) {
+         return null;
+      }
+      return removeAt(head, head.start);
+   }
+
+   @Override
+   public E get(int position) {
+      int remaining = position;
+      for (Chunk chunk = head; chunk != null && remaining >= 0; chunk = chunk.next) {
+         if (remaining < chunk.live) {
+            for (int i = chunk.start; i < chunk.end; i++) {
+               if (chunk.elements[i] != null && remaining-- == 0) {
+                  return chunk.element(i);
+               }
+            }
+         }
+         remaining -= chunk.live;
+      }
+      throw new IndexOutOfBoundsException(position + " > " + size());
+   }
+
+   @Override
+   public synchronized E removeWithID(String listID, long id) {
+      assert nodeStore != null; // it is assumed the code will call setNodeStore before callin removeWithID
+
+      final LinkedListImpl.Node<E> node = nodeStore.getNode(listID, id);
+      if (node == null) {
+         return null;
+      }
+
+      final E element = node.val();
+      final Chunk chunk = chunkIndex.get(element);
+      if (chunk == null) {
+         return null;
+      }
+      for (int i = chunk.start; i < chunk.end; i++) {
+         if (chunk.elements[i] == element) {
+            return removeAt(chunk, i);
+         }
+      }
+      throw new IllegalStateException("Element " + element + " isn't on its indexed chunk");
+   }
+
+   @Override
+   public void forEach(Consumer<E> consumer) {
+      for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+         for (int i = chunk.start; i < chunk.end; i++) {
+            final E element = chunk.element(i);
+            if (element != null) {
+               consumer.accept(element);
+            }
+         }
+      }
+   }
+
+   @Override
+   public synchronized void clear() {
+      if (nodeStore != null) {
+         forEach(this::itemRemoved);
+      }
+      // help GC, as in LinkedListImpl
+      for (Chunk chunk = head; chunk != null; ) {
+         final Chunk next = chunk.next;
+         chunk.next = chunk.prev = null;
+         chunk = next;
+      }
+      head = tail = null;
+      size = 0;
+      for (int i = 0; i < numIters; i++) {
+         iters[i].reset();
+      }
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public LinkedListIterator<E> iterator() {
+      return new Iterator();
+   }
+
+   public int numIters() {
+      return numIters;
+   }
+
+   /**
+    * {@return the number of chunks in use, for test assertions}
+    */
+   public int numChunks() {
+      int chunks = 0;
+      for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+         chunks++;
+      }
+      return chunks;
+   }
+
+   @Override
+   public String toString() {
+      final StringBuilder str = new StringBuilder("ChunkedLinkedListImpl [ ");
+      forEach(e -> str.append(e).append(", "));
+      return str.append("]").toString();
+   }
+
+   private void linkFirst(Chunk chunk) {
+      chunk.next = head;
+      if (head == null) {
+         tail = chunk;
+      } else {
+         head.prev = chunk;
+      }
+      head = chunk;
+   }
+
+   private void linkLast(Chunk chunk) {
+      chunk.prev = tail;
+      if (tail == null) {
+         head = chunk;
+      } else {
+         tail.next = chunk;
+      }
+      tail = chunk;
+   }
+
+   private void linkAfter(Chunk chunk, Chunk newChunk) {
+      if (chunk == tail) {
+         linkLast(newChunk);
+      } else {
+         newChunk.prev = chunk;
+         newChunk.next = chunk.next;
+         chunk.next.prev = newChunk;
+         chunk.next = newChunk;
+      }
+   }
+
+   private void unlink(Chunk chunk) {
+      if (chunk.prev == null) {
+         head = chunk.next;
+      } else {
+         chunk.prev.next = chunk.next;
+      }
+      if (chunk.next == null) {
+         tail = chunk.prev;
+      } else {
+         chunk.next.prev = chunk.prev;
+      }
+      chunk.next = chunk.prev = null;
+   }
+
+   private E removeAt(Chunk chunk, int index) {
+      final E element = chunk.element(index);
+      chunk.elements[index] = null;
+      chunk.live--;
+      size--;
+      itemRemoved(element);
+
+      if (chunk.iterCount != 0) {
+         nudgeIterators(chunk, index);
+      }
+
+      if (chunk.live == 0) {
+         unlink(chunk);
+      } else {
+         while (chunk.elements[chunk.start] == null) {
+            chunk.start++;
+         }
+         while (chunk.elements[chunk.end - 1] == null) {
+            chunk.end--;
+         }
+         if (chunk.live <= chunkSize / 4) {
+            tryMerge(chunk);
+         }
+      }
+      return element;
+   }
+
+   /**
+    * Moves the elements of a chunk left almost empty into one of its neighbours, if they fit.
+    */
+   private void tryMerge(Chunk chunk) {
+      final Chunk prev = chunk.prev;
+      if (prev != null && prev.live + chunk.live <= chunkSize) {
+         if (chunkSize - prev.end < chunk.live) {
+            compact(prev);
+         }
+         for (int i = chunk.start; i < chunk.end; i++) {
+            if (chunk.elements[i] != null) {
+               moveIterators(chunk, i, prev, prev.end);
+               itemPlaced(chunk.elements[i], prev);
+               prev.elements[prev.end++] = chunk.elements[i];
+            }
+         }
+         prev.live += chunk.live;
+         unlink(chunk);
+         return;
+      }
+      final Chunk next = chunk.next;
+      if (next != null && next.live + chunk.live <= chunkSize && next.start >= chunk.live) {
+         for (int i = chunk.end - 1; i >= chunk.start; i--) {
+            if (chunk.elements[i] != null) {
+               moveIterators(chunk, i, next, next.start - 1);
+               itemPlaced(chunk.elements[i], next);
+               next.elements[--next.start] = chunk.elements[i];
+            }
+         }
+         next.live += chunk.live;
+         unlink(chunk);
+      }
+   }
+
+   /**
+    * Moves the elements of a chunk to its beginning, removing the holes between them.
+    */
+   private void compact(Chunk chunk) {
+      int to = 0;
+      for (int i = chunk.start; i < chunk.end; i++) {
+         if (chunk.elements[i] != null) {
+            if (i != to) {
+               moveIterators(chunk, i, chunk, to);
+               chunk.elements[to] = chunk.elements[i];
+               chunk.elements[i] = null;
+            }
+            to++;
+         }
+      }
+      chunk.start = 0;
+      chunk.end = to;
+   }
+
+   /**
+    * {@return the chunk the element was inserted into}
+    */
+   private Chunk insertBefore(Chunk chunk, int index, E e) {
+      if (index > chunk.start && chunk.elements[index - 1] == null) {
+         // there is a hole right before the position
+         chunk.elements[index - 1] = e;
+         chunk.live++;
+      } else if (index == chunk.start && chunk.start > 0) {
+         chunk.elements[--chunk.start] = e;
+         chunk.live++;
+      } else if (index == chunk.start && chunk.prev != null && chunk.prev.end < chunkSize) {
+         final Chunk prev = chunk.prev;
+         prev.elements[prev.end++] = e;
+         prev.live++;
+         return prev;
+      } else if (index == chunk.start) {
+         final Chunk newChunk = new Chunk(chunkSize, chunkSize);
+         if (chunk.prev == null) {
+            linkFirst(newChunk);
+         } else {
+            linkAfter(chunk.prev, newChunk);
+         }
+         newChunk.elements[--newChunk.start] = e;
+         newChunk.live++;
+         return newChunk;
+      } else if (chunk.end < chunkSize) {
+         for (int i = chunk.end - 1; i >= index; i--) {
+            moveIterators(chunk, i, chunk, i + 1);
+         }
+         System.arraycopy(chunk.elements, index, chunk.elements, index + 1, chunk.end - index);
+         chunk.elements[index] = e;
+         chunk.end++;
+         chunk.live++;
+      } else if (chunk.start > 0) {
+         for (int i = chunk.start; i < index; i++) {
+            moveIterators(chunk, i, chunk, i - 1);
+         }
+         System.arraycopy(chunk.elements, chunk.start, chunk.elements, chunk.start - 1, index - chunk.start);
+         chunk.elements[index - 1] = e;
+         chunk.start--;
+         chunk.live++;
+      } else {
+         // the chunk is full: the elements from the position on move to a new chunk
+         final Chunk newChunk = new Chunk(chunkSize, 0);
+         for (int i = index; i < chunk.end; i++) {
+            if (chunk.elements[i] != null) {
+               moveIterators(chunk, i, newChunk, newChunk.end);
+               itemPlaced(chunk.elements[i], newChunk);
+               newChunk.elements[newChunk.end++] = chunk.elements[i];
+               newChunk.live++;
+               chunk.elements[i] = null;
+               chunk.live--;
+            }
+         }
+         chunk.end = index;
+         linkAfter(chunk, newChunk);
+         chunk.elements[chunk.end++] = e;
+         chunk.live++;
+      }
+      return chunk;
+   }
+
+   private synchronized void moveIterators(Chunk from, int fromIndex, Chunk to, int toIndex) {
+      if (from.iterCount == 0) {
+         return;
+      }
+      for (int i = 0; i < numIters; i++) {
+         final Iterator iter = iters[i];
+         if (iter.chunk == from && iter.index == fromIndex) {
+            iter.moveTo(to, toIndex);
+         }
+      }
+   }
+
+   private synchronized void nudgeIterators(Chunk chunk, int index) {
+      for (int i = 0; i < numIters; i++) {
+         final Iterator iter = iters[i];
+         if (iter.chunk == chunk && iter.index == index) {
+            iter.nudged();
+         }
+      }
+   }
+
+   private Iterator[] createIteratorArray(int size) {
+      return (Iterator[]) Array.newInstance(Iterator.class, size);
+   }
+
+   private synchronized void addIter(Iterator iter) {
+      if (numIters == iters.length) {
+         final Iterator[] newIters = createIteratorArray(2 * numIters);
+         System.arraycopy(iters, 0, newIters, 0, numIters);
+         iters = newIters;
+      }
+      iters[numIters++] = iter;
+   }
+
+   private synchronized void removeIter(Iterator iter) {
+      for (int i = 0; i < numIters; i++) {
+         if (iter == iters[i]) {
+            System.arraycopy(iters, i + 1, iters, i, numIters - i - 1);
+            iters[--numIters] = null;
+            if (iter.chunk != null) {
+               iter.chunk.iterCount--;
+               iter.chunk = null;
+            }
+            return;
+         }
+      }
+
+      throw new IllegalStateException("Cannot find iter to remove");
+   }
+
+   private static final class Chunk {
+
+      private final Object[] elements;
+
+      // the positions of the first element and after the last element
+      private int start;
+
+      private int end;
+
+      // the number of elements, which can be lower than end - start because of holes
+      private int live;
+
+      // the number of iterators positioned on this chunk
+      private int iterCount;
+
+      private Chunk prev;
+
+      private Chunk next;
+
+      private Chunk(int size, int position) {
+         elements = new Object[size];
+         start = position;
+         end = position;
+      }
+
+      @SuppressWarnings("unchecked")
+      private <E> E element(int index) {
+         return (E) elements[index];
+      }
+   }
+
+   public class Iterator implements LinkedListIterator<E> {
+
+      // the position of the current element, always an element of the list unless chunk is null
+      private Chunk chunk;
+
+      private int index;
+
+      // whether the current element was already returned by next
+      private boolean returned;
+
+      // whether there is an element to be removed by removeLastElement
+      private boolean last;
+
+      private boolean repeat;
+
+      Iterator() {
+         // as in LinkedListImpl, the iterator starts at the current head of the list
+         start();
+
+         addIter(this);
+      }
+
+      @Override
+      public void repeat() {
+         repeat = true;
+      }
+
+      @Override
+      public boolean hasNext() {
+         synchronized (ChunkedLinkedListImpl.this) {
+            start();
+
+            if (chunk != null && (!returned || repeat)) {
+               return true;
+            }
+
+            return canAdvance();
+         }
+      }
+
+      @Override
+      public E next() {
+         synchronized (ChunkedLinkedListImpl.this) {
+            start();
+
+            if (repeat) {
+               repeat = false;
+
+               if (chunk != null) {
+                  return chunk.element(index);
+               }
+               throw new NoSuchElementException();
+            }
+
+            if (chunk == null || returned) {
+               if (!canAdvance()) {
+                  throw new NoSuchElementException();
+               }
+               advance();
+            }
+
+            returned = true;
+
+            last = true;
+
+            return chunk.element(index);
+         }
+      }
+
+      @Override
+      public void remove() {
+         removeLastElement();
+      }
+
+      @Override
+      public E removeLastElement() {
+         synchronized (ChunkedLinkedListImpl.this) {
+            if (!last) {
+               throw new NoSuchElementException();
+            }
+
+            if (chunk == null) {
+               return null;
+            }
+
+            final E element = removeAt(chunk, index);
+
+            // as in LinkedListImpl, the element this iterator moved to hasn't been returned yet
+            last = false;
+
+            returned = false;
+
+            return element;
+         }
+      }
+
+      @Override
+      public void close() {
+         removeIter(this);
+      }
+
+      private void start() {
+         if (chunk == null && head != null) {
+            moveTo(head, head.start);
+            returned = false;
+         }
+      }
+
+      private void reset() {
+         chunk = null;
+         returned = false;
+      }
+
+      private void moveTo(Chunk newChunk, int newIndex) {
+         if (chunk != newChunk) {
+            if (chunk != null) {
+               chunk.iterCount--;
+            }
+            if (newChunk != null) {
+               newChunk.iterCount++;
+            }
+            chunk = newChunk;
+         }
+         index = newIndex;
+      }
+
+      private boolean canAdvance() {
+         if (chunk == null) {
+            return false;
+         }
+         for (int i = index + 1; i < chunk.end; i++) {
+            if (chunk.elements[i] != null) {
+               return true;
+            }
+         }
+         return chunk.next != null;
+      }
+
+      private void advance() {
+         for (int i = index + 1; i < chunk.end; i++) {
+            if (chunk.elements[i] != null) {
+               index = i;
+               return;
+            }
+         }
+         moveTo(chunk.next, chunk.next.start);
+      }
+
+      /**
+       * The current element was removed: this iterator moves to the next element, or to the previous one if there is
+       * no next element, as {@link LinkedListImpl} does.
+       */
+      private void nudged() {
+         if (canAdvance()) {
+            advance();
+            returned = false;
+            return;
+         }
+         for (int i = index - 1; i >= chunk.start; i--) {
+            if (chunk.elements[i] != null) {
+               index = i;
+               return;
+            }
+         }
+         if (chunk.prev != null) {
+            moveTo(chunk.prev, chunk.prev.end - 1);
+         } else {
+            moveTo(null, 0);
+            returned = false;
+         }
+      }
+   }
+}
@@ -24,6 +24,11 @@ public interface LinkedList<E> {
 
    void addTail(E e);
 
+   /**
+    * Adds the element keeping the order of the comparator of the list, if any.
+    */
+   void addSorted(E e);
+
    E get(int position);
 
    E poll();
@@ -199,6 +199,7 @@ public class LinkedListImpl<E> implements LinkedList<E> {
       }
    }
 
+   @Override
    public void addSorted(E e) {
       final Node<E> localLastAdd = lastAdd;
 
@@ -260,7 +261,7 @@ public class LinkedListImpl<E> implements LinkedList<E> {
          //
          // Also I'm not bothering about creating a Logger ID for this, because the only reason for this code to exist
          // is because my OCD level is not letting this out.
-         throw new IllegalStateException("Cannot find a suitable place for your element, There's a mismatch in the comparator or there was concurrent adccess on the queue");
+         throw new IllegalStateException("Cannot find a suitable place for your element, There's a mismatch in the comparator or there was concurrent access on the queue");
       }
    }
 
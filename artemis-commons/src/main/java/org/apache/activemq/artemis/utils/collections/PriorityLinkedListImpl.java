@@ -31,7 +31,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    private static final AtomicIntegerFieldUpdater<PriorityLinkedListImpl> SIZE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(PriorityLinkedListImpl.class, "size");
 
-   protected final LinkedListImpl<E>[] levels;
+   protected final LinkedList<E>[] levels;
 
    private volatile int size;
 
@@ -46,15 +46,22 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
    }
 
    public PriorityLinkedListImpl(final int priorities) {
-      this(priorities, null);
+      this(priorities, (Comparator<E>) null);
    }
 
 
    public PriorityLinkedListImpl(final int priorities, Comparator<E> comparator) {
-      levels = (LinkedListImpl<E>[]) Array.newInstance(LinkedListImpl.class, priorities);
+      this(priorities, () -> new LinkedListImpl<>(comparator));
+   }
+
+   /**
+    * @param levelFactory creates the list of each priority level, eg a {@link ChunkedLinkedListImpl}
+    */
+   public PriorityLinkedListImpl(final int priorities, Supplier<LinkedList<E>> levelFactory) {
+      levels = (LinkedList<E>[]) Array.newInstance(LinkedList.class, priorities);
 
       for (int i = 0; i < priorities; i++) {
-         levels[i] = new LinkedListImpl<>(comparator);
+         levels[i] = levelFactory.get();
       }
    }
 
@@ -134,7 +141,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    @Override
    public E peek() {
-      for (LinkedListImpl<E> level : levels) {
+      for (LinkedList<E> level : levels) {
          E value = level.peek();
          if (value != null) {
             return value;
@@ -155,7 +162,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
       // TODO - A better prioritization algorithm
 
       for (int i = highestPriority; i >= 0; i--) {
-         LinkedListImpl<E> ll = levels[i];
+         LinkedList<E> ll = levels[i];
 
          if (ll.size() != 0) {
             e = ll.poll();
@@ -179,7 +186,7 @@ public class PriorityLinkedListImpl<E> implements PriorityLinkedList<E> {
 
    @Override
    public void clear() {
-      for (LinkedListImpl<E> list : levels) {
+      for (LinkedList<E> list : levels) {
          list.clear();
       }
 
@@ -310,8 +310,14 @@ public class TypedProperties {
    }
 
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
+      return toSimpleString(key, doGetProperty(key));
+   }
 
+   /**
+    * {@return {@code value} of the {@code key} property converted as {@link #getSimpleStringProperty(SimpleString)}
+    * does}
+    */
+   public static SimpleString toSimpleString(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
       if (value == null) {
          return null;
       }
@@ -500,6 +506,73 @@ public class TypedProperties {
     * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
     */
    public static boolean searchProperty(SimpleString key, ByteBuf buffer, int startIndex) {
+      return searchPropertyIndex(key, buffer, startIndex) >= 0;
+   }
+
+   /**
+    * Performs a search as {@link #searchProperty(SimpleString, ByteBuf, int)} and decodes the value of the {@code key}
+    * property only, without decoding the other properties.
+    *
+    * @return the value of the {@code key} property, as {@link #getProperty(SimpleString)} would return it, or
+    * {@code null} if not found
+    * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
+    */
+   public static Object searchPropertyValue(SimpleString key, ByteBuf buffer, int startIndex) {
+      int index = searchPropertyIndex(key, buffer, startIndex);
+      if (index < 0) {
+         return null;
+      }
+      byte type = buffer.getByte(index);
+      index++;
+      switch (type) {
+         case NULL: {
+            return null;
+         }
+         case CHAR: {
+            return (char) buffer.getShort(index);
+         }
+         case BOOLEAN: {
+            return buffer.getBoolean(index);
+         }
+         case BYTE: {
+            return buffer.getByte(index);
+         }
+         case BYTES: {
+            final byte[] bytes = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, bytes);
+            return bytes;
+         }
+         case SHORT: {
+            return buffer.getShort(index);
+         }
+         case INT: {
+            return buffer.getInt(index);
+         }
+         case LONG: {
+            return buffer.getLong(index);
+         }
+         case FLOAT: {
+            return buffer.getFloat(index);
+         }
+         case DOUBLE: {
+            return buffer.getDouble(index);
+         }
+         case STRING: {
+            final byte[] data = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, data);
+            return SimpleString.of(data);
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
+   /**
+    * {@return the index of the type of the value of the {@code key} property in {@code buffer} or {@code -1} if not
+    * found}
+    */
+   private static int searchPropertyIndex(SimpleString key, ByteBuf buffer, int startIndex) {
       // It won't implement a straight linear search for key
       // because it would risk to find a SimpleString encoded property value
       // equals to the key we're searching for!
@@ -507,7 +580,7 @@ public class TypedProperties {
       byte b = buffer.getByte(index);
       index++;
       if (b == DataConstants.NULL) {
-         return false;
+         return -1;
       }
       final int numHeaders = buffer.getInt(index);
       index += Integer.BYTES;
@@ -515,10 +588,10 @@ public class TypedProperties {
          final int keyLength = buffer.getInt(index);
          index += Integer.BYTES;
          if (key.equals(buffer, index, keyLength)) {
-            return true;
+            return index + keyLength;
          }
          if (i == numHeaders - 1) {
-            return false;
+            return -1;
          }
          index += keyLength;
          byte type = buffer.getByte(index);
@@ -563,7 +636,7 @@ public class TypedProperties {
             }
          }
       }
-      return false;
+      return -1;
    }
 
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
@@ -256,6 +256,12 @@ public final class ActiveMQDefaultConfiguration {
    // If true the whole page would be read, otherwise just seek and read while getting message
    private static boolean DEFAULT_READ_WHOLE_PAGE = false;
 
+   // the size in bytes of the broker wide cache of the page files being read, -1 disables it
+   private static long DEFAULT_PAGE_READ_CACHE_MAX_SIZE = -1;
+
+   // the size in bytes of the pages that can be read ahead of the paging cursors across the broker, -1 disables it
+   private static long DEFAULT_PAGE_PREFETCH_MAX_SIZE = -1;
+
    // the directory to store the journal files in
    private static String DEFAULT_JOURNAL_DIR = "data/journal";
 
@@ -288,6 +294,21 @@ public final class ActiveMQDefaultConfiguration {
    // The time to wait when opening a new journal file before failing
    private static int DEFAULT_JOURNAL_FILE_OPEN_TIMEOUT = 5;
 
+   // the number of independent partitions the message journal records are spread across
+   private static int DEFAULT_JOURNAL_PARTITIONS = 1;
+
+   // the number of threads reading the journal files and reloading the queues on startup
+   private static int DEFAULT_JOURNAL_LOAD_THREADS = 1;
+
+   // the size in bytes of the frames the replication records are batched in before being sent to the backup, -1 disables it
+   private static int DEFAULT_REPLICATION_BATCH_MAX_SIZE = -1;
+
+   // the time in nanoseconds a replication batch can wait for more records before being sent to the backup
+   private static long DEFAULT_REPLICATION_BATCH_TIMEOUT = 0;
+
+   // the number of files sent at the same time to a backup during the initial replication synchronization
+   private static int DEFAULT_REPLICATION_SYNC_THREADS = 1;
+
    // The minimal number of data files before we can start compacting
    private static int DEFAULT_JOURNAL_COMPACT_MIN_FILES = 10;
 
@@ -692,6 +713,9 @@ public final class ActiveMQDefaultConfiguration {
    // Whether to persist MQTT subscriptions
    private static boolean DEFAULT_MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED = true;
 
+   // Whether to keep MQTT retained messages in a dedicated store rather than in a queue per topic
+   private static boolean DEFAULT_MQTT_RETAINED_MESSAGE_STORE_ENABLED = false;
+
    // If SESSION-notifications should be suppressed or not
    public static boolean DEFAULT_SUPPRESS_SESSION_NOTIFICATIONS = false;
 
@@ -1035,6 +1059,20 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_READ_WHOLE_PAGE;
    }
 
+   /**
+    * the size in bytes of the broker wide cache of the page files being read, -1 disables it
+    */
+   public static long getDefaultPageReadCacheMaxSize() {
+      return DEFAULT_PAGE_READ_CACHE_MAX_SIZE;
+   }
+
+   /**
+    * the size in bytes of the pages that can be read ahead of the paging cursors across the broker, -1 disables it
+    */
+   public static long getDefaultPagePrefetchMaxSize() {
+      return DEFAULT_PAGE_PREFETCH_MAX_SIZE;
+   }
+
    /**
     * the directory to store the journal files in
     */
@@ -1113,6 +1151,42 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_FILE_OPEN_TIMEOUT;
    }
 
+   /**
+    * the number of independent partitions the message journal records are spread across
+    */
+   public static int getDefaultJournalPartitions() {
+      return DEFAULT_JOURNAL_PARTITIONS;
+   }
+
+   /**
+    * the number of threads reading the journal files and reloading the queues on startup
+    */
+   public static int getDefaultJournalLoadThreads() {
+      return DEFAULT_JOURNAL_LOAD_THREADS;
+   }
+
+   /**
+    * the size in bytes of the frames the replication records are batched in before being sent to the backup, -1
+    * disables it
+    */
+   public static int getDefaultReplicationBatchMaxSize() {
+      return DEFAULT_REPLICATION_BATCH_MAX_SIZE;
+   }
+
+   /**
+    * the time in nanoseconds a replication batch can wait for more records before being sent to the backup
+    */
+   public static long getDefaultReplicationBatchTimeout() {
+      return DEFAULT_REPLICATION_BATCH_TIMEOUT;
+   }
+
+   /**
+    * the number of files sent at the same time to a backup during the initial replication synchronization
+    */
+   public static int getDefaultReplicationSyncThreads() {
+      return DEFAULT_REPLICATION_SYNC_THREADS;
+   }
+
    /**
     * The minimal number of data files before we can start compacting
     */
@@ -1963,6 +2037,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED;
    }
 
+   /**
+    * Whether to keep MQTT retained messages in a dedicated store rather than in a queue per topic
+    */
+   public static boolean getMqttRetainedMessageStoreEnabled() {
+      return DEFAULT_MQTT_RETAINED_MESSAGE_STORE_ENABLED;
+   }
+
    public static boolean getDefaultSuppressSessionNotifications() {
       return DEFAULT_SUPPRESS_SESSION_NOTIFICATIONS;
    }
@@ -26,6 +26,8 @@ public class ServerLocatorConfig {
    public int minLargeMessageSize = ActiveMQClient.DEFAULT_MIN_LARGE_MESSAGE_SIZE;
    public int consumerWindowSize = ActiveMQClient.DEFAULT_CONSUMER_WINDOW_SIZE;
    public int consumerMaxRate = ActiveMQClient.DEFAULT_CONSUMER_MAX_RATE;
+   public int consumerMinWindowSize = ActiveMQClient.DEFAULT_CONSUMER_MIN_WINDOW_SIZE;
+   public int consumerMaxWindowSize = ActiveMQClient.DEFAULT_CONSUMER_MAX_WINDOW_SIZE;
    public int confirmationWindowSize = ActiveMQClient.DEFAULT_CONFIRMATION_WINDOW_SIZE;
    public int producerWindowSize = ActiveMQClient.DEFAULT_PRODUCER_WINDOW_SIZE;
    public int producerMaxRate = ActiveMQClient.DEFAULT_PRODUCER_MAX_RATE;
@@ -35,6 +37,7 @@ public class ServerLocatorConfig {
    public boolean autoGroup = ActiveMQClient.DEFAULT_AUTO_GROUP;
    public boolean preAcknowledge = ActiveMQClient.DEFAULT_PRE_ACKNOWLEDGE;
    public int ackBatchSize = ActiveMQClient.DEFAULT_ACK_BATCH_SIZE;
+   public int individualAckBatchSize = ActiveMQClient.DEFAULT_INDIVIDUAL_ACK_BATCH_SIZE;
    public String connectionLoadBalancingPolicyClassName = ActiveMQClient.DEFAULT_CONNECTION_LOAD_BALANCING_POLICY_CLASS_NAME;
    public boolean useGlobalPools = ActiveMQClient.DEFAULT_USE_GLOBAL_POOLS;
    public int threadPoolMaxSize = ActiveMQClient.DEFAULT_THREAD_POOL_MAX_SIZE;
@@ -66,6 +69,8 @@ public class ServerLocatorConfig {
       minLargeMessageSize = locator.minLargeMessageSize;
       consumerWindowSize = locator.consumerWindowSize;
       consumerMaxRate = locator.consumerMaxRate;
+      consumerMinWindowSize = locator.consumerMinWindowSize;
+      consumerMaxWindowSize = locator.consumerMaxWindowSize;
       confirmationWindowSize = locator.confirmationWindowSize;
       producerWindowSize = locator.producerWindowSize;
       producerMaxRate = locator.producerMaxRate;
@@ -76,6 +81,7 @@ public class ServerLocatorConfig {
       preAcknowledge = locator.preAcknowledge;
       connectionLoadBalancingPolicyClassName = locator.connectionLoadBalancingPolicyClassName;
       ackBatchSize = locator.ackBatchSize;
+      individualAckBatchSize = locator.individualAckBatchSize;
       useGlobalPools = locator.useGlobalPools;
       scheduledThreadPoolMaxSize = locator.scheduledThreadPoolMaxSize;
       flowControlThreadPoolMaxSize = locator.flowControlThreadPoolMaxSize;
@@ -748,6 +748,14 @@ public interface Message {
 
    SimpleString getSimpleStringProperty(SimpleString key) throws ActiveMQPropertyConversionException;
 
+   /**
+    * Same as {@link #getSimpleStringProperty(SimpleString)}, but an implementation can search the property on the
+    * encoded message instead of decoding all the properties.
+    */
+   default SimpleString searchSimpleStringProperty(SimpleString key) throws ActiveMQPropertyConversionException {
+      return getSimpleStringProperty(key);
+   }
+
    byte[] getBytesProperty(SimpleString key) throws ActiveMQPropertyConversionException;
 
    Message putStringProperty(SimpleString key, SimpleString value);
@@ -77,6 +77,10 @@ public final class ActiveMQClient {
 
    public static final int DEFAULT_CONSUMER_MAX_RATE = -1;
 
+   public static final int DEFAULT_CONSUMER_MIN_WINDOW_SIZE = 1;
+
+   public static final int DEFAULT_CONSUMER_MAX_WINDOW_SIZE = -1;
+
    public static final int DEFAULT_CONFIRMATION_WINDOW_SIZE = -1;
 
    public static final int DEFAULT_PRODUCER_WINDOW_SIZE = 64 * 1024;
@@ -97,6 +101,8 @@ public final class ActiveMQClient {
 
    public static final int DEFAULT_ACK_BATCH_SIZE = 1024 * 1024;
 
+   public static final int DEFAULT_INDIVIDUAL_ACK_BATCH_SIZE = 0;
+
    public static final boolean DEFAULT_PRE_ACKNOWLEDGE = false;
 
    public static final boolean DEFAULT_ENABLED_SHARED_CLIENT_ID = false;
@@ -279,6 +279,51 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setConsumerMaxRate(int consumerMaxRate);
 
+   /**
+    * Returns the lower bound of the window size of the consumers created through this factory when it adapts to their
+    * consumption rate.
+    * <p>
+    * Value is in bytes, default value is {@link ActiveMQClient#DEFAULT_CONSUMER_MIN_WINDOW_SIZE}.
+    *
+    * @return the lower bound of the adaptive consumer window size
+    */
+   int getConsumerMinWindowSize();
+
+   /**
+    * Sets the lower bound of the window size of the consumers created through this factory when it adapts to their
+    * consumption rate.
+    * <p>
+    * Value must be greater than 0. It is only used when the consumer max window size is set.
+    *
+    * @param consumerMinWindowSize lower bound (in bytes) of the adaptive consumer window size
+    * @return this ServerLocator
+    * @see #setConsumerMaxWindowSize(int)
+    */
+   ServerLocator setConsumerMinWindowSize(int consumerMinWindowSize);
+
+   /**
+    * Returns the upper bound of the window size of the consumers created through this factory when it adapts to their
+    * consumption rate.
+    * <p>
+    * Value is in bytes, default value is {@link ActiveMQClient#DEFAULT_CONSUMER_MAX_WINDOW_SIZE}.
+    *
+    * @return the upper bound of the adaptive consumer window size
+    */
+   int getConsumerMaxWindowSize();
+
+   /**
+    * Sets the upper bound of the window size of the consumers created through this factory when it adapts to their
+    * consumption rate.
+    * <p>
+    * Value must be -1 (to use a fixed window size) or greater than 0. When set, the consumers with a window size
+    * greater than 1 start with that window and then size it from the rate at which they consume the messages, within
+    * the consumer min window size and this value.
+    *
+    * @param consumerMaxWindowSize upper bound (in bytes) of the adaptive consumer window size
+    * @return this ServerLocator
+    */
+   ServerLocator setConsumerMaxWindowSize(int consumerMaxWindowSize);
+
    /**
     * Returns the size for the confirmation window of clients using this factory.
     * <p>
@@ -485,6 +530,27 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setAckBatchSize(int ackBatchSize);
 
+   /**
+    * Returns the individual acknowledgments batch size.
+    * <p>
+    * Default value is {@link ActiveMQClient#DEFAULT_INDIVIDUAL_ACK_BATCH_SIZE}.
+    *
+    * @return the individual acknowledgments batch size
+    */
+   int getIndividualAckBatchSize();
+
+   /**
+    * Sets the individual acknowledgments batch size.
+    * <p>
+    * The messages individually acknowledged by a consumer are sent to the server together once the size of their
+    * acknowledgments reaches this value, or when the session is committed, rolled back or closed. A value of 0 sends
+    * each individual acknowledgment on its own. Acknowledgments are never batched when blocking on acknowledge.
+    *
+    * @param individualAckBatchSize individual acknowledgments batch size in bytes
+    * @return this ServerLocator
+    */
+   ServerLocator setIndividualAckBatchSize(int individualAckBatchSize);
+
    /**
     * Returns an array of TransportConfigurations representing the static list of servers used when creating this
     * object
@@ -35,6 +35,16 @@ public interface ActiveMQServerControl {
    String DISK_STORE_USAGE_DESCRIPTION = "Fraction of total disk store used";
    String REPLICA_SYNC_DESCRIPTION = "If the initial replication synchronization process is complete";
    String IS_ACTIVE_DESCRIPTION = "If the server is active";
+   String JOURNAL_COMPACT_COUNT_DESCRIPTION = "Number of times the message journal was compacted since the server was started";
+   String JOURNAL_COMPACT_FILES_DESCRIPTION = "Number of message journal files processed by compacting since the server was started";
+   String JOURNAL_COMPACT_RECLAIMED_BYTES_DESCRIPTION = "Approximate bytes of message journal files reclaimed by compacting since the server was started, counted in whole files";
+   String JOURNAL_COMPACT_PAUSE_TIME_DESCRIPTION = "Total time in milliseconds the message journal appends were held by compacting since the server was started";
+   String PAGE_READ_CACHE_HITS_DESCRIPTION = "Number of page file reads served by the page read cache since the server was started";
+   String PAGE_READ_CACHE_MISSES_DESCRIPTION = "Number of page file reads that had to map the file in the page read cache since the server was started";
+   String PAGE_READ_CACHE_EVICTIONS_DESCRIPTION = "Number of page files evicted from the page read cache to stay within its size since the server was started";
+   String PAGE_READ_CACHE_SIZE_DESCRIPTION = "Bytes of page files currently mapped by the page read cache";
+   String REPLICATION_BATCH_SIZE_DESCRIPTION = "Average number of records sent to the backup in each replication batch";
+   String REPLICATION_LAG_DESCRIPTION = "Number of records replicated to the backup which it hasn't acknowledged yet";
    String AUTHENTICATION_SUCCESS_COUNT = "Number of successful authentication attempts";
    String AUTHENTICATION_FAILURE_COUNT = "Number of failed authentication attempts";
    String AUTHORIZATION_SUCCESS_COUNT = "Number of successful authorization attempts";
@@ -253,6 +263,12 @@ public interface ActiveMQServerControl {
    @Attribute(desc = "Percentage of live data before compacting the journal")
    int getJournalCompactPercentage();
 
+   /**
+    * {@return the milliseconds spent on each phase of the last journal load using JSON serialization.}
+    */
+   @Attribute(desc = "Milliseconds spent on each phase of the last journal load using JSON serialization")
+   String getJournalLoadTimesAsJSON();
+
    /**
     * {@return whether this server is using persistence and store data.}
     */
@@ -489,6 +505,14 @@ public interface ActiveMQServerControl {
    @Attribute(desc = REPLICA_SYNC_DESCRIPTION)
    boolean isReplicaSync();
 
+   /**
+    * {@return the files and bytes sent so far and to send to the backup server during the initial replication
+    * synchronization, with the estimated milliseconds left, using JSON serialization; applicable for the primary
+    * server}
+    */
+   @Attribute(desc = "Progress of the initial replication synchronization with the backup server using JSON serialization")
+   String getReplicaSyncProgressAsJSON();
+
    /**
     * {@return how often the server checks for disk space usage.}
     */
@@ -260,6 +260,15 @@ public interface ActiveMQClientLogger {
    @LogMessage(id = 212080, value = "Using legacy SSL store provider value: {}. Please use either 'keyStoreType' or 'trustStoreType' instead as appropriate.", level = LogMessage.Level.WARN)
    void oldStoreProvider(String value);
 
+   @LogMessage(id = 212081, value = "Unable to check io_uring availability ", level = LogMessage.Level.WARN)
+   void unableToCheckIoUringAvailability(Throwable e);
+
+   @LogMessage(id = 212082, value = "io_uring is not available, please add to the classpath or configure useIoUring=false to remove this warning", level = LogMessage.Level.WARN)
+   void unableToCheckIoUringAvailabilityNoClass();
+
+   @LogMessage(id = 212083, value = "io_uring is not supported on this system, falling back to the next available transport: {}", level = LogMessage.Level.WARN)
+   void ioUringNotSupported(String cause);
+
    @LogMessage(id = 214000, value = "Failed to call onMessage", level = LogMessage.Level.ERROR)
    void onMessageError(Throwable e);
 
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -58,6 +59,9 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private static final int NUM_PRIORITIES = 10;
 
+   // the period over which the consumption rate of an adaptive window is sampled
+   private static final long WINDOW_SAMPLE_PERIOD = TimeUnit.MILLISECONDS.toNanos(100);
+
    public static final SimpleString FORCED_DELIVERY_MESSAGE = SimpleString.of("_hornetq.forced.delivery.seq");
 
    private final ClientSessionInternal session;
@@ -90,8 +94,27 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private final int clientWindowSize;
 
+   // -1 when the window size doesn't adapt to the consumption rate
+   private final int maxWindowSize;
+
+   private final int minWindowSize;
+
+   private volatile int windowSize;
+
+   private int creditsThreshold;
+
+   private long windowSampleStart;
+
+   private long windowSampleBytes;
+
+   // the smoothed number of bytes consumed per sample period, -1 before the first sample
+   private double consumedPerSample = -1;
+
    private final int ackBatchSize;
 
+   // 0 when the individual acks aren't batched
+   private final int individualAckBatchSize;
+
    private final PriorityLinkedList<ClientMessageInternal> buffer = new PriorityLinkedListImpl<>(ClientConsumerImpl.NUM_PRIORITIES);
 
    private final Runner runner = new Runner();
@@ -124,6 +147,13 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private volatile ClientMessageInternal lastAckedMessage;
 
+   // the messages individually acknowledged but not yet sent to the server
+   private long[] pendingIndividualAcks;
+
+   private int pendingIndividualAcksCount;
+
+   private int individualAckBytes;
+
    private boolean stopped = false;
 
    private AtomicLong forceDeliveryCount = new AtomicLong(0);
@@ -175,8 +205,19 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       this.clientWindowSize = clientWindowSize;
 
+      this.maxWindowSize = initialWindow > 1 ? session.getConsumerMaxWindowSize() : -1;
+
+      this.minWindowSize = Math.max(1, session.getConsumerMinWindowSize());
+
+      this.windowSize = initialWindow;
+
+      this.creditsThreshold = clientWindowSize;
+
       this.ackBatchSize = ackBatchSize;
 
+      // a blocking ack must be confirmed by the server before returning, so it can't be delayed
+      this.individualAckBatchSize = session.isBlockOnAcknowledge() ? 0 : session.getIndividualAckBatchSize();
+
       this.queueInfo = queueInfo;
 
       this.contextClassLoader = contextClassLoader;
@@ -514,8 +555,18 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       lastAckedMessage = null;
 
+      pendingIndividualAcksCount = 0;
+
+      individualAckBytes = 0;
+
       creditsToSend = 0;
 
+      if (maxWindowSize > 0) {
+         // the consumer is recreated with the client window size as its credits
+         windowSize = clientWindowSize;
+         creditsThreshold = Math.max(1, clientWindowSize >> 1);
+      }
+
       failedOver = true;
 
       ackIndividually = false;
@@ -760,6 +811,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       return clientWindowSize;
    }
 
+   @Override
+   public int getWindowSize() {
+      return windowSize;
+   }
+
    @Override
    public int getBufferSize() {
       return buffer.size();
@@ -795,11 +851,32 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
          flushAcks();
       }
 
-      session.individualAcknowledge(this, message);
+      if (individualAckBatchSize <= 0) {
+         session.individualAcknowledge(this, message);
+         return;
+      }
+
+      if (pendingIndividualAcks == null) {
+         pendingIndividualAcks = new long[16];
+      } else if (pendingIndividualAcksCount == pendingIndividualAcks.length) {
+         pendingIndividualAcks = Arrays.copyOf(pendingIndividualAcks, pendingIndividualAcksCount * 2);
+      }
+      pendingIndividualAcks[pendingIndividualAcksCount++] = message.getMessageID();
+      individualAckBytes += message.getEncodeSize();
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("{}::individualAcknowledge individualAckBytes={} and individualAckBatchSize={}, encodeSize={}", this, individualAckBytes, individualAckBatchSize, message.getEncodeSize());
+      }
+
+      if (individualAckBytes >= individualAckBatchSize) {
+         flushIndividualAcks();
+      }
    }
 
    @Override
    public void flushAcks() throws ActiveMQException {
+      flushIndividualAcks();
+
       if (lastAckedMessage != null) {
          logger.trace("{}::FlushACK acking lastMessage::{}", this, lastAckedMessage);
          doAck(lastAckedMessage);
@@ -818,7 +895,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       if (clientWindowSize >= 0) {
          creditsToSend += messageBytes;
 
-         if (creditsToSend >= clientWindowSize) {
+         if (maxWindowSize > 0) {
+            adaptWindowSize(messageBytes);
+         }
+
+         if (creditsToSend >= creditsThreshold) {
             if (clientWindowSize == 0 && discountSlowConsumer) {
                if (logger.isTraceEnabled()) {
                   logger.trace("{}::FlowControl::Sending {}-1, for slow consumer", this, creditsToSend);
@@ -850,6 +931,50 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       }
    }
 
+   /**
+    * Sizes the window from the rate at which the messages are consumed. As TCP receive buffer auto-tuning does, the
+    * window holds twice what is consumed over a sample period: a window that limits the consumption keeps growing until
+    * the consumer itself is the bottleneck, while a slow consumer shrinks it and leaves the messages to the others.
+    * The credits of a grown window are sent with the next ones, the credits of a shrunk window are held back.
+    */
+   private void adaptWindowSize(final int messageBytes) {
+      final long now = System.nanoTime();
+
+      if (windowSampleStart == 0) {
+         windowSampleStart = now;
+      }
+
+      windowSampleBytes += messageBytes;
+
+      final long elapsed = now - windowSampleStart;
+
+      if (elapsed < WINDOW_SAMPLE_PERIOD) {
+         return;
+      }
+
+      final double sample = (double) windowSampleBytes * WINDOW_SAMPLE_PERIOD / elapsed;
+
+      consumedPerSample = consumedPerSample < 0 ? sample : consumedPerSample + (sample - consumedPerSample) / 4;
+
+      windowSampleStart = now;
+
+      windowSampleBytes = 0;
+
+      final int newWindowSize = (int) Math.min(maxWindowSize, Math.max(minWindowSize, 2 * consumedPerSample));
+
+      if (newWindowSize != windowSize) {
+         if (logger.isDebugEnabled()) {
+            logger.debug("{}::FlowControl::window size adapted from {} to {}", this, windowSize, newWindowSize);
+         }
+
+         creditsToSend += newWindowSize - windowSize;
+
+         windowSize = newWindowSize;
+
+         creditsThreshold = Math.max(1, newWindowSize >> 1);
+      }
+   }
+
    /**
     * Sending an initial credit for slow consumers
     */
@@ -1109,7 +1234,25 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       buffer.clear();
    }
 
+   private void flushIndividualAcks() throws ActiveMQException {
+      final int count = pendingIndividualAcksCount;
+      if (count == 0) {
+         return;
+      }
+
+      pendingIndividualAcksCount = 0;
+
+      individualAckBytes = 0;
+
+      logger.trace("{}::Acking {} messages individually", this, count);
+
+      session.individualAcknowledge(this, pendingIndividualAcks, count);
+   }
+
    private void doAck(final ClientMessageInternal message) throws ActiveMQException {
+      // the server could otherwise remove with this ack the references of the pending individual acks
+      flushIndividualAcks();
+
       ackBytes = 0;
 
       lastAckedMessage = null;
@@ -57,6 +57,12 @@ public interface ClientConsumerInternal extends ClientConsumer {
 
    int getInitialWindowSize();
 
+   /**
+    * {@return the window size currently used by this consumer, which differs from the initial one when it adapts to
+    * the consumption rate}
+    */
+   int getWindowSize();
+
    int getBufferSize();
 
    void cleanUp() throws ActiveMQException;
@@ -146,6 +146,12 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    private volatile int onMessageCloseTimeout;
 
+   private final int individualAckBatchSize;
+
+   private final int consumerMinWindowSize;
+
+   private final int consumerMaxWindowSize;
+
    private volatile boolean inClose;
 
    private volatile boolean mayAttemptToFailover = true;
@@ -192,6 +198,9 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
                      final int initialMessagePacketSize,
                      final String groupID,
                      final int onMessageCloseTimeout,
+                     final int individualAckBatchSize,
+                     final int consumerMinWindowSize,
+                     final int consumerMaxWindowSize,
                      final SessionContext sessionContext,
                      final Executor executor,
                      final Executor confirmationExecutor,
@@ -251,6 +260,12 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
       this.onMessageCloseTimeout = onMessageCloseTimeout;
 
+      this.individualAckBatchSize = individualAckBatchSize;
+
+      this.consumerMinWindowSize = consumerMinWindowSize;
+
+      this.consumerMaxWindowSize = consumerMaxWindowSize;
+
       producerCreditManager = new ClientProducerCreditManagerImpl(this, producerWindowSize);
 
       this.sessionContext = sessionContext;
@@ -1142,6 +1157,40 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       }
    }
 
+   @Override
+   public void individualAcknowledge(final ClientConsumer consumer,
+                                     final long[] messageIDs,
+                                     final int count) throws ActiveMQException {
+      // if we're pre-acknowledging then we don't need to do anything
+      if (preAcknowledge) {
+         return;
+      }
+
+      checkClosed();
+
+      startCall();
+      try {
+         sessionContext.sendIndividualACKs(blockOnAcknowledge, consumer, messageIDs, count);
+      } finally {
+         endCall();
+      }
+   }
+
+   @Override
+   public int getIndividualAckBatchSize() {
+      return individualAckBatchSize;
+   }
+
+   @Override
+   public int getConsumerMinWindowSize() {
+      return consumerMinWindowSize;
+   }
+
+   @Override
+   public int getConsumerMaxWindowSize() {
+      return consumerMaxWindowSize;
+   }
+
    @Override
    public void expire(final ClientConsumer consumer, final Message message) throws ActiveMQException {
       checkClosed();
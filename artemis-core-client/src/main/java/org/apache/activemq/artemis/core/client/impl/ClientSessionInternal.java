@@ -35,6 +35,17 @@ public interface ClientSessionInternal extends ClientSession {
 
    void individualAcknowledge(ClientConsumer consumer, Message message) throws ActiveMQException;
 
+   /**
+    * Individually acknowledges the first {@code count} of {@code messageIDs} delivered to {@code consumer} at once.
+    */
+   void individualAcknowledge(ClientConsumer consumer, long[] messageIDs, int count) throws ActiveMQException;
+
+   int getIndividualAckBatchSize();
+
+   int getConsumerMinWindowSize();
+
+   int getConsumerMaxWindowSize();
+
    boolean isCacheLargeMessageClient();
 
    int getMinLargeMessageSize();
@@ -995,6 +995,30 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public int getConsumerMinWindowSize() {
+      return config.consumerMinWindowSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setConsumerMinWindowSize(final int consumerMinWindowSize) {
+      checkWrite();
+      this.config.consumerMinWindowSize = consumerMinWindowSize;
+      return this;
+   }
+
+   @Override
+   public int getConsumerMaxWindowSize() {
+      return config.consumerMaxWindowSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setConsumerMaxWindowSize(final int consumerMaxWindowSize) {
+      checkWrite();
+      this.config.consumerMaxWindowSize = consumerMaxWindowSize;
+      return this;
+   }
+
    @Override
    public int getConfirmationWindowSize() {
       return config.confirmationWindowSize;
@@ -1103,6 +1127,18 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public int getIndividualAckBatchSize() {
+      return config.individualAckBatchSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setIndividualAckBatchSize(final int individualAckBatchSize) {
+      checkWrite();
+      this.config.individualAckBatchSize = individualAckBatchSize;
+      return this;
+   }
+
    @Override
    public boolean isUseGlobalPools() {
       return config.useGlobalPools;
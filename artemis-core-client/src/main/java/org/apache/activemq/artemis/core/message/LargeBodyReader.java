@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.message;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -63,4 +64,15 @@ public interface LargeBodyReader extends AutoCloseable {
     * This method must not be called directly by ActiveMQ Artemis clients.
     */
    long getSize() throws ActiveMQException;
+
+   /**
+    * This method must not be called directly by ActiveMQ Artemis clients.
+    * <p>
+    * The file is only known once opened.
+    *
+    * @return the file holding the body as it is, from its first byte, or {@code null} if there is no such file
+    */
+   default File getFile() {
+      return null;
+   }
 }
@@ -111,6 +111,9 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    private int propertiesLocation = -1;
 
+   // once the encoded properties were searched, the next searches decode them rather than scanning them again
+   private boolean propertiesSearched;
+
    protected volatile TypedProperties properties;
 
    private final CoreMessageObjectPools coreMessageObjectPools;
@@ -317,7 +320,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getGroupID() {
-      return this.getSimpleStringProperty(Message.HDR_GROUP_ID);
+      return this.searchSimpleStringProperty(Message.HDR_GROUP_ID);
    }
 
    @Override
@@ -332,7 +335,11 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public int getGroupSequence() {
-      return containsProperty(Message.HDR_GROUP_SEQUENCE) ? getIntProperty(Message.HDR_GROUP_SEQUENCE) : 0;
+      final Object groupSequence = searchPropertyValue(Message.HDR_GROUP_SEQUENCE);
+      if (groupSequence == null) {
+         return 0;
+      }
+      return groupSequence instanceof Integer sequence ? sequence : getIntProperty(Message.HDR_GROUP_SEQUENCE);
    }
 
    @Override
@@ -844,7 +851,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getLastValueProperty() {
-      return getSimpleStringProperty(Message.HDR_LAST_VALUE_NAME);
+      return searchSimpleStringProperty(Message.HDR_LAST_VALUE_NAME);
    }
 
    @Override
@@ -1109,6 +1116,11 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return getProperties().getProperty(key);
    }
 
+   @Override
+   public Object getObjectPropertyForFilter(final SimpleString key) {
+      return searchPropertyValue(key);
+   }
+
    @Override
    public CoreMessage putObjectProperty(final String key, final Object value) throws ActiveMQPropertyConversionException {
       return putObjectProperty(key(key), value);
@@ -1202,6 +1214,37 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       }
    }
 
+   /**
+    * Differently from {@link #getObjectProperty(SimpleString)}, this method can save decoding the message, performing a
+    * search of the {@code key} property and decoding its value only. Only the first search scans the encoded
+    * properties: as a message read for a property is likely read for others too, eg by a filter, the next searches
+    * decode the properties.
+    */
+   public Object searchPropertyValue(SimpleString key) {
+      if (key == null) {
+         // as a queue without a last value key, no property has a null key
+         return null;
+      }
+      TypedProperties properties = this.properties;
+      if (properties != null) {
+         return properties.getProperty(key);
+      }
+      synchronized (this) {
+         // as on searchProperty, the lock prevents a racing thread from modifying buffer
+         final int propertiesLocation = this.propertiesLocation;
+         if (this.properties != null || buffer == null || propertiesLocation < 0 || propertiesSearched) {
+            return getProperties().getProperty(key);
+         }
+         propertiesSearched = true;
+         return TypedProperties.searchPropertyValue(key, buffer, propertiesLocation);
+      }
+   }
+
+   @Override
+   public SimpleString searchSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
+      return TypedProperties.toSimpleString(key, searchPropertyValue(key));
+   }
+
    @Override
    public boolean containsProperty(final SimpleString key) {
       return getProperties().containsProperty(key);
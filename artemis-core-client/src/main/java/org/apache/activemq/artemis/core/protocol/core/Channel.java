@@ -18,7 +18,9 @@ package org.apache.activemq.artemis.core.protocol.core;
 
 import java.util.concurrent.locks.Lock;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
 
 /**
  * A channel is a way of interleaving data meant for different endpoints over the same
@@ -88,6 +90,26 @@ public interface Channel {
     */
    boolean sendBatched(Packet packet);
 
+   /**
+    * {@return {@code true} if {@link #send(SessionReceiveContinuationMessage, FileRegion)} can be used on this channel}
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * Sends a large message continuation whose body is transferred from a file region, without copying it into memory.
+    * The packet holds no body and isn't seen by the interceptors.
+    *
+    * @param packet the packet to send, without body
+    * @param body   the body of the packet, released once transferred
+    * @return {@code true} if the send was successful
+    * @throws UnsupportedOperationException if {@link #isFileRegionSupported()} is {@code false}
+    */
+   default boolean send(SessionReceiveContinuationMessage packet, FileRegion body) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * Similarly to {@code flushConnection} on {@link #send(Packet, boolean)}, it requests any un-flushed previous sent
     * packets to be flushed to the underlying connection.
@@ -71,6 +71,11 @@ public interface CoreRemotingConnection extends RemotingConnection {
       return  version >= PacketImpl.ARTEMIS_2_24_0_VERSION;
    }
 
+   default boolean isVersionSupportReplicationBatch() {
+      int version = getChannelVersion();
+      return version >= PacketImpl.ARTEMIS_2_43_0_VERSION;
+   }
+
    default boolean isBeforeTwoEighteen() {
       int version = getChannelVersion();
       return  version < PacketImpl.ARTEMIS_2_18_0_VERSION;
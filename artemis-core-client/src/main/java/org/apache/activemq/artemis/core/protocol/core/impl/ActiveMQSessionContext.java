@@ -22,6 +22,7 @@ import javax.transaction.xa.Xid;
 import java.lang.invoke.MethodHandles;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +92,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionCre
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionDeleteQueueMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionExpireMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionForceConsumerDelivery;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionIndividualAcknowledgeBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionIndividualAcknowledgeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
@@ -640,6 +642,37 @@ public class ActiveMQSessionContext extends SessionContext {
       }
    }
 
+   @Override
+   public void sendIndividualACKs(boolean block,
+                                  final ClientConsumer consumer,
+                                  final long[] messageIDs,
+                                  final int count) throws ActiveMQException {
+      final long consumerID = getConsumerID(consumer);
+      if (sessionChannel.supports(PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH, getServerVersion())) {
+         // a packet carries at most MAX_MESSAGE_IDS message IDs
+         for (int offset = 0; offset < count; offset += SessionIndividualAcknowledgeBatchMessage.MAX_MESSAGE_IDS) {
+            final int length = Math.min(count - offset, SessionIndividualAcknowledgeBatchMessage.MAX_MESSAGE_IDS);
+            final long[] batch = offset == 0 ? messageIDs : Arrays.copyOfRange(messageIDs, offset, offset + length);
+            final Packet messagePacket = new SessionIndividualAcknowledgeBatchMessage(consumerID, batch, length, block);
+            if (block) {
+               sessionChannel.sendBlocking(messagePacket, PacketImpl.NULL_RESPONSE);
+            } else {
+               sessionChannel.sendBatched(messagePacket);
+            }
+         }
+      } else {
+         // older servers get one packet per message, as sendACK would send them
+         for (int i = 0; i < count; i++) {
+            final Packet messagePacket = new SessionIndividualAcknowledgeMessage(consumerID, messageIDs[i], block);
+            if (block) {
+               sessionChannel.sendBlocking(messagePacket, PacketImpl.NULL_RESPONSE);
+            } else {
+               sessionChannel.sendBatched(messagePacket);
+            }
+         }
+      }
+   }
+
    @Override
    public void expireMessage(final ClientConsumer consumer, Message message) throws ActiveMQException {
       SessionExpireMessage messagePacket = new SessionExpireMessage(getConsumerID(consumer), message.getMessageID());
@@ -27,6 +27,7 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -41,6 +42,7 @@ import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.PacketsConfirmedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.utils.ConcurrentUtil;
 import org.slf4j.Logger;
@@ -51,6 +53,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ADD
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_18_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_29_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_37_0_VERSION;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_43_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V4;
@@ -64,6 +67,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V4;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V5;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_RESP_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_RESP_V3;
 
@@ -197,6 +201,7 @@ public final class ChannelImpl implements Channel {
          case SESS_QUEUEQUERY_RESP_V3, SESS_BINDINGQUERY_RESP_V4 -> version >= ADDRESSING_CHANGE_VERSION;
          case CLUSTER_TOPOLOGY_V4, CREATESESSION_V2, DISCONNECT_V3 -> version >= ARTEMIS_2_18_0_VERSION;
          case SESS_BINDINGQUERY_RESP_V5 -> version >= ARTEMIS_2_29_0_VERSION;
+         case SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH -> version >= ARTEMIS_2_43_0_VERSION;
          default -> true;
       };
    }
@@ -372,6 +377,51 @@ public final class ChannelImpl implements Channel {
       }
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      // the packets kept to be resent or seen by the interceptors must hold their body
+      return resendCache == null && (interceptors == null || interceptors.isEmpty()) &&
+         connection.getTransportConnection().isFileRegionSupported();
+   }
+
+   @Override
+   public boolean send(final SessionReceiveContinuationMessage packet, final FileRegion body) {
+      synchronized (sendLock) {
+         packet.setChannelID(id);
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID={} Sending packet nonblocking {} with a body of {} bytes from a file on channelID={}", connection.getID(), packet, body.count(), id);
+         }
+
+         final ActiveMQBuffer header;
+         final ActiveMQBuffer trailer;
+
+         lock.lock();
+
+         try {
+            if (failingOver) {
+               waitForFailOver("RemotingConnectionID=" + connection.getID() + " timed-out waiting for fail-over condition on non-blocking send");
+            }
+
+            // Sanity check
+            if (transferring) {
+               throw ActiveMQClientMessageBundle.BUNDLE.cannotSendPacketDuringFailover();
+            }
+
+            header = packet.encodeBeforeBody(connection, (int) body.count());
+            trailer = packet.encodeAfterBody(connection);
+         } catch (Throwable t) {
+            body.release();
+            throw t;
+         } finally {
+            lock.unlock();
+         }
+
+         connection.getTransportConnection().write(header, body, trailer, false);
+         return true;
+      }
+   }
+
    // This must never called by more than one thread concurrently
    private boolean send(final Packet packet, final int reconnectID, final boolean flush, final boolean batch) {
       if (invokeInterceptors(packet, interceptors, connection) != null) {
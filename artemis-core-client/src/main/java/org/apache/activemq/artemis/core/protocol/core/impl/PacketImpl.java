@@ -58,6 +58,9 @@ public class PacketImpl implements Packet {
    // 2.37.0
    public static final int ARTEMIS_2_37_0_VERSION = 136;
 
+   // 2.43.0
+   public static final int ARTEMIS_2_43_0_VERSION = 137;
+
    public static final SimpleString OLD_QUEUE_PREFIX = SimpleString.of("jms.queue.");
    public static final SimpleString OLD_TEMP_QUEUE_PREFIX = SimpleString.of("jms.tempqueue.");
    public static final SimpleString OLD_TOPIC_PREFIX = SimpleString.of("jms.topic.");
@@ -310,6 +313,12 @@ public class PacketImpl implements Packet {
 
    public static final byte SESS_BINDINGQUERY_RESP_V5 = -22;
 
+   public static final byte REPLICATION_BATCH = -23;
+
+   public static final byte REPLICATION_BATCH_RESPONSE = -24;
+
+   public static final byte SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH = -25;
+
    public PacketImpl(final byte type) {
       this.type = type;
    }
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * The individual acknowledgement of several messages delivered to a consumer, as many
+ * {@link SessionIndividualAcknowledgeMessage} would.
+ * <p>
+ * The message IDs are sorted and encoded as ranges of consecutive IDs: the first ID and the length of each range.
+ */
+public class SessionIndividualAcknowledgeBatchMessage extends PacketImpl {
+
+   /**
+    * The maximum number of message IDs of a batch: the ranges are expanded on decoding, so their lengths are bounded.
+    */
+   public static final int MAX_MESSAGE_IDS = 65536;
+
+   private static final int RANGE_SIZE = DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
+
+   private long consumerID;
+
+   // sorted and without duplicates
+   private long[] messageIDs;
+
+   private int ranges;
+
+   private boolean requiresResponse;
+
+   public SessionIndividualAcknowledgeBatchMessage(final long consumerID,
+                                                   final long[] messageIDs,
+                                                   final int count,
+                                                   final boolean requiresResponse) {
+      super(SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH);
+
+      this.consumerID = consumerID;
+
+      this.messageIDs = sortedDistinct(messageIDs, count);
+
+      this.ranges = countRanges(this.messageIDs);
+
+      this.requiresResponse = requiresResponse;
+   }
+
+   public SessionIndividualAcknowledgeBatchMessage() {
+      super(SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH);
+   }
+
+   private static long[] sortedDistinct(final long[] messageIDs, final int count) {
+      final long[] sorted = Arrays.copyOf(messageIDs, count);
+      Arrays.sort(sorted);
+      int distinct = 0;
+      for (int i = 0; i < sorted.length; i++) {
+         if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+            sorted[distinct++] = sorted[i];
+         }
+      }
+      return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+   }
+
+   private static int countRanges(final long[] messageIDs) {
+      int ranges = 0;
+      for (int i = 0; i < messageIDs.length; i++) {
+         if (i == 0 || messageIDs[i] != messageIDs[i - 1] + 1) {
+            ranges++;
+         }
+      }
+      return ranges;
+   }
+
+   public long getConsumerID() {
+      return consumerID;
+   }
+
+   /**
+    * {@return the acknowledged message IDs, sorted}
+    */
+   public long[] getMessageIDs() {
+      return messageIDs;
+   }
+
+   @Override
+   public boolean isRequiresResponse() {
+      return requiresResponse;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE +
+         DataConstants.SIZE_LONG + // buffer.writeLong(consumerID)
+         DataConstants.SIZE_BOOLEAN + // buffer.writeBoolean(requiresResponse)
+         DataConstants.SIZE_INT + // buffer.writeInt(ranges)
+         ranges * RANGE_SIZE; // the first ID and the length of each range
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeLong(consumerID);
+
+      buffer.writeBoolean(requiresResponse);
+
+      buffer.writeInt(ranges);
+
+      int start = 0;
+      for (int i = 1; i <= messageIDs.length; i++) {
+         if (i == messageIDs.length || messageIDs[i] != messageIDs[i - 1] + 1) {
+            buffer.writeLong(messageIDs[start]);
+            buffer.writeInt(i - start);
+            start = i;
+         }
+      }
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      consumerID = buffer.readLong();
+
+      requiresResponse = buffer.readBoolean();
+
+      ranges = buffer.readInt();
+      if (ranges < 0 || ranges > buffer.readableBytes() / RANGE_SIZE) {
+         throw new IllegalStateException("Invalid number of ranges " + ranges + " with " + buffer.readableBytes() + " readable bytes");
+      }
+
+      long[] decoded = new long[Math.min(ranges, MAX_MESSAGE_IDS)];
+      int count = 0;
+      for (int r = 0; r < ranges; r++) {
+         final long first = buffer.readLong();
+         final int length = buffer.readInt();
+         if (length < 0 || length > MAX_MESSAGE_IDS - count) {
+            throw new IllegalStateException("Invalid range length " + length + " after " + count + " message IDs, the maximum is " + MAX_MESSAGE_IDS);
+         }
+         if (length > 0 && first > Long.MAX_VALUE - (length - 1)) {
+            throw new IllegalStateException("Invalid range of " + length + " message IDs from " + first);
+         }
+         if (count + length > decoded.length) {
+            decoded = Arrays.copyOf(decoded, Math.min(Math.max(count + length, decoded.length * 2), MAX_MESSAGE_IDS));
+         }
+         for (int i = 0; i < length; i++) {
+            decoded[count++] = first + i;
+         }
+      }
+      messageIDs = count == decoded.length ? decoded : Arrays.copyOf(decoded, count);
+   }
+
+   @Override
+   public int hashCode() {
+      return Objects.hash(super.hashCode(), consumerID, Arrays.hashCode(messageIDs), requiresResponse);
+   }
+
+   @Override
+   protected String getPacketString() {
+      StringBuilder sb = new StringBuilder(super.getPacketString());
+      sb.append(", consumerID=" + consumerID);
+      sb.append(", messageIDs=" + (messageIDs == null ? 0 : messageIDs.length));
+      sb.append(", ranges=" + ranges);
+      sb.append(", requiresResponse=" + requiresResponse);
+      return sb.toString();
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!super.equals(obj)) {
+         return false;
+      }
+      if (!(obj instanceof SessionIndividualAcknowledgeBatchMessage other)) {
+         return false;
+      }
+
+      return consumerID == other.consumerID &&
+             Arrays.equals(messageIDs, other.messageIDs) &&
+             requiresResponse == other.requiresResponse;
+   }
+}
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import java.util.Objects;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionReceiveContinuationMessage extends SessionContinuationMessage {
@@ -66,6 +67,31 @@ public class SessionReceiveContinuationMessage extends SessionContinuationMessag
       buffer.writeLong(consumerID);
    }
 
+   /**
+    * Encodes the bytes of this packet preceding a body of {@code bodySize} bytes sent apart from this packet, right
+    * after them and before the bytes encoded by {@link #encodeAfterBody(CoreRemotingConnection)}.
+    */
+   public ActiveMQBuffer encodeBeforeBody(final CoreRemotingConnection connection, final int bodySize) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(PACKET_HEADERS_SIZE + DataConstants.SIZE_INT);
+      encodeHeader(buffer);
+      buffer.writeInt(bodySize);
+      size = SESSION_RECEIVE_CONTINUATION_BASE_SIZE + bodySize;
+      // The length doesn't include the actual length byte
+      buffer.setInt(0, size - DataConstants.SIZE_INT);
+      return buffer;
+   }
+
+   /**
+    * Encodes the bytes of this packet following a body sent apart, see
+    * {@link #encodeBeforeBody(CoreRemotingConnection, int)}.
+    */
+   public ActiveMQBuffer encodeAfterBody(final CoreRemotingConnection connection) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG);
+      buffer.writeBoolean(continues);
+      buffer.writeLong(consumerID);
+      return buffer;
+   }
+
    @Override
    public int getPacketSize() {
       if (size == -1) {
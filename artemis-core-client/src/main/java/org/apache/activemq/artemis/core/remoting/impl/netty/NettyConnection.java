@@ -29,9 +29,15 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.FastThreadLocal;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -73,6 +79,9 @@ public class NettyConnection implements Connection {
 
    private boolean ready = true;
 
+   // the pipeline is checked once, on the first large message sent: it's complete by then
+   private volatile Boolean fileRegionSupported;
+
    public NettyConnection(final Map<String, Object> configuration,
                           final Channel channel,
                           final BaseConnectionLifeCycleListener<?> listener,
@@ -378,6 +387,71 @@ public class NettyConnection implements Connection {
       }
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      Boolean fileRegionSupported = this.fileRegionSupported;
+      if (fileRegionSupported == null) {
+         fileRegionSupported = checkFileRegionSupported();
+         this.fileRegionSupported = fileRegionSupported;
+      }
+      return fileRegionSupported;
+   }
+
+   private boolean checkFileRegionSupported() {
+      // io_uring channels only write buffers, they fail the writes of a FileRegion
+      if (!(channel instanceof NioSocketChannel || channel instanceof EpollSocketChannel || channel instanceof KQueueSocketChannel)) {
+         return false;
+      }
+      // any handler writing on the way to the socket (TLS, HTTP, WebSocket, compression...) expects buffers
+      for (Map.Entry<String, ChannelHandler> entry : channel.pipeline()) {
+         final ChannelHandler handler = entry.getValue();
+         if (handler instanceof ChannelOutboundHandler && !(handler instanceof ActiveMQChannelHandler)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public final void write(final ActiveMQBuffer header,
+                           final FileRegion region,
+                           final ActiveMQBuffer trailer,
+                           final boolean batched) {
+      final Channel channel = this.channel;
+      final ByteBuf headerBytes = header.byteBuf();
+      final ByteBuf trailerBytes = trailer.byteBuf();
+      final boolean flush = !(batchingEnabled && batched);
+      final EventLoop eventLoop = channel.eventLoop();
+      // the 3 writes can't be interleaved with the writes of other threads: they are performed together by the event
+      // loop, after any write previously requested by this thread
+      if (eventLoop.inEventLoop()) {
+         writeFileRegion(channel, headerBytes, region, trailerBytes, flush);
+      } else {
+         try {
+            eventLoop.execute(() -> writeFileRegion(channel, headerBytes, region, trailerBytes, flush));
+         } catch (Throwable t) {
+            headerBytes.release();
+            region.release();
+            trailerBytes.release();
+            throw t;
+         }
+      }
+   }
+
+   private static void writeFileRegion(final Channel channel,
+                                       final ByteBuf header,
+                                       final FileRegion region,
+                                       final ByteBuf trailer,
+                                       final boolean flush) {
+      channel.write(header, channel.voidPromise());
+      channel.write(region, channel.voidPromise());
+      if (!flush && channel.isWritable()) {
+         channel.write(trailer, channel.voidPromise());
+      } else {
+         channel.writeAndFlush(trailer, channel.voidPromise());
+      }
+   }
+
    private static void flushAndWait(final Channel channel, final ChannelPromise promise) {
       if (!channel.eventLoop().inEventLoop()) {
          waitFor(promise, DEFAULT_WAIT_MILLIS);
@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
@@ -119,6 +120,28 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * {@return {@code true} if {@link #write(ActiveMQBuffer, FileRegion, ActiveMQBuffer, boolean)} can transfer a file
+    * region to the wire as it is, ie when nothing on the connection encrypts, compresses or frames the written bytes}
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * writes the header buffer, the file region and the trailer buffer to the connection one right after the other,
+    * without copying the file region into memory.
+    *
+    * @param header  the buffer to write before the file region
+    * @param region  the file region to transfer, released once transferred
+    * @param trailer the buffer to write after the file region
+    * @param batched whether the packet is allowed to batched for better performance
+    * @throws UnsupportedOperationException if {@link #isFileRegionSupported()} is {@code false}
+    */
+   default void write(ActiveMQBuffer header, FileRegion region, ActiveMQBuffer trailer, boolean batched) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * This should close the internal channel without calling any listeners. This is to avoid a situation where the
     * broker is busy writing on an internal thread. This should close the socket releasing any pending threads.
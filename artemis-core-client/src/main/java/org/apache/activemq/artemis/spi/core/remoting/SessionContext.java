@@ -283,6 +283,11 @@ public abstract class SessionContext {
                                 ClientConsumer consumer,
                                 Message message) throws ActiveMQException;
 
+   public abstract void sendIndividualACKs(boolean block,
+                                           ClientConsumer consumer,
+                                           long[] messageIDs,
+                                           int count) throws ActiveMQException;
+
    public abstract void expireMessage(ClientConsumer consumer, Message message) throws ActiveMQException;
 
    public abstract void sessionClose() throws ActiveMQException;
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionIndividualAcknowledgeBatchMessageTest {
+
+   private static SessionIndividualAcknowledgeBatchMessage encodeDecode(SessionIndividualAcknowledgeBatchMessage message) {
+      ActiveMQBuffer buffer = message.encode(null);
+      assertEquals(message.expectedEncodeSize(), buffer.writerIndex());
+      assertEquals(buffer.writerIndex() - 4, buffer.readInt());
+      assertEquals(PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH, buffer.readByte());
+      SessionIndividualAcknowledgeBatchMessage decoded = new SessionIndividualAcknowledgeBatchMessage();
+      decoded.decode(buffer);
+      assertEquals(0, buffer.readableBytes());
+      return decoded;
+   }
+
+   @Test
+   public void testEncodeDecodeRanges() {
+      // unsorted, with duplicates and only part of the array used
+      long[] messageIDs = new long[]{7, 3, 4, 10, 5, 4, 11, 20, 99, 98};
+      SessionIndividualAcknowledgeBatchMessage message = new SessionIndividualAcknowledgeBatchMessage(42, messageIDs, 8, true);
+      assertArrayEquals(new long[]{3, 4, 5, 7, 10, 11, 20}, message.getMessageIDs());
+
+      SessionIndividualAcknowledgeBatchMessage decoded = encodeDecode(message);
+      assertEquals(42, decoded.getConsumerID());
+      assertTrue(decoded.isRequiresResponse());
+      assertArrayEquals(message.getMessageIDs(), decoded.getMessageIDs());
+   }
+
+   @Test
+   public void testConsecutiveIDsEncodeAsSingleRange() {
+      long[] messageIDs = new long[10_000];
+      for (int i = 0; i < messageIDs.length; i++) {
+         messageIDs[i] = 1_000_000L + messageIDs.length - i;
+      }
+      SessionIndividualAcknowledgeBatchMessage message = new SessionIndividualAcknowledgeBatchMessage(1, messageIDs, messageIDs.length, false);
+      SessionIndividualAcknowledgeBatchMessage single = new SessionIndividualAcknowledgeBatchMessage(1, messageIDs, 1, false);
+      assertEquals(single.expectedEncodeSize(), message.expectedEncodeSize());
+
+      SessionIndividualAcknowledgeBatchMessage decoded = encodeDecode(message);
+      assertEquals(messageIDs.length, decoded.getMessageIDs().length);
+   }
+
+   @Test
+   public void testDecodeRejectsInvalidRanges() {
+      // more ranges than the packet holds
+      assertInvalid(Integer.MAX_VALUE);
+      assertInvalid(-1);
+      assertInvalid(2, 1L, 1);
+      // negative, too long and overflowing ranges
+      assertInvalid(1, 1L, -1);
+      assertInvalid(1, 1L, SessionIndividualAcknowledgeBatchMessage.MAX_MESSAGE_IDS + 1);
+      assertInvalid(2, 1L, SessionIndividualAcknowledgeBatchMessage.MAX_MESSAGE_IDS, 1_000_000L, 1);
+      assertInvalid(1, Long.MAX_VALUE, 2);
+
+      SessionIndividualAcknowledgeBatchMessage decoded = decode(1, Long.MAX_VALUE - 1, 2);
+      assertArrayEquals(new long[]{Long.MAX_VALUE - 1, Long.MAX_VALUE}, decoded.getMessageIDs());
+   }
+
+   private static void assertInvalid(int ranges, Object... firstAndLengths) {
+      assertThrows(IllegalStateException.class, () -> decode(ranges, firstAndLengths));
+   }
+
+   private static SessionIndividualAcknowledgeBatchMessage decode(int ranges, Object... firstAndLengths) {
+      ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(64);
+      buffer.writeLong(1);
+      buffer.writeBoolean(false);
+      buffer.writeInt(ranges);
+      for (int i = 0; i < firstAndLengths.length; i += 2) {
+         buffer.writeLong((Long) firstAndLengths[i]);
+         buffer.writeInt((Integer) firstAndLengths[i + 1]);
+      }
+      SessionIndividualAcknowledgeBatchMessage decoded = new SessionIndividualAcknowledgeBatchMessage();
+      decoded.decodeRest(buffer);
+      return decoded;
+   }
+
+   @Test
+   public void testDecodeMaxMessageIDs() {
+      long[] messageIDs = new long[SessionIndividualAcknowledgeBatchMessage.MAX_MESSAGE_IDS];
+      for (int i = 0; i < messageIDs.length; i++) {
+         // a range of 2 IDs every 3 IDs
+         messageIDs[i] = i / 2 * 3 + i % 2;
+      }
+      SessionIndividualAcknowledgeBatchMessage decoded = encodeDecode(new SessionIndividualAcknowledgeBatchMessage(1, messageIDs, messageIDs.length, false));
+      assertArrayEquals(messageIDs, decoded.getMessageIDs());
+   }
+}
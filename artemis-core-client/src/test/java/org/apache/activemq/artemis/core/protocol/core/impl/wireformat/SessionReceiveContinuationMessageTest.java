@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SessionReceiveContinuationMessageTest {
+
+   private static byte[] readableBytes(ActiveMQBuffer buffer) {
+      byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.readBytes(bytes);
+      return bytes;
+   }
+
+   @Test
+   public void testEncodeAroundBodyMatchesEncode() {
+      CoreRemotingConnection connection = Mockito.mock(CoreRemotingConnection.class);
+      Mockito.when(connection.createTransportBuffer(Mockito.anyInt())).thenAnswer(invocation -> new ChannelBufferWrapper(Unpooled.buffer(invocation.getArgument(0))));
+
+      byte[] body = new byte[1000];
+      for (int i = 0; i < body.length; i++) {
+         body[i] = (byte) i;
+      }
+      for (boolean continues : new boolean[]{true, false}) {
+         SessionReceiveContinuationMessage message = new SessionReceiveContinuationMessage(7, body, continues, false);
+         message.setChannelID(3);
+         byte[] expected = readableBytes(message.encode(connection));
+
+         SessionReceiveContinuationMessage withoutBody = new SessionReceiveContinuationMessage(7, null, continues, false);
+         withoutBody.setChannelID(3);
+         ActiveMQBuffer encoded = new ChannelBufferWrapper(Unpooled.buffer());
+         encoded.writeBytes(readableBytes(withoutBody.encodeBeforeBody(connection, body.length)));
+         encoded.writeBytes(body);
+         encoded.writeBytes(readableBytes(withoutBody.encodeAfterBody(connection)));
+
+         assertArrayEquals(expected, readableBytes(encoded));
+         assertEquals(message.getPacketSize(), withoutBody.getPacketSize());
+      }
+   }
+}
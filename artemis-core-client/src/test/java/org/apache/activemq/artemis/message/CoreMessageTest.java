@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.message;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -250,6 +251,59 @@ public class CoreMessageTest {
       assertNotEquals(BIGGER_TEXT.getBytes(StandardCharsets.UTF_8).length, ((byte[])coreMessage.toPropertyMap(40).get("bytesProp")).length);
    }
 
+   @Test
+   public void testSearchPropertiesWithoutDecoding() {
+      CoreMessage message = new CoreMessage().initBuffer(100);
+      for (int i = 0; i < 60; i++) {
+         message.putStringProperty("header" + i, "value" + i);
+      }
+      message.putIntProperty("intProp", 7);
+      message.putBooleanProperty("booleanProp", true);
+      message.putStringProperty("nullProp", (String) null);
+      message.setGroupID("group");
+      message.setGroupSequence(3);
+      message.setLastValueProperty(SimpleString.of("last"));
+
+      ByteBuf buffer = Unpooled.buffer(4096);
+      message.sendBuffer(buffer, 0);
+
+      final CoreMessage received = new CoreMessage() {
+         @Override
+         public String toString() {
+            return "decoded=" + (properties != null);
+         }
+      };
+      received.receiveBuffer(buffer);
+
+      assertEquals(SimpleString.of("value42"), received.getObjectPropertyForFilter(SimpleString.of("header42")));
+      assertEquals("decoded=false", received.toString());
+
+      // the next searches decode the properties rather than scanning them again
+      assertEquals(7, received.getObjectPropertyForFilter(SimpleString.of("intProp")));
+      assertEquals("decoded=true", received.toString());
+      assertEquals(true, received.getObjectPropertyForFilter(SimpleString.of("booleanProp")));
+      assertNull(received.getObjectPropertyForFilter(SimpleString.of("nullProp")));
+      assertNull(received.getObjectPropertyForFilter(SimpleString.of("missing")));
+      assertEquals(SimpleString.of("group"), received.getGroupID());
+      assertEquals(3, received.getGroupSequence());
+      assertEquals(SimpleString.of("last"), received.getLastValueProperty());
+      assertEquals(SimpleString.of("7"), received.searchSimpleStringProperty(SimpleString.of("intProp")));
+
+      // each search path is able to find a property on the encoded properties
+      assertEquals(SimpleString.of("group"), receive(buffer).getGroupID());
+      assertEquals(3, receive(buffer).getGroupSequence());
+      assertEquals(SimpleString.of("last"), receive(buffer).getLastValueProperty());
+      assertEquals(SimpleString.of("7"), receive(buffer).searchSimpleStringProperty(SimpleString.of("intProp")));
+      assertNull(receive(buffer).getObjectPropertyForFilter(SimpleString.of("nullProp")));
+      assertNull(receive(buffer).getObjectPropertyForFilter(SimpleString.of("missing")));
+   }
+
+   private static CoreMessage receive(ByteBuf buffer) {
+      final CoreMessage received = new CoreMessage();
+      received.receiveBuffer(buffer.duplicate());
+      return received;
+   }
+
    @Test
    public void testSaveReceiveLimitedBytes() {
       CoreMessage empty = new CoreMessage().initBuffer(100);
@@ -37,7 +37,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
 import org.apache.activemq.artemis.api.core.ActiveMQIOErrorException;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.SequentialFile;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
 import org.apache.activemq.artemis.core.server.ActiveMQScheduledComponent;
@@ -487,7 +487,7 @@ public class JDBCSequentialFile implements SequentialFile {
 
    // Only Used by Journal, no need to implement.
    @Override
-   public void setTimedBuffer(TimedBuffer buffer) {
+   public void setTimedBuffer(AbstractTimedBuffer buffer) {
    }
 
    // Only Used by replication, no need to implement.
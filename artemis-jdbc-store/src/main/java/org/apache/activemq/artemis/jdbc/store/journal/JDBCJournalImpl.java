@@ -22,8 +22,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
@@ -81,6 +83,10 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
 
    private final List<JDBCJournalRecord> records;
 
+   // Serializes the writes of the record batches, which happen outside the journal lock so that records can keep being
+   // appended to the next batch while one is written. It must be taken before the journal lock.
+   private final Object syncLock = new Object();
+
    private String insertJournalRecords;
 
    private String selectJournalRecords;
@@ -102,7 +108,7 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
    private final ScheduledExecutorService scheduledExecutorService;
 
    // Track Tx Records
-   private Map<Long, TransactionHolder> transactions = new ConcurrentHashMap<>();
+   private final Map<Long, TransactionHolder> transactions = new ConcurrentHashMap<>();
 
    // Sequence ID for journal records
    private final AtomicLong seq = new AtomicLong(0);
@@ -177,23 +183,36 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
       stop(true);
    }
 
-   public synchronized void stop(boolean sync) throws SQLException {
-      if (started) {
-         if (sync)
-            sync();
-         started = false;
-         super.stop();
+   public void stop(boolean sync) throws SQLException {
+      synchronized (syncLock) {
+         synchronized (this) {
+            if (started) {
+               if (sync)
+                  sync();
+               started = false;
+               super.stop();
+            }
+         }
       }
    }
 
    @Override
-   public synchronized void destroy() throws Exception {
-      super.destroy();
-      stop();
+   public void destroy() throws Exception {
+      synchronized (syncLock) {
+         synchronized (this) {
+            super.destroy();
+            stop();
+         }
+      }
    }
 
-   public synchronized int sync() {
+   public int sync() {
+      synchronized (syncLock) {
+         return syncRecords();
+      }
+   }
 
+   private int syncRecords() {
       List<JDBCJournalRecord> recordRef;
       synchronized (records) {
          if (records.isEmpty()) {
@@ -210,7 +229,7 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
 
 
       // We keep a list of deleted records and committed tx (used for cleaning up old transaction data).
-      List<Long> deletedRecords = new ArrayList<>();
+      Set<Long> deletedRecords = new HashSet<>();
       List<Long> committedTransactions = new ArrayList<>();
 
       TransactionHolder holder;
@@ -296,9 +315,8 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
     * We store Transaction reference in memory (once all records associated with a Transaction are Deleted, we remove
     * the Tx Records (i.e. PREPARE, COMMIT).
     */
-   private synchronized boolean cleanupTxRecords(List<Long> deletedRecords, List<Long> committedTx,
+   private synchronized boolean cleanupTxRecords(Set<Long> deletedRecords, List<Long> committedTx,
                                                  PreparedStatement deleteJournalTxRecords) throws SQLException {
-      List<RecordInfo> iterableCopy;
       List<TransactionHolder> iterableCopyTx = new ArrayList<>();
       iterableCopyTx.addAll(transactions.values());
 
@@ -306,16 +324,10 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
          transactions.get(txId).committed = true;
       }
       boolean hasDeletedJournalTxRecords = false;
-      // TODO (mtaylor) perhaps we could store a reverse mapping of IDs to prevent this O(n) loop
       for (TransactionHolder h : iterableCopyTx) {
 
-         iterableCopy = new ArrayList<>();
-         iterableCopy.addAll(h.recordInfos);
-
-         for (RecordInfo info : iterableCopy) {
-            if (deletedRecords.contains(info.id)) {
-               h.recordInfos.remove(info);
-            }
+         if (!deletedRecords.isEmpty()) {
+            h.recordInfos.removeIf(info -> deletedRecords.contains(info.id));
          }
 
          if (h.recordInfos.isEmpty() && h.committed) {
@@ -873,7 +885,9 @@ public class JDBCJournalImpl extends AbstractJDBCDriver implements Journal {
 
             jli.setMaxID(((JDBCJournalLoaderCallback) reloadManager).getMaxId());
             jli.setNumberOfRecords(noRecords);
-            transactions = jrc.getTransactions();
+            // the map is read without the lock by the writes, so it's refilled rather than replaced
+            transactions.clear();
+            transactions.putAll(jrc.getTransactions());
          }
       } catch (Throwable e) {
          handleException(null, e);
@@ -31,7 +31,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
 import org.apache.activemq.artemis.api.core.ActiveMQIOErrorException;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
 import org.apache.activemq.artemis.core.io.util.FileIOUtil;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
@@ -57,7 +57,7 @@ public abstract class AbstractSequentialFile implements SequentialFile {
 
    protected final AtomicLong position = new AtomicLong(0);
 
-   protected TimedBuffer timedBuffer;
+   protected AbstractTimedBuffer timedBuffer;
 
    /**
     * Instead of having AIOSequentialFile implementing the Observer, I have done it on an inner class. This is the class
@@ -182,7 +182,7 @@ public abstract class AbstractSequentialFile implements SequentialFile {
    }
 
    @Override
-   public void setTimedBuffer(final TimedBuffer buffer) {
+   public void setTimedBuffer(final AbstractTimedBuffer buffer) {
       if (timedBuffer != null) {
          timedBuffer.setObserver(null);
       }
@@ -309,6 +309,11 @@ public abstract class AbstractSequentialFile implements SequentialFile {
          }
       }
 
+      @Override
+      public int getAlignment() {
+         return factory.getAlignment();
+      }
+
       @Override
       public int getRemainingBytes() {
          if (fileSize - position.get() > Integer.MAX_VALUE) {
@@ -30,7 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
@@ -46,7 +46,7 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
 
    protected final File journalDir;
 
-   protected final TimedBuffer timedBuffer;
+   protected final AbstractTimedBuffer timedBuffer;
 
    protected final int bufferSize;
 
@@ -86,7 +86,7 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
       this.criticalAnalyzer = criticalAnalyzer;
 
       if (buffered && bufferTimeout > 0) {
-         timedBuffer = new TimedBuffer(criticalAnalyzer, bufferSize, bufferTimeout, logRates);
+         timedBuffer = AbstractTimedBuffer.newTimedBuffer(criticalAnalyzer, bufferSize, bufferTimeout, logRates);
          criticalAnalyzer.add(timedBuffer);
       } else {
          timedBuffer = null;
@@ -26,7 +26,7 @@ import java.nio.file.StandardOpenOption;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
 
 public interface SequentialFile {
@@ -139,7 +139,7 @@ public interface SequentialFile {
 
    void copyTo(SequentialFile newFileName) throws Exception;
 
-   void setTimedBuffer(TimedBuffer buffer);
+   void setTimedBuffer(AbstractTimedBuffer buffer);
 
    /**
     * {@return a native {@code File} of the file underlying this sequential file}
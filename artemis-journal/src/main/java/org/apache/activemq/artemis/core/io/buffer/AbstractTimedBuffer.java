@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.buffer;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
+import org.apache.activemq.artemis.utils.critical.CriticalComponentImpl;
+
+/**
+ * The contract between a {@link org.apache.activemq.artemis.core.io.SequentialFile} and the buffer batching its writes
+ * for up to {@code journal-buffer-timeout} nanoseconds before handing them to a {@link TimedBufferObserver}.
+ * <p>
+ * {@link TimedBuffer} is the default, monitor based, implementation: {@link ConcurrentTimedBuffer} can be enabled
+ * instead by setting the {@link ConcurrentTimedBuffer#ENABLED_PROPERTY} system property to {@code true}.
+ */
+public abstract class AbstractTimedBuffer extends CriticalComponentImpl {
+
+   protected static final int CRITICAL_PATHS = 6;
+   protected static final int CRITICAL_PATH_FLUSH = 0;
+   protected static final int CRITICAL_PATH_STOP = 1;
+   protected static final int CRITICAL_PATH_START = 2;
+   protected static final int CRITICAL_PATH_CHECK_SIZE = 3;
+   protected static final int CRITICAL_PATH_ADD_BYTES = 4;
+   protected static final int CRITICAL_PATH_SET_OBSERVER = 5;
+
+   protected AbstractTimedBuffer(CriticalAnalyzer analyzer) {
+      super(analyzer, CRITICAL_PATHS);
+   }
+
+   public static AbstractTimedBuffer newTimedBuffer(CriticalAnalyzer analyzer, final int size, final int timeout, final boolean logRates) {
+      if (ConcurrentTimedBuffer.ENABLED) {
+         return new ConcurrentTimedBuffer(analyzer, size, timeout, logRates);
+      }
+      return new TimedBuffer(analyzer, size, timeout, logRates);
+   }
+
+   public abstract void start();
+
+   public abstract void stop();
+
+   /**
+    * Flushes any pending data to the current observer before replacing it.
+    */
+   public abstract void setObserver(TimedBufferObserver observer);
+
+   /**
+    * Verify if the size fits the buffer and the current observer: a successful check must be followed by its
+    * corresponding {@code addBytes}.
+    */
+   public abstract boolean checkSize(int sizeChecked);
+
+   public abstract void addBytes(ActiveMQBuffer bytes, boolean sync, IOCallback callback);
+
+   public abstract void addBytes(EncodingSupport bytes, boolean sync, IOCallback callback);
+
+   public void flush() {
+      flushBatch();
+   }
+
+   /**
+    * Attempts to flush any pending data to the current observer.
+    *
+    * @return {@code true} when are flushed any bytes, {@code false} otherwise
+    */
+   public abstract boolean flushBatch();
+}
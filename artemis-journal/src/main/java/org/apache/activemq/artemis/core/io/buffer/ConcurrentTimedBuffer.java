@@ -0,0 +1,647 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
+import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
+import org.apache.activemq.artemis.utils.ArtemisCloseable;
+import org.apache.activemq.artemis.utils.ByteUtil;
+import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+import org.slf4j.Logger;
+
+/**
+ * A {@link AbstractTimedBuffer} accepting concurrent producers without a global monitor.
+ * <p>
+ * It uses two off-heap batches: producers claim a slice of the active batch with a single CAS and copy their record
+ * into it while a dedicated flusher thread is writing the other batch to the {@link TimedBufferObserver}. A batch is
+ * sealed (and the batches swapped) when it is full or when {@code timeout} nanoseconds are elapsed since the last
+ * flush; it is handed to the observer only once all the records claimed on it have been copied. As with
+ * {@link TimedBuffer}, a sync request doesn't trigger a flush by itself: it waits for the timeout, which is what
+ * lets concurrent syncs share a single device sync. Producers block only when both batches are full, which is the back-pressure of a slow device.
+ * <p>
+ * Records are written in claim order, hence concurrent producers relying on a specific order must enforce it by
+ * themselves, as {@link org.apache.activemq.artemis.core.journal.impl.JournalImpl} already does.
+ */
+public final class ConcurrentTimedBuffer extends AbstractTimedBuffer {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final String ENABLED_PROPERTY = ConcurrentTimedBuffer.class.getName() + ".ENABLED";
+
+   static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "false"));
+
+   private static final int SEALED = Integer.MIN_VALUE;
+
+   private static final int MAX_SPINS = 100;
+
+   private static final int MAX_YIELDS = 200;
+
+   private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+   private final int bufferSize;
+   private final int timeout;
+   private final boolean logRates;
+   private final Batch[] batches;
+   private final AtomicLong bytesFlushed = new AtomicLong(0);
+   private final AtomicLong flushesDone = new AtomicLong(0);
+   // bytes that can still be claimed on the current observer
+   private final AtomicLong remainingBytes = new AtomicLong(0);
+   // records that have reserved the padding of a batch with checkSize, not yet added
+   private final AtomicInteger reservedPaddings = new AtomicInteger(0);
+   // the worst padding the current observer can add to a flushed batch
+   private volatile int maxPadding;
+   // serializes the writes to the observer between the flusher thread and the explicit flushes
+   private final ReentrantLock flushLock = new ReentrantLock();
+   private volatile Batch current;
+   private volatile TimedBufferObserver bufferObserver;
+   private volatile boolean started;
+   private volatile Thread flusherThread;
+   private Flusher flusher;
+   private Timer logRatesTimer;
+   private TimerTask logRatesTimerTask;
+
+   public ConcurrentTimedBuffer(CriticalAnalyzer analyzer, final int size, final int timeout, final boolean logRates) {
+      super(analyzer);
+      this.bufferSize = size;
+      this.timeout = timeout;
+      this.logRates = logRates;
+      if (logRates) {
+         logRatesTimer = new Timer(true);
+      }
+      this.batches = new Batch[]{new Batch(size), new Batch(size)};
+      this.batches[1].trySeal();
+      this.current = batches[0];
+      this.current.free = false;
+   }
+
+   @Override
+   public void start() {
+      try (ArtemisCloseable critical = measureCritical(CRITICAL_PATH_START)) {
+         synchronized (this) {
+            if (started) {
+               return;
+            }
+
+            flusher = new Flusher();
+
+            Thread thread = new Thread(flusher, "activemq-buffer-timeout");
+
+            flusherThread = thread;
+
+            thread.start();
+
+            if (logRates) {
+               logRatesTimerTask = new LogRatesTimerTask();
+
+               logRatesTimer.scheduleAtFixedRate(logRatesTimerTask, 2000, 2000);
+            }
+
+            started = true;
+         }
+      }
+   }
+
+   @Override
+   public void stop() {
+      Thread localFlusher = null;
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_STOP)) {
+         synchronized (this) {
+            try {
+               if (!started) {
+                  return;
+               }
+
+               flush();
+
+               bufferObserver = null;
+
+               flusher.close();
+
+               if (logRates) {
+                  logRatesTimerTask.cancel();
+               }
+
+               localFlusher = flusherThread;
+               flusherThread = null;
+               flusher = null;
+            } finally {
+               started = false;
+            }
+         }
+         if (localFlusher != null) {
+            LockSupport.unpark(localFlusher);
+            while (localFlusher.isAlive()) {
+               try {
+                  localFlusher.join(1000);
+                  if (localFlusher.isAlive()) {
+                     localFlusher.interrupt();
+                  }
+               } catch (InterruptedException e) {
+                  throw new ActiveMQInterruptedException(e);
+               }
+            }
+         }
+      }
+   }
+
+   @Override
+   public void setObserver(final TimedBufferObserver observer) {
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_SET_OBSERVER)) {
+         flushLock.lock();
+         try {
+            if (bufferObserver != null) {
+               flushAll();
+            }
+
+            bufferObserver = observer;
+
+            maxPadding = observer == null ? 0 : observer.getAlignment() - 1;
+
+            reservedPaddings.set(0);
+
+            remainingBytes.set(observer == null ? 0 : observer.getRemainingBytes());
+         } finally {
+            flushLock.unlock();
+         }
+      }
+   }
+
+   /**
+    * Reserves {@code sizeChecked} bytes on the current observer.
+    * <p>
+    * Differently from {@link TimedBuffer#checkSize(int)} it never flushes: the buffer space is claimed by
+    * {@code addBytes}, which waits for a free batch if needed. As the record could be the first of a batch, the worst
+    * padding the observer can add to a batch is reserved too: {@code addBytes} gives it back unless the record opens
+    * a batch, whose flush gives back what isn't actually padded.
+    */
+   @Override
+   public boolean checkSize(final int sizeChecked) {
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_CHECK_SIZE)) {
+         checkStarted();
+
+         checkRecordSize(sizeChecked);
+
+         final int padding = maxPadding;
+         final long required = (long) sizeChecked + padding;
+         while (true) {
+            final long remaining = remainingBytes.get();
+            if (required > remaining) {
+               return false;
+            }
+            if (remainingBytes.compareAndSet(remaining, remaining - required)) {
+               if (padding > 0) {
+                  reservedPaddings.incrementAndGet();
+               }
+               return true;
+            }
+         }
+      }
+   }
+
+   @Override
+   public void addBytes(final ActiveMQBuffer bytes, final boolean sync, final IOCallback callback) {
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_ADD_BYTES)) {
+         checkStarted();
+
+         append(bytes.readableBytes(), bytes, null, sync, callback);
+      }
+   }
+
+   @Override
+   public void addBytes(final EncodingSupport bytes, final boolean sync, final IOCallback callback) {
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_ADD_BYTES)) {
+         checkStarted();
+
+         append(bytes.getEncodeSize(), null, bytes, sync, callback);
+      }
+   }
+
+   /**
+    * Flushes both the batch waiting for the flusher thread, if any, and the current one.
+    *
+    * @return {@code true} when are flushed any bytes, {@code false} otherwise
+    */
+   @Override
+   public boolean flushBatch() {
+      try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_FLUSH)) {
+         checkStarted();
+
+         flushLock.lock();
+         try {
+            return flushAll();
+         } finally {
+            flushLock.unlock();
+         }
+      }
+   }
+
+   private void checkStarted() {
+      if (!started) {
+         throw new IllegalStateException("TimedBuffer is not started");
+      }
+   }
+
+   private void checkRecordSize(final int size) {
+      if (size > bufferSize) {
+         throw new IllegalStateException("Can't write records (size=" + size + ") bigger than the bufferSize(" + bufferSize + ") on the journal");
+      }
+   }
+
+   private Batch other(final Batch batch) {
+      return batch == batches[0] ? batches[1] : batches[0];
+   }
+
+   private void append(final int size,
+                       final ActiveMQBuffer bytes,
+                       final EncodingSupport encoding,
+                       final boolean sync,
+                       final IOCallback callback) {
+      checkRecordSize(size);
+      while (true) {
+         final Batch batch = current;
+         final int offset = batch.tryClaim(size);
+         if (offset < 0) {
+            rotate(batch);
+            continue;
+         }
+         reservePadding(batch, offset);
+         try {
+            final ByteBuffer region = batch.region(offset, size);
+            if (bytes != null) {
+               bytes.byteBuf().getBytes(bytes.readerIndex(), region);
+            } else {
+               final ByteBuf slice = Unpooled.wrappedBuffer(region.slice());
+               slice.clear();
+               encoding.encode(new ChannelBufferWrapper(slice));
+            }
+            if (callback != null) {
+               batch.callbacks.add(callback);
+            }
+            if (sync) {
+               batch.syncRequested = true;
+            }
+         } catch (Throwable t) {
+            // the claimed region is flushed anyway: zeroed, it is skipped on load like the padding
+            ByteUtil.zeros(batch.memory, offset, size);
+            if (callback != null) {
+               callback.onError(ActiveMQExceptionType.GENERIC_EXCEPTION.getCode(), t.getMessage());
+            }
+            throw t;
+         } finally {
+            // a failed encoding must not prevent the batch from being flushed
+            batch.committed.addAndGet(size);
+         }
+         if (offset == 0) {
+            final Flusher localFlusher = flusher;
+            if (localFlusher != null && localFlusher.idle) {
+               LockSupport.unpark(flusherThread);
+            }
+         }
+         return;
+      }
+   }
+
+   /**
+    * Moves the padding reserved by {@code checkSize} on the batch the record is the first of, or gives it back.
+    * <p>
+    * A batch opened by a record that hasn't reserved it, ie added without {@code checkSize}, pays its padding on flush.
+    */
+   private void reservePadding(final Batch batch, final int offset) {
+      final int padding = maxPadding;
+      if (padding == 0) {
+         return;
+      }
+      while (true) {
+         final int reserved = reservedPaddings.get();
+         if (reserved == 0) {
+            return;
+         }
+         if (reservedPaddings.compareAndSet(reserved, reserved - 1)) {
+            break;
+         }
+      }
+      if (offset == 0) {
+         batch.reservedPadding = padding;
+      } else {
+         remainingBytes.addAndGet(padding);
+      }
+   }
+
+   /**
+    * Seals {@code batch} and makes the other one current as soon as the latter has been flushed.
+    */
+   private void rotate(final Batch batch) {
+      final Batch next = other(batch);
+      int idleCount = 0;
+      while (current == batch) {
+         if (next.free && batch.trySeal()) {
+            activate(next);
+            LockSupport.unpark(flusherThread);
+            return;
+         }
+         idleCount = backOff(idleCount);
+      }
+   }
+
+   private void activate(final Batch next) {
+      // a free batch is kept sealed to reject the claims of producers still seeing it as current: it must be
+      // unsealed before being marked as not free, or it would look as waiting to be flushed
+      next.claimed.set(0);
+      next.free = false;
+      current = next;
+   }
+
+   private static int backOff(final int idleCount) {
+      if (idleCount < MAX_SPINS) {
+         Thread.onSpinWait();
+      } else if (idleCount < MAX_SPINS + MAX_YIELDS) {
+         Thread.yield();
+      } else {
+         LockSupport.parkNanos(MAX_PARK_NANOS);
+      }
+      return idleCount + 1;
+   }
+
+   /**
+    * It must be called while holding {@link #flushLock}.
+    */
+   private boolean flushAll() {
+      boolean flushed = flushPending();
+      final Batch batch = current;
+      if (batch.isEmpty()) {
+         return flushed;
+      }
+      // flushPending has freed the other batch, unless some producer has just rotated the current one
+      final Batch next = other(batch);
+      if (next.free && batch.trySeal()) {
+         activate(next);
+      }
+      return flushPending() || flushed;
+   }
+
+   /**
+    * Flushes the sealed batch waiting to be written, if any: it must be called while holding {@link #flushLock}.
+    */
+   private boolean flushPending() {
+      final Batch batch = other(current);
+      if (!batch.isPending()) {
+         return false;
+      }
+      final int size = batch.awaitCommitted();
+      final TimedBufferObserver observer = bufferObserver;
+      final boolean syncRequested = batch.syncRequested;
+      final List<IOCallback> callbacks = batch.drainCallbacks();
+      final ByteBuf bytes = batch.bytes;
+      bytes.setIndex(0, size);
+      final int remainingBefore = observer.getRemainingBytes();
+      final boolean supportSync = observer.supportSync();
+      if (supportSync) {
+         observer.flushBuffer(bytes, false, null);
+      } else {
+         observer.flushBuffer(bytes, syncRequested, callbacks);
+      }
+      // the observer can pad the written bytes (eg aligning them to the device block size): the padding reserved on
+      // the batch is adjusted to the actual one
+      final int padding = Math.max(0, remainingBefore - observer.getRemainingBytes() - size);
+      if (padding != batch.reservedPadding) {
+         remainingBytes.addAndGet(batch.reservedPadding - padding);
+      }
+      batch.reset();
+      if (logRates) {
+         bytesFlushed.addAndGet(size);
+      }
+      flushesDone.incrementAndGet();
+      if (supportSync) {
+         // the other batch can be filled while syncing
+         observer.checkSync(syncRequested, callbacks);
+      }
+      return size > 0;
+   }
+
+   private static final class Batch {
+
+      private final ByteBuf bytes;
+      private final ByteBuffer memory;
+      private final int capacity;
+      // bytes claimed by producers, with the SEALED bit set once no more claims are accepted
+      private final AtomicInteger claimed = new AtomicInteger(0);
+      // bytes already copied by producers
+      private final AtomicInteger committed = new AtomicInteger(0);
+      private final Queue<IOCallback> callbacks = new ConcurrentLinkedQueue<>();
+      private volatile boolean syncRequested;
+      // padding of the batch reserved on the observer, published by the commit of the first record
+      private int reservedPadding;
+      // true when the batch is neither accepting claims nor waiting to be flushed
+      private volatile boolean free = true;
+
+      Batch(final int capacity) {
+         //NOTE: it is used ByteBuffer::allocateDirect instead of Unpooled::directBuffer, because the latter could allocate
+         //direct ByteBuffers with no Cleaner!
+         this.memory = ByteBuffer.allocateDirect(capacity);
+         this.bytes = Unpooled.wrappedBuffer(memory);
+         this.capacity = capacity;
+      }
+
+      int tryClaim(final int size) {
+         while (true) {
+            final int value = claimed.get();
+            if ((value & SEALED) != 0 || value + size > capacity) {
+               return -1;
+            }
+            if (claimed.compareAndSet(value, value + size)) {
+               return value;
+            }
+         }
+      }
+
+      boolean trySeal() {
+         while (true) {
+            final int value = claimed.get();
+            if ((value & SEALED) != 0) {
+               return false;
+            }
+            if (claimed.compareAndSet(value, value | SEALED)) {
+               return true;
+            }
+         }
+      }
+
+      boolean isPending() {
+         return !free && (claimed.get() & SEALED) != 0;
+      }
+
+      boolean isEmpty() {
+         return (claimed.get() & ~SEALED) == 0;
+      }
+
+      /**
+       * Returns a view, with independent indexes, over the claimed region.
+       */
+      ByteBuffer region(final int offset, final int size) {
+         final ByteBuffer region = memory.duplicate();
+         region.limit(offset + size).position(offset);
+         return region;
+      }
+
+      int awaitCommitted() {
+         final int size = claimed.get() & ~SEALED;
+         int idleCount = 0;
+         while (committed.get() != size) {
+            idleCount = backOff(idleCount);
+         }
+         return size;
+      }
+
+      List<IOCallback> drainCallbacks() {
+         final List<IOCallback> drained = new ArrayList<>();
+         IOCallback callback;
+         while ((callback = callbacks.poll()) != null) {
+            drained.add(callback);
+         }
+         return drained;
+      }
+
+      void reset() {
+         syncRequested = false;
+         reservedPadding = 0;
+         committed.set(0);
+         claimed.set(SEALED);
+         free = true;
+      }
+   }
+
+   private class LogRatesTimerTask extends TimerTask {
+
+      private boolean closed;
+
+      private long lastExecution;
+
+      private long lastBytesFlushed;
+
+      private long lastFlushesDone;
+
+      @Override
+      public synchronized void run() {
+         if (!closed) {
+            long now = System.currentTimeMillis();
+
+            long bytesF = bytesFlushed.get();
+            long flushesD = flushesDone.get();
+
+            if (lastExecution != 0) {
+               double rate = 1000 * (double) (bytesF - lastBytesFlushed) / (now - lastExecution);
+               ActiveMQJournalLogger.LOGGER.writeRate(rate, (long) (rate / (1024 * 1024)));
+               double flushRate = 1000 * (double) (flushesD - lastFlushesDone) / (now - lastExecution);
+               ActiveMQJournalLogger.LOGGER.flushRate(flushRate);
+            }
+
+            lastExecution = now;
+
+            lastBytesFlushed = bytesF;
+
+            lastFlushesDone = flushesD;
+         }
+      }
+
+      @Override
+      public synchronized boolean cancel() {
+         closed = true;
+
+         return super.cancel();
+      }
+   }
+
+   private class Flusher implements Runnable {
+
+      private volatile boolean closed = false;
+      // set while parked waiting for the first record of a batch
+      private volatile boolean idle = false;
+
+      @Override
+      public void run() {
+         long lastFlushTime = System.nanoTime();
+
+         while (!closed) {
+            final Batch batch = current;
+            final boolean pending = other(batch).isPending();
+            if (!pending && batch.isEmpty()) {
+               idle = true;
+               // re-check after publishing idle, producers unpark only when they find it set
+               if (!closed && !other(current).isPending() && current.isEmpty()) {
+                  LockSupport.park(this);
+               }
+               idle = false;
+               continue;
+            }
+
+            final long elapsed = System.nanoTime() - lastFlushTime;
+            // We flush if there is a full batch or we've waited at least one timeout since the last flush:
+            // effectively flushing "resets" the timer. Pending syncs wait for the timeout too, to be batched
+            if (pending || elapsed >= timeout) {
+               lastFlushTime = System.nanoTime();
+               boolean flushed = false;
+               flushLock.lock();
+               try {
+                  if (!closed && bufferObserver != null) {
+                     flushed = flushAll();
+                  }
+               } catch (Throwable e) {
+                  logger.warn(e.getMessage(), e);
+               } finally {
+                  flushLock.unlock();
+               }
+               final long timeToSleep = timeout - (System.nanoTime() - lastFlushTime);
+               if (!flushed) {
+                  // nothing could be written (eg no observer yet): don't spin on it
+                  LockSupport.parkNanos(this, Math.max(timeToSleep, MAX_PARK_NANOS));
+               } else if (timeToSleep > 0 && !other(current).isPending()) {
+                  // let the new batch gather more records, unless it is filled before
+                  LockSupport.parkNanos(this, timeToSleep);
+               }
+            } else {
+               LockSupport.parkNanos(this, timeout - elapsed);
+            }
+         }
+      }
+
+      public void close() {
+         closed = true;
+      }
+   }
+}
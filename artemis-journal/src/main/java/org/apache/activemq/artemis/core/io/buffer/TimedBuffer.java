@@ -34,20 +34,11 @@ import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
-import org.apache.activemq.artemis.utils.critical.CriticalComponentImpl;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 import org.slf4j.Logger;
 
-public final class TimedBuffer extends CriticalComponentImpl {
-
-   protected static final int CRITICAL_PATHS = 6;
-   protected static final int CRITICAL_PATH_FLUSH = 0;
-   protected static final int CRITICAL_PATH_STOP = 1;
-   protected static final int CRITICAL_PATH_START = 2;
-   protected static final int CRITICAL_PATH_CHECK_SIZE = 3;
-   protected static final int CRITICAL_PATH_ADD_BYTES = 4;
-   protected static final int CRITICAL_PATH_SET_OBSERVER = 5;
+public final class TimedBuffer extends AbstractTimedBuffer {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
@@ -93,7 +84,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
 
    public TimedBuffer(CriticalAnalyzer analyzer, final int size, final int timeout, final boolean logRates) {
-      super(analyzer, CRITICAL_PATHS);
+      super(analyzer);
       bufferSize = size;
 
       this.logRates = logRates;
@@ -117,6 +108,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
       this.timeout = timeout;
    }
 
+   @Override
    public void start() {
       try (ArtemisCloseable critical = measureCritical(CRITICAL_PATH_START)) {
          synchronized (this) {
@@ -148,6 +140,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   @Override
    public void stop() {
       Thread localTimer = null;
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_STOP)) {
@@ -192,6 +185,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   @Override
    public void setObserver(final TimedBufferObserver observer) {
       try (AutoCloseable measure = measureCritical(CRITICAL_PATH_SET_OBSERVER)) {
          synchronized (this) {
@@ -209,6 +203,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
    /**
     * Verify if the size fits the buffer
     */
+   @Override
    public boolean checkSize(final int sizeChecked) {
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_CHECK_SIZE)) {
          synchronized (this) {
@@ -250,6 +245,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   @Override
    public void addBytes(final ActiveMQBuffer bytes, final boolean sync, final IOCallback callback) {
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_ADD_BYTES)) {
          synchronized (this) {
@@ -277,6 +273,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   @Override
    public void addBytes(final EncodingSupport bytes, final boolean sync, final IOCallback callback) {
       try (ArtemisCloseable measure = measureCritical(CRITICAL_PATH_ADD_BYTES)) {
          synchronized (this) {
@@ -300,15 +297,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
-   public void flush() {
-      flushBatch();
-   }
-
    /**
     * Attempts to flush if {@code !delayFlush} and {@code buffer} is filled by any data.
     *
     * @return {@code true} when are flushed any bytes, {@code false} otherwise
     */
+   @Override
    public boolean flushBatch() {
       List<IOCallback> syncCallbackList = null;
       boolean localUseSync = false;
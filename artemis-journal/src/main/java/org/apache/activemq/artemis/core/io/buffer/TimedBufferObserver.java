@@ -42,4 +42,11 @@ public interface TimedBufferObserver {
     */
    int getRemainingBytes();
 
+   /**
+    * Return the block size {@link #flushBuffer} pads the written bytes to, {@code 1} if they aren't padded
+    */
+   default int getAlignment() {
+      return 1;
+   }
+
 }
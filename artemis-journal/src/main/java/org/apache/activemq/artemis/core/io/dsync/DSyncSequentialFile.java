@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.dsync;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+
+import org.apache.activemq.artemis.api.core.ActiveMQIOErrorException;
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFile;
+
+/**
+ * A {@link NIOSequentialFile} opened with {@code O_DSYNC} (i.e. {@link RandomAccessFile} mode {@code "rwd"}) when the
+ * factory is datasync.
+ * <p>
+ * Each write returns once its data is on stable storage, so a {@link org.apache.activemq.artemis.core.io.buffer.TimedBuffer}
+ * flush is a single {@code pwrite} instead of {@code pwrite} followed by {@code fdatasync}, and the kernel is free to
+ * use FUA writes where the device supports them. Unlike libaio it doesn't need {@code O_DIRECT} nor aligned buffers.
+ */
+public class DSyncSequentialFile extends NIOSequentialFile {
+
+   public DSyncSequentialFile(final SequentialFileFactory factory,
+                              final File directory,
+                              final String file,
+                              final int maxIO,
+                              final Executor writerExecutor) {
+      super(factory, directory, file, maxIO, writerExecutor);
+   }
+
+   @Override
+   public void open(final int maxIO, final boolean useExecutor) throws IOException {
+      openChannel(factory.isDatasync());
+   }
+
+   private void openChannel(boolean dsync) throws IOException {
+      try {
+         rfile = new RandomAccessFile(getFile(), dsync ? "rwd" : "rw");
+
+         channel = rfile.getChannel();
+
+         fileSize = channel.size();
+      } catch (ClosedChannelException e) {
+         throw e;
+      } catch (IOException e) {
+         factory.onIOError(new ActiveMQIOErrorException(e.getMessage(), e), e.getMessage(), this);
+         throw e;
+      }
+   }
+
+   private void closeChannel() throws IOException {
+      try {
+         if (channel != null) {
+            channel.close();
+         }
+      } finally {
+         if (rfile != null) {
+            rfile.close();
+         }
+         channel = null;
+         rfile = null;
+      }
+   }
+
+   @Override
+   public synchronized void fill(final int size) throws IOException {
+      if (!factory.isDatasync()) {
+         super.fill(size);
+         return;
+      }
+      // zeroing the file page by page through O_DSYNC would wait on the disk for every page:
+      // pre-allocate with a plain handle and a single fdatasync (done by NIOSequentialFile::fill) instead
+      closeChannel();
+      openChannel(false);
+      try {
+         super.fill(size);
+      } finally {
+         closeChannel();
+         openChannel(true);
+      }
+   }
+
+   @Override
+   protected void syncChannel(FileChannel syncChannel) throws IOException {
+      // no-op: with O_DSYNC every write has already reached the device when it returns
+   }
+
+   @Override
+   public SequentialFile cloneFile() {
+      return new DSyncSequentialFile(factory, directory, getFileName(), maxIO, null);
+   }
+
+   @Override
+   public String toString() {
+      return "DSyncSequentialFile " + getFile();
+   }
+}
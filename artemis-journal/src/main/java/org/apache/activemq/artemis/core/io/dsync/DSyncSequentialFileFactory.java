@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.dsync;
+
+import java.io.File;
+
+import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
+
+/**
+ * NIO based factory whose files are written with {@code O_DSYNC}, see {@link DSyncSequentialFile}.
+ * <p>
+ * It keeps the buffer pooling and zero-copy {@link org.apache.activemq.artemis.core.io.buffer.TimedBuffer} flushes of
+ * {@link NIOSequentialFileFactory}: the only difference is that durability is obtained by the write itself.
+ */
+public class DSyncSequentialFileFactory extends NIOSequentialFileFactory {
+
+   public DSyncSequentialFileFactory(final File journalDir, final int maxIO) {
+      this(journalDir, null, maxIO);
+   }
+
+   public DSyncSequentialFileFactory(final File journalDir, final IOCriticalErrorListener listener, final int maxIO) {
+      super(journalDir, listener, maxIO);
+   }
+
+   public DSyncSequentialFileFactory(final File journalDir,
+                                     final boolean buffered,
+                                     final int bufferSize,
+                                     final int bufferTimeout,
+                                     final int maxIO,
+                                     final boolean logRates,
+                                     final IOCriticalErrorListener listener,
+                                     final CriticalAnalyzer analyzer) {
+      super(journalDir, buffered, bufferSize, bufferTimeout, maxIO, logRates, listener, analyzer);
+   }
+
+   @Override
+   public SequentialFile createSequentialFile(final String fileName) {
+      return new DSyncSequentialFile(this, journalDir, fileName, maxIO, writeExecutor);
+   }
+}
@@ -30,7 +30,7 @@ import org.apache.activemq.artemis.core.io.DummyCallback;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
@@ -40,7 +40,7 @@ final class TimedSequentialFile implements SequentialFile {
    private final SequentialFileFactory factory;
    private final SequentialFile sequentialFile;
    private final LocalBufferObserver observer;
-   private TimedBuffer timedBuffer;
+   private AbstractTimedBuffer timedBuffer;
 
    TimedSequentialFile(SequentialFileFactory factory, SequentialFile sequentialFile) {
       this.sequentialFile = sequentialFile;
@@ -230,7 +230,7 @@ final class TimedSequentialFile implements SequentialFile {
    }
 
    @Override
-   public void setTimedBuffer(TimedBuffer buffer) {
+   public void setTimedBuffer(AbstractTimedBuffer buffer) {
       if (this.timedBuffer != null) {
          this.timedBuffer.setObserver(null);
       }
@@ -349,6 +349,35 @@ public interface Journal extends ActiveMQComponent {
     */
    void scheduleCompactAndBlock(int timeout) throws Exception;
 
+   /**
+    * {@return the number of compacting operations completed since the journal was created}
+    */
+   default long getCompactsCompleted() {
+      return 0;
+   }
+
+   /**
+    * {@return the number of data files read by compacting}
+    */
+   default long getCompactFilesProcessed() {
+      return 0;
+   }
+
+   /**
+    * {@return an approximation of the bytes released by compacting: the number of data files it saved, times the
+    * journal file size}
+    */
+   default long getCompactBytesReclaimed() {
+      return 0;
+   }
+
+   /**
+    * {@return the time in nanoseconds appends have been held by compacting}
+    */
+   default long getCompactPauseNanos() {
+      return 0;
+   }
+
    /**
     * Stops any operation that may delete or modify old (stale) data.
     * <p>
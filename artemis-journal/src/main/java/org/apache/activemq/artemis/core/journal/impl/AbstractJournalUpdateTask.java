@@ -31,6 +31,7 @@ import org.apache.activemq.artemis.core.journal.RecordInfo;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalAddRecord;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalInternalRecord;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashSet;
 
 /**
@@ -56,7 +57,11 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
 
    private ByteBuffer bufferWrite;
 
-   private final ConcurrentLongHashSet recordsSnapshot;
+   // the records of the journal when the task started: they aren't modified anymore by the journal
+   private final ConcurrentLongHashMap<JournalRecord> recordsSnapshot;
+
+   // records committed by transactions pending when the task started
+   private final ConcurrentLongHashSet addedRecords = new ConcurrentLongHashSet();
 
    protected final List<JournalFile> newDataFiles = new ArrayList<>();
 
@@ -64,7 +69,7 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
    protected AbstractJournalUpdateTask(final SequentialFileFactory fileFactory,
                                        final JournalImpl journal,
                                        final JournalFilesRepository filesRepository,
-                                       final ConcurrentLongHashSet recordsSnapshot,
+                                       final ConcurrentLongHashMap<JournalRecord> recordsSnapshot,
                                        final long nextOrderingID) {
       super();
       this.journal = journal;
@@ -244,7 +249,8 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
    }
 
    public boolean containsRecord(final long id) {
-      return recordsSnapshot.contains(id);
+      // invalid (negative) IDs are reported by the set and they are never part of the snapshot
+      return addedRecords.contains(id) || id >= 0 && recordsSnapshot.containsKey(id);
    }
 
    protected void openFile() throws Exception {
@@ -277,7 +283,7 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
    }
 
    protected void addToRecordsSnaptshot(final long id) {
-      recordsSnapshot.add(id);
+      addedRecords.add(id);
    }
 
    protected ActiveMQBuffer getWritingChannel() {
@@ -220,6 +220,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private final int compactMinFiles;
 
+   // the number of threads reading the files on load, 1 reads them on the loading thread
+   private int loadThreads = 1;
+
    private final SequentialFileFactory fileFactory;
 
    private final JournalFilesRepository filesRepository;
@@ -297,7 +300,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
 
    // Compacting may replace this structure
-   private final ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
+   private volatile ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
 
    // Compacting may replace this structure
    private final ConcurrentLongHashMap<JournalTransaction> transactions = new ConcurrentLongHashMap<>();
@@ -350,6 +353,15 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile int compactCount = 0;
 
+   // Compacting statistics, only updated by the compactor
+   private final AtomicLong compactsCompleted = new AtomicLong();
+
+   private final AtomicLong compactFilesProcessed = new AtomicLong();
+
+   private final AtomicLong compactBytesReclaimed = new AtomicLong();
+
+   private final AtomicLong compactPauseNanos = new AtomicLong();
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
@@ -358,6 +370,42 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return compactMinFiles;
    }
 
+   public int getLoadThreads() {
+      return loadThreads;
+   }
+
+   /**
+    * Sets the number of threads reading and decoding the journal files on load. The records are still delivered to the
+    * loader in the journal order, on the loading thread.
+    */
+   public JournalImpl setLoadThreads(final int loadThreads) {
+      if (loadThreads < 1) {
+         throw new IllegalArgumentException("loadThreads must be greater than 0, was " + loadThreads);
+      }
+      this.loadThreads = loadThreads;
+      return this;
+   }
+
+   @Override
+   public long getCompactsCompleted() {
+      return compactsCompleted.get();
+   }
+
+   @Override
+   public long getCompactFilesProcessed() {
+      return compactFilesProcessed.get();
+   }
+
+   @Override
+   public long getCompactBytesReclaimed() {
+      return compactBytesReclaimed.get();
+   }
+
+   @Override
+   public long getCompactPauseNanos() {
+      return compactPauseNanos.get();
+   }
+
    public JournalFilesRepository getFilesRepository() {
       return filesRepository;
    }
@@ -1809,6 +1857,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
+            final long lockStart = System.nanoTime();
             journalLock.writeLock().lock();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
@@ -1818,10 +1867,16 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                newDatafiles = localCompactor.getNewDataFiles();
 
-               // Restore newRecords created during compacting
-               localCompactor.getNewRecords().forEach((id, newRecord) -> {
-                  records.put(id, newRecord);
-               });
+               // Restore newRecords created during compacting. The smaller map is merged into the larger one, so the
+               // journal is held for the records added while compacting rather than for every compacted record.
+               // Either way the compacted records win, as they did when they were all copied.
+               final ConcurrentLongHashMap<JournalRecord> compactedRecords = localCompactor.getNewRecords();
+               if (compactedRecords.size() > records.size()) {
+                  records.forEach(compactedRecords::putIfAbsent);
+                  records = compactedRecords;
+               } else {
+                  compactedRecords.forEach(records::put);
+               }
 
                // Restore compacted dataFiles
                for (int i = newDatafiles.size() - 1; i >= 0; i--) {
@@ -1859,6 +1914,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                return;
             } finally {
                journalLock.writeLock().unlock();
+               compactPauseNanos.addAndGet(System.nanoTime() - lockStart);
             }
 
             // At this point the journal is unlocked. We keep renaming files while the journal is already operational
@@ -1869,7 +1925,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             setAutoReclaim(previousReclaimValue);
 
-            logger.debug("Finished compacting on journal {}", this);
+            compactsCompleted.incrementAndGet();
+            compactFilesProcessed.addAndGet(dataFilesToProcess.size());
+            // an approximation: it doesn't account for the unused space left at the end of the files
+            compactBytesReclaimed.addAndGet(Math.max(0, dataFilesToProcess.size() - newDatafiles.size()) * (long) fileSize);
+
+            logger.debug("Finished compacting on journal {}, {} files compacted into {}", this, dataFilesToProcess.size(), newDatafiles.size());
 
          } catch (Throwable e) {
             fileFactory.onIOError(e, e.getMessage());
@@ -1891,6 +1952,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       List<JournalFile> dataFilesToProcess = new ArrayList<>(filesRepository.getDataFilesCount());
       // We need to guarantee that the journal is frozen for this short time
       // We don't freeze the journal as we compact, only for the short time where we replace records
+      final long lockStart = System.nanoTime();
       journalLock.writeLock().lock();
       try {
          if (state != JournalState.LOADED) {
@@ -1915,7 +1977,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             return null;
          }
 
-         compactor = new JournalCompactor(fileFactory, this, filesRepository, records.keysLongHashSet(), dataFilesToProcess.get(0).getFileID());
+         // the current records become the snapshot of the compactor, the journal will keep appending to a new map
+         compactor = new JournalCompactor(fileFactory, this, filesRepository, records, dataFilesToProcess.get(0).getFileID());
 
          if (replaceableRecords != null) {
             replaceableRecords.forEach((k, v) -> compactor.replaceableRecord(k));
@@ -1928,9 +1991,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          // We will calculate the new records during compacting, what will take the position the records will take
          // after compacting
-         records.clear();
+         records = new ConcurrentLongHashMap<>();
       } finally {
          journalLock.writeLock().unlock();
+         compactPauseNanos.addAndGet(System.nanoTime() - lockStart);
       }
 
       processBackup();
@@ -1982,7 +2046,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    private synchronized JournalLoadInformation load(final LoaderCallback loadManager,
                                                     final boolean changeData,
                                                     final JournalState replicationSync,
-                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef,
+                                                    final AtomicReference<ParallelJournalFilesReader> parallelReaderRef) throws Exception {
       JournalState state;
       assert (state = this.state) != JournalState.STOPPED &&
          state != JournalState.LOADED &&
@@ -2008,12 +2073,21 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
+      // the files are read and decoded ahead on other threads, but they are still loaded one by one in order
+      final ParallelJournalFilesReader parallelReader;
+      if (loadThreads > 1 && orderedFiles.size() > 1) {
+         parallelReader = new ParallelJournalFilesReader(fileFactory, orderedFiles, loadThreads, replaceableRecords);
+         parallelReaderRef.set(parallelReader);
+      } else {
+         parallelReader = null;
+      }
+
       for (final JournalFile file : orderedFiles) {
          logger.trace("Loading file {}", file.getFile().getFileName());
 
          final AtomicBoolean hasData = new AtomicBoolean(false);
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+         int resultLastPost = readJournalFileOnLoad(parallelReader, file, new JournalReaderCallback() {
 
             private void checkID(final long id) {
                if (id > maxID.longValue()) {
@@ -2235,7 +2309,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                hasData.lazySet(true);
             }
 
-         }, wholeFileBufferRef, false, this.replaceableRecords);
+         }, wholeFileBufferRef);
 
          if (hasData.get()) {
             lastDataPos = resultLastPost;
@@ -2305,17 +2379,32 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
       // AtomicReference is used only as a reference, not as an Atomic value
       final AtomicReference<ByteBuffer> wholeFileBufferRef = new AtomicReference<>();
+      final AtomicReference<ParallelJournalFilesReader> parallelReaderRef = new AtomicReference<>();
       try {
-         return load(loadManager, changeData, replicationSync, wholeFileBufferRef);
+         return load(loadManager, changeData, replicationSync, wholeFileBufferRef, parallelReaderRef);
       } finally {
          final ByteBuffer wholeFileBuffer = wholeFileBufferRef.get();
          if (wholeFileBuffer != null) {
             fileFactory.releaseDirectBuffer(wholeFileBuffer);
             wholeFileBufferRef.lazySet(null);
          }
+         final ParallelJournalFilesReader parallelReader = parallelReaderRef.get();
+         if (parallelReader != null) {
+            parallelReader.close();
+         }
       }
    }
 
+   private int readJournalFileOnLoad(final ParallelJournalFilesReader parallelReader,
+                                     final JournalFile file,
+                                     final JournalReaderCallback reader,
+                                     final AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+      if (parallelReader != null) {
+         return parallelReader.read(file, reader);
+      }
+      return JournalImpl.readJournalFile(fileFactory, file, reader, wholeFileBufferRef, false, this.replaceableRecords);
+   }
+
 
    @Override
    public void processBackupCleanup() {
@@ -2576,6 +2665,26 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
       boolean needCompact = totalLiveSize < compactMargin && dataFiles.length > compactMinFiles;
 
+      if (!needCompact) {
+         // A few long living records can keep many files around, even if most of the journal is live
+         int sparseFiles = 0;
+         long sparseDeadBytes = 0;
+         long fileMargin = (long) (fileSize * compactPercentage);
+         for (JournalFile file : dataFiles) {
+            if (file.getLiveSize() < fileMargin) {
+               sparseFiles++;
+               sparseDeadBytes += fileSize - file.getLiveSize();
+            }
+         }
+         // compacting copies all the live data: it is worth only if it reclaims more than that
+         needCompact = sparseFiles > compactMinFiles && sparseDeadBytes > totalLiveSize;
+
+         if (needCompact && logger.isDebugEnabled()) {
+            logger.debug("JournalImpl::needsCompact, {} files are below the live ratio of {}, holding {} dead bytes against {} live bytes",
+                         sparseFiles, compactPercentage, sparseDeadBytes, totalLiveSize);
+         }
+      }
+
       if (logger.isDebugEnabled()) {
          logger.debug("JournalImpl::needsCompact={}, totalBytes={}, dataFiles.length={}, fileSize={}, compactMargin={}, compactingPercentage={}," +
                          "compactMinFiles={}", needCompact, totalBytes, dataFiles.length, fileSize,
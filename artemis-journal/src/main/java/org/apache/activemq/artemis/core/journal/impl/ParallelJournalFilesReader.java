@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.util.collection.ByteObjectHashMap;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and decodes journal files on a pool of threads, ahead of the loading thread.
+ * <p>
+ * The records of each file are kept in memory until {@link #read(JournalFile, JournalReaderCallback)} replays them, in the
+ * same order {@link JournalImpl#readJournalFile} would have delivered them. The loader still sees the files one after
+ * the other, in the order they were passed, so it doesn't need to be thread safe. At most {@code 2 * threads} files
+ * are read ahead, bounding the memory used by the decoded records.
+ */
+public class ParallelJournalFilesReader implements AutoCloseable {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final SequentialFileFactory fileFactory;
+
+   private final List<JournalFile> files;
+
+   private final ByteObjectHashMap<Boolean> replaceableRecords;
+
+   private final ExecutorService pool;
+
+   private final int readAhead;
+
+   private final List<Future<RecordedFile>> pendingReads;
+
+   // the whole file buffers are reused across the reads, one for each running read at most
+   private final Queue<AtomicReference<ByteBuffer>> wholeFileBuffers = new ConcurrentLinkedQueue<>();
+
+   private int nextFile;
+
+   private int nextReplay;
+
+   public ParallelJournalFilesReader(final SequentialFileFactory fileFactory,
+                                     final List<JournalFile> files,
+                                     final int threads,
+                                     final ByteObjectHashMap<Boolean> replaceableRecords) {
+      if (threads < 1) {
+         throw new IllegalArgumentException("threads must be greater than 0, was " + threads);
+      }
+      this.fileFactory = fileFactory;
+      this.files = files;
+      this.replaceableRecords = replaceableRecords;
+      final ThreadFactory factory = AccessController.doPrivileged((PrivilegedAction<ThreadFactory>) () -> new ActiveMQThreadFactory("ArtemisJournalLoad", true, ParallelJournalFilesReader.class.getClassLoader()));
+      this.pool = Executors.newFixedThreadPool(threads, factory);
+      this.readAhead = threads * 2;
+      this.pendingReads = new ArrayList<>(files.size());
+      for (int i = 0; i < files.size(); i++) {
+         pendingReads.add(null);
+      }
+   }
+
+   /**
+    * Replays the records of a file on {@code reader}, waiting for the file to be read if needed.
+    * <p>
+    * Files have to be replayed in order.
+    *
+    * @return the position after the last valid record of the file, as returned by {@link JournalImpl#readJournalFile}
+    */
+   public int read(final JournalFile file, final JournalReaderCallback reader) throws Exception {
+      final int fileIndex = nextReplay;
+      if (fileIndex >= files.size() || files.get(fileIndex) != file) {
+         throw new IllegalStateException("File " + file + " isn't the next file to be replayed");
+      }
+      nextReplay++;
+      while (nextFile < files.size() && nextFile <= fileIndex + readAhead) {
+         final JournalFile toRead = files.get(nextFile);
+         pendingReads.set(nextFile, pool.submit(() -> readFile(toRead)));
+         nextFile++;
+      }
+      final Future<RecordedFile> pendingRead = pendingReads.set(fileIndex, null);
+      if (pendingRead == null) {
+         throw new IllegalStateException("File " + fileIndex + " was already read");
+      }
+      final RecordedFile recordedFile;
+      try {
+         recordedFile = pendingRead.get();
+      } catch (ExecutionException e) {
+         if (e.getCause() instanceof Exception cause) {
+            throw cause;
+         }
+         throw e;
+      }
+      return recordedFile.replay(reader);
+   }
+
+   private RecordedFile readFile(final JournalFile file) throws Exception {
+      AtomicReference<ByteBuffer> wholeFileBuffer = wholeFileBuffers.poll();
+      if (wholeFileBuffer == null) {
+         wholeFileBuffer = new AtomicReference<>();
+      }
+      try {
+         logger.trace("Reading file {} in parallel", file);
+         final RecordedFile recordedFile = new RecordedFile();
+         recordedFile.lastDataPos = JournalImpl.readJournalFile(fileFactory, file, recordedFile, wholeFileBuffer, false, replaceableRecords);
+         return recordedFile;
+      } finally {
+         wholeFileBuffers.add(wholeFileBuffer);
+      }
+   }
+
+   @Override
+   public void close() {
+      pool.shutdownNow();
+      for (Future<RecordedFile> pendingRead : pendingReads) {
+         if (pendingRead != null) {
+            pendingRead.cancel(false);
+         }
+      }
+      try {
+         while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.debug("Waiting for the journal files being read to be released");
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } finally {
+         AtomicReference<ByteBuffer> wholeFileBuffer;
+         while ((wholeFileBuffer = wholeFileBuffers.poll()) != null) {
+            final ByteBuffer buffer = wholeFileBuffer.get();
+            if (buffer != null) {
+               fileFactory.releaseDirectBuffer(buffer);
+            }
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface ReadEvent {
+
+      void replay(JournalReaderCallback reader) throws Exception;
+   }
+
+   /**
+    * Keeps the events of a {@link JournalReaderCallback} to deliver them later on the loading thread.
+    */
+   private static final class RecordedFile implements JournalReaderCallback {
+
+      private final List<ReadEvent> events = new ArrayList<>();
+
+      private int lastDataPos;
+
+      int replay(final JournalReaderCallback reader) throws Exception {
+         for (ReadEvent event : events) {
+            event.replay(reader);
+         }
+         events.clear();
+         return lastDataPos;
+      }
+
+      @Override
+      public void onReadEventRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadEventRecord(info));
+      }
+
+      @Override
+      public void done() {
+         events.add(JournalReaderCallback::done);
+      }
+
+      @Override
+      public void onReadAddRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadAddRecord(info));
+      }
+
+      @Override
+      public void onReadUpdateRecord(final RecordInfo info) {
+         events.add(reader -> reader.onReadUpdateRecord(info));
+      }
+
+      @Override
+      public void onReadDeleteRecord(final long recordID) {
+         events.add(reader -> reader.onReadDeleteRecord(recordID));
+      }
+
+      @Override
+      public void onReadAddRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadAddRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadUpdateRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadUpdateRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadDeleteRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(reader -> reader.onReadDeleteRecordTX(transactionID, info));
+      }
+
+      @Override
+      public void onReadPrepareRecord(final long transactionID, final byte[] extraData, final int numberOfRecords) {
+         events.add(reader -> reader.onReadPrepareRecord(transactionID, extraData, numberOfRecords));
+      }
+
+      @Override
+      public void onReadCommitRecord(final long transactionID, final int numberOfRecords) {
+         events.add(reader -> reader.onReadCommitRecord(transactionID, numberOfRecords));
+      }
+
+      @Override
+      public void onReadRollbackRecord(final long transactionID) {
+         events.add(reader -> reader.onReadRollbackRecord(transactionID));
+      }
+
+      @Override
+      public void markAsDataFile(final JournalFile file) {
+         events.add(reader -> reader.markAsDataFile(file));
+      }
+   }
+}
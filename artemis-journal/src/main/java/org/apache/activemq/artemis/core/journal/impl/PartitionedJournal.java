@@ -0,0 +1,896 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
+import org.apache.activemq.artemis.core.io.DummyCallback;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.EncoderPersister;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.core.journal.IOCompletion;
+import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.JournalUpdateCallback;
+import org.apache.activemq.artemis.core.journal.LoaderCallback;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.TransactionFailureCallback;
+import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
+import org.apache.activemq.artemis.core.persistence.Persister;
+import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
+import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * A {@link org.apache.activemq.artemis.core.journal.Journal} spreading its records by ID across independent
+ * {@link JournalImpl} partitions, each one with its own files, buffer and append executor.
+ * <p>
+ * Every operation on a record goes to the partition owning its ID, hence records never move between partitions and
+ * the number of partitions can't be changed once a journal holds data. Transactions touching a single partition are
+ * handled by that partition alone; the others are committed in two phases:
+ * <ol>
+ * <li>every participant partition adds a {@link #COMMIT_MARKER_RECORD} to the transaction, telling the participants
+ * of the transaction, and appends a prepare record</li>
+ * <li>once all the prepare records are completed, every participant appends a commit record and the markers are
+ * deleted when all the commits are durable</li>
+ * </ol>
+ * On load, a transaction still prepared on some partitions is committed if any of its markers has been committed,
+ * otherwise it is rolled back or, if it was prepared by the user on all its participants, reported as a prepared
+ * transaction.
+ * <p>
+ * The prepare records are always synced, whatever the sync flag of the caller, while the commit records follow it. A
+ * marker must never be deleted while a participant could still lose its commit, or its prepare, on failure: the markers
+ * of commits that weren't synced are updated with a sync first, the completion of all the updates telling that all
+ * the commits before them are durable.
+ */
+public final class PartitionedJournal extends JournalBase {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final int MAX_PARTITIONS = Long.SIZE;
+
+   /**
+    * The user record type of the commit markers: it is never exposed to the loaders of this journal.
+    */
+   public static final byte COMMIT_MARKER_RECORD = Byte.MIN_VALUE;
+
+   // prepared by the user, eg an XA transaction
+   static final byte PREPARED = 0;
+
+   // prepared as the first phase of a commit
+   static final byte COMMITTING = 1;
+
+   private static final EncodingSupport EMPTY_RECORD = new ByteArrayEncoding(new byte[0]);
+
+   private final JournalImpl[] partitions;
+
+   private final ConcurrentLongHashMap<PartitionedTransaction> transactions = new ConcurrentLongHashMap<>();
+
+   public PartitionedJournal(JournalImpl... partitions) {
+      super(true, partitions[0].getFileSize());
+      if (partitions.length < 2 || partitions.length > MAX_PARTITIONS) {
+         throw new IllegalArgumentException("The number of partitions must be between 2 and " + MAX_PARTITIONS + ", was " + partitions.length);
+      }
+      this.partitions = partitions.clone();
+   }
+
+   public int getPartitionCount() {
+      return partitions.length;
+   }
+
+   public JournalImpl getPartition(int partition) {
+      return partitions[partition];
+   }
+
+   public int partitionOf(long id) {
+      return (int) ((id & Long.MAX_VALUE) % partitions.length);
+   }
+
+   private JournalImpl partition(long id) {
+      return partitions[partitionOf(id)];
+   }
+
+   private JournalImpl participate(long txID, long id) {
+      final int partition = partitionOf(id);
+      transactions.computeIfAbsent(txID, PartitionedTransaction::new).participate(partition);
+      return partitions[partition];
+   }
+
+   @Override
+   public void start() throws Exception {
+      for (JournalImpl partition : partitions) {
+         partition.start();
+      }
+   }
+
+   @Override
+   public void stop() throws Exception {
+      for (JournalImpl partition : partitions) {
+         partition.stop();
+      }
+      transactions.clear();
+   }
+
+   @Override
+   public boolean isStarted() {
+      for (JournalImpl partition : partitions) {
+         if (!partition.isStarted()) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public void setRemoveExtraFilesOnLoad(boolean setting) {
+      super.setRemoveExtraFilesOnLoad(setting);
+      for (JournalImpl partition : partitions) {
+         partition.setRemoveExtraFilesOnLoad(setting);
+      }
+   }
+
+   @Override
+   public void replaceableRecord(byte recordType) {
+      for (JournalImpl partition : partitions) {
+         partition.replaceableRecord(recordType);
+      }
+   }
+
+   // Non transactional operations
+
+   @Override
+   public void appendAddRecord(long id,
+                               byte recordType,
+                               Persister persister,
+                               Object record,
+                               boolean sync,
+                               IOCompletion completionCallback) throws Exception {
+      partition(id).appendAddRecord(id, recordType, persister, record, sync, completionCallback);
+   }
+
+   @Override
+   public void appendAddEvent(long id,
+                              byte recordType,
+                              Persister persister,
+                              Object record,
+                              boolean sync,
+                              IOCompletion completionCallback) throws Exception {
+      partition(id).appendAddEvent(id, recordType, persister, record, sync, completionCallback);
+   }
+
+   @Override
+   public void appendUpdateRecord(long id,
+                                  byte recordType,
+                                  Persister persister,
+                                  Object record,
+                                  boolean sync,
+                                  IOCompletion callback) throws Exception {
+      partition(id).appendUpdateRecord(id, recordType, persister, record, sync, callback);
+   }
+
+   @Override
+   public void tryAppendUpdateRecord(long id,
+                                     byte recordType,
+                                     Persister persister,
+                                     Object record,
+                                     boolean sync,
+                                     boolean replaceableUpdate,
+                                     JournalUpdateCallback updateCallback,
+                                     IOCompletion callback) throws Exception {
+      partition(id).tryAppendUpdateRecord(id, recordType, persister, record, sync, replaceableUpdate, updateCallback, callback);
+   }
+
+   @Override
+   public void appendDeleteRecord(long id, boolean sync, IOCompletion completionCallback) throws Exception {
+      partition(id).appendDeleteRecord(id, sync, completionCallback);
+   }
+
+   @Override
+   public void tryAppendDeleteRecord(long id,
+                                     boolean sync,
+                                     JournalUpdateCallback updateCallback,
+                                     IOCompletion completionCallback) throws Exception {
+      partition(id).tryAppendDeleteRecord(id, sync, updateCallback, completionCallback);
+   }
+
+   // Transactional operations
+
+   @Override
+   public void appendAddRecordTransactional(long txID,
+                                            long id,
+                                            byte recordType,
+                                            Persister persister,
+                                            Object record) throws Exception {
+      participate(txID, id).appendAddRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendUpdateRecordTransactional(long txID,
+                                               long id,
+                                               byte recordType,
+                                               Persister persister,
+                                               Object record) throws Exception {
+      participate(txID, id).appendUpdateRecordTransactional(txID, id, recordType, persister, record);
+   }
+
+   @Override
+   public void appendDeleteRecordTransactional(long txID, long id, EncodingSupport record) throws Exception {
+      participate(txID, id).appendDeleteRecordTransactional(txID, id, record);
+   }
+
+   @Override
+   public void appendPrepareRecord(long txID,
+                                   EncodingSupport transactionData,
+                                   boolean sync,
+                                   IOCompletion callback) throws Exception {
+      final PartitionedTransaction tx = transactions.computeIfAbsent(txID, PartitionedTransaction::new);
+      if (tx.participants.get() == 0) {
+         // a transaction with no records is still prepared
+         tx.participate(partitionOf(txID));
+      }
+      prepare(tx, PREPARED, transactionData, sync, callback);
+   }
+
+   private void prepare(PartitionedTransaction tx,
+                        byte kind,
+                        EncodingSupport transactionData,
+                        boolean sync,
+                        IOCompletion callback) throws Exception {
+      final long participants = tx.participants.get();
+      tx.prepared = true;
+      if (Long.bitCount(participants) == 1) {
+         partitions[Long.numberOfTrailingZeros(participants)].appendPrepareRecord(tx.txID, transactionData, sync, callback);
+         return;
+      }
+      lineUpContext(callback);
+      final SimpleWaitIOCallback waitCompletion = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion completion = new PartitionedCompletion(callback == null ? waitCompletion : callback, Long.bitCount(participants));
+      final CommitMarker marker = new CommitMarker(kind, participants);
+      forEachPartition(participants, partition -> {
+         partition.appendAddRecordTransactional(tx.txID, tx.txID, COMMIT_MARKER_RECORD, marker);
+         partition.appendPrepareRecord(tx.txID, transactionData, true, completion);
+      });
+      if (waitCompletion != null) {
+         waitCompletion.waitCompletion();
+      }
+   }
+
+   @Override
+   public void appendCommitRecord(long txID, boolean sync, IOCompletion callback, boolean lineUpContext) throws Exception {
+      final PartitionedTransaction tx = transactions.remove(txID);
+      final long participants = tx == null ? 0 : tx.participants.get();
+      if (Long.bitCount(participants) <= 1) {
+         final JournalImpl partition = participants == 0 ? partition(txID) : partitions[Long.numberOfTrailingZeros(participants)];
+         partition.appendCommitRecord(txID, sync, callback, lineUpContext);
+         return;
+      }
+      if (lineUpContext) {
+         lineUpContext(callback);
+      }
+      final SimpleWaitIOCallback waitCompletion = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion committed = new PartitionedCompletion(callback == null ? waitCompletion : callback, Long.bitCount(participants)) {
+         @Override
+         protected void completed() {
+            deleteMarkers(txID, participants, sync);
+         }
+      };
+      if (tx.prepared) {
+         commit(txID, participants, sync, committed);
+      } else {
+         // no participant can commit before all of them are prepared: the commits are appended by the completion of
+         // the prepares, without waiting for them here
+         final IOCompletion prepared = new IOCompletion() {
+            @Override
+            public void storeLineUp() {
+            }
+
+            @Override
+            public void done() {
+               try {
+                  commit(txID, participants, sync, committed);
+               } catch (Exception e) {
+                  committed.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+               }
+            }
+
+            @Override
+            public void onError(int errorCode, String errorMessage) {
+               committed.onError(errorCode, errorMessage);
+            }
+         };
+         try {
+            prepare(tx, COMMITTING, EMPTY_RECORD, true, prepared);
+         } catch (Exception e) {
+            if (callback != null) {
+               callback.onError(ActiveMQExceptionType.IO_ERROR.getCode(), e.getMessage());
+            }
+            throw e;
+         }
+      }
+      if (waitCompletion != null) {
+         waitCompletion.waitCompletion();
+      }
+   }
+
+   private void commit(long txID, long participants, boolean sync, IOCompletion completion) throws Exception {
+      forEachPartition(participants, partition -> partition.appendCommitRecord(txID, sync, completion, false));
+   }
+
+   /**
+    * Deletes the commit markers of a transaction committed by all its participants.
+    *
+    * @param durable whether the commits are known to be durable
+    */
+   private void deleteMarkers(long txID, long participants, boolean durable) {
+      try {
+         if (durable) {
+            // no participant can be rolled back anymore
+            forEachPartition(participants, partition -> partition.appendDeleteRecord(txID, false, DummyCallback.getInstance()));
+         } else {
+            // a synced record is durable with all the ones before it on the same partition
+            final IOCompletion synced = new PartitionedCompletion(null, Long.bitCount(participants)) {
+               @Override
+               protected void completed() {
+                  deleteMarkers(txID, participants, true);
+               }
+            };
+            forEachPartition(participants, partition -> partition.appendUpdateRecord(txID, COMMIT_MARKER_RECORD, EncoderPersister.getInstance(), EMPTY_RECORD, true, synced));
+         }
+      } catch (Exception e) {
+         // the markers left will be deleted on the next load
+         logger.debug("Unable to delete the commit markers of transaction {}", txID, e);
+      }
+   }
+
+   @Override
+   public void appendRollbackRecord(long txID, boolean sync, IOCompletion callback) throws Exception {
+      final PartitionedTransaction tx = transactions.remove(txID);
+      final long participants = tx == null ? 0 : tx.participants.get();
+      if (Long.bitCount(participants) <= 1) {
+         final JournalImpl partition = participants == 0 ? partition(txID) : partitions[Long.numberOfTrailingZeros(participants)];
+         partition.appendRollbackRecord(txID, sync, callback);
+         return;
+      }
+      lineUpContext(callback);
+      final SimpleWaitIOCallback waitCompletion = callback == null && sync ? new SimpleWaitIOCallback() : null;
+      final IOCompletion completion = new PartitionedCompletion(callback == null ? waitCompletion : callback, Long.bitCount(participants));
+      forEachPartition(participants, partition -> partition.appendRollbackRecord(txID, sync, completion));
+      if (waitCompletion != null) {
+         waitCompletion.waitCompletion();
+      }
+   }
+
+   @Override
+   public void lineUpContext(IOCompletion callback) {
+      if (callback != null) {
+         callback.storeLineUp();
+      }
+   }
+
+   // Load
+
+   @Override
+   public JournalLoadInformation load(LoaderCallback loader) throws Exception {
+      // the partitions where the marker of a transaction has been committed
+      final Map<Long, Long> committedMarkers = new HashMap<>();
+      final Map<Long, RecoveredTransaction> recovered = new HashMap<>();
+      int numberOfRecords = 0;
+      long maxID = -1;
+      for (int i = 0; i < partitions.length; i++) {
+         final JournalLoadInformation info = partitions[i].load(new PartitionLoader(i, loader, committedMarkers, recovered));
+         numberOfRecords += info.getNumberOfRecords();
+         maxID = Math.max(maxID, info.getMaxID());
+      }
+      for (RecoveredTransaction tx : recovered.values()) {
+         if (committedMarkers.containsKey(tx.txID)) {
+            ActiveMQJournalLogger.LOGGER.partitionedTxCommitCompleted(tx.txID);
+            forEachPartition(tx.prepared, partition -> partition.appendCommitRecord(tx.txID, false));
+            committedMarkers.merge(tx.txID, tx.prepared, (a, b) -> a | b);
+            for (RecordInfo record : tx.info.getRecords()) {
+               if (record.isUpdate) {
+                  loader.updateRecord(record);
+               } else {
+                  loader.addRecord(record);
+               }
+            }
+            for (RecordInfo record : tx.info.getRecordsToDelete()) {
+               loader.deleteRecord(record.id);
+            }
+         } else if (tx.kind == PREPARED && tx.prepared == tx.participants) {
+            transactions.computeIfAbsent(tx.txID, PartitionedTransaction::new).recovered(tx.participants);
+            loader.addPreparedTransaction(tx.info);
+         } else {
+            ActiveMQJournalLogger.LOGGER.partitionedTxRolledBack(tx.txID);
+            forEachPartition(tx.prepared, partition -> partition.appendRollbackRecord(tx.txID, false));
+            loader.failedTransaction(tx.txID, tx.info.getRecords(), tx.info.getRecordsToDelete());
+         }
+      }
+      // every participant has committed: the markers are no longer needed
+      for (Map.Entry<Long, Long> markers : committedMarkers.entrySet()) {
+         final long txID = markers.getKey();
+         forEachPartition(markers.getValue(), partition -> partition.appendDeleteRecord(txID, false));
+      }
+      return new JournalLoadInformation(numberOfRecords, maxID);
+   }
+
+   private void forEachPartition(long partitionsMask, PartitionOperation operation) throws Exception {
+      for (long remaining = partitionsMask; remaining != 0; remaining &= remaining - 1) {
+         operation.accept(partitions[Long.numberOfTrailingZeros(remaining)]);
+      }
+   }
+
+   @FunctionalInterface
+   private interface PartitionOperation {
+
+      void accept(JournalImpl partition) throws Exception;
+   }
+
+   @Override
+   public JournalLoadInformation loadInternalOnly() throws Exception {
+      return load(new NoOpLoader());
+   }
+
+   @Override
+   public JournalLoadInformation loadSyncOnly(JournalState state) throws Exception {
+      throw new UnsupportedOperationException("A partitioned journal can't be replicated");
+   }
+
+   @Override
+   public JournalLoadInformation load(List<RecordInfo> committedRecords,
+                                      List<PreparedTransactionInfo> preparedTransactions,
+                                      TransactionFailureCallback transactionFailure,
+                                      boolean fixBadTx) throws Exception {
+      final SparseArrayLinkedList<RecordInfo> records = new SparseArrayLinkedList<>();
+      final JournalLoadInformation info = load(records, preparedTransactions, transactionFailure, fixBadTx);
+      records.clear(committedRecords::add);
+      return info;
+   }
+
+   @Override
+   public JournalLoadInformation load(SparseArrayLinkedList<RecordInfo> committedRecords,
+                                      List<PreparedTransactionInfo> preparedTransactions,
+                                      TransactionFailureCallback transactionFailure,
+                                      boolean fixBadTx) throws Exception {
+      final LongHashSet recordsToDelete = new LongHashSet(1024);
+      final JournalLoadInformation info = load(new LoaderCallback() {
+         @Override
+         public void addPreparedTransaction(PreparedTransactionInfo preparedTransaction) {
+            preparedTransactions.add(preparedTransaction);
+         }
+
+         @Override
+         public void addRecord(RecordInfo info) {
+            committedRecords.add(info);
+         }
+
+         @Override
+         public void updateRecord(RecordInfo info) {
+            committedRecords.add(info);
+         }
+
+         @Override
+         public void deleteRecord(long id) {
+            recordsToDelete.add(id);
+         }
+
+         @Override
+         public void failedTransaction(long transactionID, List<RecordInfo> records, List<RecordInfo> recordsToDelete) {
+            if (transactionFailure != null) {
+               transactionFailure.failedTransaction(transactionID, records, recordsToDelete);
+            }
+         }
+      });
+      if (!recordsToDelete.isEmpty()) {
+         final Predicate<RecordInfo> toDeleteFilter = recordInfo -> recordsToDelete.contains(recordInfo.id);
+         committedRecords.remove(toDeleteFilter);
+      }
+      return info;
+   }
+
+   // Files and lifecycle
+
+   @Override
+   public int getAlignment() throws Exception {
+      return partitions[0].getAlignment();
+   }
+
+   @Override
+   public int getNumberOfRecords() {
+      int numberOfRecords = 0;
+      for (JournalImpl partition : partitions) {
+         numberOfRecords += partition.getNumberOfRecords();
+      }
+      return numberOfRecords;
+   }
+
+   @Override
+   public int getUserVersion() {
+      return partitions[0].getUserVersion();
+   }
+
+   @Override
+   public Map<Long, JournalFile> createFilesForBackupSync(long[] fileIds) throws Exception {
+      throw new UnsupportedOperationException("A partitioned journal can't be replicated");
+   }
+
+   @Override
+   public void synchronizationLock() {
+      for (JournalImpl partition : partitions) {
+         partition.synchronizationLock();
+      }
+   }
+
+   @Override
+   public void synchronizationUnlock() {
+      for (int i = partitions.length - 1; i >= 0; i--) {
+         partitions[i].synchronizationUnlock();
+      }
+   }
+
+   @Override
+   public void forceMoveNextFile() throws Exception {
+      for (JournalImpl partition : partitions) {
+         partition.forceMoveNextFile();
+      }
+   }
+
+   @Override
+   public JournalFile[] getDataFiles() {
+      final List<JournalFile> dataFiles = new ArrayList<>();
+      for (JournalImpl partition : partitions) {
+         dataFiles.addAll(List.of(partition.getDataFiles()));
+      }
+      return dataFiles.toArray(new JournalFile[0]);
+   }
+
+   /**
+    * {@return the file factory of the first partition}
+    */
+   @Override
+   public SequentialFileFactory getFileFactory() {
+      return partitions[0].getFileFactory();
+   }
+
+   @Override
+   public void scheduleCompactAndBlock(int timeout) throws Exception {
+      for (JournalImpl partition : partitions) {
+         partition.scheduleCompactAndBlock(timeout);
+      }
+   }
+
+   @Override
+   public long getCompactsCompleted() {
+      long count = 0;
+      for (JournalImpl partition : partitions) {
+         count += partition.getCompactsCompleted();
+      }
+      return count;
+   }
+
+   @Override
+   public long getCompactFilesProcessed() {
+      long files = 0;
+      for (JournalImpl partition : partitions) {
+         files += partition.getCompactFilesProcessed();
+      }
+      return files;
+   }
+
+   @Override
+   public long getCompactBytesReclaimed() {
+      long bytes = 0;
+      for (JournalImpl partition : partitions) {
+         bytes += partition.getCompactBytesReclaimed();
+      }
+      return bytes;
+   }
+
+   @Override
+   public long getCompactPauseNanos() {
+      long pause = 0;
+      for (JournalImpl partition : partitions) {
+         pause += partition.getCompactPauseNanos();
+      }
+      return pause;
+   }
+
+   @Override
+   public void replicationSyncPreserveOldFiles() {
+      throw new UnsupportedOperationException("A partitioned journal can't be replicated");
+   }
+
+   @Override
+   public void replicationSyncFinished() {
+      throw new UnsupportedOperationException("A partitioned journal can't be replicated");
+   }
+
+   @Override
+   public void flush() throws Exception {
+      for (JournalImpl partition : partitions) {
+         partition.flush();
+      }
+   }
+
+   @Override
+   public long getMaxRecordSize() {
+      return partitions[0].getMaxRecordSize();
+   }
+
+   @Override
+   public long getWarningRecordSize() {
+      return partitions[0].getWarningRecordSize();
+   }
+
+   @Override
+   void scheduleReclaim() {
+      for (JournalImpl partition : partitions) {
+         partition.scheduleReclaim();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "PartitionedJournal(partitions=" + partitions.length + ", " + partitions[0] + ")";
+   }
+
+   private static final class PartitionedTransaction {
+
+      private final long txID;
+      private final AtomicLong participants = new AtomicLong();
+      private volatile boolean prepared;
+
+      PartitionedTransaction(long txID) {
+         this.txID = txID;
+      }
+
+      void participate(int partition) {
+         final long bit = 1L << partition;
+         if ((participants.get() & bit) == 0) {
+            participants.getAndUpdate(value -> value | bit);
+         }
+      }
+
+      void recovered(long participants) {
+         this.participants.set(participants);
+         this.prepared = true;
+      }
+   }
+
+   /**
+    * Completes a callback once all the partitions involved in an operation have completed it.
+    */
+   private static class PartitionedCompletion implements IOCompletion {
+
+      private final IOCompletion delegate;
+      private final AtomicInteger pending;
+      private final AtomicBoolean failed = new AtomicBoolean();
+
+      PartitionedCompletion(IOCompletion delegate, int partitions) {
+         this.delegate = delegate;
+         this.pending = new AtomicInteger(partitions);
+      }
+
+      @Override
+      public void storeLineUp() {
+         // the delegate has been lined up just once by the partitioned journal
+      }
+
+      @Override
+      public void done() {
+         if (pending.decrementAndGet() == 0 && !failed.get()) {
+            completed();
+            if (delegate != null) {
+               delegate.done();
+            }
+         }
+      }
+
+      protected void completed() {
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+         if (failed.compareAndSet(false, true) && delegate != null) {
+            delegate.onError(errorCode, errorMessage);
+         }
+      }
+   }
+
+   /**
+    * The data of the commit markers: it tells how the transaction has been prepared and which partitions are
+    * participating to it.
+    */
+   private static final class CommitMarker implements EncodingSupport {
+
+      static final int SIZE = Byte.BYTES + Long.BYTES;
+
+      final byte kind;
+      final long participants;
+
+      CommitMarker(byte kind, long participants) {
+         this.kind = kind;
+         this.participants = participants;
+      }
+
+      @Override
+      public int getEncodeSize() {
+         return SIZE;
+      }
+
+      @Override
+      public void encode(ActiveMQBuffer buffer) {
+         buffer.writeByte(kind);
+         buffer.writeLong(participants);
+      }
+
+      @Override
+      public void decode(ActiveMQBuffer buffer) {
+         throw new IllegalStateException("operation not supported");
+      }
+
+      static CommitMarker decode(byte[] data) {
+         if (data == null || data.length != SIZE) {
+            throw new IllegalStateException("Invalid commit marker of " + (data == null ? 0 : data.length) + " bytes");
+         }
+         final ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(data);
+         return new CommitMarker(buffer.readByte(), buffer.readLong());
+      }
+   }
+
+   private static final class RecoveredTransaction {
+
+      private final long txID;
+      private final byte kind;
+      private final long participants;
+      private final PreparedTransactionInfo info;
+      // the partitions where the transaction was found prepared
+      private long prepared;
+
+      RecoveredTransaction(long txID, byte kind, long participants, byte[] userData) {
+         this.txID = txID;
+         this.kind = kind;
+         this.participants = participants;
+         this.info = new PreparedTransactionInfo(txID, userData);
+      }
+   }
+
+   private final class PartitionLoader implements LoaderCallback {
+
+      private final int partition;
+      private final LoaderCallback loader;
+      private final Map<Long, Long> committedMarkers;
+      private final Map<Long, RecoveredTransaction> recovered;
+
+      PartitionLoader(int partition,
+                      LoaderCallback loader,
+                      Map<Long, Long> committedMarkers,
+                      Map<Long, RecoveredTransaction> recovered) {
+         this.partition = partition;
+         this.loader = loader;
+         this.committedMarkers = committedMarkers;
+         this.recovered = recovered;
+      }
+
+      private boolean isMarker(RecordInfo record) {
+         return record.userRecordType == COMMIT_MARKER_RECORD;
+      }
+
+      private List<RecordInfo> withoutMarkers(List<RecordInfo> records) {
+         records.removeIf(this::isMarker);
+         return records;
+      }
+
+      @Override
+      public void addRecord(RecordInfo info) {
+         if (isMarker(info)) {
+            committedMarkers.merge(info.id, 1L << partition, (a, b) -> a | b);
+            return;
+         }
+         if (partitionOf(info.id) != partition) {
+            throw new IllegalStateException("Record " + info.id + " found on journal partition " + partition + " instead of " +
+                                               partitionOf(info.id) + ": the number of journal partitions can't be changed once the journal holds data");
+         }
+         loader.addRecord(info);
+      }
+
+      @Override
+      public void updateRecord(RecordInfo info) {
+         // the markers are updated only to sync the commits before them
+         if (!isMarker(info)) {
+            loader.updateRecord(info);
+         }
+      }
+
+      @Override
+      public void deleteRecord(long id) {
+         final Long markers = committedMarkers.get(id);
+         if (markers == null || (markers & (1L << partition)) == 0) {
+            loader.deleteRecord(id);
+         } else if (markers == 1L << partition) {
+            committedMarkers.remove(id);
+         } else {
+            committedMarkers.put(id, markers & ~(1L << partition));
+         }
+      }
+
+      @Override
+      public void failedTransaction(long transactionID, List<RecordInfo> records, List<RecordInfo> recordsToDelete) {
+         loader.failedTransaction(transactionID, withoutMarkers(records), recordsToDelete);
+      }
+
+      @Override
+      public void addPreparedTransaction(PreparedTransactionInfo preparedTransaction) {
+         final long txID = preparedTransaction.getId();
+         final byte[] extraData = preparedTransaction.getExtraData();
+         RecordInfo markerRecord = null;
+         for (RecordInfo record : preparedTransaction.getRecords()) {
+            if (isMarker(record)) {
+               markerRecord = record;
+               break;
+            }
+         }
+         final RecoveredTransaction tx;
+         if (markerRecord != null) {
+            final CommitMarker marker = CommitMarker.decode(markerRecord.data);
+            tx = recovered.computeIfAbsent(txID, id -> new RecoveredTransaction(id, marker.kind, marker.participants, extraData));
+         } else {
+            // prepared on a single partition, or before partitioning the journal
+            tx = recovered.computeIfAbsent(txID, id -> new RecoveredTransaction(id, PREPARED, 1L << partition, extraData));
+         }
+         tx.prepared |= 1L << partition;
+         tx.info.getRecords().addAll(withoutMarkers(preparedTransaction.getRecords()));
+         tx.info.getRecordsToDelete().addAll(preparedTransaction.getRecordsToDelete());
+      }
+   }
+
+   private static final class NoOpLoader implements LoaderCallback {
+
+      @Override
+      public void addPreparedTransaction(PreparedTransactionInfo preparedTransaction) {
+      }
+
+      @Override
+      public void addRecord(RecordInfo info) {
+      }
+
+      @Override
+      public void deleteRecord(long id) {
+      }
+
+      @Override
+      public void updateRecord(RecordInfo info) {
+      }
+
+      @Override
+      public void failedTransaction(long transactionID, List<RecordInfo> records, List<RecordInfo> recordsToDelete) {
+      }
+   }
+}
@@ -53,6 +53,9 @@ public interface ActiveMQJournalLogger {
    @LogMessage(id = 141010, value = "Initialising JDBC data source {} with properties {}", level = LogMessage.Level.INFO)
    void initializingJdbcDataSource(String dataSourceClassName, String dataSourceProperties);
 
+   @LogMessage(id = 141011, value = "Completing the commit of transaction {} on the journal partitions where it was still prepared", level = LogMessage.Level.INFO)
+   void partitionedTxCommitCompleted(long txID);
+
    @LogMessage(id = 142004, value = "Inconsistency during compacting: CommitRecord ID = {} for an already committed transaction during compacting", level = LogMessage.Level.WARN)
    void inconsistencyDuringCompacting(Long transactionID);
 
@@ -131,6 +134,9 @@ public interface ActiveMQJournalLogger {
    @LogMessage(id = 142033, value = "Error reinitializing file {}", level = LogMessage.Level.WARN)
    void errorReinitializingFile(JournalFile file, Throwable e);
 
+   @LogMessage(id = 142036, value = "Rolling back transaction {} which was not prepared nor committed on all its journal partitions", level = LogMessage.Level.WARN)
+   void partitionedTxRolledBack(long txID);
+
    @LogMessage(id = 144000, value = "Failed to delete file {}", level = LogMessage.Level.ERROR)
    void errorDeletingFile(Object e);
 
@@ -76,4 +76,13 @@ public interface MQTTLogger {
 
    @LogMessage(id = 834013, value = "Invalid MQTT session state message. Will not load this state into memory.", level = LogMessage.Level.WARN)
    void errorDeserializingStateMessage(Exception e);
+
+   @LogMessage(id = 834014, value = "Failed to remove retained MQTT message: {}", level = LogMessage.Level.ERROR)
+   void failedToRemoveRetainedMessage(String reference, Exception e);
+
+   @LogMessage(id = 834015, value = "Failure in the MQTT retained message store", level = LogMessage.Level.ERROR)
+   void retainedMessageStoreFailure(Throwable t);
+
+   @LogMessage(id = 834016, value = "Failed to update the persisted MQTT session state: {}", level = LogMessage.Level.ERROR)
+   void failedToPersistSessionState(String state, Exception e);
 }
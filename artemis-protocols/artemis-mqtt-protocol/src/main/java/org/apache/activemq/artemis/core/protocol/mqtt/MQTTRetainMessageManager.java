@@ -46,8 +46,16 @@ public class MQTTRetainMessageManager {
     * message queue.  When a new subscription is created the queue should be browsed and the message copied onto
     * the subscription queue for the consumer.  When a new retained message is received the message will be sent to
     * the retained queue and the previous retain message consumed to remove it from the queue.
+    * <p>
+    * When the broker is configured with a {@link MQTTRetainedMessageStore} the retained messages are kept there instead.
     */
    void handleRetainedMessage(Message messageParameter, String address, boolean reset, Transaction tx) throws Exception {
+      MQTTRetainedMessageStore store = session.getStateManager().getRetainedMessageStore();
+      if (store != null) {
+         store.retain(messageParameter, address, reset, tx);
+         return;
+      }
+
       String retainAddress = MQTTUtil.getCoreRetainAddressFromMqttTopic(address, session.getWildcardConfiguration());
 
       Queue queue = session.getServer().locateQueue(retainAddress);
@@ -64,6 +72,12 @@ public class MQTTRetainMessageManager {
    }
 
    void addRetainedMessagesToQueue(Queue queue, String address) throws Exception {
+      MQTTRetainedMessageStore store = session.getStateManager().getRetainedMessageStore();
+      if (store != null) {
+         store.deliver(queue, address);
+         return;
+      }
+
       // The address filter that matches all retained message queues.
       String retainAddress = MQTTUtil.getCoreRetainAddressFromMqttTopic(address, session.getWildcardConfiguration());
       BindingQueryResult bindingQueryResult = session.getServerSession().executeBindingQuery(SimpleString.of(retainAddress));
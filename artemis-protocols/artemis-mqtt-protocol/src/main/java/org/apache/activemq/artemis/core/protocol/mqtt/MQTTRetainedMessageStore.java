@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.persistence.impl.journal.LargeServerMessageImpl;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.server.HandleStatus;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY;
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.MQTT_MESSAGE_RETAIN_TOPIC_KEY;
+
+/**
+ * Broker-wide store of the MQTT retained messages used instead of a queue per topic when
+ * {@link org.apache.activemq.artemis.core.config.Configuration#isMqttRetainedMessageStoreEnabled()} is set.
+ * <p>
+ * The retained messages are indexed by topic in a {@link MQTTTopicTrie} so a subscription only visits the topics its
+ * filter matches. They are persisted as plain messages of the single internal queue
+ * {@link MQTTUtil#MQTT_RETAINED_MESSAGE_STORE}. The store consumes that queue itself and holds on to the reference of
+ * every retained message until the message is replaced, cleared or expires, at which point the reference is
+ * acknowledged. After a restart the queue is browsed to rebuild the trie, keeping the newest message of each topic.
+ * <p>
+ * A new subscription gets the stored messages themselves routed to its queue in batches of
+ * {@link #DELIVERY_BATCH_SIZE} per transaction, so only a reference is added per retained message.
+ */
+public class MQTTRetainedMessageStore implements Consumer {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   // how many retained messages are routed to a new subscription in a single transaction
+   private static final int DELIVERY_BATCH_SIZE = 1000;
+
+   private final StorageManager storageManager;
+
+   private final PostOffice postOffice;
+
+   private final Queue queue;
+
+   private final long sequentialID;
+
+   private final MQTTTopicTrie<Retained> retained = new MQTTTopicTrie<>();
+
+   private final LongAdder deliveredMessages = new LongAdder();
+
+   private final LongAdder deliveryTime = new LongAdder();
+
+   // guarded by this
+   private volatile long memoryEstimate;
+
+   // guarded by this
+   private volatile int expiringMessages;
+
+   private volatile boolean started;
+
+   public MQTTRetainedMessageStore(ActiveMQServer server) throws Exception {
+      this.storageManager = server.getStorageManager();
+      this.postOffice = server.getPostOffice();
+      this.queue = server.createQueue(QueueConfiguration.of(MQTTUtil.MQTT_RETAINED_MESSAGE_STORE).setRoutingType(RoutingType.ANYCAST).setDurable(true).setInternal(true).setAutoCreateAddress(true), true);
+      this.sequentialID = storageManager.generateID();
+   }
+
+   public synchronized void start() throws Exception {
+      try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+         while (iterator.hasNext()) {
+            Message message = iterator.next().getMessage();
+            String topic = message.getStringProperty(MQTT_MESSAGE_RETAIN_TOPIC_KEY);
+            if (topic == null) {
+               continue;
+            }
+            Retained current = retained.get(topic);
+            if (current == null || current.message.getMessageID() < message.getMessageID()) {
+               put(topic, new Retained(message));
+            }
+         }
+      } catch (NoSuchElementException ignored) {
+         // this could happen through paging browsing
+      }
+      logger.debug("Loaded {} retained message(s) using ~{} bytes", retained.size(), memoryEstimate);
+
+      // the references of the loaded messages are attached as they get delivered, any other is acknowledged
+      started = true;
+      queue.addConsumer(this);
+      queue.deliverAsync();
+   }
+
+   public synchronized void stop() {
+      started = false;
+      queue.removeConsumer(this);
+   }
+
+   /**
+    * Stores a copy of {@code messageParameter} as the retained message of {@code topic} or clears the retained message
+    * of {@code topic} if {@code reset} is true. The previous retained message is acknowledged once {@code tx} commits.
+    */
+   public void retain(Message messageParameter, String topic, boolean reset, Transaction tx) throws Exception {
+      final Retained update;
+      if (reset) {
+         update = null;
+      } else {
+         Message message = LargeServerMessageImpl.checkLargeMessage(messageParameter, storageManager).copy(storageManager.generateID());
+         message.putStringProperty(MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY, (String) null);
+         message.putStringProperty(MQTT_MESSAGE_RETAIN_TOPIC_KEY, topic);
+         route(message, queue, tx);
+         update = new Retained(message);
+      }
+
+      final Retained previous;
+      synchronized (this) {
+         previous = update == null ? remove(topic) : put(topic, update);
+      }
+
+      tx.addOperation(new TransactionOperationAbstract() {
+         @Override
+         public void afterCommit(Transaction tx) {
+            if (previous != null) {
+               discard(previous, AckReason.REPLACED);
+            }
+         }
+
+         @Override
+         public void afterRollback(Transaction tx) {
+            synchronized (MQTTRetainedMessageStore.this) {
+               if (retained.get(topic) == update) {
+                  if (previous == null) {
+                     remove(topic);
+                  } else {
+                     put(topic, previous);
+                  }
+               }
+            }
+         }
+      });
+   }
+
+   /**
+    * Routes the retained messages matching the MQTT {@code topicFilter} to {@code target}.
+    *
+    * @return the number of messages routed
+    */
+   public int deliver(Queue target, String topicFilter) throws Exception {
+      final long start = System.nanoTime();
+      final Delivery delivery = new Delivery(target);
+      retained.forEachMatch(topicFilter, delivery);
+      delivery.complete();
+      expire(delivery.expired);
+
+      final long elapsed = System.nanoTime() - start;
+      deliveredMessages.add(delivery.count);
+      deliveryTime.add(elapsed);
+      logger.debug("Delivered {} retained message(s) matching {} to {} in {} ms", delivery.count, topicFilter, target.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+      return delivery.count;
+   }
+
+   /**
+    * Removes the expired retained messages. This is a no-op unless some of the retained messages have an expiration.
+    */
+   public void scanExpired() {
+      if (expiringMessages == 0) {
+         return;
+      }
+      List<Retained> expired = new ArrayList<>();
+      retained.forEach(r -> {
+         if (r.message.isExpired()) {
+            expired.add(r);
+         }
+      });
+      expire(expired);
+   }
+
+   public int getRetainedMessageCount() {
+      return retained.size();
+   }
+
+   /**
+    * {@return the estimated memory, in bytes, of the retained messages}
+    */
+   public long getMemoryEstimate() {
+      return memoryEstimate;
+   }
+
+   /**
+    * {@return the number of retained messages routed to new subscriptions}
+    */
+   public long getDeliveredMessageCount() {
+      return deliveredMessages.sum();
+   }
+
+   /**
+    * {@return the average rate, in messages per second, at which retained messages are routed to new subscriptions}
+    */
+   public double getDeliveryRate() {
+      long time = deliveryTime.sum();
+      return time == 0 ? 0 : deliveredMessages.sum() * (double) TimeUnit.SECONDS.toNanos(1) / time;
+   }
+
+   @Override
+   public boolean supportsDirectDelivery() {
+      return false;
+   }
+
+   @Override
+   public HandleStatus handle(MessageReference reference) {
+      if (!started) {
+         return HandleStatus.BUSY;
+      }
+      reference.handled();
+      return HandleStatus.HANDLED;
+   }
+
+   @Override
+   public void proceedDeliver(MessageReference reference) throws Exception {
+      Message message = reference.getMessage();
+      String topic = message.getStringProperty(MQTT_MESSAGE_RETAIN_TOPIC_KEY);
+      synchronized (this) {
+         Retained current = topic == null ? null : retained.get(topic);
+         if (current != null && current.message.getMessageID() == reference.getMessageID()) {
+            // use the instance of the reference in case the message was loaded by the browser
+            current.message = message;
+            current.reference = reference;
+            return;
+         }
+      }
+      // replaced or cleared before its reference got here
+      queue.acknowledge(reference, AckReason.REPLACED, null);
+   }
+
+   @Override
+   public Filter getFilter() {
+      return null;
+   }
+
+   @Override
+   public List<MessageReference> getDeliveringMessages() {
+      return Collections.emptyList();
+   }
+
+   @Override
+   public String debug() {
+      return toString();
+   }
+
+   @Override
+   public String toManagementString() {
+      return "MQTTRetainedMessageStore[" + queue.getName() + "/" + queue.getID() + "]";
+   }
+
+   @Override
+   public void disconnect() {
+      //noop
+   }
+
+   @Override
+   public void failed(Throwable t) {
+      MQTTLogger.LOGGER.retainedMessageStoreFailure(t);
+   }
+
+   @Override
+   public long sequentialID() {
+      return sequentialID;
+   }
+
+   @Override
+   public String toString() {
+      return "MQTTRetainedMessageStore[retained=" + retained.size() + ", memoryEstimate=" + memoryEstimate + "]";
+   }
+
+   private void expire(List<Retained> expired) {
+      for (Retained r : expired) {
+         String topic = r.message.getStringProperty(MQTT_MESSAGE_RETAIN_TOPIC_KEY);
+         synchronized (this) {
+            if (retained.get(topic) != r) {
+               continue;
+            }
+            remove(topic);
+         }
+         discard(r, null);
+      }
+   }
+
+   /**
+    * Acknowledges, or expires if {@code reason} is null, the reference of a retained message no longer in the trie. A
+    * reference which isn't attached yet is acknowledged when it gets delivered.
+    */
+   private void discard(Retained r, AckReason reason) {
+      MessageReference reference;
+      synchronized (this) {
+         reference = r.reference;
+         r.reference = null;
+      }
+      if (reference == null) {
+         return;
+      }
+      try {
+         if (reason == null) {
+            queue.expire(reference, null, true);
+         } else {
+            queue.acknowledge(reference, reason, null);
+         }
+      } catch (Exception e) {
+         MQTTLogger.LOGGER.failedToRemoveRetainedMessage(String.valueOf(reference), e);
+      }
+   }
+
+   // must hold the lock
+   private Retained put(String topic, Retained r) {
+      Retained previous = retained.put(topic, r);
+      removed(previous);
+      memoryEstimate += r.message.getMemoryEstimate();
+      if (r.message.getExpiration() != 0) {
+         expiringMessages++;
+      }
+      return previous;
+   }
+
+   // must hold the lock
+   private Retained remove(String topic) {
+      Retained previous = retained.remove(topic);
+      removed(previous);
+      return previous;
+   }
+
+   private void removed(Retained r) {
+      if (r != null) {
+         memoryEstimate -= r.message.getMemoryEstimate();
+         if (r.message.getExpiration() != 0) {
+            expiringMessages--;
+         }
+      }
+   }
+
+   private void route(Message message, Queue target, Transaction tx) throws Exception {
+      RoutingContext context = new RoutingContextImpl(tx);
+      target.route(message, context);
+      postOffice.processRoute(message, context, false);
+   }
+
+   private static final class Retained {
+
+      private volatile Message message;
+
+      // guarded by the store
+      private MessageReference reference;
+
+      private Retained(Message message) {
+         this.message = message;
+      }
+   }
+
+   private final class Delivery implements java.util.function.Consumer<Retained> {
+
+      private final Queue target;
+
+      private final List<Retained> expired = new ArrayList<>();
+
+      private Transaction tx;
+
+      private int count;
+
+      private Exception failure;
+
+      private Delivery(Queue target) {
+         this.target = target;
+      }
+
+      @Override
+      public void accept(Retained r) {
+         if (failure != null) {
+            return;
+         }
+         Message message = r.message;
+         if (message.isExpired()) {
+            expired.add(r);
+            return;
+         }
+         try {
+            if (tx == null) {
+               tx = new TransactionImpl(storageManager);
+            }
+            // each subscription gets its own copy: the retained message stays referenced only by the retain queue
+            route(message.copy(storageManager.generateID()), target, tx);
+            if (++count % DELIVERY_BATCH_SIZE == 0) {
+               tx.commit();
+               tx = null;
+            }
+         } catch (Exception e) {
+            failure = e;
+         }
+      }
+
+      private void complete() throws Exception {
+         if (failure != null) {
+            if (tx != null) {
+               tx.rollback();
+            }
+            throw failure;
+         }
+         if (tx != null) {
+            tx.commit();
+         }
+      }
+   }
+}
@@ -157,6 +157,8 @@ public class MQTTSession {
                stateManager.removeSessionState(connection.getClientID());
             }
          }
+
+         stateManager.scheduleExpiry(state);
       }
       stopped = true;
    }
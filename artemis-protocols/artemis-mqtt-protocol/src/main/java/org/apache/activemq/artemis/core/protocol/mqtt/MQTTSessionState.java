@@ -195,7 +195,13 @@ public class MQTTSessionState {
    }
 
    public Map<String, SubscriptionItem> getSubscriptionsPlusID() {
-      return new HashMap<>(subscriptions);
+      // synchronized to snapshot the subscriptions, and the items they update, between addSubscription and
+      // removeSubscription
+      synchronized (subscriptions) {
+         Map<String, SubscriptionItem> snapshot = new HashMap<>(subscriptions.size());
+         subscriptions.forEach((topicFilter, item) -> snapshot.put(topicFilter, new SubscriptionItem(item.getSubscription(), item.getId())));
+         return snapshot;
+      }
    }
 
    public boolean addSubscription(MqttTopicSubscription subscription, WildcardConfiguration wildcardConfiguration, Integer subscriptionIdentifier) throws Exception {
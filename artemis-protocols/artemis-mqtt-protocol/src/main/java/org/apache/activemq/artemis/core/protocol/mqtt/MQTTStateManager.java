@@ -21,10 +21,16 @@ package org.apache.activemq.artemis.core.protocol.mqtt;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.netty.handler.codec.mqtt.MqttTopicSubscription;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -38,6 +44,7 @@ import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,12 +52,34 @@ import org.slf4j.LoggerFactory;
 public class MQTTStateManager {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   // how many session states are persisted in a single transaction
+   private static final int PERSISTENCE_BATCH_SIZE = 1000;
+
    private final ActiveMQServer server;
    private final Map<String, MQTTSessionState> sessionStates = new ConcurrentHashMap<>();
    private final Queue sessionStore;
    private static final Map<Integer, MQTTStateManager> INSTANCES = new HashMap<>();
    private final Map<String, MQTTConnection> connectedClients  = new ConcurrentHashMap<>();
    private final boolean subscriptionPersistenceEnabled;
+   private final MQTTRetainedMessageStore retainedMessageStore;
+
+   /*
+    * Session states waiting to be persisted. They are only serialized when persisted so a state changing again in the
+    * meantime (e.g. a client resubscribing to all its topics after reconnecting) is written once. The writes and
+    * removals are serialized on a single ordered executor rather than done by the threads of the connections.
+    */
+   private final Map<String, MQTTSessionState> pendingStates = new ConcurrentHashMap<>();
+   private final AtomicBoolean persistScheduled = new AtomicBoolean();
+   private final ArtemisExecutor persistExecutor;
+
+   /*
+    * A timing wheel of the detached sessions with a pending expiry or will message. Each slot holds the IDs of the
+    * clients due by the end of one scan interval so a scan only visits the sessions which are due rather than all of
+    * them. A due session is checked again against its current state and rescheduled if it's not done.
+    */
+   private final NavigableMap<Long, Set<String>> expiryWheel = new TreeMap<>();
+   private final long expiryTick;
 
    /*
     * Even though there may be multiple instances of MQTTProtocolManager (e.g. for MQTT on different ports) we only want
@@ -68,12 +97,26 @@ public class MQTTStateManager {
    }
 
    public static synchronized void removeInstance(ActiveMQServer server) {
-      INSTANCES.remove(System.identityHashCode(server));
+      MQTTStateManager instance = INSTANCES.remove(System.identityHashCode(server));
+      if (instance != null) {
+         instance.stop();
+      }
+   }
+
+   private void stop() {
+      if (subscriptionPersistenceEnabled && !persistExecutor.flush(10, TimeUnit.SECONDS)) {
+         logger.debug("Timed out waiting for {} MQTT session state(s) to be persisted", pendingStates.size());
+      }
+      if (retainedMessageStore != null) {
+         retainedMessageStore.stop();
+      }
    }
 
    private MQTTStateManager(ActiveMQServer server) throws Exception {
       this.server = server;
       this.subscriptionPersistenceEnabled = server.getConfiguration().isMqttSubscriptionPersistenceEnabled();
+      this.persistExecutor = server.getExecutorFactory().getExecutor();
+      this.expiryTick = Math.max(1, server.getConfiguration().getMqttSessionScanInterval());
       if (subscriptionPersistenceEnabled) {
          this.sessionStore = server.createQueue(QueueConfiguration.of(MQTTUtil.MQTT_SESSION_STORE).setRoutingType(RoutingType.ANYCAST).setLastValue(true).setDurable(true).setInternal(true).setAutoCreateAddress(true), true);
 
@@ -98,6 +141,7 @@ public class MQTTStateManager {
                   continue;
                }
                sessionStates.put(clientId, sessionState);
+               scheduleExpiry(sessionState);
             }
          } catch (NoSuchElementException ignored) {
             // this could happen through paging browsing
@@ -105,25 +149,44 @@ public class MQTTStateManager {
       } else {
          this.sessionStore = null;
       }
+      if (server.getConfiguration().isMqttRetainedMessageStoreEnabled()) {
+         this.retainedMessageStore = new MQTTRetainedMessageStore(server);
+         this.retainedMessageStore.start();
+      } else {
+         this.retainedMessageStore = null;
+      }
    }
 
    public void scanSessions() {
-      List<String> toRemove = new ArrayList<>();
-      for (Map.Entry<String, MQTTSessionState> entry : sessionStates.entrySet()) {
-         MQTTSessionState state = entry.getValue();
-         logger.debug("Inspecting session: {}", state);
-         int sessionExpiryInterval = state.getClientSessionExpiryInterval();
-         if (!state.isAttached() && sessionExpiryInterval > 0 && state.getDisconnectedTime() + (sessionExpiryInterval * 1000) < System.currentTimeMillis()) {
-            toRemove.add(entry.getKey());
-         }
-         if (state.isWill() && !state.isAttached() && state.isFailed() && state.getWillDelayInterval() > 0 && state.getDisconnectedTime() + (state.getWillDelayInterval() * 1000) < System.currentTimeMillis()) {
-            state.getSession().sendWillMessage();
+      final long now = System.currentTimeMillis();
+      List<Set<String>> due;
+      synchronized (expiryWheel) {
+         Map<Long, Set<String>> slots = expiryWheel.headMap(now, true);
+         due = new ArrayList<>(slots.values());
+         slots.clear();
+      }
+      // sessions rescheduled while scanning are due in a later slot
+      for (Set<String> slot : due) {
+         for (String clientId : slot) {
+            scanSession(clientId, now);
          }
       }
 
-      for (String key : toRemove) {
+      if (retainedMessageStore != null) {
+         retainedMessageStore.scanExpired();
+      }
+   }
+
+   private void scanSession(String clientId, long now) {
+      MQTTSessionState state = sessionStates.get(clientId);
+      if (state == null || state.isAttached()) {
+         return;
+      }
+      logger.debug("Inspecting session: {}", state);
+      int sessionExpiryInterval = state.getClientSessionExpiryInterval();
+      if (sessionExpiryInterval > 0 && state.getDisconnectedTime() + sessionExpiryInterval * 1000L < now) {
          try {
-            MQTTSessionState state = removeSessionState(key);
+            state = removeSessionState(clientId);
             if (state != null) {
                if (state.isWill() && !state.isAttached() && state.isFailed()) {
                   state.getSession().sendWillMessage();
@@ -131,8 +194,39 @@ public class MQTTStateManager {
                state.getSession().clean(false);
             }
          } catch (Exception e) {
-            MQTTLogger.LOGGER.failedToRemoveSessionState(key, e);
+            MQTTLogger.LOGGER.failedToRemoveSessionState(clientId, e);
          }
+         return;
+      }
+      if (state.isWill() && state.isFailed() && state.getWillDelayInterval() > 0 && state.getDisconnectedTime() + state.getWillDelayInterval() * 1000 < now) {
+         state.getSession().sendWillMessage();
+      }
+      scheduleExpiry(state);
+   }
+
+   /**
+    * Schedules the next check of a detached session whose state may expire or which has a delayed will message to
+    * send. This is a no-op for any other session.
+    */
+   public void scheduleExpiry(MQTTSessionState state) {
+      if (state.isAttached()) {
+         return;
+      }
+      long deadline = Long.MAX_VALUE;
+      int sessionExpiryInterval = state.getClientSessionExpiryInterval();
+      if (sessionExpiryInterval > 0) {
+         deadline = state.getDisconnectedTime() + sessionExpiryInterval * 1000L;
+      }
+      if (state.isWill() && state.isFailed() && state.getWillDelayInterval() > 0 && state.getWillStatus() == MQTTSessionState.WillStatus.NOT_SENT) {
+         deadline = Math.min(deadline, state.getDisconnectedTime() + state.getWillDelayInterval() * 1000);
+      }
+      if (deadline == Long.MAX_VALUE) {
+         return;
+      }
+      // the end of the tick the deadline falls in so the session is strictly past its deadline once the slot is due
+      long slot = (deadline / expiryTick + 1) * expiryTick;
+      synchronized (expiryWheel) {
+         expiryWheel.computeIfAbsent(slot, k -> new HashSet<>()).add(state.getClientId());
       }
    }
 
@@ -162,11 +256,27 @@ public class MQTTStateManager {
 
    public void removeDurableSubscriptionState(String clientId) throws Exception {
       if (subscriptionPersistenceEnabled) {
-         int deletedCount = sessionStore.deleteMatchingReferences(FilterImpl.createFilter(new StringBuilder(Message.HDR_LAST_VALUE_NAME).append(" = '").append(clientId).append("'").toString()));
-         logger.debug("Removed {} durable MQTT subscription record(s) for: {}", deletedCount, clientId);
+         pendingStates.remove(clientId);
+         // ordered after any write of the same state already in progress
+         persistExecutor.execute(() -> {
+            try {
+               int deletedCount = sessionStore.deleteMatchingReferences(FilterImpl.createFilter(new StringBuilder(Message.HDR_LAST_VALUE_NAME).append(" = '").append(clientId).append("'").toString()));
+               logger.debug("Removed {} durable MQTT subscription record(s) for: {}", deletedCount, clientId);
+            } catch (Exception e) {
+               MQTTLogger.LOGGER.failedToPersistSessionState(clientId, e);
+            }
+         });
       }
    }
 
+   /**
+    * {@return the broker-wide store of the retained messages or null if retained messages are kept in a queue per
+    * topic}
+    */
+   public MQTTRetainedMessageStore getRetainedMessageStore() {
+      return retainedMessageStore;
+   }
+
    public Map<String, MQTTSessionState> getSessionStates() {
       return new HashMap<>(sessionStates);
    }
@@ -179,11 +289,50 @@ public class MQTTStateManager {
    public void storeDurableSubscriptionState(MQTTSessionState state) throws Exception {
       if (subscriptionPersistenceEnabled) {
          logger.debug("Adding durable MQTT subscription record for: {}", state.getClientId());
-         Transaction tx = new TransactionImpl(server.getStorageManager());
-         tx.setAsync(true);
-         server.getPostOffice().route(serializeState(state, server.getStorageManager().generateID()), tx, false);
-         tx.commit();
+         pendingStates.put(state.getClientId(), state);
+         if (persistScheduled.compareAndSet(false, true)) {
+            persistExecutor.execute(this::persistPendingStates);
+         }
+      }
+   }
+
+   private void persistPendingStates() {
+      // any state added from now on schedules another run
+      persistScheduled.set(false);
+      Transaction tx = null;
+      int batched = 0;
+      int persisted = 0;
+      for (MQTTSessionState state : pendingStates.values()) {
+         // a newer state stored for the same client meanwhile is left to be persisted instead
+         if (!pendingStates.remove(state.getClientId(), state)) {
+            continue;
+         }
+         try {
+            // the subscriptions are serialized from a snapshot taken under their lock
+            CoreMessage message = serializeState(state, server.getStorageManager().generateID());
+            if (tx == null) {
+               tx = new TransactionImpl(server.getStorageManager());
+               tx.setAsync(true);
+            }
+            server.getPostOffice().route(message, tx, false);
+            persisted++;
+            if (++batched == PERSISTENCE_BATCH_SIZE) {
+               tx.commit();
+               tx = null;
+               batched = 0;
+            }
+         } catch (Exception e) {
+            MQTTLogger.LOGGER.failedToPersistSessionState(state.getClientId(), e);
+         }
+      }
+      if (tx != null) {
+         try {
+            tx.commit();
+         } catch (Exception e) {
+            MQTTLogger.LOGGER.failedToPersistSessionState(String.valueOf(tx), e);
+         }
       }
+      logger.debug("Persisted {} MQTT session state(s)", persisted);
    }
 
    public static CoreMessage serializeState(MQTTSessionState state, long messageID) {
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.DOLLAR;
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.HASH;
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.PLUS;
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.SLASH;
+
+/**
+ * A trie of MQTT topic levels holding at most one value per topic. Only nodes which have children allocate a map so
+ * the leaves, i.e. the vast majority of the nodes when there are many topics, stay small.
+ * <p>
+ * Lookups and matches don't lock and are weakly consistent. Updates must be serialized by the caller.
+ */
+public class MQTTTopicTrie<T> {
+
+   private final Node<T> root = new Node<>(null, null);
+
+   private volatile int size;
+
+   public T get(String topic) {
+      Node<T> node = root;
+      for (String level : levels(topic)) {
+         node = node.child(level);
+         if (node == null) {
+            return null;
+         }
+      }
+      return node.value;
+   }
+
+   /**
+    * {@return the value previously held for the {@code topic} or null if there was none}
+    */
+   public T put(String topic, T value) {
+      Node<T> node = root;
+      for (String level : levels(topic)) {
+         node = node.getOrCreateChild(level);
+      }
+      T previous = node.value;
+      node.value = value;
+      if (previous == null) {
+         size++;
+      }
+      return previous;
+   }
+
+   /**
+    * {@return the value removed for the {@code topic} or null if there was none}
+    */
+   public T remove(String topic) {
+      Node<T> node = root;
+      for (String level : levels(topic)) {
+         node = node.child(level);
+         if (node == null) {
+            return null;
+         }
+      }
+      T previous = node.value;
+      if (previous != null) {
+         node.value = null;
+         size--;
+         prune(node);
+      }
+      return previous;
+   }
+
+   /**
+    * Passes the value of every entry matching the MQTT {@code topicFilter} to the {@code consumer}. As
+    * mandated by the specification a filter starting with a wildcard doesn't match topics starting with {@code $}.
+    */
+   public void forEachMatch(String topicFilter, Consumer<T> consumer) {
+      match(root, levels(topicFilter), 0, consumer);
+   }
+
+   /**
+    * Passes the value of every entry to the {@code consumer}.
+    */
+   public void forEach(Consumer<T> consumer) {
+      forEachDescendant(root, false, consumer);
+   }
+
+   public int size() {
+      return size;
+   }
+
+   private void match(Node<T> node, String[] filter, int index, Consumer<T> consumer) {
+      if (index == filter.length) {
+         node.accept(consumer);
+         return;
+      }
+      String level = filter[index];
+      if (level.length() == 1 && level.charAt(0) == HASH) {
+         // [MQTT-4.7.1-2] the multi-level wildcard also matches the parent level
+         node.accept(consumer);
+         forEachDescendant(node, index == 0, consumer);
+      } else if (level.length() == 1 && level.charAt(0) == PLUS) {
+         Map<String, Node<T>> children = node.children;
+         if (children != null) {
+            for (Node<T> child : children.values()) {
+               if (index != 0 || !isSystemLevel(child.level)) {
+                  match(child, filter, index + 1, consumer);
+               }
+            }
+         }
+      } else {
+         Node<T> child = node.child(level);
+         if (child != null) {
+            match(child, filter, index + 1, consumer);
+         }
+      }
+   }
+
+   private void forEachDescendant(Node<T> node, boolean skipSystemLevels, Consumer<T> consumer) {
+      Map<String, Node<T>> children = node.children;
+      if (children != null) {
+         for (Node<T> child : children.values()) {
+            if (!skipSystemLevels || !isSystemLevel(child.level)) {
+               child.accept(consumer);
+               forEachDescendant(child, false, consumer);
+            }
+         }
+      }
+   }
+
+   private void prune(Node<T> node) {
+      while (node.parent != null && node.value == null && (node.children == null || node.children.isEmpty())) {
+         node.parent.children.remove(node.level);
+         node = node.parent;
+      }
+   }
+
+   // [MQTT-4.7.2-1] topics starting with $ are not matched by filters starting with a wildcard
+   private static boolean isSystemLevel(String level) {
+      return !level.isEmpty() && level.charAt(0) == DOLLAR;
+   }
+
+   private static String[] levels(String topic) {
+      return topic.split(String.valueOf(SLASH), -1);
+   }
+
+   private static final class Node<T> {
+
+      private final Node<T> parent;
+
+      private final String level;
+
+      private volatile Map<String, Node<T>> children;
+
+      private volatile T value;
+
+      private Node(Node<T> parent, String level) {
+         this.parent = parent;
+         this.level = level;
+      }
+
+      private Node<T> child(String level) {
+         Map<String, Node<T>> children = this.children;
+         return children == null ? null : children.get(level);
+      }
+
+      private Node<T> getOrCreateChild(String level) {
+         Map<String, Node<T>> children = this.children;
+         if (children == null) {
+            children = new ConcurrentHashMap<>(2);
+            this.children = children;
+         }
+         return children.computeIfAbsent(level, l -> new Node<>(this, l));
+      }
+
+      private void accept(Consumer<T> consumer) {
+         T value = this.value;
+         if (value != null) {
+            consumer.accept(value);
+         }
+      }
+   }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MQTTTopicTrieTest {
+
+   private MQTTTopicTrie<String> trie;
+
+   @BeforeEach
+   public void setUp() {
+      trie = new MQTTTopicTrie<>();
+      for (String topic : new String[] {"sport", "sport/tennis", "sport/tennis/player1", "sport/tennis/player1/ranking", "sport/tennis/player2", "sport/", "/finance", "$SYS/monitor/clients", "$SYS"}) {
+         trie.put(topic, topic);
+      }
+   }
+
+   @Test
+   public void testPutGetRemove() {
+      assertEquals(9, trie.size());
+      assertEquals("sport/tennis", trie.get("sport/tennis"));
+      assertNull(trie.get("sport/golf"));
+      assertNull(trie.get("sport/tennis/player1/ranking/wimbledon"));
+
+      assertEquals("sport/tennis", trie.put("sport/tennis", "replaced"));
+      assertEquals("replaced", trie.get("sport/tennis"));
+      assertEquals(9, trie.size());
+
+      assertEquals("sport/tennis/player1/ranking", trie.remove("sport/tennis/player1/ranking"));
+      assertNull(trie.remove("sport/tennis/player1/ranking"));
+      assertNull(trie.remove("sport/golf"));
+      assertEquals(8, trie.size());
+      assertEquals("sport/tennis/player1", trie.get("sport/tennis/player1"));
+   }
+
+   @Test
+   public void testExactMatch() {
+      assertMatches("sport/tennis", "sport/tennis");
+      assertMatches("sport/", "sport/");
+      assertMatches("/finance", "/finance");
+      assertMatches("sport/golf");
+   }
+
+   @Test
+   public void testSingleLevelWildcard() {
+      assertMatches("sport/+", "sport/tennis", "sport/");
+      assertMatches("sport/tennis/+", "sport/tennis/player1", "sport/tennis/player2");
+      assertMatches("+/tennis/+/ranking", "sport/tennis/player1/ranking");
+      assertMatches("+", "sport");
+      assertMatches("+/+", "sport/tennis", "sport/", "/finance");
+      assertMatches("/+", "/finance");
+   }
+
+   @Test
+   public void testMultiLevelWildcard() {
+      assertMatches("sport/tennis/#", "sport/tennis", "sport/tennis/player1", "sport/tennis/player1/ranking", "sport/tennis/player2");
+      assertMatches("sport/tennis/player1/ranking/#", "sport/tennis/player1/ranking");
+      assertMatches("+/tennis/#", "sport/tennis", "sport/tennis/player1", "sport/tennis/player1/ranking", "sport/tennis/player2");
+      assertMatches("#", "sport", "sport/tennis", "sport/tennis/player1", "sport/tennis/player1/ranking", "sport/tennis/player2", "sport/", "/finance");
+   }
+
+   @Test
+   public void testSystemTopics() {
+      assertMatches("+/monitor/clients");
+      assertMatches("$SYS/#", "$SYS", "$SYS/monitor/clients");
+      assertMatches("$SYS/monitor/+", "$SYS/monitor/clients");
+   }
+
+   @Test
+   public void testRemovePrunesEmptyLevels() {
+      trie.remove("$SYS/monitor/clients");
+      assertMatches("$SYS/#", "$SYS");
+      trie.remove("$SYS");
+      assertMatches("$SYS/#");
+      trie.put("$SYS/monitor/clients", "again");
+      assertMatches("$SYS/#", "again");
+   }
+
+   private void assertMatches(String topicFilter, String... expected) {
+      Set<String> matches = new TreeSet<>();
+      trie.forEachMatch(topicFilter, matches::add);
+      assertEquals(new TreeSet<>(Set.of(expected)), matches, topicFilter);
+   }
+}
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
@@ -89,6 +90,9 @@ public final class OpenWireMessageConverter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // converts a message routed to several queues once and only copies the converted message for each consumer
+   private static final boolean CACHE_DISPATCHED_MESSAGES = Boolean.parseBoolean(System.getProperty("ARTEMIS_OPENWIRE_DISPATCH_CACHE", "false"));
+
    public OpenWireMessageConverter() {
 
    }
@@ -479,7 +483,22 @@ public final class OpenWireMessageConverter {
                                                        AMQConsumer consumer,
                                                        UUID serverNodeUUID,
                                                        long consumerDeliverySequenceId) throws IOException {
-      ActiveMQMessage amqMessage = toAMQMessage(reference, message, marshaller, consumer, serverNodeUUID);
+      return createMessageDispatch(reference, message, marshaller, consumer, serverNodeUUID, consumerDeliverySequenceId, CACHE_DISPATCHED_MESSAGES && message.getRefCount() > 1);
+   }
+
+   static MessageDispatch createMessageDispatch(MessageReference reference,
+                                                ICoreMessage message,
+                                                WireFormat marshaller,
+                                                AMQConsumer consumer,
+                                                UUID serverNodeUUID,
+                                                long consumerDeliverySequenceId,
+                                                boolean useDispatchTemplate) throws IOException {
+      final ActiveMQMessage amqMessage;
+      if (useDispatchTemplate) {
+         amqMessage = copyDispatchTemplate(reference, message, marshaller, consumer, serverNodeUUID);
+      } else {
+         amqMessage = toAMQMessage(reference, message, marshaller, consumer, serverNodeUUID);
+      }
 
       amqMessage.getMessageId().setBrokerSequenceId(consumerDeliverySequenceId);
       MessageDispatch md = new MessageDispatch();
@@ -493,6 +512,86 @@ public final class OpenWireMessageConverter {
       return md;
    }
 
+   /**
+    * Drops the converted message cached by {@link #createMessageDispatch} on a message that has just been modified.
+    */
+   public static void clearDispatchTemplate(ICoreMessage message) {
+      synchronized (message) {
+         if (message.getUserContext(DispatchTemplate.class) != null) {
+            message.setUserContext(DispatchTemplate.class, null);
+         }
+      }
+   }
+
+   /**
+    * Converts the message once per wire format version, with its properties already marshalled, and returns a copy of
+    * it with the fields that depend on the consumer and on the reference patched. The copies share the content and the
+    * marshalled properties of the cached message, which is dropped once a copy has been dispatched for each reference.
+    */
+   private static ActiveMQMessage copyDispatchTemplate(MessageReference reference,
+                                                       ICoreMessage coreMessage,
+                                                       WireFormat marshaller,
+                                                       AMQConsumer consumer,
+                                                       UUID serverNodeUUID) throws IOException {
+      DispatchTemplate template;
+      synchronized (coreMessage) {
+         template = (DispatchTemplate) coreMessage.getUserContext(DispatchTemplate.class);
+      }
+
+      if (template == null || template.wireFormatVersion != marshaller.getVersion()) {
+         final ActiveMQMessage converted = toAMQMessage(reference, coreMessage, marshaller, consumer, serverNodeUUID);
+         if (converted instanceof ActiveMQBytesMessage bytesMessage) {
+            // copy() would otherwise replace the content with the empty eager output stream
+            final ByteSequence content = bytesMessage.getContent();
+            bytesMessage.storeContent();
+            bytesMessage.setContent(content);
+         }
+         converted.beforeMarshall(marshaller);
+         if (converted.getMarshalledProperties() != null) {
+            try {
+               converted.clearUnMarshalledState();
+            } catch (JMSException e) {
+               throw new IOException(e);
+            }
+         }
+         converted.getSize();
+
+         template = new DispatchTemplate(marshaller.getVersion(), converted, coreMessage.getRefCount());
+         synchronized (coreMessage) {
+            coreMessage.setUserContext(DispatchTemplate.class, template);
+         }
+      }
+
+      final ActiveMQMessage amqMessage = (ActiveMQMessage) template.message.copy();
+      if (template.pendingDispatches.decrementAndGet() <= 0) {
+         // not accounted by the memory estimate of the message: it mustn't outlive the dispatches it is meant for
+         synchronized (coreMessage) {
+            if (coreMessage.getUserContext(DispatchTemplate.class) == template) {
+               coreMessage.setUserContext(DispatchTemplate.class, null);
+            }
+         }
+      }
+      amqMessage.setDestination(OpenWireUtil.toAMQAddress(coreMessage, consumer.getOpenwireDestination()));
+      amqMessage.setRedeliveryCounter(reference.getDeliveryCount() - 1);
+      return amqMessage;
+   }
+
+   private static final class DispatchTemplate {
+
+      private final int wireFormatVersion;
+
+      private final ActiveMQMessage message;
+
+      // redeliveries and references added later convert the message again
+      private final AtomicInteger pendingDispatches;
+
+      private DispatchTemplate(int wireFormatVersion, ActiveMQMessage message, int references) {
+         this.wireFormatVersion = wireFormatVersion;
+         this.message = message;
+         this.pendingDispatches = new AtomicInteger(references);
+      }
+   }
+
    private static final class EagerActiveMQBytesMessage extends ActiveMQBytesMessage {
 
       EagerActiveMQBytesMessage(int size) {
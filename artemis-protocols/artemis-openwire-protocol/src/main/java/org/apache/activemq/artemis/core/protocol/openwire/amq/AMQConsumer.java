@@ -307,7 +307,9 @@ public class AMQConsumer {
          }
 
          if (session.getConnection().isNoLocal() || (session.isInternal() && AdvisorySupport.isAdvisoryTopic(openwireDestination))) {
-            message.removeProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME);
+            if (message.removeProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME) != null) {
+               OpenWireMessageConverter.clearDispatchTemplate(message);
+            }
          }
          //handleDeliver is performed by an executor; any AMQConsumer can share the session.wireFormat()
          dispatch = OpenWireMessageConverter.createMessageDispatch(reference, message, session.wireFormat(), this, session.getCoreServer().getNodeManager().getUUID(), deliveredSequenceId.getAndIncrement());
@@ -16,10 +16,13 @@
  */
 package org.apache.activemq.artemis.core.protocol.openwire;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.charset.StandardCharsets;
@@ -39,6 +42,7 @@ import org.apache.activemq.artemis.utils.RandomUtil;
 import org.apache.activemq.artemis.utils.UUID;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.command.ActiveMQBytesMessage;
 import org.apache.activemq.command.ActiveMQDestination;
 import org.apache.activemq.command.ActiveMQMapMessage;
 import org.apache.activemq.command.ActiveMQMessage;
@@ -333,4 +337,75 @@ public class OpenWireMessageConverterTest {
       assertNull(messageDispatch.getMessage().getProperty(hdrDroppable));
       assertNull(messageDispatch.getMessage().getProperty(""));
    }
+
+   @Test
+   public void testDispatchTemplateSharedBetweenConsumers() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.setType(Message.BYTES_TYPE);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      coreMessage.putStringProperty("color", "red");
+      coreMessage.refUp();
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      AMQConsumer amqConsumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(amqConsumer.getOpenwireDestination()).thenReturn(destination);
+
+      MessageReference firstReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+      MessageReference secondReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+      firstReference.setDeliveryCount(1);
+      secondReference.setDeliveryCount(3);
+
+      MessageDispatch first = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 5, true);
+      MessageDispatch second = OpenWireMessageConverter.createMessageDispatch(secondReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 7, true);
+
+      // the second dispatch reuses the converted message
+      assertSame(first.getMessage().getContent().getData(), second.getMessage().getContent().getData());
+      assertSame(first.getMessage().getMarshalledProperties().getData(), second.getMessage().getMarshalledProperties().getData());
+
+      assertNotSame(first.getMessage().getMessageId(), second.getMessage().getMessageId());
+      assertEquals(5, first.getMessage().getMessageId().getBrokerSequenceId());
+      assertEquals(7, second.getMessage().getMessageId().getBrokerSequenceId());
+      assertEquals(0, first.getRedeliveryCounter());
+      assertEquals(2, second.getRedeliveryCounter());
+      assertEquals(2, second.getMessage().getRedeliveryCounter());
+
+      for (MessageDispatch dispatch : new MessageDispatch[]{first, second}) {
+         MessageDispatch marshalled = (MessageDispatch) openWireFormat.unmarshal(openWireFormat.marshal(dispatch));
+         assertEquals("red", marshalled.getMessage().getProperty("color"));
+         assertArrayEquals(content, ((ActiveMQBytesMessage) marshalled.getMessage()).getContent().getData());
+         assertEquals(destination, marshalled.getDestination());
+      }
+
+      OpenWireMessageConverter.clearDispatchTemplate(coreMessage);
+      MessageDispatch third = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 9, true);
+      assertNotSame(first.getMessage().getContent().getData(), third.getMessage().getContent().getData());
+   }
+
+   @Test
+   public void testDispatchTemplateDroppedOnceEachReferenceDispatched() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.setType(Message.BYTES_TYPE);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      AMQConsumer amqConsumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(amqConsumer.getOpenwireDestination()).thenReturn(destination);
+
+      MessageReference firstReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+      MessageReference secondReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+
+      MessageDispatch first = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 5, true);
+      MessageDispatch second = OpenWireMessageConverter.createMessageDispatch(secondReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 7, true);
+      assertSame(first.getMessage().getContent().getData(), second.getMessage().getContent().getData());
+
+      // both references got their copy: a redelivery converts the message again
+      MessageDispatch redelivery = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, amqConsumer, nodeUUID, 9, true);
+      assertNotSame(first.getMessage().getContent().getData(), redelivery.getMessage().getContent().getData());
+   }
 }
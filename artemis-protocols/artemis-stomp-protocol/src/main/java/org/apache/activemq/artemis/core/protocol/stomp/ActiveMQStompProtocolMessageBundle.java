@@ -147,4 +147,7 @@ public interface ActiveMQStompProtocolMessageBundle {
 
    @Message(id = 339041, value = "Not allowed to specify {} semantics on {} address.")
    ActiveMQStompException illegalSemantics(String requested, String exists);
+
+   @Message(id = 339042, value = "Invalid content-length: {}")
+   ActiveMQStompException invalidContentLength(String contentLength);
 }
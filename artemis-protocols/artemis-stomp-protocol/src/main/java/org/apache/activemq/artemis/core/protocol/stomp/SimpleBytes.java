@@ -37,6 +37,14 @@ public class SimpleBytes {
       return new String(contents, 0, index, StandardCharsets.UTF_8);
    }
 
+   /**
+    * Like {@link #getString()} but returns the constant for a well-known header name rather than a new String.
+    */
+   public String getHeaderName() {
+      String name = StompDecoder.lookupHeaderName(contents, 0, index);
+      return name != null ? name : getString();
+   }
+
    public void reset() {
       index = 0;
    }
@@ -468,6 +468,10 @@ public final class StompConnection extends AbstractRemotingConnection {
       return manager.createServerMessage();
    }
 
+   public CoreMessage createServerMessage(int bodySize) {
+      return manager.createServerMessage(bodySize);
+   }
+
    public StompSession getSession() throws ActiveMQStompException, ActiveMQSecurityException {
       return getSession(null);
    }
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.protocol.stomp;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -125,6 +126,17 @@ public class StompDecoder {
 
    public static final byte TAB = (byte) '\t';
 
+   // header names sent by most clients, indexed by their length so that decoding them doesn't allocate a String
+   private static final String[][] KNOWN_HEADER_NAMES = knownHeaderNames(Stomp.Headers.RECEIPT_REQUESTED, Stomp.Headers.TRANSACTION,
+      Stomp.Headers.CONTENT_LENGTH, Stomp.Headers.CONTENT_TYPE, Stomp.Headers.Send.DESTINATION, Stomp.Headers.Send.DESTINATION_TYPE,
+      Stomp.Headers.Send.CORRELATION_ID, Stomp.Headers.Send.REPLY_TO, Stomp.Headers.Send.EXPIRATION_TIME, Stomp.Headers.Send.PRIORITY,
+      Stomp.Headers.Send.TYPE, Stomp.Headers.Send.PERSISTENT, Stomp.Headers.Message.MESSAGE_ID, Stomp.Headers.Message.SUBSCRIPTION,
+      Stomp.Headers.Subscribe.ACK_MODE, Stomp.Headers.Subscribe.ID, Stomp.Headers.Subscribe.SELECTOR,
+      Stomp.Headers.Subscribe.DURABLE_SUBSCRIPTION_NAME, Stomp.Headers.Subscribe.CONSUMER_WINDOW_SIZE,
+      Stomp.Headers.Subscribe.SUBSCRIPTION_TYPE, Stomp.Headers.Subscribe.NO_LOCAL, Stomp.Headers.Connect.LOGIN,
+      Stomp.Headers.Connect.PASSCODE, Stomp.Headers.Connect.CLIENT_ID, Stomp.Headers.Connect.REQUEST_ID,
+      Stomp.Headers.Connect.ACCEPT_VERSION, Stomp.Headers.Connect.HOST, Stomp.Headers.Connect.HEART_BEAT);
+
    public byte[] workingBuffer = new byte[1024];
 
    public int pos;
@@ -153,6 +165,11 @@ public class StompDecoder {
 
    public int bodyStart;
 
+   // the body of a frame with a content-length header, filled straight from the inbound buffers
+   protected byte[] bodyBytes;
+
+   protected int bodyBytesRead;
+
    //max len of EOL (default is 1 for '\n')
    protected int eolLen = 1;
 
@@ -179,10 +196,21 @@ public class StompDecoder {
     * to proper version decoders on catching such exceptions.
     */
    public synchronized StompFrame decode(final ActiveMQBuffer buffer) throws ActiveMQStompException {
+      if (bodyBytes != null && bodyBytesRead < contentLength) {
+         // the rest of a large body doesn't need to go through the working buffer
+         int read = Math.min(buffer.readableBytes(), contentLength - bodyBytesRead);
+
+         ensureBodyCapacity(bodyBytesRead + read);
+
+         buffer.readBytes(bodyBytes, bodyBytesRead, read);
+
+         bodyBytesRead += read;
+      }
+
       int readable = buffer.readableBytes();
 
       if (data + readable >= workingBuffer.length) {
-         resizeWorking(data + readable);
+         resizeWorking(Math.max(data + readable, workingBuffer.length * 2));
       }
 
       buffer.readBytes(workingBuffer, data, readable);
@@ -213,14 +241,10 @@ public class StompDecoder {
       byte[] content = null;
 
       if (contentLength != -1) {
-         if (pos + contentLength + 1 > data) {
-            // Need more bytes
-         } else {
-            content = new byte[contentLength];
+         if (readContent() && pos < data) {
+            content = bodyBytes;
 
-            System.arraycopy(workingBuffer, pos, content, 0, contentLength);
-
-            pos += contentLength + 1;
+            pos++;
          }
       } else {
          // Need to scan for terminating NUL
@@ -279,7 +303,11 @@ public class StompDecoder {
          switch (b) {
             case HEADER_SEPARATOR: {
                if (inHeaderName) {
-                  headerName = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+                  headerName = lookupHeaderName(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+
+                  if (headerName == null) {
+                     headerName = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+                  }
 
                   inHeaderName = false;
 
@@ -305,7 +333,7 @@ public class StompDecoder {
                headers.put(headerName, headerValue);
 
                if (headerName.equals(Stomp.Headers.CONTENT_LENGTH)) {
-                  contentLength = Integer.parseInt(headerValue);
+                  contentLength = parseContentLength(headerValue);
                }
 
                whiteSpaceOnly = true;
@@ -561,6 +589,100 @@ public class StompDecoder {
       contentType = null;
 
       bodyStart = -1;
+
+      bodyBytes = null;
+
+      bodyBytesRead = 0;
+   }
+
+   /**
+    * {@return the value of a content-length header, which can't be negative}
+    */
+   protected int parseContentLength(final String headerValue) throws ActiveMQStompException {
+      final int contentLength = Integer.parseInt(headerValue);
+      if (contentLength < 0) {
+         throw BUNDLE.invalidContentLength(headerValue).setHandler(handler);
+      }
+      return contentLength;
+   }
+
+   /**
+    * Moves the body bytes of a frame with a content-length header from the working buffer into {@link #bodyBytes}.
+    * <p>
+    * {@link #bodyBytes} grows with the bytes received rather than being allocated for the announced content-length.
+    *
+    * @return {@code true} once the whole body has been read
+    */
+   protected boolean readContent() {
+      int read = Math.min(data - pos, contentLength - bodyBytesRead);
+
+      ensureBodyCapacity(bodyBytesRead + read);
+
+      System.arraycopy(workingBuffer, pos, bodyBytes, bodyBytesRead, read);
+
+      pos += read;
+
+      bodyBytesRead += read;
+
+      if (bodyBytesRead < contentLength) {
+         // everything left in the working buffer belonged to the body
+         pos = 0;
+
+         data = 0;
+
+         return false;
+      }
+
+      return true;
+   }
+
+   private void ensureBodyCapacity(final int capacity) {
+      if (bodyBytes == null) {
+         bodyBytes = new byte[capacity];
+      } else if (capacity > bodyBytes.length) {
+         bodyBytes = Arrays.copyOf(bodyBytes, (int) Math.min(contentLength, Math.max(capacity, bodyBytes.length * 2L)));
+      }
+   }
+
+   /**
+    * Returns the constant for a well-known header name spelled by the given bytes, or {@code null} if there is none.
+    */
+   public static String lookupHeaderName(final byte[] bytes, final int offset, final int length) {
+      if (length >= KNOWN_HEADER_NAMES.length || KNOWN_HEADER_NAMES[length] == null) {
+         return null;
+      }
+
+   candidates:
+      for (String name : KNOWN_HEADER_NAMES[length]) {
+         for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != (byte) name.charAt(i)) {
+               continue candidates;
+            }
+         }
+         return name;
+      }
+
+      return null;
+   }
+
+   private static String[][] knownHeaderNames(final String... names) {
+      int maxLength = 0;
+      for (String name : names) {
+         maxLength = Math.max(maxLength, name.length());
+      }
+
+      String[][] table = new String[maxLength + 1][];
+      for (String name : names) {
+         String[] bucket = table[name.length()];
+         if (bucket == null) {
+            table[name.length()] = new String[]{name};
+         } else if (!Arrays.asList(bucket).contains(name)) {
+            bucket = Arrays.copyOf(bucket, bucket.length + 1);
+            bucket[bucket.length - 1] = name;
+            table[name.length()] = bucket;
+         }
+      }
+      return table;
    }
 
    public void resizeWorking(final int newSize) {
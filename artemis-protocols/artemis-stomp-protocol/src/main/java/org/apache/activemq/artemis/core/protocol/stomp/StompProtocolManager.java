@@ -330,7 +330,15 @@ public class StompProtocolManager extends AbstractProtocolManager<StompFrame, St
    }
 
    public CoreMessage createServerMessage() {
-      return new CoreMessage(server.getStorageManager().generateID(), 512);
+      return createServerMessage(0);
+   }
+
+   /**
+    * Creates a message whose buffer already fits a body of {@code bodySize} bytes so writing it doesn't need to grow the
+    * buffer.
+    */
+   public CoreMessage createServerMessage(int bodySize) {
+      return new CoreMessage(server.getStorageManager().generateID(), 512 + bodySize);
    }
 
    public void commitTransaction(StompConnection connection, String txID) throws Exception {
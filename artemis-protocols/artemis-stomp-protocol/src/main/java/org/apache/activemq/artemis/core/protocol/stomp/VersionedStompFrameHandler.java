@@ -200,7 +200,9 @@ public abstract class VersionedStompFrameHandler {
 
          long timestamp = System.currentTimeMillis();
 
-         CoreMessage message = connection.createServerMessage();
+         byte[] body = frame.getBodyAsBytes();
+
+         CoreMessage message = connection.createServerMessage(body == null ? 0 : body.length);
          if (routingType != null) {
             message.setRoutingType(routingType);
          }
@@ -209,7 +211,7 @@ public abstract class VersionedStompFrameHandler {
          StompUtils.copyStandardHeadersFromFrameToMessage(frame, message, getPrefix(frame));
          if (frame.hasHeader(Stomp.Headers.CONTENT_LENGTH)) {
             message.setType(Message.BYTES_TYPE);
-            message.getBodyBuffer().writeBytes(frame.getBodyAsBytes());
+            message.getBodyBuffer().writeBytes(body);
          } else {
             message.setType(Message.TEXT_TYPE);
             String text = frame.getBody();
@@ -610,7 +610,7 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -655,7 +655,7 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
                   headers.put(headerName, headerValue);
 
                   if (headerName.equals(Stomp.Headers.CONTENT_LENGTH)) {
-                     contentLength = Integer.parseInt(headerValue);
+                     contentLength = parseContentLength(headerValue);
                   }
 
                   if (headerName.equals(Stomp.Headers.CONTENT_TYPE)) {
@@ -694,14 +694,8 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
          byte[] content = null;
 
          if (contentLength != -1) {
-            if (pos + contentLength + 1 > data) {
-               // Need more bytes
-            } else {
-               content = new byte[contentLength];
-
-               System.arraycopy(workingBuffer, pos, content, 0, contentLength);
-
-               pos += contentLength;
+            if (readContent() && pos < data) {
+               content = bodyBytes;
 
                //drain all the rest
                if (bodyStart == -1) {
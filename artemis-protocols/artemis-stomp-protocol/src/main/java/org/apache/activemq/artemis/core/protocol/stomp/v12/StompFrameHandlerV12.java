@@ -149,7 +149,7 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -212,7 +212,7 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
                   }
 
                   if (headerName.equals(Stomp.Headers.CONTENT_LENGTH)) {
-                     contentLength = Integer.parseInt(headerValue);
+                     contentLength = parseContentLength(headerValue);
                   }
 
                   if (headerName.equals(Stomp.Headers.CONTENT_TYPE)) {
@@ -251,14 +251,8 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
          byte[] content = null;
 
          if (contentLength != -1) {
-            if (pos + contentLength + 1 > data) {
-               // Need more bytes
-            } else {
-               content = new byte[contentLength];
-
-               System.arraycopy(workingBuffer, pos, content, 0, contentLength);
-
-               pos += contentLength;
+            if (readContent() && pos < data) {
+               content = bodyBytes;
 
                //drain all the rest
                if (bodyStart == -1) {
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.protocol.stomp.v10.StompFrameV10;
+import org.junit.jupiter.api.Test;
+
+public class StompDecoderTest {
+
+   @Test
+   public void testLargeBodyDoesNotGrowWorkingBuffer() throws Exception {
+      StompDecoder decoder = createDecoder();
+
+      byte[] body = new byte[100 * 1024];
+      Arrays.fill(body, (byte) 'x');
+      byte[] frame = encode(Stomp.Commands.SEND, body, "destination:queue", "content-length:" + body.length);
+
+      StompFrame decoded = null;
+      for (int i = 0; i < frame.length; i += 1000) {
+         assertNull(decoded);
+         decoded = decoder.decode(ActiveMQBuffers.wrappedBuffer(Arrays.copyOfRange(frame, i, Math.min(frame.length, i + 1000))));
+      }
+
+      assertNotNull(decoded);
+      assertArrayEquals(body, decoded.getBodyAsBytes());
+      assertEquals("queue", decoded.getHeader(Stomp.Headers.Send.DESTINATION));
+      assertTrue(decoder.workingBuffer.length < 4096, "working buffer grew to " + decoder.workingBuffer.length);
+      assertFalse(decoder.hasBytes());
+   }
+
+   @Test
+   public void testBodyGrowsWithTheBytesReceived() throws Exception {
+      StompDecoder decoder = createDecoder();
+
+      byte[] frame = encode(Stomp.Commands.SEND, new byte[0], "destination:queue", "content-length:" + Integer.MAX_VALUE);
+      assertNull(decoder.decode(ActiveMQBuffers.wrappedBuffer(Arrays.copyOf(frame, frame.length - 1))));
+      assertNull(decoder.decode(ActiveMQBuffers.wrappedBuffer(new byte[1000])));
+      assertTrue(decoder.bodyBytes.length <= 2000, "body allocated " + decoder.bodyBytes.length + " bytes");
+   }
+
+   @Test
+   public void testNegativeContentLength() {
+      StompDecoder decoder = createDecoder();
+
+      byte[] frame = encode(Stomp.Commands.SEND, new byte[0], "destination:queue", "content-length:-5");
+      assertThrows(ActiveMQStompException.class, () -> decoder.decode(ActiveMQBuffers.wrappedBuffer(frame)));
+   }
+
+   @Test
+   public void testFramesInOneBuffer() throws Exception {
+      StompDecoder decoder = createDecoder();
+
+      byte[] first = encode(Stomp.Commands.SEND, "hello".getBytes(StandardCharsets.UTF_8), "destination:a", "content-length:5");
+      byte[] second = encode(Stomp.Commands.SEND, "world".getBytes(StandardCharsets.UTF_8), "destination:b", "custom:value");
+      ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(first.length + second.length);
+      buffer.writeBytes(first);
+      buffer.writeBytes(second);
+
+      StompFrame frame = decoder.decode(buffer);
+      assertEquals("hello", frame.getBody());
+      assertEquals("a", frame.getHeader(Stomp.Headers.Send.DESTINATION));
+      assertTrue(decoder.hasBytes());
+
+      frame = decoder.decode(ActiveMQBuffers.fixedBuffer(0));
+      assertEquals("world", frame.getBody());
+      assertEquals("b", frame.getHeader(Stomp.Headers.Send.DESTINATION));
+      assertEquals("value", frame.getHeader("custom"));
+      assertFalse(decoder.hasBytes());
+   }
+
+   @Test
+   public void testWellKnownHeaderNamesAreInterned() throws Exception {
+      StompDecoder decoder = createDecoder();
+
+      StompFrame frame = decoder.decode(ActiveMQBuffers.wrappedBuffer(encode(Stomp.Commands.SEND, new byte[0], "destination:a", "receipt:1", "custom:value")));
+
+      for (String name : frame.getHeadersMap().keySet()) {
+         if (name.equals(Stomp.Headers.Send.DESTINATION)) {
+            assertSame(Stomp.Headers.Send.DESTINATION, name);
+         } else if (name.equals(Stomp.Headers.RECEIPT_REQUESTED)) {
+            assertSame(Stomp.Headers.RECEIPT_REQUESTED, name);
+         }
+      }
+      assertEquals("value", frame.getHeader("custom"));
+      byte[] name = "destination".getBytes(StandardCharsets.US_ASCII);
+      assertSame(Stomp.Headers.Send.DESTINATION, StompDecoder.lookupHeaderName(name, 0, name.length));
+      assertNull(StompDecoder.lookupHeaderName(name, 1, name.length - 1));
+   }
+
+   private static byte[] encode(String command, byte[] body, String... headers) {
+      StringBuilder head = new StringBuilder(command).append('\n');
+      for (String header : headers) {
+         head.append(header).append('\n');
+      }
+      head.append('\n');
+      byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+      byte[] frame = Arrays.copyOf(headBytes, headBytes.length + body.length + 1);
+      System.arraycopy(body, 0, frame, headBytes.length, body.length);
+      return frame;
+   }
+
+   private static StompDecoder createDecoder() {
+      StompDecoder decoder = new StompDecoder(new DecoderOnlyFrameHandler());
+      decoder.init();
+      return decoder;
+   }
+
+   private static final class DecoderOnlyFrameHandler extends VersionedStompFrameHandler {
+
+      DecoderOnlyFrameHandler() {
+         super(null, null, null);
+      }
+
+      @Override
+      public StompFrame onConnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onDisconnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onAck(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onUnsubscribe(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onStomp(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onNack(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame createStompFrame(String command) {
+         return new StompFrameV10(command);
+      }
+   }
+}
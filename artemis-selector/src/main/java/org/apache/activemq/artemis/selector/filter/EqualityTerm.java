@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * A property a selector can only match when it equals one of some string values, as {@code region = 'EU'} or
+ * {@code type IN ('a', 'b')}, either alone or as a term of the conjunctions of the selector.
+ * <p>
+ * A message whose property isn't any of these values doesn't match the selector, so the selectors can be indexed by
+ * these values to only evaluate the ones a message may match.
+ */
+public final class EqualityTerm {
+
+   private final SimpleString property;
+
+   private final Set<String> values;
+
+   private EqualityTerm(SimpleString property, Set<String> values) {
+      this.property = property;
+      this.values = values;
+   }
+
+   public SimpleString getProperty() {
+      return property;
+   }
+
+   public Set<String> getValues() {
+      return values;
+   }
+
+   /**
+    * {@return the term on which {@code expression} can be indexed or {@code null} if it hasn't any}
+    */
+   public static EqualityTerm extract(BooleanExpression expression) {
+      if (expression instanceof ComparisonExpression comparison) {
+         return extractEqual(comparison);
+      }
+      if (expression instanceof UnaryExpression.InExpression in) {
+         return extractIn(in);
+      }
+      if (expression instanceof LogicExpression logic) {
+         return switch (logic.getExpressionSymbol()) {
+            case "AND" -> extractAnd(logic);
+            case "OR" -> extractOr(logic);
+            default -> null;
+         };
+      }
+      return null;
+   }
+
+   private static EqualityTerm extractEqual(ComparisonExpression comparison) {
+      // converting the strings would make a numeric or boolean property equal a string constant
+      if (comparison.convertStringExpressions || !"=".equals(comparison.getExpressionSymbol())) {
+         return null;
+      }
+      final PropertyExpression property;
+      final Expression constant;
+      if (comparison.getLeft() instanceof PropertyExpression left) {
+         property = left;
+         constant = comparison.getRight();
+      } else if (comparison.getRight() instanceof PropertyExpression right) {
+         property = right;
+         constant = comparison.getLeft();
+      } else {
+         return null;
+      }
+      if (constant instanceof ConstantExpression constantExpression && constantExpression.getValue() instanceof String value) {
+         return new EqualityTerm(SimpleString.of(property.getName()), Collections.singleton(value));
+      }
+      return null;
+   }
+
+   private static EqualityTerm extractIn(UnaryExpression.InExpression in) {
+      if (in.isNot() || !(in.getRight() instanceof PropertyExpression property)) {
+         return null;
+      }
+      final Set<String> values = new HashSet<>();
+      for (Object value : in.getInList()) {
+         if (!(value instanceof String string)) {
+            return null;
+         }
+         values.add(string);
+      }
+      return new EqualityTerm(SimpleString.of(property.getName()), values);
+   }
+
+   private static EqualityTerm extractAnd(LogicExpression and) {
+      // any term of a conjunction has to hold, the most selective one is used
+      EqualityTerm term = null;
+      for (BooleanExpression expression : and.expressions) {
+         final EqualityTerm candidate = extract(expression);
+         if (candidate != null && (term == null || candidate.values.size() < term.values.size())) {
+            term = candidate;
+         }
+      }
+      return term;
+   }
+
+   private static EqualityTerm extractOr(LogicExpression or) {
+      // a disjunction is only indexed when all its terms are on the same property
+      SimpleString property = null;
+      final Set<String> values = new HashSet<>();
+      for (BooleanExpression expression : or.expressions) {
+         final EqualityTerm term = extract(expression);
+         if (term == null || (property != null && !property.equals(term.property))) {
+            return null;
+         }
+         property = term.property;
+         values.addAll(term.values);
+      }
+      return property == null ? null : new EqualityTerm(property, values);
+   }
+
+   @Override
+   public String toString() {
+      return "EqualityTerm [property=" + property + ", values=" + values + "]";
+   }
+}
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.List;
+
+/**
+ * Compiles a parsed selector into a tree of specialized expressions evaluating the same way as the parsed one.
+ * <p>
+ * The conjunctions are flattened into arrays and the comparisons of a property with a constant are resolved upfront:
+ * the numeric ones compare primitive values, without boxing any converted operand, and the equality with a string or
+ * boolean constant is a single {@code equals}. Any other expression, as {@code LIKE}, {@code IN} or arithmetic, is
+ * kept as parsed.
+ */
+public final class ExpressionCompiler {
+
+   private ExpressionCompiler() {
+   }
+
+   /**
+    * {@return an expression matching the same messages as {@code expression}}
+    */
+   public static BooleanExpression compile(BooleanExpression expression) throws FilterException {
+      if (expression instanceof LogicExpression logic) {
+         final List<BooleanExpression> expressions = logic.expressions;
+         final BooleanExpression[] compiled = new BooleanExpression[expressions.size()];
+         for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(expressions.get(i));
+         }
+         return switch (logic.getExpressionSymbol()) {
+            case "AND" -> new And(logic, compiled);
+            case "OR" -> new Or(logic, compiled);
+            default -> expression;
+         };
+      }
+      if (expression instanceof UnaryExpression unary && "NOT".equals(unary.getExpressionSymbol())) {
+         return new Not(unary, compile((BooleanExpression) unary.getRight()));
+      }
+      if (expression instanceof ComparisonExpression comparison && !comparison.convertStringExpressions) {
+         final BooleanExpression compiled = compileComparison(comparison);
+         if (compiled != null) {
+            return compiled;
+         }
+      }
+      return expression;
+   }
+
+   private static BooleanExpression compileComparison(ComparisonExpression comparison) throws FilterException {
+      final boolean propertyOnLeft;
+      final PropertyExpression property;
+      final Object constant;
+      if (comparison.getLeft() instanceof PropertyExpression left && isConstant(comparison.getRight())) {
+         propertyOnLeft = true;
+         property = left;
+         constant = comparison.getRight().evaluate(null);
+      } else if (comparison.getRight() instanceof PropertyExpression right && isConstant(comparison.getLeft())) {
+         propertyOnLeft = false;
+         property = right;
+         constant = comparison.getLeft().evaluate(null);
+      } else {
+         return null;
+      }
+
+      final String symbol = comparison.getExpressionSymbol();
+      if ("=".equals(symbol)) {
+         if (constant == null && propertyOnLeft) {
+            return new IsNull(comparison, property);
+         }
+         if (constant instanceof String || constant instanceof Boolean) {
+            return new EqualsConstant(comparison, property, constant, propertyOnLeft);
+         }
+      }
+      final int constantType = numericType(constant);
+      if (constantType == INTEGER || constantType == LONG || constantType == DOUBLE) {
+         final int operator = switch (symbol) {
+            case "=" -> EQ;
+            case ">" -> GT;
+            case ">=" -> GE;
+            case "<" -> LT;
+            case "<=" -> LE;
+            default -> -1;
+         };
+         if (operator != -1) {
+            return new NumericComparison(comparison, property, (Number) constant, constantType, operator, propertyOnLeft);
+         }
+      }
+      return null;
+   }
+
+   private static boolean isConstant(Expression expression) {
+      if (expression instanceof ConstantExpression) {
+         return true;
+      }
+      // a negative number literal is parsed as the negation of the positive one
+      return expression instanceof UnaryExpression unary && "-".equals(unary.getExpressionSymbol()) &&
+         unary.getRight() instanceof ConstantExpression constant && constant.getValue() instanceof Number;
+   }
+
+   // the numeric types a comparison converts between, in the order used by COMPARE_TYPES
+   private static final int NOT_NUMERIC = -1;
+   private static final int BYTE = 0;
+   private static final int SHORT = 1;
+   private static final int INTEGER = 2;
+   private static final int LONG = 3;
+   private static final int FLOAT = 4;
+   private static final int DOUBLE = 5;
+
+   // the type two numbers are compared as, NOT_NUMERIC when they aren't comparable
+   private static final int N = NOT_NUMERIC;
+   private static final int L = LONG;
+   private static final int F = FLOAT;
+   private static final int D = DOUBLE;
+
+   /**
+    * The type {@link ComparisonExpression#compare(Comparable, Comparable)} converts a left and a right number to before
+    * comparing them, indexed by their numeric types. It isn't symmetric: a larger left type isn't converted down.
+    */
+   private static final int[][] COMPARE_TYPES = {
+      //  BYTE  SHORT INTEGER LONG FLOAT DOUBLE
+      {L, L, L, L, F, D}, // BYTE
+      {N, L, L, L, F, D}, // SHORT
+      {N, N, L, L, F, D}, // INTEGER
+      {N, N, L, L, F, D}, // LONG
+      {N, N, F, F, F, D}, // FLOAT
+      {N, N, D, D, D, D}  // DOUBLE
+   };
+
+   private static int numericType(Object value) {
+      if (value == null) {
+         return NOT_NUMERIC;
+      }
+      final Class<?> type = value.getClass();
+      if (type == Integer.class) {
+         return INTEGER;
+      } else if (type == Long.class) {
+         return LONG;
+      } else if (type == Double.class) {
+         return DOUBLE;
+      } else if (type == Float.class) {
+         return FLOAT;
+      } else if (type == Short.class) {
+         return SHORT;
+      } else if (type == Byte.class) {
+         return BYTE;
+      }
+      return NOT_NUMERIC;
+   }
+
+   private abstract static class CompiledExpression implements BooleanExpression {
+
+      private final Expression parsed;
+
+      CompiledExpression(Expression parsed) {
+         this.parsed = parsed;
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   private static final class And extends CompiledExpression {
+
+      private final BooleanExpression[] expressions;
+
+      And(Expression parsed, BooleanExpression[] expressions) {
+         super(parsed);
+         this.expressions = expressions;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = false;
+         for (BooleanExpression expression : expressions) {
+            final Boolean lv = (Boolean) expression.evaluate(message);
+            if (lv == null) {
+               someNulls = true;
+            } else if (!lv) {
+               return Boolean.FALSE;
+            }
+         }
+         return someNulls ? null : Boolean.TRUE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (BooleanExpression expression : expressions) {
+            if (!expression.matches(message)) {
+               return false;
+            }
+         }
+         return true;
+      }
+   }
+
+   private static final class Or extends CompiledExpression {
+
+      private final BooleanExpression[] expressions;
+
+      Or(Expression parsed, BooleanExpression[] expressions) {
+         super(parsed);
+         this.expressions = expressions;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = false;
+         for (BooleanExpression expression : expressions) {
+            final Boolean lv = (Boolean) expression.evaluate(message);
+            if (lv == null) {
+               someNulls = true;
+            } else if (lv) {
+               return Boolean.TRUE;
+            }
+         }
+         return someNulls ? null : Boolean.FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (BooleanExpression expression : expressions) {
+            if (expression.matches(message)) {
+               return true;
+            }
+         }
+         return false;
+      }
+   }
+
+   private static final class Not extends CompiledExpression {
+
+      private final BooleanExpression expression;
+
+      Not(Expression parsed, BooleanExpression expression) {
+         super(parsed);
+         this.expression = expression;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Boolean lv = (Boolean) expression.evaluate(message);
+         return lv == null ? null : !lv;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         // NOT NULL returns NULL that eventually fails the selector
+         final Boolean lv = (Boolean) expression.evaluate(message);
+         return lv != null && !lv;
+      }
+   }
+
+   private static final class IsNull extends CompiledExpression {
+
+      private final PropertyExpression property;
+
+      IsNull(Expression parsed, PropertyExpression property) {
+         super(parsed);
+         this.property = property;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return matches(message);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return property.evaluate(message) == null;
+      }
+   }
+
+   /**
+    * The equality of a property with a string or a boolean constant, which can only equal a value of the same type.
+    */
+   private static final class EqualsConstant extends CompiledExpression {
+
+      private final PropertyExpression property;
+      private final Object constant;
+      // with the property on the right, a missing property makes the equality false rather than unknown
+      private final Boolean missing;
+
+      EqualsConstant(Expression parsed, PropertyExpression property, Object constant, boolean propertyOnLeft) {
+         super(parsed);
+         this.property = property;
+         this.constant = constant;
+         this.missing = propertyOnLeft ? null : Boolean.FALSE;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Object value = property.evaluate(message);
+         if (value == null) {
+            return missing;
+         }
+         return constant.equals(value);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return constant.equals(property.evaluate(message));
+      }
+   }
+
+   private static final int EQ = 0;
+   private static final int GT = 1;
+   private static final int GE = 2;
+   private static final int LT = 3;
+   private static final int LE = 4;
+
+   /**
+    * The comparison of a property with a numeric constant, converting both to the type the parsed comparison would.
+    */
+   private static final class NumericComparison extends CompiledExpression {
+
+      private final PropertyExpression property;
+      private final int operator;
+      private final Boolean missing;
+      private final boolean propertyOnLeft;
+      // the type to compare as, indexed by the numeric type of the property
+      private final int[] compareTypes;
+      private final long longConstant;
+      private final float floatConstant;
+      private final double doubleConstant;
+
+      NumericComparison(Expression parsed,
+                        PropertyExpression property,
+                        Number constant,
+                        int constantType,
+                        int operator,
+                        boolean propertyOnLeft) {
+         super(parsed);
+         this.property = property;
+         this.operator = operator;
+         this.missing = operator == EQ && !propertyOnLeft ? Boolean.FALSE : null;
+         this.propertyOnLeft = propertyOnLeft;
+         this.compareTypes = new int[COMPARE_TYPES.length];
+         for (int type = 0; type < compareTypes.length; type++) {
+            compareTypes[type] = propertyOnLeft ? COMPARE_TYPES[type][constantType] : COMPARE_TYPES[constantType][type];
+         }
+         this.longConstant = constant.longValue();
+         this.floatConstant = constant.floatValue();
+         this.doubleConstant = constant.doubleValue();
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Object value = property.evaluate(message);
+         if (value == null) {
+            return missing;
+         }
+         return compare(value);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         final Object value = property.evaluate(message);
+         return value != null && compare(value);
+      }
+
+      private boolean compare(Object value) {
+         final int type = numericType(value);
+         final int compareType = type == NOT_NUMERIC ? NOT_NUMERIC : compareTypes[type];
+         if (compareType == NOT_NUMERIC) {
+            return false;
+         }
+         final Number number = (Number) value;
+         final int answer = switch (compareType) {
+            case LONG -> Long.compare(number.longValue(), longConstant);
+            case FLOAT -> Float.compare(number.floatValue(), floatConstant);
+            default -> Double.compare(number.doubleValue(), doubleConstant);
+         };
+         final int signum = propertyOnLeft ? Integer.signum(answer) : -Integer.signum(answer);
+         return switch (operator) {
+            case EQ -> signum == 0;
+            case GT -> signum > 0;
+            case GE -> signum >= 0;
+            case LT -> signum < 0;
+            default -> signum <= 0;
+         };
+      }
+   }
+}
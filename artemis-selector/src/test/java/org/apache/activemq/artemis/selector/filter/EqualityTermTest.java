@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.MockMessage;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EqualityTermTest {
+
+   @Test
+   public void testExtract() throws Exception {
+      assertTerm("region = 'EU'", "region", "EU");
+      assertTerm("'EU' = region", "region", "EU");
+      assertTerm("type IN ('a', 'b', 'c')", "type", "a", "b", "c");
+      assertTerm("type IN ('a', 'b', 'c', 'd', 'e', 'f')", "type", "a", "b", "c", "d", "e", "f");
+      assertTerm("region = 'EU' AND price > 10", "region", "EU");
+      assertTerm("price > 10 AND type IN ('a', 'b') AND region = 'EU'", "region", "EU");
+      assertTerm("region = 'EU' OR region = 'US' OR region IN ('UK')", "region", "EU", "US", "UK");
+      assertTerm("(region = 'EU' OR region = 'US') AND price > 10", "region", "EU", "US");
+   }
+
+   @Test
+   public void testNoTerm() throws Exception {
+      assertNoTerm("region <> 'EU'");
+      assertNoTerm("NOT (region = 'EU')");
+      assertNoTerm("type NOT IN ('a', 'b')");
+      assertNoTerm("region IS NULL");
+      assertNoTerm("price = 10");
+      assertNoTerm("flag = TRUE");
+      assertNoTerm("region LIKE 'E%'");
+      assertNoTerm("region = 'EU' OR price > 10");
+      assertNoTerm("region = 'EU' OR type = 'a'");
+      assertNoTerm("convert_string_expressions:region = 'EU'");
+   }
+
+   @Test
+   public void testMatchImpliesTerm() throws Exception {
+      final String[] selectors = {"region = 'EU' AND price > 10", "type IN ('a', 'b') OR type = 'c'"};
+      final Object[] values = {null, "EU", "US", "a", "c", "d", 10, true};
+      for (String selector : selectors) {
+         final BooleanExpression expression = SelectorParser.parse(selector);
+         final EqualityTerm term = EqualityTerm.extract(expression);
+         for (Object value : values) {
+            final MockMessage message = new MockMessage();
+            message.setObjectProperty(term.getProperty().toString(), value);
+            message.setIntProperty("price", 20);
+            if (expression.matches(message)) {
+               assertTrue(term.getValues().contains(value), selector + " with " + value);
+            }
+         }
+      }
+   }
+
+   private static void assertTerm(String selector, String property, String... values) throws Exception {
+      final EqualityTerm term = EqualityTerm.extract(SelectorParser.parse(selector));
+      assertEquals(SimpleString.of(property), term.getProperty(), selector);
+      assertEquals(Set.of(values), term.getValues(), selector);
+   }
+
+   private static void assertNoTerm(String selector) throws Exception {
+      assertNull(EqualityTerm.extract(SelectorParser.parse(selector)), selector);
+   }
+}
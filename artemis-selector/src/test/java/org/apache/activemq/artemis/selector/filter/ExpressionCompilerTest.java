@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Callable;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.MockMessage;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ExpressionCompilerTest {
+
+   private static final Object[] VALUES = {null, (byte) 3, (short) 3, 3, 3L, 3.0f, 3.5f, 3.0d, -3.0d, Double.NaN, 4L,
+      Long.MAX_VALUE, "3", "abc", true, false, new BigDecimal("3")};
+
+   private static final String[] CONSTANTS = {"3", "-3", "3.0", "3.5", "4", "9223372036854775807", "'3'", "'abc'",
+      "TRUE", "FALSE"};
+
+   private static final String[] OPERATORS = {"=", "<>", ">", ">=", "<", "<="};
+
+   @Test
+   public void testComparisonsMatchTheParsedSelector() throws Exception {
+      for (Object value : VALUES) {
+         MockMessage message = new MockMessage();
+         message.setObjectProperty("prop", value);
+         for (String constant : CONSTANTS) {
+            for (String operator : OPERATORS) {
+               assertCompiledMatches(message, "prop " + operator + " " + constant);
+               assertCompiledMatches(message, constant + " " + operator + " prop");
+            }
+            assertCompiledMatches(message, "prop BETWEEN " + constant + " AND 5");
+            assertCompiledMatches(message, "prop NOT BETWEEN 1 AND " + constant);
+         }
+         assertCompiledMatches(message, "prop IS NULL");
+         assertCompiledMatches(message, "prop IS NOT NULL");
+         assertCompiledMatches(message, "missing IS NULL OR prop = 3");
+         assertCompiledMatches(message, "missing = 3 OR prop = 3");
+         assertCompiledMatches(message, "prop = 3 AND missing > 1");
+         assertCompiledMatches(message, "prop = 'abc' OR prop LIKE 'a%' OR prop IN ('3', 'x')");
+         assertCompiledMatches(message, "prop + 1 > 3 AND prop = prop");
+      }
+   }
+
+   @Test
+   public void testKeepsUnsupportedExpressions() throws Exception {
+      BooleanExpression like = SelectorParser.parse("prop LIKE 'a%'");
+      assertSame(like, ExpressionCompiler.compile(like));
+
+      BooleanExpression converted = SelectorParser.parse("convert_string_expressions:prop > 3");
+      assertSame(converted, ExpressionCompiler.compile(converted));
+
+      BooleanExpression comparison = SelectorParser.parse("prop > 3");
+      assertNotSame(comparison, ExpressionCompiler.compile(comparison));
+      assertEquals(comparison.toString(), ExpressionCompiler.compile(comparison).toString());
+   }
+
+   private static void assertCompiledMatches(MockMessage message, String selector) throws Exception {
+      for (String text : new String[]{selector, "NOT (" + selector + ")"}) {
+         final BooleanExpression parsed;
+         try {
+            parsed = SelectorParser.parse(text);
+         } catch (FilterException e) {
+            // as comparing a string for order, rejected by the parser
+            continue;
+         }
+         BooleanExpression compiled = ExpressionCompiler.compile(parsed);
+         Object property = message.getProperty(SimpleString.of("prop"));
+         String description = text + " with prop=" + property + (property == null ? "" : " (" + property.getClass().getSimpleName() + ")");
+         assertEquals(outcome(() -> parsed.evaluate(message)), outcome(() -> compiled.evaluate(message)), description);
+         assertEquals(outcome(() -> parsed.matches(message)), outcome(() -> compiled.matches(message)), description);
+      }
+   }
+
+   // the result of an evaluation, or the type of its failure as the arithmetic on a non numeric property
+   private static Object outcome(Callable<Object> evaluation) {
+      try {
+         return evaluation.call();
+      } catch (Exception e) {
+         return e.getClass();
+      }
+   }
+}
@@ -671,6 +671,29 @@ public interface Configuration {
     */
    Configuration setReadWholePage(boolean read);
 
+   /**
+    * {@return the size in bytes of the broker wide cache of the page files being read, {@code -1} if disabled; default
+    * is {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_READ_CACHE_MAX_SIZE}}
+    */
+   long getPageReadCacheMaxSize();
+
+   /**
+    * Sets the size in bytes of the broker wide cache of the page files being read, {@code -1} to disable it.
+    */
+   Configuration setPageReadCacheMaxSize(long pageReadCacheMaxSize);
+
+   /**
+    * {@return the size in bytes of the pages that can be read ahead of the paging cursors across the broker, {@code -1}
+    * if disabled; default is {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_PREFETCH_MAX_SIZE}}
+    */
+   long getPagePrefetchMaxSize();
+
+   /**
+    * Sets the size in bytes of the pages that can be read ahead of the paging cursors across the broker, {@code -1} to
+    * disable it.
+    */
+   Configuration setPagePrefetchMaxSize(long pagePrefetchMaxSize);
+
    /**
     * {@return the file system directory used to store journal log; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_DIR}}
@@ -806,6 +829,65 @@ public interface Configuration {
     */
    Configuration setJournalFileOpenTimeout(int journalFileOpenTimeout);
 
+   /**
+    * {@return the number of independent partitions the message journal records are spread across; default is
+    * {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_PARTITIONS}}
+    */
+   int getJournalPartitions();
+
+   /**
+    * Sets the number of independent partitions the message journal records are spread across.
+    */
+   Configuration setJournalPartitions(int journalPartitions);
+
+   /**
+    * {@return the number of threads reading the journal files and reloading the queues on startup; default is
+    * {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_LOAD_THREADS}}
+    */
+   int getJournalLoadThreads();
+
+   /**
+    * Sets the number of threads reading the journal files and reloading the queues on startup.
+    */
+   Configuration setJournalLoadThreads(int journalLoadThreads);
+
+   /**
+    * {@return the size in bytes of the frames the replication records are batched in before being sent to the backup,
+    * {@code -1} if disabled; default is
+    * {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_REPLICATION_BATCH_MAX_SIZE}}
+    */
+   int getReplicationBatchMaxSize();
+
+   /**
+    * Sets the size in bytes of the frames the replication records are batched in before being sent to the backup,
+    * {@code -1} to disable it.
+    */
+   Configuration setReplicationBatchMaxSize(int replicationBatchMaxSize);
+
+   /**
+    * {@return the time in nanoseconds a replication batch can wait for more records before being sent to the backup;
+    * default is
+    * {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_REPLICATION_BATCH_TIMEOUT}}
+    */
+   long getReplicationBatchTimeout();
+
+   /**
+    * Sets the time in nanoseconds a replication batch can wait for more records before being sent to the backup.
+    */
+   Configuration setReplicationBatchTimeout(long replicationBatchTimeout);
+
+   /**
+    * {@return the number of files sent at the same time to a backup during the initial replication synchronization;
+    * default is
+    * {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_REPLICATION_SYNC_THREADS}}
+    */
+   int getReplicationSyncThreads();
+
+   /**
+    * Sets the number of files sent at the same time to a backup during the initial replication synchronization.
+    */
+   Configuration setReplicationSyncThreads(int replicationSyncThreads);
+
    /**
     * Sets the percentage of live data before compacting the journal.
     */
@@ -1443,6 +1525,18 @@ public interface Configuration {
     */
    boolean isMqttSubscriptionPersistenceEnabled();
 
+   /**
+    * Whether MQTT retained messages are kept in a single broker-wide store indexed by topic rather than in a
+    * {@code $sys.mqtt.retain.*} queue per topic. Like {@link #setMqttSubscriptionPersistenceEnabled(boolean)} this is
+    * broker-wide and can't be set per-connector.
+    */
+   Configuration setMqttRetainedMessageStoreEnabled(boolean mqttRetainedMessageStoreEnabled);
+
+   /**
+    * @see Configuration#setMqttRetainedMessageStoreEnabled
+    */
+   boolean isMqttRetainedMessageStoreEnabled();
+
    /**
     * {@return whether suppression of session-notifications is enabled for this server; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_SUPPRESS_SESSION_NOTIFICATIONS}}
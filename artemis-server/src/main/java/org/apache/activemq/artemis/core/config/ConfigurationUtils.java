@@ -147,6 +147,35 @@ public final class ConfigurationUtils {
    public static void validateConfiguration(Configuration configuration) {
       // Warn if connection-ttl-override/connection-ttl == check-period
       compareTTLWithCheckPeriod(configuration);
+
+      validateJournalPartitions(configuration);
+   }
+
+   /**
+    * A partitioned journal can't be replicated: it is rejected with any replication HA policy.
+    */
+   public static void validateJournalPartitions(Configuration configuration) {
+      if (configuration.getJournalPartitions() > 1 && isReplicationPolicy(configuration.getHAPolicyConfiguration())) {
+         throw ActiveMQMessageBundle.BUNDLE.journalPartitionsWithReplication(configuration.getJournalPartitions());
+      }
+   }
+
+   private static boolean isReplicationPolicy(HAPolicyConfiguration haPolicyConfiguration) {
+      if (haPolicyConfiguration == null) {
+         return false;
+      }
+      switch (haPolicyConfiguration.getType()) {
+         case REPLICATION_PRIMARY_QUORUM_VOTING:
+         case REPLICATION_BACKUP_QUORUM_VOTING:
+         case REPLICATION_PRIMARY_LOCK_MANAGER:
+         case REPLICATION_BACKUP_LOCK_MANAGER:
+            return true;
+         case COLOCATED:
+            final ColocatedPolicyConfiguration colocated = (ColocatedPolicyConfiguration) haPolicyConfiguration;
+            return isReplicationPolicy(colocated.getPrimaryConfig()) || isReplicationPolicy(colocated.getBackupConfig());
+         default:
+            return false;
+      }
    }
 
    public static List<TransportConfiguration> parseAcceptorURI(String name, String uri) {
@@ -259,6 +259,10 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean readWholePage = ActiveMQDefaultConfiguration.isDefaultReadWholePage();
 
+   private long pageReadCacheMaxSize = ActiveMQDefaultConfiguration.getDefaultPageReadCacheMaxSize();
+
+   private long pagePrefetchMaxSize = ActiveMQDefaultConfiguration.getDefaultPagePrefetchMaxSize();
+
    protected String largeMessagesDirectory = ActiveMQDefaultConfiguration.getDefaultLargeMessagesDir();
 
    protected String bindingsDirectory = ActiveMQDefaultConfiguration.getDefaultBindingsDirectory();
@@ -291,6 +295,16 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalFileOpenTimeout = ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout();
 
+   protected int journalPartitions = ActiveMQDefaultConfiguration.getDefaultJournalPartitions();
+
+   protected int journalLoadThreads = ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads();
+
+   protected int replicationBatchMaxSize = ActiveMQDefaultConfiguration.getDefaultReplicationBatchMaxSize();
+
+   protected long replicationBatchTimeout = ActiveMQDefaultConfiguration.getDefaultReplicationBatchTimeout();
+
+   protected int replicationSyncThreads = ActiveMQDefaultConfiguration.getDefaultReplicationSyncThreads();
+
    protected int journalFileSize = ActiveMQDefaultConfiguration.getDefaultJournalFileSize();
 
    protected int journalPoolFiles = ActiveMQDefaultConfiguration.getDefaultJournalPoolFiles();
@@ -450,6 +464,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean mqttSessionStatePersistenceEnabled = ActiveMQDefaultConfiguration.getMqttSubscriptionPersistenceEnabled();
 
+   private boolean mqttRetainedMessageStoreEnabled = ActiveMQDefaultConfiguration.getMqttRetainedMessageStoreEnabled();
+
    private boolean suppressSessionNotifications = ActiveMQDefaultConfiguration.getDefaultSuppressSessionNotifications();
 
    private String literalMatchMarkers = ActiveMQDefaultConfiguration.getLiteralMatchMarkers();
@@ -1803,6 +1819,28 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public long getPageReadCacheMaxSize() {
+      return pageReadCacheMaxSize;
+   }
+
+   @Override
+   public ConfigurationImpl setPageReadCacheMaxSize(long pageReadCacheMaxSize) {
+      this.pageReadCacheMaxSize = pageReadCacheMaxSize;
+      return this;
+   }
+
+   @Override
+   public long getPagePrefetchMaxSize() {
+      return pagePrefetchMaxSize;
+   }
+
+   @Override
+   public ConfigurationImpl setPagePrefetchMaxSize(long pagePrefetchMaxSize) {
+      this.pagePrefetchMaxSize = pagePrefetchMaxSize;
+      return this;
+   }
+
    @Override
    public File getJournalLocation() {
       return subFolder(getJournalDirectory());
@@ -2231,6 +2269,61 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getJournalPartitions() {
+      return journalPartitions;
+   }
+
+   @Override
+   public Configuration setJournalPartitions(int journalPartitions) {
+      this.journalPartitions = journalPartitions;
+      return this;
+   }
+
+   @Override
+   public int getJournalLoadThreads() {
+      return journalLoadThreads;
+   }
+
+   @Override
+   public Configuration setJournalLoadThreads(int journalLoadThreads) {
+      this.journalLoadThreads = journalLoadThreads;
+      return this;
+   }
+
+   @Override
+   public int getReplicationBatchMaxSize() {
+      return replicationBatchMaxSize;
+   }
+
+   @Override
+   public Configuration setReplicationBatchMaxSize(int replicationBatchMaxSize) {
+      this.replicationBatchMaxSize = replicationBatchMaxSize;
+      return this;
+   }
+
+   @Override
+   public long getReplicationBatchTimeout() {
+      return replicationBatchTimeout;
+   }
+
+   @Override
+   public Configuration setReplicationBatchTimeout(long replicationBatchTimeout) {
+      this.replicationBatchTimeout = replicationBatchTimeout;
+      return this;
+   }
+
+   @Override
+   public int getReplicationSyncThreads() {
+      return replicationSyncThreads;
+   }
+
+   @Override
+   public Configuration setReplicationSyncThreads(int replicationSyncThreads) {
+      this.replicationSyncThreads = replicationSyncThreads;
+      return this;
+   }
+
    @Override
    public ConfigurationImpl setJournalCompactPercentage(final int percentage) {
       journalCompactPercentage = percentage;
@@ -3298,6 +3391,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isMqttRetainedMessageStoreEnabled() {
+      return mqttRetainedMessageStoreEnabled;
+   }
+
+   @Override
+   public Configuration setMqttRetainedMessageStoreEnabled(boolean mqttRetainedMessageStoreEnabled) {
+      this.mqttRetainedMessageStoreEnabled = mqttRetainedMessageStoreEnabled;
+      return this;
+   }
+
    @Override
    public boolean isSuppressSessionNotifications() {
       return suppressSessionNotifications;
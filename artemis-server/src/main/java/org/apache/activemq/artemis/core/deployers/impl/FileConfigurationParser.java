@@ -402,6 +402,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED = "mqtt-subscription-persistence-enabled";
 
+   private static final String MQTT_RETAINED_MESSAGE_STORE_ENABLED = "mqtt-retained-message-store-enabled";
+
    private boolean validateAIO = false;
 
    private boolean printPageMaxSizeUsed = false;
@@ -517,6 +519,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setMqttSubscriptionPersistenceEnabled(getBoolean(e, MQTT_SUBSCRIPTION_PERSISTENCE_ENABLED, config.isMqttSubscriptionPersistenceEnabled()));
 
+      config.setMqttRetainedMessageStoreEnabled(getBoolean(e, MQTT_RETAINED_MESSAGE_STORE_ENABLED, config.isMqttRetainedMessageStoreEnabled()));
+
       config.setGlobalMaxSizePercentOfJvmMaxMemory(getInteger(e, GLOBAL_MAX_SIZE_PERCENT_JVM_MAX_MEM, config.getGlobalMaxSizePercentOfJvmMaxMemory(), GT_ZERO));
 
       long globalMaxSize = getTextBytesAsLongBytes(e, GLOBAL_MAX_SIZE, -1, MINUS_ONE_OR_GT_ZERO);
@@ -762,6 +766,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setReadWholePage(getBoolean(e, "read-whole-page", config.isReadWholePage()));
 
+      config.setPageReadCacheMaxSize(getTextBytesAsLongBytes(e, "page-read-cache-max-size", config.getPageReadCacheMaxSize(), MINUS_ONE_OR_GT_ZERO));
+
+      config.setPagePrefetchMaxSize(getTextBytesAsLongBytes(e, "page-prefetch-max-size", config.getPagePrefetchMaxSize(), MINUS_ONE_OR_GT_ZERO));
+
       config.setPagingDirectory(getString(e, "paging-directory", config.getPagingDirectory(), NOT_NULL_OR_EMPTY));
 
       config.setCreateJournalDir(getBoolean(e, "create-journal-dir", config.isCreateJournalDir()));
@@ -813,6 +821,16 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalFileOpenTimeout(getInteger(e, "journal-file-open-timeout", ActiveMQDefaultConfiguration.getDefaultJournalFileOpenTimeout(), GT_ZERO));
 
+      config.setJournalPartitions(getInteger(e, "journal-partitions", config.getJournalPartitions(), GT_ZERO));
+
+      config.setJournalLoadThreads(getInteger(e, "journal-load-threads", config.getJournalLoadThreads(), GT_ZERO));
+
+      config.setReplicationBatchMaxSize(getTextBytesAsIntBytes(e, "replication-batch-max-size", config.getReplicationBatchMaxSize(), MINUS_ONE_OR_GT_ZERO));
+
+      config.setReplicationBatchTimeout(getLong(e, "replication-batch-timeout", config.getReplicationBatchTimeout(), GE_ZERO));
+
+      config.setReplicationSyncThreads(getInteger(e, "replication-sync-threads", config.getReplicationSyncThreads(), GT_ZERO));
+
       config.setJournalMinFiles(getInteger(e, "journal-min-files", config.getJournalMinFiles(), GT_ZERO));
 
       config.setJournalPoolFiles(getInteger(e, "journal-pool-files", config.getJournalPoolFiles(), MINUS_ONE_OR_GT_ZERO));
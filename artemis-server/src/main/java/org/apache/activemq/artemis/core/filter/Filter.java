@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.filter;
 import java.util.Map;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.EqualityTerm;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 
 public interface Filter {
@@ -40,6 +41,14 @@ public interface Filter {
 
    SimpleString getFilterString();
 
+   /**
+    * {@return the property this filter requires to equal one of some values to match a message, {@code null} if it
+    * doesn't require any}
+    */
+   default EqualityTerm getEqualityTerm() {
+      return null;
+   }
+
    static SimpleString toFilterString(Filter filter) {
       return filter == null ? null : filter.getFilterString();
    }
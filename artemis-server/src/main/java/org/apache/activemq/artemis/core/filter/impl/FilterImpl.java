@@ -27,6 +27,8 @@ import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.federation.address.FederatedAddress;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.EqualityTerm;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
@@ -59,10 +61,15 @@ public class FilterImpl implements Filter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // whether the parsed filters are compiled into specialized expressions, see ExpressionCompiler
+   private static final boolean COMPILE_FILTERS = Boolean.parseBoolean(System.getProperty("ARTEMIS_COMPILE_FILTERS", "false"));
+
    private final SimpleString sfilterString;
 
    private final BooleanExpression booleanExpression;
 
+   private final EqualityTerm equalityTerm;
+
    /**
     * {@return null if {@code filterStr} is null or an empty String and a valid filter else}
     * @throws ActiveMQException if the string does not correspond to a valid filter
@@ -88,12 +95,29 @@ public class FilterImpl implements Filter {
          logger.debug("Invalid filter", e);
          throw ActiveMQMessageBundle.BUNDLE.invalidFilter(filterStr, e);
       }
-      return new FilterImpl(filterStr, booleanExpression);
+      final EqualityTerm equalityTerm = EqualityTerm.extract(booleanExpression);
+      if (COMPILE_FILTERS) {
+         try {
+            booleanExpression = ExpressionCompiler.compile(booleanExpression);
+         } catch (Throwable e) {
+            // the parsed expression is still valid, so it is evaluated as is
+            logger.debug("Unable to compile filter {}", filterStr, e);
+         }
+      }
+      return new FilterImpl(filterStr, booleanExpression, equalityTerm);
    }
 
-   private FilterImpl(final SimpleString str, final BooleanExpression expression) {
+   private FilterImpl(final SimpleString str, final BooleanExpression expression, final EqualityTerm equalityTerm) {
       sfilterString = str;
       this.booleanExpression = expression;
+      this.equalityTerm = equalityTerm;
+   }
+
+   /**
+    * {@return the value of a property of {@code message} as the filters evaluate it}
+    */
+   public static Object getFilterProperty(final Message message, final SimpleString name) {
+      return FilterableServerMessage.getProperty(message, name);
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -103,6 +127,11 @@ public class FilterImpl implements Filter {
       return sfilterString;
    }
 
+   @Override
+   public EqualityTerm getEqualityTerm() {
+      return equalityTerm;
+   }
+
    @Override
    public boolean match(final Message message) {
       return match(new FilterableServerMessage(message));
@@ -220,6 +249,10 @@ public class FilterImpl implements Filter {
 
       @Override
       public Object getProperty(SimpleString id) {
+         return getProperty(message, id);
+      }
+
+      private static Object getProperty(Message message, SimpleString id) {
          Object result = null;
          if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
             result = getHeaderFieldValue(message, id);
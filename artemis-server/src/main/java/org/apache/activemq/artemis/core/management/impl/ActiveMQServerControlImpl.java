@@ -98,6 +98,7 @@ import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
+import org.apache.activemq.artemis.core.replication.ReplicationManager;
 import org.apache.activemq.artemis.core.security.CheckType;
 import org.apache.activemq.artemis.core.security.Role;
 import org.apache.activemq.artemis.core.security.impl.SecurityStoreImpl;
@@ -544,6 +545,23 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       }
    }
 
+   @Override
+   public String getJournalLoadTimesAsJSON() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getJournalLoadTimesAsJSON(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         JsonObjectBuilder builder = JsonLoader.createObjectBuilder();
+         server.getStorageManager().getLoadTimes().forEach(builder::add);
+         return builder.build().toString();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public boolean isPersistenceEnabled() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -1562,6 +1580,31 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       }
    }
 
+   @Override
+   public String getReplicaSyncProgressAsJSON() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getReplicaSyncProgressAsJSON(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         JsonObjectBuilder builder = JsonLoader.createObjectBuilder();
+         ReplicationManager replicationManager = server.getReplicationManager();
+         if (replicationManager != null) {
+            builder.add("synchronizing", replicationManager.isSynchronizing())
+                   .add("files", replicationManager.getSyncFiles())
+                   .add("totalFiles", replicationManager.getSyncTotalFiles())
+                   .add("bytes", replicationManager.getSyncBytes())
+                   .add("totalBytes", replicationManager.getSyncTotalBytes())
+                   .add("estimatedTimeRemaining", replicationManager.getSyncEstimatedTimeRemaining());
+         }
+         return builder.build().toString();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public int getAddressCount() {
       if (AuditLogger.isBaseLoggingEnabled()) {
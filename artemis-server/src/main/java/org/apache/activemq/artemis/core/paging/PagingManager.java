@@ -22,6 +22,8 @@ import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.impl.PageReadCache;
+import org.apache.activemq.artemis.core.paging.impl.PageSeekChannels;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
@@ -160,6 +162,49 @@ public interface PagingManager extends ActiveMQComponent, HierarchicalRepository
       return 0;
    }
 
+   /**
+    * {@return the broker wide cache of the page files being read or {@code null} if it's disabled}
+    */
+   default PageReadCache getPageReadCache() {
+      return null;
+   }
+
+   /**
+    * {@return the broker wide bound on the page files kept open to read single messages or {@code null} if there is none}
+    */
+   default PageSeekChannels getPageSeekChannels() {
+      return null;
+   }
+
+   /**
+    * Reserves memory for a page read ahead of the paging cursors, see {@link PagingStore#prefetchPages(long)}.
+    *
+    * @return {@code false} if the prefetch is disabled or the pages already read ahead use the whole budget
+    */
+   default boolean addPrefetchSize(long size) {
+      return false;
+   }
+
+   /**
+    * Releases the memory reserved by {@link #addPrefetchSize(long)}.
+    */
+   default void removePrefetchSize(long size) {
+   }
+
+   /**
+    * {@return the memory reserved by the pages read ahead of the paging cursors}
+    */
+   default long getPrefetchSize() {
+      return 0;
+   }
+
+   /**
+    * {@return the memory the pages read ahead of the paging cursors can use, {@code -1} if the prefetch is disabled}
+    */
+   default long getPrefetchMaxSize() {
+      return -1;
+   }
+
    /**
     * Rebuilds all page counters for destinations that are paging in the background.
     */
@@ -142,6 +142,15 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    Page newPageObject(long page) throws Exception;
 
+   /**
+    * Reads the pages following {@code page} in the background, so a cursor moving to them doesn't wait on the disk.
+    * <p>
+    * The pages read ahead are kept in memory until a cursor reaches them, within the budget of
+    * {@link PagingManager#addPrefetchSize(long)}.
+    */
+   default void prefetchPages(long page) {
+   }
+
    boolean checkPageFileExists(long page) throws Exception;
 
    PagingManager getPagingManager();
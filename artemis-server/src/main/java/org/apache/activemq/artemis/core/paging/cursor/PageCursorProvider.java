@@ -29,6 +29,14 @@ public interface PageCursorProvider {
 
    PagedReference newReference(PagedMessage msg, PageSubscription sub);
 
+   /**
+    * Reads a single message of a page that isn't in memory through the index of the page. The recently used pages are
+    * kept with their index loaded and their file open.
+    *
+    * @return the message or {@code null} if it can't be read through the index
+    */
+   PagedMessage seekMessage(PagePosition pos) throws Exception;
+
    /**
     * @param queueId The cursorID should be the same as the queueId associated for persistence
     */
@@ -19,7 +19,9 @@ package org.apache.activemq.artemis.core.paging.cursor.impl;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -28,13 +30,16 @@ import java.util.function.Consumer;
 import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.cursor.PageCursorProvider;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscriptionCounter;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReferenceImpl;
 import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.PageSeekChannels;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.transaction.Transaction;
@@ -51,6 +56,10 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // the number of pages of this address read by seekMessage kept with their index: how many of them keep their file
+   // open is bound across all the addresses by PageSeekChannels
+   private static final int MAX_SEEK_PAGES = Integer.getInteger(PageCursorProviderImpl.class.getName() + ".MAX_SEEK_PAGES", 16);
+
    /**
     * As an optimization, avoid subsequent schedules as they are unnecessary
     */
@@ -68,6 +77,18 @@ public class PageCursorProviderImpl implements PageCursorProvider {
 
    private final ConcurrentLongHashMap<PageSubscription> activeCursors = new ConcurrentLongHashMap<>();
 
+   // the pages read a message at the time by seekMessage, in access order
+   private final LinkedHashMap<Long, Page> seekPages = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Page> eldest) {
+         if (size() > MAX_SEEK_PAGES) {
+            closeSeekPage(eldest.getValue());
+            return true;
+         }
+         return false;
+      }
+   };
+
    public PageCursorProviderImpl(final PagingStore pagingStore,
                                  final StorageManager storageManager) {
       this.pagingStore = pagingStore;
@@ -114,6 +135,46 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       return new PagedReferenceImpl(msg, subscription);
    }
 
+   @Override
+   public PagedMessage seekMessage(PagePosition pos) throws Exception {
+      Page page;
+      synchronized (seekPages) {
+         page = seekPages.get(pos.getPageNr());
+         if (page == null) {
+            page = pagingStore.newPageObject(pos.getPageNr());
+            seekPages.put(pos.getPageNr(), page);
+         }
+      }
+      final PagedMessage message = page.seekMessage(pos.getMessageNr());
+      final PageSeekChannels seekChannels = getPageSeekChannels();
+      if (message != null && seekChannels != null) {
+         for (Page evicted : seekChannels.touch(page)) {
+            evicted.releaseSeekChannel();
+         }
+      }
+      return message;
+   }
+
+   private PageSeekChannels getPageSeekChannels() {
+      final PagingManager pagingManager = pagingStore.getPagingManager();
+      return pagingManager == null ? null : pagingManager.getPageSeekChannels();
+   }
+
+   private void closeSeekPage(Page page) {
+      page.closeSeekChannel();
+      final PageSeekChannels seekChannels = getPageSeekChannels();
+      if (seekChannels != null) {
+         seekChannels.remove(page);
+      }
+   }
+
+   private void closeSeekPages() {
+      synchronized (seekPages) {
+         seekPages.values().forEach(this::closeSeekPage);
+         seekPages.clear();
+      }
+   }
+
    @Override
    public void processReload() throws Exception {
       Collection<PageSubscription> cursorList = this.activeCursors.values();
@@ -145,6 +206,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       for (PageSubscription cursor : activeCursors.values()) {
          cursor.stop();
       }
+      closeSeekPages();
       final int pendingCleanupTasks = scheduledCleanup.get();
       if (pendingCleanupTasks > 0) {
          logger.trace("Stopping with {} cleanup tasks to be completed yet", pendingCleanupTasks);
@@ -510,6 +572,13 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    }
 
    protected void onDeletePage(Page deletedPage) throws Exception {
+      final Page seekPage;
+      synchronized (seekPages) {
+         seekPage = seekPages.remove(deletedPage.getPageId());
+      }
+      if (seekPage != null) {
+         closeSeekPage(seekPage);
+      }
       List<PageSubscription> subscriptions = cloneSubscriptions();
       for (PageSubscription subs : subscriptions) {
          subs.onDeletePage(deletedPage);
@@ -533,7 +533,16 @@ public final class PageSubscriptionImpl implements PageSubscription {
    @Override
    public PagedMessage queryMessage(PagePosition pos) {
       try {
-         Page page = pageStore.usePage(pos.getPageNr());
+         Page page = pageStore.usePage(pos.getPageNr(), false);
+
+         if (page == null) {
+            // the page isn't in memory, its index avoids reading the whole page for a single message
+            final PagedMessage indexedMessage = cursorProvider.seekMessage(pos);
+            if (indexedMessage != null) {
+               return indexedMessage;
+            }
+            page = pageStore.usePage(pos.getPageNr());
+         }
 
          if (page == null) {
             return null;
@@ -1178,6 +1187,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
                currentPageIterator.close();
             }
             currentPage = pageStore.usePage(page);
+            pageStore.prefetchPages(page);
             if (logger.isTraceEnabled()) {
                logger.trace("CursorIterator: getting page {} which will contain {}", page, currentPage.getNumberOfMessages());
             }
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+
+/**
+ * The messages of a complete page file read through the {@link PageReadCache}.
+ * <p>
+ * Only the positions of the messages are kept when the page is read: each message is decoded from the mapped file the
+ * first time it's used, and it's kept from then on, so the same {@link PagedMessage} instance is always returned for a
+ * position. This list is read only.
+ */
+final class MappedPageMessages implements LinkedList<PagedMessage> {
+
+   private final PageReadCache cache;
+
+   private final File file;
+
+   private final long fileSize;
+
+   private final StorageManager storageManager;
+
+   private final long pageId;
+
+   private final int size;
+
+   private final int[] positions;
+
+   private final int[] encodedSizes;
+
+   private final PagedMessage[] messages;
+
+   private MappedPageMessages(PageReadCache cache,
+                              File file,
+                              long fileSize,
+                              StorageManager storageManager,
+                              long pageId,
+                              int size,
+                              int[] positions,
+                              int[] encodedSizes) {
+      this.cache = cache;
+      this.file = file;
+      this.fileSize = fileSize;
+      this.storageManager = storageManager;
+      this.pageId = pageId;
+      this.size = size;
+      this.positions = positions;
+      this.encodedSizes = encodedSizes;
+      this.messages = new PagedMessage[size];
+   }
+
+   /**
+    * Finds the messages of a complete page file, without decoding them.
+    *
+    * @param readCallback receives the bytes of the valid messages of the file
+    */
+   static MappedPageMessages read(PageReadCache cache,
+                                  File file,
+                                  long fileSize,
+                                  StorageManager storageManager,
+                                  long pageId,
+                                  PageReadWriter.SuspectFileCallback suspectFileCallback,
+                                  PageReadWriter.ReadCallback readCallback) throws Exception {
+      final PageReadCache.MappedPage mappedPage = cache.acquire(file, fileSize);
+      try {
+         final class Records implements PageReadWriter.RecordCallback {
+
+            int size;
+            int[] positions = new int[16];
+            int[] encodedSizes = new int[16];
+
+            @Override
+            public void onRecord(int position, int encodedSize) {
+               if (size == positions.length) {
+                  positions = Arrays.copyOf(positions, size * 2);
+                  encodedSizes = Arrays.copyOf(encodedSizes, size * 2);
+               }
+               positions[size] = position;
+               encodedSizes[size] = encodedSize;
+               size++;
+            }
+         }
+         final Records records = new Records();
+         final int validBytes = PageReadWriter.readRecords(file.getName(), mappedPage.buffer(), records, suspectFileCallback);
+         readCallback.readComple(validBytes);
+         return new MappedPageMessages(cache, file, fileSize, storageManager, pageId, records.size, records.positions, records.encodedSizes);
+      } finally {
+         cache.release(mappedPage);
+      }
+   }
+
+   @Override
+   public synchronized PagedMessage get(int position) {
+      if (position < 0 || position >= size) {
+         throw new IndexOutOfBoundsException("position = " + position);
+      }
+      PagedMessage message = messages[position];
+      if (message == null) {
+         message = decode(position);
+         messages[position] = message;
+      }
+      return message;
+   }
+
+   private PagedMessage decode(int position) {
+      try {
+         final PageReadCache.MappedPage mappedPage = cache.acquire(file, fileSize);
+         try {
+            final PagedMessage message = PageReadWriter.readMessage(storageManager, mappedPage.buffer(), positions[position], encodedSizes[position]);
+            message.setPageNumber(pageId).setMessageNumber(position);
+            return message;
+         } finally {
+            cache.release(mappedPage);
+         }
+      } catch (RuntimeException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new IllegalStateException("Unable to read message " + position + " of " + file, e);
+      }
+   }
+
+   /**
+    * {@return a modifiable copy of this list, decoding all the messages}
+    */
+   LinkedList<PagedMessage> copy() {
+      final LinkedList<PagedMessage> copy = new LinkedListImpl<>();
+      forEach(copy::addTail);
+      return copy;
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public PagedMessage peek() {
+      return size == 0 ? null : get(0);
+   }
+
+   @Override
+   public void forEach(Consumer<PagedMessage> consumer) {
+      for (int i = 0; i < size; i++) {
+         consumer.accept(get(i));
+      }
+   }
+
+   @Override
+   public LinkedListIterator<PagedMessage> iterator() {
+      return new LinkedListIterator<>() {
+
+         private int next;
+
+         @Override
+         public boolean hasNext() {
+            return next < size;
+         }
+
+         @Override
+         public PagedMessage next() {
+            if (next >= size) {
+               throw new NoSuchElementException();
+            }
+            return get(next++);
+         }
+
+         @Override
+         public void repeat() {
+            if (next > 0) {
+               next--;
+            }
+         }
+
+         @Override
+         public PagedMessage removeLastElement() {
+            throw new UnsupportedOperationException("method not supported");
+         }
+
+         @Override
+         public void close() {
+         }
+      };
+   }
+
+   @Override
+   public void addHead(PagedMessage message) {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public void addTail(PagedMessage message) {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public void addSorted(PagedMessage message) {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public PagedMessage poll() {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public void clear() {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public void clearID() {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public void setNodeStore(NodeStore<PagedMessage> store) {
+      throw new UnsupportedOperationException("method not supported");
+   }
+
+   @Override
+   public PagedMessage removeWithID(String listID, long id) {
+      throw new UnsupportedOperationException("method not supported");
+   }
+}
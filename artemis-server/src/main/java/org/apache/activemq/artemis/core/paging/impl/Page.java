@@ -16,9 +16,12 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -90,16 +93,39 @@ public final class Page  {
 
    private ByteBuffer readFileBuffer;
 
+   // the broker wide cache the complete page files are read through, if enabled
+   private final PageReadCache readCache;
+
+   // the sparse offsets of the messages, tracked while a new page is written or read from its sidecar file
+   private PageIndex index;
+
+   private boolean indexRead;
+
+   // kept open between the reads of seekMessage, until closeSeekChannel
+   private FileChannel seekChannel;
+
+   private boolean seekChannelClosed;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
                final SequentialFile file,
                final long pageId) throws Exception {
+      this(storeName, storageManager, factory, file, pageId, null);
+   }
+
+   public Page(final SimpleString storeName,
+               final StorageManager storageManager,
+               final SequentialFileFactory factory,
+               final SequentialFile file,
+               final long pageId,
+               final PageReadCache readCache) throws Exception {
       this.pageId = pageId;
       this.file = file;
       fileFactory = factory;
       this.storageManager = storageManager;
       this.storeName = storeName;
+      this.readCache = readCache;
    }
 
    public long getPageId() {
@@ -118,6 +144,11 @@ public final class Page  {
             if (!file.exists()) {
                return EmptyList.getEmptyList();
             }
+            // a page file that isn't open won't be written anymore
+            if (readCache != null && file.getJavaFile() != null && file.getJavaFile().length() <= Integer.MAX_VALUE) {
+               messages = readMapped();
+               return messages;
+            }
             file.open();
          }
          messages = read(storageManager);
@@ -129,9 +160,25 @@ public final class Page  {
       return messages;
    }
 
+   private LinkedList<PagedMessage> readMapped() throws Exception {
+      if (logger.isDebugEnabled()) {
+         logger.debug("reading page {} on address = {} through the page read cache", pageId, storeName);
+      }
+
+      size = file.getJavaFile().length();
+
+      final MappedPageMessages messages = MappedPageMessages.read(readCache, file.getJavaFile(), size, storageManager, pageId, this::markFileAsSuspect, this::setSize);
+
+      numberOfMessages = messages.size();
+
+      return messages;
+   }
+
    private void addMessage(PagedMessage message) {
       if (messages == null) {
          messages = new LinkedListImpl<>();
+      } else if (messages instanceof MappedPageMessages mappedMessages) {
+         messages = mappedMessages.copy();
       }
       message.setMessageNumber(messages.size());
       message.setPageNumber(this.pageId);
@@ -194,6 +241,14 @@ public final class Page  {
       if (!file.isOpen()) {
          throw ActiveMQMessageBundle.BUNDLE.cannotWriteToClosedFile(file);
       }
+      if (index != null) {
+         // a page reused after being read can't be indexed
+         if (index.getNumberOfMessages() == numberOfMessages) {
+            index.add(numberOfMessages, (int) this.size);
+         } else {
+            index = null;
+         }
+      }
       addMessage(message);
       this.size += PageReadWriter.writeMessage(message, fileFactory, file);
       numberOfMessages++;
@@ -232,10 +287,92 @@ public final class Page  {
          isOpen = true;
          size = file.size();
          file.position(0);
+         // only a page written from its beginning can be indexed
+         if (size == 0 && file.getJavaFile() != null) {
+            PageIndex.delete(file.getJavaFile());
+            index = new PageIndex();
+         } else {
+            index = null;
+         }
+         indexRead = false;
       }
       return isOpen;
    }
 
+   /**
+    * Writes the sparse index of a complete page, so its messages can be read by {@link #seekMessage(int)} later.
+    */
+   public synchronized void writeIndex() {
+      final PageIndex index = this.index;
+      if (index == null || file.getJavaFile() == null || index.getNumberOfMessages() != numberOfMessages) {
+         return;
+      }
+      try {
+         index.write(file.getJavaFile(), size);
+      } catch (IOException e) {
+         logger.warn("Unable to write the index of page {} on address = {}", pageId, storeName, e);
+      }
+   }
+
+   /**
+    * Reads a single message of a complete page through its index, without reading the whole page.
+    * <p>
+    * Large messages aren't read this way, as their usage is tracked by the messages of the whole page. The page file
+    * is kept open for the next reads, until {@link #closeSeekChannel()}.
+    *
+    * @return the message or {@code null} if it can't be read through the index
+    */
+   public synchronized PagedMessage seekMessage(int messageNumber) throws Exception {
+      final File javaFile = file.getJavaFile();
+      if (file.isOpen() || javaFile == null) {
+         return null;
+      }
+      if (!indexRead) {
+         indexRead = true;
+         index = PageIndex.read(javaFile);
+      }
+      if (index == null || messageNumber < 0 || messageNumber >= index.getNumberOfMessages()) {
+         return null;
+      }
+      if (seekChannel == null) {
+         if (seekChannelClosed) {
+            return null;
+         }
+         seekChannel = FileChannel.open(javaFile.toPath(), StandardOpenOption.READ);
+      }
+      final PagedMessage message = PageReadWriter.readMessage(storageManager, seekChannel, index.offsetOf(messageNumber), index.recordsToSkip(messageNumber));
+      if (message == null || message.getMessage().isLargeMessage()) {
+         return null;
+      }
+      if (logger.isTraceEnabled()) {
+         logger.trace("Read message {} of page {} on address = {} through its index", messageNumber, pageId, storeName);
+      }
+      message.setPageNumber(pageId).setMessageNumber(messageNumber);
+      return message;
+   }
+
+   /**
+    * Closes the file kept open by {@link #seekMessage(int)}, if any. The page can't be read through its index anymore.
+    */
+   public synchronized void closeSeekChannel() {
+      seekChannelClosed = true;
+      releaseSeekChannel();
+   }
+
+   /**
+    * Closes the file kept open by {@link #seekMessage(int)}, if any. The file is opened again by the next read.
+    */
+   public synchronized void releaseSeekChannel() {
+      if (seekChannel != null) {
+         try {
+            seekChannel.close();
+         } catch (IOException e) {
+            logger.debug("Unable to close page {} on address = {}", pageId, storeName, e);
+         }
+         seekChannel = null;
+      }
+   }
+
    public void close(boolean sendReplicaClose) throws Exception {
       close(sendReplicaClose, true);
    }
@@ -283,6 +420,13 @@ public final class Page  {
          @Override
          public void done() {
             try {
+               closeSeekChannel();
+               if (file.getJavaFile() != null) {
+                  if (readCache != null) {
+                     readCache.invalidate(file.getJavaFile());
+                  }
+                  PageIndex.delete(file.getJavaFile());
+               }
                if (suspiciousRecords) {
                   ActiveMQServerLogger.LOGGER.pageInvalid(file.getFileName(), file.getFileName());
                   file.renameTo(file.getFileName() + ".invalidPage");
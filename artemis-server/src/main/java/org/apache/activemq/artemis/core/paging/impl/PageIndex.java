@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * A sparse index of the messages of a page file, stored in a sidecar file next to the page.
+ * <p>
+ * The file offset of every {@link #INTERVAL}th message is kept, so a message can be read by seeking to the closest
+ * indexed message before it and skipping at most {@code INTERVAL - 1} records, instead of reading the whole page.
+ * The index is written once the page is complete and it's only trusted if the page file still has the size it was
+ * written for: a missing or invalid index just means the page is read the usual way.
+ */
+final class PageIndex {
+
+   static final String EXTENSION = ".index";
+
+   static final int INTERVAL = 32;
+
+   private static final int MAGIC = 0x50474958;
+
+   // MAGIC, interval, page file size, number of messages, number of offsets
+   private static final int HEADER_SIZE = DataConstants.SIZE_INT * 2 + DataConstants.SIZE_LONG + DataConstants.SIZE_INT * 2;
+
+   private final int interval;
+
+   private int[] offsets;
+
+   private int numberOfOffsets;
+
+   private int numberOfMessages;
+
+   private long pageFileSize;
+
+   PageIndex() {
+      this(INTERVAL, new int[16], 0, 0, 0);
+   }
+
+   private PageIndex(int interval, int[] offsets, int numberOfOffsets, int numberOfMessages, long pageFileSize) {
+      this.interval = interval;
+      this.offsets = offsets;
+      this.numberOfOffsets = numberOfOffsets;
+      this.numberOfMessages = numberOfMessages;
+      this.pageFileSize = pageFileSize;
+   }
+
+   static File indexFile(File pageFile) {
+      return new File(pageFile.getParentFile(), pageFile.getName() + EXTENSION);
+   }
+
+   /**
+    * Tracks a message being appended to the page.
+    *
+    * @param messageNumber the number of the message in the page
+    * @param offset        the file offset the message is written at
+    */
+   void add(int messageNumber, int offset) {
+      assert messageNumber == numberOfMessages : "messages must be added in order";
+      if (messageNumber % interval == 0) {
+         if (numberOfOffsets == offsets.length) {
+            offsets = Arrays.copyOf(offsets, numberOfOffsets * 2);
+         }
+         offsets[numberOfOffsets++] = offset;
+      }
+      numberOfMessages++;
+   }
+
+   int getNumberOfMessages() {
+      return numberOfMessages;
+   }
+
+   long getPageFileSize() {
+      return pageFileSize;
+   }
+
+   /**
+    * {@return the file offset of the closest indexed message at or before {@code messageNumber}}
+    */
+   int offsetOf(int messageNumber) {
+      return offsets[messageNumber / interval];
+   }
+
+   /**
+    * {@return how many records follow {@link #offsetOf(int)} before {@code messageNumber}}
+    */
+   int recordsToSkip(int messageNumber) {
+      return messageNumber % interval;
+   }
+
+   void write(File pageFile, long pageFileSize) throws IOException {
+      this.pageFileSize = pageFileSize;
+      final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + numberOfOffsets * DataConstants.SIZE_INT);
+      buffer.putInt(MAGIC).putInt(interval).putLong(pageFileSize).putInt(numberOfMessages).putInt(numberOfOffsets);
+      for (int i = 0; i < numberOfOffsets; i++) {
+         buffer.putInt(offsets[i]);
+      }
+      buffer.flip();
+      // it doesn't need to be synced: an incomplete index is discarded when read
+      try (FileChannel channel = FileChannel.open(indexFile(pageFile).toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+      }
+   }
+
+   /**
+    * {@return the index of {@code pageFile} or {@code null} if there is none or it doesn't match the page anymore}
+    */
+   static PageIndex read(File pageFile) throws IOException {
+      final ByteBuffer buffer;
+      try (FileChannel channel = FileChannel.open(indexFile(pageFile).toPath(), StandardOpenOption.READ)) {
+         final long size = channel.size();
+         if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            return null;
+         }
+         buffer = ByteBuffer.allocate((int) size);
+         while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+               return null;
+            }
+         }
+      } catch (NoSuchFileException e) {
+         return null;
+      }
+      buffer.flip();
+      final int magic = buffer.getInt();
+      final int interval = buffer.getInt();
+      final long pageFileSize = buffer.getLong();
+      final int numberOfMessages = buffer.getInt();
+      final int numberOfOffsets = buffer.getInt();
+      if (magic != MAGIC || interval <= 0 || numberOfMessages < 0 || numberOfOffsets != (numberOfMessages + interval - 1) / interval ||
+         buffer.remaining() != numberOfOffsets * DataConstants.SIZE_INT || pageFileSize != pageFile.length()) {
+         return null;
+      }
+      final int[] offsets = new int[numberOfOffsets];
+      for (int i = 0; i < numberOfOffsets; i++) {
+         offsets[i] = buffer.getInt();
+      }
+      return new PageIndex(interval, offsets, numberOfOffsets, numberOfMessages, pageFileSize);
+   }
+
+   static void delete(File pageFile) {
+      indexFile(pageFile).delete();
+   }
+
+   @Override
+   public String toString() {
+      return "PageIndex{interval=" + interval + ", numberOfMessages=" + numberOfMessages + ", pageFileSize=" + pageFileSize + "}";
+   }
+}
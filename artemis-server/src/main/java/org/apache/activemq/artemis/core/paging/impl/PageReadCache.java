@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.util.internal.PlatformDependent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A broker wide cache of the complete page files being read, shared by all the paging stores.
+ * <p>
+ * The page files are mapped in memory, so reading a page again doesn't need any I/O nor heap buffers and its messages
+ * can be decoded one by one when they are needed. The mapped files are bounded by a global size and they are evicted
+ * following a CLOCK (second chance) policy: a file used since the last sweep of the clock hand is kept for another
+ * round.
+ * <p>
+ * A mapped file is only released once it is evicted and no one is reading it anymore, see {@link #release(MappedPage)}.
+ */
+public class PageReadCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final long maxSize;
+
+   private final Map<File, MappedPage> pages = new HashMap<>();
+
+   private final List<MappedPage> clock = new ArrayList<>();
+
+   private int clockHand;
+
+   private long size;
+
+   private long hits;
+
+   private long misses;
+
+   private long evictions;
+
+   public PageReadCache(final long maxSize) {
+      if (maxSize <= 0) {
+         throw new IllegalArgumentException("maxSize must be greater than 0, was " + maxSize);
+      }
+      this.maxSize = maxSize;
+   }
+
+   /**
+    * {@return the page file mapped in memory, that must be released with {@link #release(MappedPage)} once read}
+    *
+    * @param file     the page file
+    * @param fileSize the size of the complete page file: a cached file with a different size is mapped again
+    */
+   public MappedPage acquire(final File file, final long fileSize) throws IOException {
+      synchronized (this) {
+         final MappedPage page = pages.get(file);
+         if (page != null) {
+            if (page.size == fileSize) {
+               hits++;
+               page.referenced = true;
+               page.refs++;
+               return page;
+            }
+            evict(page);
+         }
+         misses++;
+      }
+
+      final MappedPage page = map(file, fileSize);
+
+      synchronized (this) {
+         final MappedPage existing = pages.get(file);
+         if (existing != null && existing.size == fileSize) {
+            // another reader mapped the same file meanwhile
+            unmap(page);
+            existing.referenced = true;
+            existing.refs++;
+            return existing;
+         }
+         if (existing != null) {
+            evict(existing);
+         }
+         page.refs++;
+         if (fileSize > maxSize) {
+            // too big to be cached: it is released as soon as it's not read anymore
+            page.evicted = true;
+            return page;
+         }
+         page.referenced = true;
+         pages.put(file, page);
+         clock.add(page);
+         size += fileSize;
+         while (size > maxSize) {
+            evictNext();
+         }
+         return page;
+      }
+   }
+
+   public synchronized void release(final MappedPage page) {
+      assert page.refs > 0 : "the mapped page " + page + " isn't acquired";
+      page.refs--;
+      if (page.refs == 0 && page.evicted) {
+         unmap(page);
+      }
+   }
+
+   /**
+    * Removes a page file from the cache, eg because it's being deleted.
+    */
+   public synchronized void invalidate(final File file) {
+      final MappedPage page = pages.get(file);
+      if (page != null) {
+         evict(page);
+      }
+   }
+
+   /**
+    * Removes all the page files of a directory from the cache, eg because the paging store is being destroyed.
+    */
+   public synchronized void invalidateDirectory(final File directory) {
+      final File absoluteDirectory = directory.getAbsoluteFile();
+      for (int i = clock.size() - 1; i >= 0; i--) {
+         final MappedPage page = clock.get(i);
+         if (absoluteDirectory.equals(page.file.getAbsoluteFile().getParentFile())) {
+            evict(page);
+         }
+      }
+   }
+
+   public synchronized void clear() {
+      while (!clock.isEmpty()) {
+         evict(clock.get(0));
+      }
+   }
+
+   public long getMaxSize() {
+      return maxSize;
+   }
+
+   /**
+    * {@return the bytes of the page files currently mapped by the cache}
+    */
+   public synchronized long getSize() {
+      return size;
+   }
+
+   public synchronized long getHits() {
+      return hits;
+   }
+
+   public synchronized long getMisses() {
+      return misses;
+   }
+
+   public synchronized long getEvictions() {
+      return evictions;
+   }
+
+   public synchronized int getCachedFiles() {
+      return pages.size();
+   }
+
+   private void evictNext() {
+      if (clockHand >= clock.size()) {
+         clockHand = 0;
+      }
+      final MappedPage page = clock.get(clockHand);
+      if (page.referenced) {
+         page.referenced = false;
+         clockHand++;
+      } else {
+         evictions++;
+         evict(page);
+      }
+   }
+
+   private void evict(final MappedPage page) {
+      pages.remove(page.file);
+      final int index = clock.indexOf(page);
+      clock.remove(index);
+      if (index < clockHand) {
+         clockHand--;
+      }
+      size -= page.size;
+      page.evicted = true;
+      if (logger.isDebugEnabled()) {
+         logger.debug("Evicting {} from the page read cache", page.file);
+      }
+      if (page.refs == 0) {
+         unmap(page);
+      }
+   }
+
+   private static MappedPage map(final File file, final long fileSize) throws IOException {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         return new MappedPage(file, fileSize, channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+      }
+   }
+
+   private static void unmap(final MappedPage page) {
+      PlatformDependent.freeDirectBuffer(page.buffer);
+   }
+
+   /**
+    * A page file mapped in memory.
+    */
+   public static final class MappedPage {
+
+      private final File file;
+
+      private final long size;
+
+      private final ByteBuffer buffer;
+
+      // the following fields are guarded by the cache
+
+      private int refs;
+
+      private boolean referenced;
+
+      private boolean evicted;
+
+      private MappedPage(final File file, final long size, final ByteBuffer buffer) {
+         this.file = file;
+         this.size = size;
+         this.buffer = buffer;
+      }
+
+      /**
+       * {@return a read only view of the whole file, that must not be used once the page is released}
+       */
+      public ByteBuffer buffer() {
+         return buffer.duplicate();
+      }
+
+      public long size() {
+         return size;
+      }
+
+      @Override
+      public String toString() {
+         return "MappedPage{file=" + file + ", size=" + size + "}";
+      }
+   }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.activemq.artemis.core.paging.impl;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.function.Consumer;
 
 import io.netty.buffer.ByteBuf;
@@ -65,6 +67,10 @@ public class PageReadWriter {
       void readComple(int size);
    }
 
+   public interface RecordCallback {
+      void onRecord(int position, int encodedSize);
+   }
+
    public static final PageRecordFilter ONLY_LARGE = (buffer) -> !PagedMessageImpl.isLargeMessage(buffer);
 
    public static final PageRecordFilter NO_SKIP = (buffer) -> false;
@@ -255,6 +261,98 @@ public class PageReadWriter {
       }
    }
 
+   /**
+    * Finds the messages of a whole page file already in memory, without decoding them.
+    *
+    * @return the number of bytes of the valid messages
+    */
+   public static int readRecords(String fileName,
+                                 ByteBuffer fileBuffer,
+                                 RecordCallback records,
+                                 SuspectFileCallback suspectFileCallback) {
+      final int fileSize = fileBuffer.limit();
+      int processedBytes = 0;
+      int messageCount = 0;
+      while (fileSize - processedBytes >= MINIMUM_MSG_PERSISTENT_SIZE) {
+         final int encodedSize = fileBuffer.get(processedBytes) == START_BYTE ? fileBuffer.getInt(processedBytes + 1) : -1;
+         if (encodedSize < 0 || encodedSize > fileSize - processedBytes - HEADER_AND_TRAILER_SIZE ||
+            fileBuffer.get(processedBytes + HEADER_AND_TRAILER_SIZE + encodedSize - 1) != END_BYTE) {
+            if (suspectFileCallback != null) {
+               suspectFileCallback.onSuspect(fileName, processedBytes, messageCount + 1);
+            }
+            return processedBytes;
+         }
+         records.onRecord(processedBytes + 1 + DataConstants.SIZE_INT, encodedSize);
+         messageCount++;
+         processedBytes += HEADER_AND_TRAILER_SIZE + encodedSize;
+      }
+      //ignore incomplete messages at the end of the file
+      if (logger.isTraceEnabled()) {
+         logger.trace("{} has {} bytes of unknown data at position = {}", fileName, fileSize - processedBytes, processedBytes);
+      }
+      return processedBytes;
+   }
+
+   /**
+    * Decodes a message found by {@link #readRecords(String, ByteBuffer, RecordCallback, SuspectFileCallback)}.
+    */
+   public static PagedMessage readMessage(StorageManager storage,
+                                          ByteBuffer fileBuffer,
+                                          int position,
+                                          int encodedSize) {
+      final ChannelBufferWrapper fileBufferWrapper = wrapWhole(fileBuffer);
+      fileBufferWrapper.setIndex(position, position + encodedSize);
+      final PagedMessageImpl msg = new PagedMessageImpl(encodedSize, storage);
+      msg.decode(fileBufferWrapper);
+      msg.initMessage(storage);
+      assert validateLargeMessageStorageManager(msg);
+      return msg;
+   }
+
+   /**
+    * Reads a single message of a page file, skipping the records before it.
+    *
+    * @param position    the file offset of a record
+    * @param skipRecords the number of records to skip from {@code position}
+    * @return the message or {@code null} if the records aren't valid
+    */
+   public static PagedMessage readMessage(StorageManager storage,
+                                          FileChannel channel,
+                                          long position,
+                                          int skipRecords) throws IOException {
+      final long fileSize = channel.size();
+      final ByteBuffer header = ByteBuffer.allocate(1 + DataConstants.SIZE_INT);
+      for (int skipped = 0; ; skipped++) {
+         header.clear();
+         if (!readFully(channel, header, position)) {
+            return null;
+         }
+         final int encodedSize = header.get(0) == START_BYTE ? header.getInt(1) : -1;
+         if (encodedSize < 0 || encodedSize > fileSize - position - HEADER_AND_TRAILER_SIZE) {
+            return null;
+         }
+         if (skipped == skipRecords) {
+            final ByteBuffer record = ByteBuffer.allocate(encodedSize + 1);
+            if (!readFully(channel, record, position + header.capacity()) || record.get(encodedSize) != END_BYTE) {
+               return null;
+            }
+            return readMessage(storage, record, 0, encodedSize);
+         }
+         position += HEADER_AND_TRAILER_SIZE + encodedSize;
+      }
+   }
+
+   private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+      while (buffer.hasRemaining()) {
+         final int read = channel.read(buffer, position);
+         if (read < 0) {
+            return false;
+         }
+         position += read;
+      }
+      return true;
+   }
+
    private static ByteBuffer readIntoFileBufferIfNecessary(SequentialFileFactory fileFactory, SequentialFile file, ByteBuffer fileBuffer, int requiredBytes, boolean direct) throws Exception {
 
       final int remaining = fileBuffer.remaining();
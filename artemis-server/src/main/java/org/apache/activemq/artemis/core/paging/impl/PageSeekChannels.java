@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A broker wide bound on the page files kept open by {@link Page#seekMessage(int)}, shared by all the paging stores.
+ * <p>
+ * The pages are tracked in access order and the least recently read ones are returned by {@link #touch(Page)} to be
+ * released by the caller, see {@link Page#releaseSeekChannel()}. Releasing them outside of this cache means that no
+ * page lock is taken while holding the cache one.
+ */
+public class PageSeekChannels {
+
+   private final int maxOpenPages;
+
+   // keyed by file, as pages of different stores share the same ids
+   private final LinkedHashMap<File, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+   public PageSeekChannels(final int maxOpenPages) {
+      if (maxOpenPages <= 0) {
+         throw new IllegalArgumentException("maxOpenPages must be greater than 0, was " + maxOpenPages);
+      }
+      this.maxOpenPages = maxOpenPages;
+   }
+
+   /**
+    * Records a read of {@code page} through its index.
+    *
+    * @return the least recently read pages exceeding the bound, whose files have to be released by the caller
+    */
+   public List<Page> touch(final Page page) {
+      final File file = page.getFile().getJavaFile();
+      if (file == null) {
+         return Collections.emptyList();
+      }
+      synchronized (this) {
+         pages.put(file, page);
+         if (pages.size() <= maxOpenPages) {
+            return Collections.emptyList();
+         }
+         final List<Page> evicted = new ArrayList<>(pages.size() - maxOpenPages);
+         final Iterator<Page> iterator = pages.values().iterator();
+         while (pages.size() > maxOpenPages) {
+            evicted.add(iterator.next());
+            iterator.remove();
+         }
+         return evicted;
+      }
+   }
+
+   /**
+    * Stops tracking {@code page}, eg because its file has been closed or deleted.
+    */
+   public void remove(final Page page) {
+      final File file = page.getFile().getJavaFile();
+      if (file == null) {
+         return;
+      }
+      synchronized (this) {
+         pages.remove(file, page);
+      }
+   }
+
+   public synchronized void clear() {
+      pages.clear();
+   }
+
+   public int getMaxOpenPages() {
+      return maxOpenPages;
+   }
+
+   /**
+    * {@return the number of pages tracked as having their file open}
+    */
+   public synchronized int getOpenPages() {
+      return pages.size();
+   }
+}
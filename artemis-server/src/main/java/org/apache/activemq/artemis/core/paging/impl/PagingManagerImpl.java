@@ -67,6 +67,9 @@ public final class PagingManagerImpl implements PagingManager {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // the page files kept open across all the addresses to read single messages of complete pages
+   private static final int MAX_SEEK_FILES = Integer.getInteger(PagingManagerImpl.class.getName() + ".MAX_SEEK_FILES", 64);
+
    private volatile boolean started = false;
 
    /**
@@ -119,6 +122,14 @@ public final class PagingManagerImpl implements PagingManager {
 
    private final SimpleString managementAddress;
 
+   private final PageReadCache pageReadCache;
+
+   private final PageSeekChannels pageSeekChannels = new PageSeekChannels(MAX_SEEK_FILES);
+
+   private final long pagePrefetchMaxSize;
+
+   private final AtomicLong prefetchSize = new AtomicLong();
+
    // for tests.. not part of the API
    public void replacePageStoreFactory(PagingStoreFactory factory) {
       this.pagingStoreFactory = factory;
@@ -135,6 +146,17 @@ public final class PagingManagerImpl implements PagingManager {
                             final long maxMessages,
                             final SimpleString managementAddress,
                             final ActiveMQServer server) {
+      this(pagingSPI, addressSettingsRepository, maxSize, maxMessages, -1, -1, managementAddress, server);
+   }
+
+   public PagingManagerImpl(final PagingStoreFactory pagingSPI,
+                            final HierarchicalRepository<AddressSettings> addressSettingsRepository,
+                            final long maxSize,
+                            final long maxMessages,
+                            final long pageReadCacheMaxSize,
+                            final long pagePrefetchMaxSize,
+                            final SimpleString managementAddress,
+                            final ActiveMQServer server) {
       pagingStoreFactory = pagingSPI;
       this.addressSettingsRepository = addressSettingsRepository;
       addressSettingsRepository.registerListener(this);
@@ -146,6 +168,49 @@ public final class PagingManagerImpl implements PagingManager {
       this.managerExecutor = pagingSPI.newExecutor();
       this.managementAddress = managementAddress;
       this.server = server;
+      this.pageReadCache = pageReadCacheMaxSize > 0 ? new PageReadCache(pageReadCacheMaxSize) : null;
+      this.pagePrefetchMaxSize = pagePrefetchMaxSize;
+   }
+
+   @Override
+   public PageReadCache getPageReadCache() {
+      return pageReadCache;
+   }
+
+   @Override
+   public PageSeekChannels getPageSeekChannels() {
+      return pageSeekChannels;
+   }
+
+   @Override
+   public boolean addPrefetchSize(long size) {
+      if (pagePrefetchMaxSize <= 0) {
+         return false;
+      }
+      long current;
+      do {
+         current = prefetchSize.get();
+         if (current + size > pagePrefetchMaxSize) {
+            return false;
+         }
+      }
+      while (!prefetchSize.compareAndSet(current, current + size));
+      return true;
+   }
+
+   @Override
+   public void removePrefetchSize(long size) {
+      prefetchSize.addAndGet(-size);
+   }
+
+   @Override
+   public long getPrefetchSize() {
+      return prefetchSize.get();
+   }
+
+   @Override
+   public long getPrefetchMaxSize() {
+      return pagePrefetchMaxSize;
    }
 
    SizeAwareMetric getSizeAwareMetric() {
@@ -551,6 +616,12 @@ public final class PagingManagerImpl implements PagingManager {
             store.stop();
          }
 
+         if (pageReadCache != null) {
+            pageReadCache.clear();
+         }
+
+         pageSeekChannels.clear();
+
          pagingStoreFactory.stop();
       } finally {
          unlock();
@@ -23,10 +23,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -86,6 +90,15 @@ public class PagingStoreImpl implements PagingStore {
 
    private final PageCache usedPages = new PageCache(this);
 
+   // how many pages are read ahead of a cursor moving to a new page
+   static final int PREFETCH_PAGES = 2;
+
+   // the pages read ahead of the cursors, each keeping a usage until a cursor reaches it
+   private final NavigableMap<Long, PrefetchedPage> prefetchedPages = new TreeMap<>();
+
+   // the pages are read ahead out of the executor of the store, so depaging doesn't wait for them
+   private final Executor prefetchExecutor;
+
    // This is updated and read by the Page's executor thread
    private long currentPageSize = 0;
 
@@ -205,6 +218,8 @@ public class PagingStoreImpl implements PagingStore {
 
       this.storeFactory = storeFactory;
 
+      this.prefetchExecutor = storeFactory.newExecutor();
+
       this.syncNonTransactional = syncNonTransactional;
 
       this.timedWriter = createPageTimedWriter(scheduledExecutor, syncTimeout);
@@ -653,6 +668,8 @@ public class PagingStoreImpl implements PagingStore {
          page.close(true);
          currentPage = null;
       }
+
+      releasePrefetchedPages(Long.MAX_VALUE);
    }
 
    @Override
@@ -903,7 +920,7 @@ public class PagingStoreImpl implements PagingStore {
 
       SequentialFile file = factory.createSequentialFile(fileName);
 
-      Page page = new Page(storeName, storageManager, factory, file, pageNumber);
+      Page page = new Page(storeName, storageManager, factory, file, pageNumber, pagingManager.getPageReadCache());
 
       return page;
    }
@@ -952,6 +969,99 @@ public class PagingStoreImpl implements PagingStore {
    }
 
 
+   @Override
+   public void prefetchPages(final long pageId) {
+      if (prefetchExecutor != null && running && pagingManager.getPrefetchMaxSize() > 0) {
+         prefetchExecutor.execute(() -> prefetch(pageId));
+      }
+   }
+
+   private void prefetch(final long pageId) {
+      // the cursor holds the page it moved to, and the ones before it aren't needed anymore
+      releasePrefetchedPages(Math.max(pageId, getFirstPage() - 1));
+      for (long nextPageId = pageId + 1; nextPageId <= pageId + PREFETCH_PAGES && nextPageId < currentPageId && running; nextPageId++) {
+         synchronized (prefetchedPages) {
+            if (prefetchedPages.containsKey(nextPageId)) {
+               continue;
+            }
+         }
+         if (usedPages.get(nextPageId) != null) {
+            continue;
+         }
+         final long reservedSize = pageSize;
+         if (!pagingManager.addPrefetchSize(reservedSize)) {
+            logger.trace("No memory left to prefetch page {} on address {}", nextPageId, address);
+            return;
+         }
+         Page page = null;
+         try {
+            page = readPage(nextPageId);
+         } catch (Exception e) {
+            logger.debug("Unable to prefetch page {} on address {}", nextPageId, address, e);
+         }
+         if (page == null) {
+            pagingManager.removePrefetchSize(reservedSize);
+            return;
+         }
+         logger.debug("Prefetched page {} on address {}", nextPageId, address);
+         synchronized (prefetchedPages) {
+            prefetchedPages.put(nextPageId, new PrefetchedPage(page, reservedSize));
+         }
+      }
+      if (!running) {
+         // the store was stopped meanwhile
+         releasePrefetchedPages(Long.MAX_VALUE);
+      }
+   }
+
+   /**
+    * Reads a page into the cache of used pages with a usage up, without holding the lock of the cache meanwhile.
+    */
+   private Page readPage(final long pageId) throws Exception {
+      final Page page = newPageObject(pageId);
+      if (!page.getFile().exists()) {
+         return null;
+      }
+      page.getMessages();
+      synchronized (usedPages) {
+         Page usedPage = usedPages.get(pageId);
+         if (usedPage == null) {
+            injectPage(page);
+            usedPage = page;
+         }
+         usedPage.usageUp();
+         return usedPage;
+      }
+   }
+
+   private void releasePrefetchedPages(final long upToPageId) {
+      final List<PrefetchedPage> released;
+      synchronized (prefetchedPages) {
+         final Map<Long, PrefetchedPage> head = prefetchedPages.headMap(upToPageId, true);
+         if (head.isEmpty()) {
+            return;
+         }
+         released = new ArrayList<>(head.values());
+         head.clear();
+      }
+      for (PrefetchedPage prefetchedPage : released) {
+         prefetchedPage.page.usageDown();
+         pagingManager.removePrefetchSize(prefetchedPage.reservedSize);
+      }
+   }
+
+   private static final class PrefetchedPage {
+
+      private final Page page;
+
+      private final long reservedSize;
+
+      private PrefetchedPage(Page page, long reservedSize) {
+         this.page = page;
+         this.reservedSize = reservedSize;
+      }
+   }
+
    protected SequentialFileFactory getFileFactory() throws Exception {
       checkFileFactory();
       return fileFactory;
@@ -1543,6 +1653,10 @@ public class PagingStoreImpl implements PagingStore {
          try {
             SequentialFileFactory factory = fileFactory;
             if (factory != null) {
+               final PageReadCache readCache = pagingManager.getPageReadCache();
+               if (readCache != null && factory.getDirectory() != null) {
+                  readCache.invalidateDirectory(factory.getDirectory());
+               }
                try {
                   storeFactory.removeFileFactory(factory);
                } catch (Exception e) {
@@ -1650,6 +1764,7 @@ public class PagingStoreImpl implements PagingStore {
 
       final Page oldPage = currentPage;
       if (oldPage != null) {
+         oldPage.writeIndex();
          oldPage.close(true);
          oldPage.usageDown();
          currentPage = null;
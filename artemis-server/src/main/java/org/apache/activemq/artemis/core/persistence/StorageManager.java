@@ -110,6 +110,13 @@ public interface StorageManager extends MapStorageManager, IDGenerator, ActiveMQ
       return null;
    }
 
+   /**
+    * {@return the milliseconds spent on each phase of the last load of the journals, in the order they ran}
+    */
+   default Map<String, Long> getLoadTimes() {
+      return Collections.emptyMap();
+   }
+
    void criticalError(Throwable error);
 
    /**
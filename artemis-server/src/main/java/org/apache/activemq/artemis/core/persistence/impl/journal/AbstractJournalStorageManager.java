@@ -20,6 +20,7 @@ import javax.transaction.xa.Xid;
 import java.lang.invoke.MethodHandles;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
@@ -54,6 +56,7 @@ import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
 import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
 import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.PartitionedJournal;
 import org.apache.activemq.artemis.core.paging.PageTransactionInfo;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
@@ -215,6 +218,9 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
    protected boolean journalLoaded = false;
 
+   // milliseconds spent on each phase of the last load, exposed through management
+   private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
    protected final IOCriticalErrorListener ioCriticalErrorListener;
 
    protected final Configuration config;
@@ -1035,7 +1041,9 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       Map<Long, Message> messages = new HashMap<>();
       try (ArtemisCloseable lock = closeableReadLock()) {
          messageJournal.setRemoveExtraFilesOnLoad(true);
+         long phaseStart = System.nanoTime();
          JournalLoadInformation info = messageJournal.load(records, preparedTransactions, new LargeMessageTXFailureCallback(this));
+         phaseStart = recordLoadTime("messageJournal", phaseStart);
 
          List<LargeServerMessage> largeMessages = new ArrayList<>();
 
@@ -1132,7 +1140,9 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
                      Map<Long, AddMessageRecord> queueMessages = queueMap.get(encoding.queueID);
 
                      if (queueMessages == null) {
-                        queueMessages = new LinkedHashMap<>();
+                        // the records of a partitioned journal are loaded one partition after the other: the
+                        // message IDs are what tells the order the messages have been sent with
+                        queueMessages = messageJournal instanceof PartitionedJournal ? new TreeMap<>() : new LinkedHashMap<>();
 
                         queueMap.put(encoding.queueID, queueMessages);
                      }
@@ -1386,14 +1396,18 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
          // Release the memory as soon as not needed any longer
          records = null;
+         phaseStart = recordLoadTime("messageRecords", phaseStart);
 
          journalLoader.handleAddMessage(queueMap);
+         phaseStart = recordLoadTime("queueMessages", phaseStart);
 
          loadPreparedTransactions(postOffice, pagingManager, resourceManager, queueInfos, preparedTransactions, this::failedToPrepareException, pageSubscriptions, pendingLargeMessages, storedLargeMessages, journalLoader);
+         phaseStart = recordLoadTime("preparedTransactions", phaseStart);
 
          for (PageSubscription sub : pageSubscriptions.values()) {
             sub.getCounter().processReload();
          }
+         phaseStart = recordLoadTime("pageCounters", phaseStart);
 
          for (LargeServerMessage msg : largeMessages) {
             if (storedLargeMessages != null && storedLargeMessages.remove(msg.getMessageID())) {
@@ -1408,6 +1422,7 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
          }
 
          journalLoader.handleNoMessageReferences(messages);
+         phaseStart = recordLoadTime("unreferencedMessages", phaseStart);
 
          // To recover positions on Iterators
          if (pagingManager != null) {
@@ -1415,16 +1430,39 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
             // This could also be the case in certain embedded conditions
             pagingManager.processReload();
          }
+         phaseStart = recordLoadTime("pagingReload", phaseStart);
 
          journalLoader.postLoad(messageJournal, resourceManager, duplicateIDMap);
 
          checkInvalidPageTransactions(pagingManager, invalidPageTransactions);
+         recordLoadTime("postLoad", phaseStart);
+
+         final Map<String, Long> loadTimes = getLoadTimes();
+         ActiveMQServerLogger.LOGGER.journalLoadTimes(loadTimes.values().stream().mapToLong(Long::longValue).sum(), loadTimes);
 
          journalLoaded = true;
          return info;
       }
    }
 
+   /**
+    * Records the time spent on a load phase started at {@code phaseStart}.
+    *
+    * @return the start of the next phase
+    */
+   private long recordLoadTime(String phase, long phaseStart) {
+      final long now = System.nanoTime();
+      loadTimes.put(phase, TimeUnit.NANOSECONDS.toMillis(now - phaseStart));
+      return now;
+   }
+
+   @Override
+   public Map<String, Long> getLoadTimes() {
+      synchronized (loadTimes) {
+         return new LinkedHashMap<>(loadTimes);
+      }
+   }
+
    private void failedToPrepareException(PreparedTransactionInfo txInfo, Throwable e) {
       XidEncoding encodingXid = null;
       try {
@@ -1656,8 +1694,13 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
       bindingsJournal.setRemoveExtraFilesOnLoad(true);
 
+      loadTimes.clear();
+      final long loadStart = System.nanoTime();
+
       JournalLoadInformation bindingsInfo = bindingsJournal.load(records, preparedTransactions, null);
 
+      recordLoadTime("bindingsJournal", loadStart);
+
       Map<Long, PersistentQueueBindingEncoding> mapBindings = new HashMap<>();
       Map<Long, PersistentAddressBindingEncoding> mapAddressBindings = new HashMap<>();
 
@@ -19,22 +19,30 @@ package org.apache.activemq.artemis.core.persistence.impl.journal;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -44,6 +52,7 @@ import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.aio.AIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.dsync.DSyncSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.mapped.MappedSequentialFileFactory;
 import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
 import org.apache.activemq.artemis.core.journal.EncoderPersister;
@@ -51,6 +60,7 @@ import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.journal.impl.JournalFile;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.PartitionedJournal;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStore;
@@ -67,8 +77,10 @@ import org.apache.activemq.artemis.core.server.LargeServerMessage;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.journal.ActiveMQJournalBundle;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.RunnableEx;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -153,49 +165,62 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       bindingsJournal = localBindings;
       originalBindingsJournal = localBindings;
 
-      switch (config.getJournalType()) {
+      journalFF = createJournalFactory(config, config.getJournalLocation(), criticalErrorListener, criticalErrorListener != null);
+
+      int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
+      Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
+
+      messageJournal = localMessage;
+      messageJournal.replaceableRecord(JournalRecordIds.UPDATE_DELIVERY_COUNT);
+      messageJournal.replaceableRecord(JournalRecordIds.SET_SCHEDULED_DELIVERY_TIME);
+
+      originalMessageJournal = localMessage;
 
+      largeMessagesDirectory = config.getLargeMessagesDirectory();
+
+      largeMessagesFactory = new NIOSequentialFileFactory(config.getLargeMessagesLocation(), false, criticalErrorListener, 1);
+   }
+
+   private SequentialFileFactory createJournalFactory(Configuration config,
+                                                      File location,
+                                                      IOCriticalErrorListener criticalErrorListener,
+                                                      boolean logJournalType) {
+      final SequentialFileFactory journalFactory;
+      switch (config.getJournalType()) {
          case NIO:
-            if (criticalErrorListener != null) {
+            if (logJournalType) {
                ActiveMQServerLogger.LOGGER.journalUseNIO();
             }
-            journalFF = new NIOSequentialFileFactory(config.getJournalLocation(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+            journalFactory = new NIOSequentialFileFactory(location, true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
             break;
          case ASYNCIO:
-            if (criticalErrorListener != null) {
+            if (logJournalType) {
                ActiveMQServerLogger.LOGGER.journalUseAIO();
             }
-            journalFF = new AIOSequentialFileFactory(config.getJournalLocation(), config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
+            journalFactory = new AIOSequentialFileFactory(location, config.getJournalBufferSize_AIO(), config.getJournalBufferTimeout_AIO(), config.getJournalMaxIO_AIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
 
             if (config.getJournalDeviceBlockSize() != null) {
-               journalFF.setAlignment(config.getJournalDeviceBlockSize());
+               journalFactory.setAlignment(config.getJournalDeviceBlockSize());
             }
             break;
          case MAPPED:
-            if (criticalErrorListener != null) {
+            if (logJournalType) {
                ActiveMQServerLogger.LOGGER.journalUseMAPPED();
             }
-            journalFF = new MappedSequentialFileFactory(config.getJournalLocation(), config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
+            journalFactory = new MappedSequentialFileFactory(location, config.getJournalFileSize(), true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), criticalErrorListener);
+            break;
+         case DSYNC:
+            if (logJournalType) {
+               ActiveMQServerLogger.LOGGER.journalUseDSYNC();
+            }
+            journalFactory = new DSyncSequentialFileFactory(location, true, config.getJournalBufferSize_NIO(), config.getJournalBufferTimeout_NIO(), config.getJournalMaxIO_NIO(), config.isLogJournalWriteRate(), criticalErrorListener, getCriticalAnalyzer());
             break;
          default:
             throw ActiveMQMessageBundle.BUNDLE.invalidJournalType2(config.getJournalType());
       }
 
-      journalFF.setDatasync(config.isJournalDatasync());
-
-
-      int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
-      Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
-
-      messageJournal = localMessage;
-      messageJournal.replaceableRecord(JournalRecordIds.UPDATE_DELIVERY_COUNT);
-      messageJournal.replaceableRecord(JournalRecordIds.SET_SCHEDULED_DELIVERY_TIME);
-
-      originalMessageJournal = localMessage;
-
-      largeMessagesDirectory = config.getLargeMessagesDirectory();
-
-      largeMessagesFactory = new NIOSequentialFileFactory(config.getLargeMessagesLocation(), false, criticalErrorListener, 1);
+      journalFactory.setDatasync(config.isJournalDatasync());
+      return journalFactory;
    }
 
    /**
@@ -225,7 +250,31 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
    protected Journal createMessageJournal(Configuration config,
                                         IOCriticalErrorListener criticalErrorListener,
                                         int fileSize) {
-      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFF, ACTIVEMQ_DATA, "amq", journalFF.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles());
+      if (config.getJournalPartitions() <= 1) {
+         return createMessageJournal(config, criticalErrorListener, fileSize, journalFF);
+      }
+      if (config.getJournalRetentionLocation() != null) {
+         ActiveMQServerLogger.LOGGER.journalRetentionNotSupportedWithPartitions(config.getJournalPartitions());
+      }
+      final JournalImpl[] partitions = new JournalImpl[config.getJournalPartitions()];
+      // the first partition lives on the journal directory, so a broker can be moved from a single journal
+      partitions[0] = createMessageJournal(config, criticalErrorListener, fileSize, journalFF);
+      for (int i = 1; i < partitions.length; i++) {
+         partitions[i] = createMessageJournal(config, criticalErrorListener, fileSize, createJournalFactory(config, getJournalPartitionLocation(config, i), criticalErrorListener, false));
+      }
+      return new PartitionedJournal(partitions);
+   }
+
+   private JournalImpl createMessageJournal(Configuration config,
+                                            IOCriticalErrorListener criticalErrorListener,
+                                            int fileSize,
+                                            SequentialFileFactory journalFactory) {
+      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFactory, ACTIVEMQ_DATA, "amq", journalFactory.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles())
+         .setLoadThreads(config.getJournalLoadThreads());
+   }
+
+   private static File getJournalPartitionLocation(Configuration config, int partition) {
+      return new File(config.getJournalLocation(), "partition-" + partition);
    }
 
    // Life Cycle Handlers
@@ -239,6 +288,9 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       if (!config.isUsingDatabasePersistence()) {
          checkAndCreateDir(config.getBindingsLocation(), config.isCreateBindingsDir());
          checkAndCreateDir(config.getJournalLocation(), config.isCreateJournalDir());
+         for (int i = 1; i < config.getJournalPartitions(); i++) {
+            checkAndCreateDir(getJournalPartitionLocation(config, i), config.isCreateJournalDir());
+         }
          checkAndCreateDir(config.getLargeMessagesLocation(), config.isCreateJournalDir());
       }
    }
@@ -571,20 +623,21 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
    }
 
    /**
-    * Send an entire journal file to a replicating backup server.
+    * Adds the entire journal files to the files to send to a replicating backup server.
     */
-   private void sendJournalFile(JournalFile[] journalFiles, JournalContent type) throws Exception {
+   private void addJournalFiles(List<RunnableEx> filesToSync, JournalFile[] journalFiles, JournalContent type) throws Exception {
       for (JournalFile jf : journalFiles) {
-         if (!started)
-            return;
-
-         ReplicationManager replicatorInUse = replicator;
-         if (replicatorInUse == null) {
-            throw ActiveMQMessageBundle.BUNDLE.replicatorIsNull();
-         }
+         getReplicatorInUse().addSyncFile(jf.getFile().size());
+         filesToSync.add(() -> getReplicatorInUse().syncJournalFile(jf, type));
+      }
+   }
 
-         replicatorInUse.syncJournalFile(jf, type);
+   private ReplicationManager getReplicatorInUse() throws ActiveMQIllegalStateException {
+      ReplicationManager replicatorInUse = replicator;
+      if (replicatorInUse == null) {
+         throw ActiveMQMessageBundle.BUNDLE.replicatorIsNull();
       }
+      return replicatorInUse;
    }
 
    private JournalFile[] prepareJournalForCopy(Journal journal,
@@ -673,10 +726,12 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
             pagingManager.unlock();
          }
 
-         sendJournalFile(messageFiles, JournalContent.MESSAGES);
-         sendJournalFile(bindingsFiles, JournalContent.BINDINGS);
-         sendLargeMessageFiles(pendingLargeMessages);
-         sendPagesToBackup(pageFilesToSync, pagingManager);
+         final List<RunnableEx> filesToSync = new ArrayList<>();
+         addJournalFiles(filesToSync, messageFiles, JournalContent.MESSAGES);
+         addJournalFiles(filesToSync, bindingsFiles, JournalContent.BINDINGS);
+         addLargeMessageFiles(filesToSync, pendingLargeMessages);
+         addPageFiles(filesToSync, pageFilesToSync, pagingManager);
+         sendFilesToBackup(filesToSync);
 
          storageManagerLock.writeLock().lock();
          try {
@@ -699,23 +754,86 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       }
    }
 
-   private void sendLargeMessageFiles(final Map<Long, Pair<String, Long>> pendingLargeMessages) throws Exception {
-      Iterator<Map.Entry<Long, Pair<String, Long>>> iter = pendingLargeMessages.entrySet().iterator();
-      while (started && iter.hasNext()) {
-         Map.Entry<Long, Pair<String, Long>> entry = iter.next();
+   private void addLargeMessageFiles(List<RunnableEx> filesToSync, final Map<Long, Pair<String, Long>> pendingLargeMessages) throws Exception {
+      for (Map.Entry<Long, Pair<String, Long>> entry : pendingLargeMessages.entrySet()) {
          String fileName = entry.getValue().getA();
          final long id = entry.getKey();
-         long size = entry.getValue().getB();
-         SequentialFile seqFile = largeMessagesFactory.createSequentialFile(fileName);
+         final long size = entry.getValue().getB();
+         final SequentialFile seqFile = largeMessagesFactory.createSequentialFile(fileName);
          if (!seqFile.exists())
             continue;
 
-         ReplicationManager replicatorInUse = replicator;
-         if (replicatorInUse == null) {
-            throw ActiveMQMessageBundle.BUNDLE.replicatorIsNull();
+         getReplicatorInUse().addSyncFile(size);
+         filesToSync.add(() -> getReplicatorInUse().syncLargeMessageFile(seqFile, size, id));
+      }
+   }
+
+   private void addPageFiles(List<RunnableEx> filesToSync,
+                             Map<SimpleString, Collection<Integer>> pageFilesToSync,
+                             PagingManager manager) throws Exception {
+      for (Map.Entry<SimpleString, Collection<Integer>> entry : pageFilesToSync.entrySet()) {
+         final PagingStore store = manager.getPageStore(entry.getKey());
+         for (Integer id : entry.getValue()) {
+            final SequentialFile file = store.newPageObject(id).getFile();
+            if (!file.exists())
+               continue;
+
+            getReplicatorInUse().addSyncFile(file.size());
+            filesToSync.add(() -> store.sendPages(getReplicatorInUse(), Collections.singletonList(id)));
          }
+      }
+   }
+
+   /**
+    * Sends the files to a replicating backup server, up to {@link Configuration#getReplicationSyncThreads()} of them
+    * at the same time.
+    * <p>
+    * Each file is sent by a single task, so its chunks keep their order on the replication channel while the chunks of
+    * several files are interleaved: a file waiting for its chunks to be flushed doesn't stall the others.
+    */
+   private void sendFilesToBackup(List<RunnableEx> filesToSync) throws Exception {
+      final int syncThreads = config.getReplicationSyncThreads();
 
-         replicatorInUse.syncLargeMessageFile(seqFile, size, id);
+      if (syncThreads <= 1 || filesToSync.size() <= 1) {
+         for (RunnableEx file : filesToSync) {
+            if (!started)
+               return;
+            file.run();
+         }
+         return;
+      }
+
+      final ThreadFactory factory = AccessController.doPrivileged((PrivilegedAction<ThreadFactory>) () -> new ActiveMQThreadFactory("ActiveMQ-replication-sync", true, JournalStorageManager.class.getClassLoader()));
+      final ExecutorService pool = Executors.newFixedThreadPool(Math.min(syncThreads, filesToSync.size()), factory);
+      final List<Future<?>> tasks = new ArrayList<>(filesToSync.size());
+      try {
+         for (RunnableEx file : filesToSync) {
+            tasks.add(pool.submit(() -> {
+               if (started) {
+                  file.run();
+               }
+               return null;
+            }));
+         }
+         for (Future<?> task : tasks) {
+            try {
+               task.get();
+            } catch (ExecutionException e) {
+               throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+         }
+      } catch (Exception e) {
+         // the files not sent yet are abandoned, the synchronization failed anyway
+         for (Future<?> task : tasks) {
+            task.cancel(true);
+         }
+         throw e;
+      } finally {
+         pool.shutdownNow();
+         // no task may still be writing to the replication channel once the failure is reported
+         while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.debug("Waiting for the replication synchronization tasks to finish");
+         }
       }
    }
 
@@ -778,22 +896,6 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       });
    }
 
-   private void sendPagesToBackup(Map<SimpleString, Collection<Integer>> pageFilesToSync,
-                                  PagingManager manager) throws Exception {
-      for (Map.Entry<SimpleString, Collection<Integer>> entry : pageFilesToSync.entrySet()) {
-         if (!started)
-            return;
-
-         ReplicationManager replicatorInUse = replicator;
-         if (replicatorInUse == null) {
-            throw ActiveMQMessageBundle.BUNDLE.replicatorIsNull();
-         }
-
-         PagingStore store = manager.getPageStore(entry.getKey());
-         store.sendPages(replicatorInUse, entry.getValue());
-      }
-   }
-
    private long getLargeMessageIdFromFilename(String filename) {
       return Long.parseLong(filename.split("\\.")[0]);
    }
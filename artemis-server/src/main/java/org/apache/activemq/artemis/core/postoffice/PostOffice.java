@@ -188,6 +188,12 @@ public interface PostOffice extends ActiveMQComponent {
 
    MessageReference reload(Message message, Queue queue, Transaction tx) throws Exception;
 
+   /**
+    * As {@link #reload(Message, Queue, Transaction)}, but the reference is scheduled at {@code scheduledDeliveryTime}
+    * ({@code 0} if not scheduled) rather than at the scheduled delivery time of the message, which isn't read.
+    */
+   MessageReference reload(Message message, Queue queue, Transaction tx, long scheduledDeliveryTime) throws Exception;
+
    Pair<RoutingContext, Message> redistribute(Message message,
                                                     Queue originatingQueue) throws Exception;
 
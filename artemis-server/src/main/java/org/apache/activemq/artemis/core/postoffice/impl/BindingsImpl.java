@@ -62,6 +62,9 @@ public final class BindingsImpl implements Bindings {
    // This is public as we use on test assertions
    public static final int MAX_GROUP_RETRY = 10;
 
+   // the number of filtered bindings an address needs to be routed through a RoutingFilterIndex, 0 to never index them
+   private static final int ROUTING_INDEX_MIN_BINDINGS = Integer.parseInt(System.getProperty("ARTEMIS_ROUTING_INDEX_MIN_BINDINGS", "32"));
+
    private final CopyOnWriteBindings routingNameBindingMap = new CopyOnWriteBindings();
 
    private final Map<Long, Binding> bindingsIdMap = new ConcurrentHashMap<>();
@@ -94,6 +97,8 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   private volatile RoutingFilterIndex routingFilterIndex;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
@@ -407,21 +412,59 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
-      routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
-         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
-         if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
-            context.setReusable(true, currentVersion);
-         } else {
-            // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
-            context.setReusable(false, currentVersion);
-         }
+      final RoutingFilterIndex index = getRoutingFilterIndex(currentVersion);
+      if (index == null) {
+         routingNameBindingMap.forEachBindings((bindings, nextPosition) -> routeToNextBinding(message, context, currentVersion, bindings, nextPosition));
+         return;
+      }
 
-         if (nextBinding != null) {
-            if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
-               nextBinding.route(message, context);
-            }
+      // there are filtered bindings, so the context can't be reused
+      context.setReusable(false, currentVersion);
+      final MessageLoadBalancingType loadBalancingType = getMessageLoadBalancingType(context);
+      index.forEachCandidate(message, binding -> {
+         // as getNextBinding does for the only binding of a routing name
+         if (matchBinding(message, binding, loadBalancingType) && !(context.isDivertDisabled() && binding instanceof DivertBinding)) {
+            binding.route(message, context);
          }
       });
+      index.forEachOtherBindings((bindings, nextPosition) -> routeToNextBinding(message, context, currentVersion, bindings, nextPosition));
+   }
+
+   private void routeToNextBinding(final Message message,
+                                   final RoutingContext context,
+                                   final int currentVersion,
+                                   final Binding[] bindings,
+                                   final CopyOnWriteBindings.BindingIndex nextPosition) throws Exception {
+      final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+      if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
+         context.setReusable(true, currentVersion);
+      } else {
+         // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
+         context.setReusable(false, currentVersion);
+      }
+
+      if (nextBinding != null) {
+         if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
+            nextBinding.route(message, context);
+         }
+      }
+   }
+
+   /**
+    * {@return the index of the filtered bindings at {@code currentVersion} or {@code null} if there aren't enough of
+    * them to be worth it}
+    */
+   private RoutingFilterIndex getRoutingFilterIndex(final int currentVersion) {
+      if (ROUTING_INDEX_MIN_BINDINGS <= 0) {
+         return null;
+      }
+      RoutingFilterIndex index = routingFilterIndex;
+      if (index == null || index.getVersion() != currentVersion) {
+         // concurrent routings could build it at once, only the last one built is kept
+         index = RoutingFilterIndex.build(routingNameBindingMap, currentVersion, ROUTING_INDEX_MIN_BINDINGS);
+         routingFilterIndex = index;
+      }
+      return index.isEmpty() ? null : index;
    }
 
    @Override
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
+import org.apache.activemq.artemis.api.core.Pair;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.utils.ByteUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.activemq.artemis.core.postoffice.impl.DuplicateIDTable.NO_RECORD_ID;
+
+/**
+ * A {@link DuplicateIDCache} storing its IDs in a {@link DuplicateIDTable}, in memory or persistent if created with a
+ * {@link StorageManager}.
+ * <p>
+ * It behaves as {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache} with a much smaller footprint
+ * per ID. When persistent, the records of the IDs evicted by newer ones aren't deleted one by one: they are deleted
+ * together in a single journal transaction once enough of them are pending. The records left behind by a broker stopping
+ * before deleting them are the oldest ones, which are deleted on {@link #load(List)} as exceeding the cache size.
+ */
+final class CompactDuplicateIDCache implements DuplicateIDCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final int MAX_PENDING_DELETES = 1024;
+
+   private final SimpleString address;
+
+   private final int cacheSize;
+
+   private final StorageManager storageManager;
+
+   private final DuplicateIDTable table;
+
+   // the records of the evicted IDs, waiting to be deleted in a single transaction
+   private final long[] pendingDeletes;
+
+   private int pendingDeletesCount;
+
+   CompactDuplicateIDCache(final SimpleString address, final int size, final StorageManager storageManager) {
+      this.address = address;
+      this.cacheSize = size;
+      this.storageManager = storageManager;
+      this.table = new DuplicateIDTable(size, storageManager != null);
+      this.pendingDeletes = storageManager != null ? new long[Math.min(size, MAX_PENDING_DELETES)] : null;
+   }
+
+   private boolean isPersistent() {
+      return storageManager != null;
+   }
+
+   @Override
+   public synchronized void load(final List<Pair<byte[], Long>> ids) throws Exception {
+      if (!isPersistent()) {
+         logger.debug("address = {} ignore loading ids: in memory cache won't load previously stored ids", address);
+         return;
+      }
+      if (table.usedSlots() > 0) {
+         throw new IllegalStateException("load is valid only on empty cache");
+      }
+      // load only the most recent ids that fit this cache, ignoring (and reporting) ids unpaired with record ID,
+      // then delete the exceeding ones
+      long txID = -1;
+
+      int toNotBeAdded = Math.max(0, ids.size() - cacheSize);
+
+      for (Pair<byte[], Long> id : ids) {
+         if (id.getB() == null) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("ignoring id = {} because without record ID", describeID(id.getA()));
+            }
+            if (toNotBeAdded > 0) {
+               toNotBeAdded--;
+            }
+            continue;
+         }
+         if (toNotBeAdded > 0) {
+            if (txID == -1) {
+               txID = storageManager.generateID();
+            }
+            if (logger.isTraceEnabled()) {
+               logger.trace("deleting id = {}", describeID(id.getA(), id.getB()));
+            }
+            storageManager.deleteDuplicateIDTransactional(txID, id.getB());
+            toNotBeAdded--;
+         } else {
+            if (logger.isTraceEnabled()) {
+               logger.trace("loading id = {}", describeID(id.getA(), id.getB()));
+            }
+            addToCacheInMemory(id.getA(), id.getB());
+         }
+      }
+
+      if (txID != -1) {
+         storageManager.commit(txID);
+      }
+   }
+
+   @Override
+   public synchronized void deleteFromCache(final byte[] duplicateID) throws Exception {
+      if (logger.isTraceEnabled()) {
+         logger.trace("deleting id = {}", describeID(duplicateID));
+      }
+      final int slot = table.indexOf(duplicateID);
+      if (slot >= 0) {
+         final long recordID = table.getRecordID(slot);
+         table.remove(slot);
+         if (isPersistent()) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} deleting id = {}", address, describeID(duplicateID, recordID));
+            }
+            storageManager.deleteDuplicateID(recordID);
+         }
+      }
+   }
+
+   private static String describeID(byte[] duplicateID) {
+      return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID);
+   }
+
+   private static String describeID(byte[] duplicateID, long id) {
+      return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID) + ", id=" + id;
+   }
+
+   @Override
+   public synchronized boolean contains(final byte[] duplID) {
+      final boolean contains = table.indexOf(duplID) >= 0;
+      if (contains) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
+         }
+      }
+      return contains;
+   }
+
+   @Override
+   public void addToCache(final byte[] duplID) throws Exception {
+      addToCache(duplID, null, false);
+   }
+
+   @Override
+   public void addToCache(final byte[] duplID, final Transaction tx) throws Exception {
+      addToCache(duplID, tx, false);
+   }
+
+   @Override
+   public synchronized boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
+      if (contains(duplID)) {
+         if (tx != null) {
+            tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
+         }
+         return false;
+      }
+      addToCache(duplID, tx, true);
+      return true;
+   }
+
+   @Override
+   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
+      long recordID = NO_RECORD_ID;
+      if (isPersistent()) {
+         recordID = storageManager.generateID();
+         if (tx == null) {
+            storageManager.storeDuplicateID(address, duplID, recordID);
+         } else {
+            storageManager.storeDuplicateIDTransactional(tx.getID(), address, duplID, recordID);
+            tx.setContainsPersistent();
+         }
+      }
+      if (tx == null) {
+         addToCacheInMemory(duplID, recordID);
+      } else {
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address,
+                         describeID(duplID, recordID), tx);
+         }
+
+         if (instantAdd) {
+            addToCacheInMemory(duplID, recordID);
+            tx.addOperation(new AddDuplicateIDOperation(duplID, recordID, false));
+         } else {
+            // For a tx, it's important that the entry is not added to the cache until commit
+            // since if the client fails then resends them tx we don't want it to get rejected
+            tx.afterStore(new AddDuplicateIDOperation(duplID, recordID, true));
+         }
+      }
+   }
+
+   @Override
+   public void load(final Transaction tx, final byte[] duplID) {
+      tx.addOperation(new AddDuplicateIDOperation(duplID, isPersistent() ? tx.getID() : NO_RECORD_ID, true));
+   }
+
+   private synchronized void addToCacheInMemory(final byte[] duplID, final long recordID) {
+      Objects.requireNonNull(duplID, "duplID must be not null");
+      if (logger.isTraceEnabled()) {
+         logger.trace("address = {} adding {}", address, describeID(duplID, recordID));
+      }
+
+      final int existing = table.indexOf(duplID);
+      if (existing >= 0) {
+         // the newest record replaces the previous one
+         deleteLater(table.getRecordID(existing));
+         table.remove(existing);
+      }
+
+      final int slot = table.nextSlot();
+      final byte[] evicted = table.getID(slot);
+      // The id here might be null if it was explicit deleted
+      if (evicted != null) {
+         final long evictedRecordID = table.getRecordID(slot);
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(evicted, evictedRecordID));
+         }
+         deleteLater(evictedRecordID);
+      }
+
+      table.add(duplID, recordID);
+   }
+
+   private void deleteLater(final long recordID) {
+      if (!isPersistent()) {
+         return;
+      }
+      pendingDeletes[pendingDeletesCount++] = recordID;
+      if (pendingDeletesCount == pendingDeletes.length) {
+         try {
+            deletePending(-1);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
+         }
+      }
+   }
+
+   /**
+    * Deletes the pending records on {@code txID}, or on a new transaction committed right away if {@code -1}.
+    */
+   private void deletePending(final long txID) throws Exception {
+      final int count = pendingDeletesCount;
+      if (count == 0) {
+         return;
+      }
+      pendingDeletesCount = 0;
+      if (logger.isTraceEnabled()) {
+         logger.trace("address = {} deleting {} evicted duplicateIDs", address, count);
+      }
+      final long tx = txID == -1 ? storageManager.generateID() : txID;
+      for (int i = 0; i < count; i++) {
+         storageManager.deleteDuplicateIDTransactional(tx, pendingDeletes[i]);
+      }
+      if (txID == -1) {
+         storageManager.commit(tx);
+      }
+   }
+
+   @Override
+   public synchronized void clear() throws Exception {
+      logger.debug("address = {} removing duplicate ID data", address);
+      if (isPersistent()) {
+         final int usedSlots = table.usedSlots();
+         if (usedSlots > 0 || pendingDeletesCount > 0) {
+            final long tx = storageManager.generateID();
+            for (int slot = 0; slot < usedSlots; slot++) {
+               if (table.getID(slot) != null) {
+                  storageManager.deleteDuplicateIDTransactional(tx, table.getRecordID(slot));
+               }
+            }
+            deletePending(tx);
+            storageManager.commit(tx);
+         }
+      }
+      table.clear();
+   }
+
+   @Override
+   public synchronized List<Pair<byte[], Long>> getMap() {
+      final int usedSlots = table.usedSlots();
+      final List<Pair<byte[], Long>> copy = new ArrayList<>(usedSlots);
+      for (int i = 0; i < usedSlots; i++) {
+         final int slot = table.slotAt(i);
+         final byte[] id = table.getID(slot);
+         // in case the id has been removed
+         if (id != null) {
+            copy.add(new Pair<>(id, isPersistent() ? table.getRecordID(slot) : null));
+         }
+      }
+      return copy;
+   }
+
+   private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
+
+      final byte[] duplID;
+
+      final long recordID;
+
+      volatile boolean done;
+
+      private final boolean afterCommit;
+
+      AddDuplicateIDOperation(final byte[] duplID, final long recordID, boolean afterCommit) {
+         this.duplID = duplID;
+         this.recordID = recordID;
+         this.afterCommit = afterCommit;
+      }
+
+      private void process() {
+         if (!done) {
+            addToCacheInMemory(duplID, recordID);
+
+            done = true;
+         }
+      }
+
+      @Override
+      public void afterCommit(final Transaction tx) {
+         if (afterCommit) {
+            process();
+         }
+      }
+
+      @Override
+      public void beforeRollback(Transaction tx) throws Exception {
+         if (!afterCommit) {
+            deleteFromCache(duplID);
+         }
+      }
+
+      @Override
+      public List<MessageReference> getRelatedMessageReferences() {
+         return null;
+      }
+   }
+
+   @Override
+   public int getSize() {
+      return cacheSize;
+   }
+}
@@ -16,12 +16,17 @@
  */
 package org.apache.activemq.artemis.core.postoffice.impl;
 
+import java.util.Objects;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
 
 public final class DuplicateIDCaches {
 
+   // whether the caches store their IDs in a compact table rather than in a map of boxed entries
+   private static final boolean COMPACT = Boolean.parseBoolean(System.getProperty("ARTEMIS_COMPACT_DUPLICATE_ID_CACHE", "false"));
+
    private DuplicateIDCaches() {
 
    }
@@ -29,16 +34,31 @@ public final class DuplicateIDCaches {
    public static DuplicateIDCache persistent(final SimpleString address,
                                              final int size,
                                              final StorageManager storageManager) {
+      return persistent(address, size, storageManager, COMPACT);
+   }
+
+   public static DuplicateIDCache persistent(final SimpleString address,
+                                             final int size,
+                                             final StorageManager storageManager,
+                                             final boolean compact) {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
+      } else if (compact) {
+         return new CompactDuplicateIDCache(address, size, Objects.requireNonNull(storageManager));
       } else {
          return new PersistentDuplicateIDCache(address, size, storageManager);
       }
    }
 
    public static DuplicateIDCache inMemory(final SimpleString address, final int size) {
+      return inMemory(address, size, COMPACT);
+   }
+
+   public static DuplicateIDCache inMemory(final SimpleString address, final int size, final boolean compact) {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
+      } else if (compact) {
+         return new CompactDuplicateIDCache(address, size, null);
       } else {
          return new InMemoryDuplicateIDCache(address, size);
       }
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.utils.ByteUtil;
+
+/**
+ * A fixed capacity FIFO of duplicate IDs, indexed by an open addressing hash table of primitive longs.
+ * <p>
+ * The IDs are kept in a ring of slots, with their record IDs in a parallel {@code long[]} when persistent. Each entry
+ * of the index packs the hash of an ID, as a fingerprint, with the slot holding it: a lookup only compares the bytes of
+ * the IDs whose fingerprint matches. There is no object allocated per ID beside the ID itself, where a
+ * {@link java.util.concurrent.ConcurrentHashMap} needs a key wrapper, a node and a boxed value.
+ * <p>
+ * This class isn't thread-safe.
+ */
+final class DuplicateIDTable {
+
+   static final long NO_RECORD_ID = -1;
+
+   private static final int MAX_INDEX_CAPACITY = 1 << 30;
+
+   private static final int EMPTY = 0;
+
+   private final byte[][] ids;
+
+   private final long[] recordIDs;
+
+   // each entry is the hash of the ID on the high 32 bits and its slot + 1 on the low ones, EMPTY if unused
+   private final long[] index;
+
+   private final int indexShift;
+
+   private final int indexMask;
+
+   private int nextSlot;
+
+   // the number of slots used at least once, until the ring wraps around
+   private int usedSlots;
+
+   DuplicateIDTable(final int capacity, final boolean withRecordIDs) {
+      if (capacity <= 0) {
+         throw new IllegalArgumentException("capacity must be > 0");
+      }
+      ids = new byte[capacity][];
+      recordIDs = withRecordIDs ? new long[capacity] : null;
+      // keep the load factor of the index below 2/3, for short probe sequences
+      final long minIndexCapacity = Math.max(2, (long) capacity + (capacity >> 1));
+      final int indexCapacity = minIndexCapacity >= MAX_INDEX_CAPACITY ? MAX_INDEX_CAPACITY :
+         1 << (64 - Long.numberOfLeadingZeros(minIndexCapacity - 1));
+      index = new long[indexCapacity];
+      indexShift = Integer.numberOfLeadingZeros(indexCapacity) + 1;
+      indexMask = indexCapacity - 1;
+   }
+
+   int capacity() {
+      return ids.length;
+   }
+
+   /**
+    * {@return the slot the next added ID is stored into, evicting the ID it holds if any}
+    */
+   int nextSlot() {
+      return nextSlot;
+   }
+
+   byte[] getID(final int slot) {
+      return ids[slot];
+   }
+
+   long getRecordID(final int slot) {
+      return recordIDs == null ? NO_RECORD_ID : recordIDs[slot];
+   }
+
+   /**
+    * {@return the slot holding {@code id}, or {@code -1} if it isn't in the table}
+    */
+   int indexOf(final byte[] id) {
+      final int hash = ByteUtil.hashCode(id);
+      for (int i = home(hash); ; i = (i + 1) & indexMask) {
+         final long entry = index[i];
+         if (entry == EMPTY) {
+            return -1;
+         }
+         if ((int) (entry >>> 32) == hash) {
+            final int slot = slotOf(entry);
+            if (ByteUtil.equals(ids[slot], id)) {
+               return slot;
+            }
+         }
+      }
+   }
+
+   /**
+    * Stores {@code id}, which mustn't be in the table, on {@link #nextSlot()}, evicting the ID it holds.
+    */
+   void add(final byte[] id, final long recordID) {
+      final int slot = nextSlot;
+      if (ids[slot] != null) {
+         unlink(slot);
+      }
+      ids[slot] = id;
+      if (recordIDs != null) {
+         recordIDs[slot] = recordID;
+      }
+      final int hash = ByteUtil.hashCode(id);
+      int i = home(hash);
+      while (index[i] != EMPTY) {
+         i = (i + 1) & indexMask;
+      }
+      index[i] = ((long) hash << 32) | (slot + 1);
+      if (slot == usedSlots) {
+         usedSlots++;
+      }
+      nextSlot = slot + 1 == ids.length ? 0 : slot + 1;
+   }
+
+   /**
+    * Removes the ID held by {@code slot}, leaving the slot empty until the ring wraps around it.
+    */
+   void remove(final int slot) {
+      if (ids[slot] != null) {
+         unlink(slot);
+         ids[slot] = null;
+      }
+   }
+
+   /**
+    * {@return the number of slots to visit by {@link #slotAt(int)}}
+    */
+   int usedSlots() {
+      return usedSlots;
+   }
+
+   /**
+    * {@return the slot at {@code position} in insertion order, from the oldest one}
+    */
+   int slotAt(final int position) {
+      final int start = usedSlots == ids.length ? nextSlot : 0;
+      final int slot = start + position;
+      return slot >= ids.length ? slot - ids.length : slot;
+   }
+
+   void clear() {
+      Arrays.fill(ids, null);
+      Arrays.fill(index, EMPTY);
+      nextSlot = 0;
+      usedSlots = 0;
+   }
+
+   private int home(final int hash) {
+      // fibonacci hashing spreads the weak low bits of the polynomial hash over the index
+      return (hash * 0x9E3779B9) >>> indexShift;
+   }
+
+   private static int slotOf(final long entry) {
+      return (int) entry - 1;
+   }
+
+   private void unlink(final int slot) {
+      final int hash = ByteUtil.hashCode(ids[slot]);
+      int i = home(hash);
+      while (slotOf(index[i]) != slot) {
+         i = (i + 1) & indexMask;
+      }
+      // backward shift the following entries of the probe sequence instead of leaving a tombstone
+      int j = i;
+      while (true) {
+         j = (j + 1) & indexMask;
+         final long entry = index[j];
+         if (entry == EMPTY) {
+            break;
+         }
+         final int k = home((int) (entry >>> 32));
+         final boolean movable = i <= j ? (k <= i || k > j) : (k <= i && k > j);
+         if (movable) {
+            index[i] = entry;
+            i = j;
+         }
+      }
+      index[i] = EMPTY;
+   }
+}
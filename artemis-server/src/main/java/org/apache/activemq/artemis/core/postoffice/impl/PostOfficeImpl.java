@@ -1396,16 +1396,24 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    @Override
    public MessageReference reload(final Message message, final Queue queue, final Transaction tx) throws Exception {
+      Long scheduledDeliveryTime = null;
+      if (message.hasScheduledDeliveryTime()) {
+         scheduledDeliveryTime = message.getScheduledDeliveryTime();
+      }
+      return reload(message, queue, tx, scheduledDeliveryTime == null ? 0 : scheduledDeliveryTime);
+   }
+
+   @Override
+   public MessageReference reload(final Message message,
+                                  final Queue queue,
+                                  final Transaction tx,
+                                  final long scheduledDeliveryTime) throws Exception {
 
       message.setOwner(pagingManager.getPageStore(message.getAddressSimpleString()));
       MessageReference reference = MessageReference.Factory.createReference(message, queue);
 
-      Long scheduledDeliveryTime;
-      if (message.hasScheduledDeliveryTime()) {
-         scheduledDeliveryTime = message.getScheduledDeliveryTime();
-         if (scheduledDeliveryTime != null) {
-            reference.setScheduledDeliveryTime(scheduledDeliveryTime);
-         }
+      if (scheduledDeliveryTime != 0) {
+         reference.setScheduledDeliveryTime(scheduledDeliveryTime);
       }
 
       queue.refUp(reference);
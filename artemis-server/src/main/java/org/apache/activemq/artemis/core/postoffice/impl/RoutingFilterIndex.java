@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.selector.filter.EqualityTerm;
+
+/**
+ * An index of the bindings of an address by the values their filters require a property to equal, as
+ * {@code region = 'EU'}, so that routing a message only evaluates the filters of the bindings it may match instead of
+ * the filters of every binding.
+ * <p>
+ * Only the routing names bound by a single binding whose filter has an {@link EqualityTerm} are indexed: the others are
+ * routed as without the index. It is a snapshot of the bindings at a version of {@link BindingsImpl}, built again once
+ * they change.
+ */
+final class RoutingFilterIndex {
+
+   @FunctionalInterface
+   interface CandidateConsumer<T extends Throwable> {
+
+      void accept(Binding binding) throws T;
+   }
+
+   private static final class IndexedProperty {
+
+      private final SimpleString name;
+
+      private final Map<String, List<Binding>> bindings = new HashMap<>();
+
+      private IndexedProperty(SimpleString name) {
+         this.name = name;
+      }
+   }
+
+   private final int version;
+
+   private final IndexedProperty[] properties;
+
+   private final List<Binding[]> otherBindings;
+
+   private final List<CopyOnWriteBindings.BindingIndex> otherPositions;
+
+   private RoutingFilterIndex(int version,
+                              IndexedProperty[] properties,
+                              List<Binding[]> otherBindings,
+                              List<CopyOnWriteBindings.BindingIndex> otherPositions) {
+      this.version = version;
+      this.properties = properties;
+      this.otherBindings = otherBindings;
+      this.otherPositions = otherPositions;
+   }
+
+   /**
+    * Indexes {@code bindings} if at least {@code minIndexedBindings} of them can be, otherwise the index is empty and
+    * the bindings are expected to be routed without it.
+    */
+   static RoutingFilterIndex build(CopyOnWriteBindings bindings, int version, int minIndexedBindings) {
+      final Map<SimpleString, IndexedProperty> properties = new HashMap<>();
+      final List<Binding[]> otherBindings = new ArrayList<>();
+      final List<CopyOnWriteBindings.BindingIndex> otherPositions = new ArrayList<>();
+      final int[] indexed = new int[1];
+      bindings.forEachBindings((routingNameBindings, nextPosition) -> {
+         final EqualityTerm term = routingNameBindings.length == 1 ? getEqualityTerm(routingNameBindings[0]) : null;
+         if (term == null) {
+            otherBindings.add(routingNameBindings);
+            otherPositions.add(nextPosition);
+            return;
+         }
+         final IndexedProperty property = properties.computeIfAbsent(term.getProperty(), IndexedProperty::new);
+         for (String value : term.getValues()) {
+            property.bindings.computeIfAbsent(value, v -> new ArrayList<>(1)).add(routingNameBindings[0]);
+         }
+         indexed[0]++;
+      });
+      if (indexed[0] < minIndexedBindings) {
+         return new RoutingFilterIndex(version, null, null, null);
+      }
+      return new RoutingFilterIndex(version, properties.values().toArray(new IndexedProperty[0]), otherBindings, otherPositions);
+   }
+
+   private static EqualityTerm getEqualityTerm(Binding binding) {
+      final Filter filter = binding.getFilter();
+      return filter == null ? null : filter.getEqualityTerm();
+   }
+
+   int getVersion() {
+      return version;
+   }
+
+   boolean isEmpty() {
+      return properties == null;
+   }
+
+   /**
+    * Iterates through the indexed bindings whose filter may match {@code message}, each to be matched still.
+    */
+   <T extends Throwable> void forEachCandidate(Message message, CandidateConsumer<T> candidateConsumer) throws T {
+      for (IndexedProperty property : properties) {
+         // the terms are on string values, that a property of any other type can't be equal to
+         if (FilterImpl.getFilterProperty(message, property.name) instanceof String value) {
+            final List<Binding> candidates = property.bindings.get(value);
+            if (candidates != null) {
+               for (Binding candidate : candidates) {
+                  candidateConsumer.accept(candidate);
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Iterates through the bindings that aren't indexed and their related indexes, as
+    * {@link CopyOnWriteBindings#forEachBindings(CopyOnWriteBindings.BindingsConsumer)}.
+    */
+   <T extends Throwable> void forEachOtherBindings(CopyOnWriteBindings.BindingsConsumer<T> bindingsConsumer) throws T {
+      for (int i = 0, size = otherBindings.size(); i < size; i++) {
+         bindingsConsumer.accept(otherBindings.get(i), otherPositions.get(i));
+      }
+   }
+}
@@ -38,6 +38,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.QuorumVote
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.RemoveProducerMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -75,6 +77,8 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.QUO
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REMOVE_PRODUCER;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_APPEND;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_APPEND_TX;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_BATCH;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_BATCH_RESPONSE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_COMMIT_ROLLBACK;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_DELETE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_DELETE_TX;
@@ -152,6 +156,26 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       };
    }
 
+   /**
+    * Creates the replication records that can be decoded on their own packet or in a {@link ReplicationBatchMessage}.
+    */
+   private PacketImpl newReplicationRecord(byte packetType, CoreRemotingConnection connection) {
+      return switch (packetType) {
+         case REPLICATION_APPEND -> new ReplicationAddMessage(connection.isBeforeTwoEighteen());
+         case REPLICATION_APPEND_TX -> new ReplicationAddTXMessage(connection.isBeforeTwoEighteen());
+         case REPLICATION_DELETE -> new ReplicationDeleteMessage();
+         case REPLICATION_DELETE_TX -> new ReplicationDeleteTXMessage();
+         case REPLICATION_PREPARE -> new ReplicationPrepareMessage();
+         case REPLICATION_COMMIT_ROLLBACK -> new ReplicationCommitMessage();
+         case REPLICATION_PAGE_WRITE -> new ReplicationPageWriteMessage(connection.isVersionUsingLongOnPageReplication(), coreMessageObjectPools);
+         case REPLICATION_PAGE_EVENT -> new ReplicationPageEventMessage(connection.isVersionUsingLongOnPageReplication());
+         case REPLICATION_LARGE_MESSAGE_BEGIN -> new ReplicationLargeMessageBeginMessage();
+         case REPLICATION_LARGE_MESSAGE_END -> new ReplicationLargeMessageEndMessage();
+         case REPLICATION_LARGE_MESSAGE_WRITE -> new ReplicationLargeMessageWriteMessage();
+         default -> throw new IllegalArgumentException("Invalid replication record type: " + packetType);
+      };
+   }
+
 
    // separating for performance reasons
    private Packet slowPathDecode(ActiveMQBuffer in, byte packetType, CoreRemotingConnection connection) {
@@ -163,28 +187,26 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
             packet = new SessionSendLargeMessage(new CoreMessage());
             break;
          }
-         case REPLICATION_APPEND: {
-            packet = new ReplicationAddMessage(connection.isBeforeTwoEighteen());
-            break;
-         }
-         case REPLICATION_APPEND_TX: {
-            packet = new ReplicationAddTXMessage(connection.isBeforeTwoEighteen());
-            break;
-         }
-         case REPLICATION_DELETE: {
-            packet = new ReplicationDeleteMessage();
-            break;
-         }
-         case REPLICATION_DELETE_TX: {
-            packet = new ReplicationDeleteTXMessage();
+         case REPLICATION_APPEND:
+         case REPLICATION_APPEND_TX:
+         case REPLICATION_DELETE:
+         case REPLICATION_DELETE_TX:
+         case REPLICATION_PREPARE:
+         case REPLICATION_COMMIT_ROLLBACK:
+         case REPLICATION_PAGE_WRITE:
+         case REPLICATION_PAGE_EVENT:
+         case REPLICATION_LARGE_MESSAGE_BEGIN:
+         case REPLICATION_LARGE_MESSAGE_END:
+         case REPLICATION_LARGE_MESSAGE_WRITE: {
+            packet = newReplicationRecord(packetType, connection);
             break;
          }
-         case REPLICATION_PREPARE: {
-            packet = new ReplicationPrepareMessage();
+         case REPLICATION_BATCH: {
+            packet = new ReplicationBatchMessage(recordType -> newReplicationRecord((byte) recordType, connection));
             break;
          }
-         case REPLICATION_COMMIT_ROLLBACK: {
-            packet = new ReplicationCommitMessage();
+         case REPLICATION_BATCH_RESPONSE: {
+            packet = new ReplicationBatchResponseMessage();
             break;
          }
          case REPLICATION_RESPONSE: {
@@ -195,26 +217,6 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
             packet = new ReplicationResponseMessageV2();
             break;
          }
-         case REPLICATION_PAGE_WRITE: {
-            packet = new ReplicationPageWriteMessage(connection.isVersionUsingLongOnPageReplication(), coreMessageObjectPools);
-            break;
-         }
-         case REPLICATION_PAGE_EVENT: {
-            packet = new ReplicationPageEventMessage(connection.isVersionUsingLongOnPageReplication());
-            break;
-         }
-         case REPLICATION_LARGE_MESSAGE_BEGIN: {
-            packet = new ReplicationLargeMessageBeginMessage();
-            break;
-         }
-         case REPLICATION_LARGE_MESSAGE_END: {
-            packet = new ReplicationLargeMessageEndMessage();
-            break;
-         }
-         case REPLICATION_LARGE_MESSAGE_WRITE: {
-            packet = new ReplicationLargeMessageWriteMessage();
-            break;
-         }
          case PacketImpl.BACKUP_REGISTRATION: {
             packet = new BackupRegistrationMessage();
             break;
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Several replication records sent to the backup in a single frame, acknowledged all at once by a
+ * {@link ReplicationBatchResponseMessage}.
+ * <p>
+ * Each record is encoded as its type, the size of its body and the body, as it would be on its own packet.
+ */
+public final class ReplicationBatchMessage extends PacketImpl {
+
+   private final IntFunction<PacketImpl> recordFactory;
+
+   private List<PacketImpl> records;
+
+   private int encodeSize;
+
+   /**
+    * @param recordFactory creates the empty record to be decoded for a packet type
+    */
+   public ReplicationBatchMessage(IntFunction<PacketImpl> recordFactory) {
+      super(REPLICATION_BATCH);
+      this.recordFactory = recordFactory;
+   }
+
+   public ReplicationBatchMessage() {
+      super(REPLICATION_BATCH);
+      this.recordFactory = null;
+      this.records = new ArrayList<>();
+      this.encodeSize = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT;
+   }
+
+   /**
+    * Whether a record of this type can be sent in a batch: the synchronization and the primary stopping packets are
+    * always sent on their own.
+    */
+   public static boolean isBatchable(byte type) {
+      return switch (type) {
+         case REPLICATION_APPEND, REPLICATION_APPEND_TX, REPLICATION_DELETE, REPLICATION_DELETE_TX,
+              REPLICATION_PREPARE, REPLICATION_COMMIT_ROLLBACK, REPLICATION_PAGE_WRITE, REPLICATION_PAGE_EVENT,
+              REPLICATION_LARGE_MESSAGE_BEGIN, REPLICATION_LARGE_MESSAGE_END, REPLICATION_LARGE_MESSAGE_WRITE -> true;
+         default -> false;
+      };
+   }
+
+   public ReplicationBatchMessage addRecord(PacketImpl record) {
+      records.add(record);
+      encodeSize += DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + record.expectedEncodeSize() - PACKET_HEADERS_SIZE;
+      return this;
+   }
+
+   public List<PacketImpl> getRecords() {
+      return records;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return encodeSize;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer, final CoreRemotingConnection connection) {
+      buffer.writeInt(records.size());
+      for (PacketImpl record : records) {
+         buffer.writeByte(record.getType());
+         final int sizeIndex = buffer.writerIndex();
+         buffer.writeInt(0); // The size gets filled in once the record is encoded
+         record.encodeRest(buffer, connection);
+         buffer.setInt(sizeIndex, buffer.writerIndex() - sizeIndex - DataConstants.SIZE_INT);
+      }
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final int count = buffer.readInt();
+      records = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         final byte type = buffer.readByte();
+         final int size = buffer.readInt();
+         final PacketImpl record = recordFactory.apply(type);
+         // a record can check the readable bytes of the buffer to decode optional fields
+         record.decodeRest(buffer.readSlice(size));
+         records.add(record);
+      }
+   }
+
+   @Override
+   public void release() {
+      if (records != null) {
+         for (PacketImpl record : records) {
+            record.release();
+         }
+      }
+   }
+
+   @Override
+   protected String getPacketString() {
+      return super.getPacketString() + ", records=" + (records == null ? 0 : records.size());
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * The cumulative acknowledgement of the records of a {@link ReplicationBatchMessage}.
+ */
+public final class ReplicationBatchResponseMessage extends PacketImpl {
+
+   private int records;
+
+   public ReplicationBatchResponseMessage(final int records) {
+      this();
+      this.records = records;
+   }
+
+   public ReplicationBatchResponseMessage() {
+      super(REPLICATION_BATCH_RESPONSE);
+   }
+
+   public int getRecords() {
+      return records;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE +
+         DataConstants.SIZE_INT; // buffer.writeInt(records)
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeInt(records);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      records = buffer.readInt();
+   }
+
+   @Override
+   protected String getPacketString() {
+      return super.getPacketString() + ", records=" + records;
+   }
+}
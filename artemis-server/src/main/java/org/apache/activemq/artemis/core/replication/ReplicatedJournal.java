@@ -507,6 +507,26 @@ public class ReplicatedJournal implements Journal {
       localJournal.scheduleCompactAndBlock(timeout);
    }
 
+   @Override
+   public long getCompactsCompleted() {
+      return localJournal.getCompactsCompleted();
+   }
+
+   @Override
+   public long getCompactFilesProcessed() {
+      return localJournal.getCompactFilesProcessed();
+   }
+
+   @Override
+   public long getCompactBytesReclaimed() {
+      return localJournal.getCompactBytesReclaimed();
+   }
+
+   @Override
+   public long getCompactPauseNanos() {
+      return localJournal.getCompactPauseNanos();
+   }
+
    @Override
    public void replicationSyncPreserveOldFiles() {
       throw new UnsupportedOperationException("should never get called");
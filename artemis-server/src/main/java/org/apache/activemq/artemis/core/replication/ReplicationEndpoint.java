@@ -61,6 +61,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQEx
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.BackupReplicationStartFailedMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -195,6 +197,40 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    public void handlePacket(final Packet packet) {
       logger.trace("handlePacket::handling {}", packet);
 
+      if (packet.getType() == PacketImpl.REPLICATION_BATCH) {
+         handleBatch((ReplicationBatchMessage) packet);
+      } else {
+         sendResponse(handleRecord(packet));
+      }
+   }
+
+   /**
+    * Handles the records of a batch in order and acknowledges them with a single response, unless any of them fails.
+    */
+   private void handleBatch(final ReplicationBatchMessage batch) {
+      int acknowledged = 0;
+      for (PacketImpl record : batch.getRecords()) {
+         final PacketImpl response = handleRecord(record);
+         if (response == null) {
+            continue;
+         }
+         if (response.getType() == PacketImpl.REPLICATION_RESPONSE) {
+            acknowledged++;
+         } else {
+            // the records handled so far are acknowledged before the error, as they would be on their own packets
+            if (acknowledged > 0) {
+               sendResponse(new ReplicationBatchResponseMessage(acknowledged));
+               acknowledged = 0;
+            }
+            sendResponse(response);
+         }
+      }
+      if (acknowledged > 0) {
+         sendResponse(new ReplicationBatchResponseMessage(acknowledged));
+      }
+   }
+
+   private PacketImpl handleRecord(final Packet packet) {
       PacketImpl response = new ReplicationResponseMessage();
       final byte type = packet.getType();
 
@@ -202,7 +238,7 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
          if (!started) {
             logger.trace("handlePacket::ignoring {}", packet);
 
-            return;
+            return null;
          }
 
          if (type == PacketImpl.REPLICATION_APPEND) {
@@ -248,6 +284,10 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
          response = new ActiveMQExceptionMessage(ActiveMQMessageBundle.BUNDLE.replicationUnhandledError(e));
       }
 
+      return response;
+   }
+
+   private void sendResponse(final PacketImpl response) {
       if (response != null) {
          logger.trace("Returning {}", response);
 
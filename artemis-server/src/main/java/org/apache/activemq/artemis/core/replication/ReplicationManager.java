@@ -30,12 +30,14 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.EventLoop;
 import io.netty.channel.SingleThreadEventLoop;
 import io.netty.util.internal.PlatformDependent;
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
@@ -61,6 +63,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.ChannelImpl.CHANNEL_I
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -157,6 +161,13 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private final ReusableLatch synchronizationIsFinishedAcknowledgement = new ReusableLatch(0);
 
+   // the progress of the initial synchronization: the files are registered before any of them is sent
+   private final AtomicLong syncTotalFiles = new AtomicLong();
+   private final AtomicLong syncTotalBytes = new AtomicLong();
+   private final AtomicLong syncFiles = new AtomicLong();
+   private final AtomicLong syncBytes = new AtomicLong();
+   private volatile long syncStartNanos;
+
    private static final class ReplicatePacketRequest {
 
       final Packet packet;
@@ -182,12 +193,37 @@ public final class ReplicationManager implements ActiveMQComponent {
    private final ReadyListener onResume;
    private boolean isFlushing;
    private boolean awaitingResume;
+   // the records are batched up to this size, if the backup supports it
+   private final int batchMaxSize;
+   private final long batchTimeoutNanos;
+   // the batch being filled, owned by the replication stream as the fields above
+   private ReplicationBatchMessage batch;
+   private boolean batchTimeoutScheduled;
+   private final AtomicLong sentBatches = new AtomicLong();
+   private final AtomicLong sentBatchedRecords = new AtomicLong();
+   private final AtomicLong pendingRecords = new AtomicLong();
 
    public ReplicationManager(ActiveMQServer server,
                              CoreRemotingConnection remotingConnection,
                              final long timeout,
                              final long initialReplicationSyncTimeout,
                              final ExecutorFactory ioExecutorFactory) {
+      this(server, remotingConnection, timeout, initialReplicationSyncTimeout, ioExecutorFactory,
+           ActiveMQDefaultConfiguration.getDefaultReplicationBatchMaxSize(), ActiveMQDefaultConfiguration.getDefaultReplicationBatchTimeout());
+   }
+
+   /**
+    * @param batchMaxSize      the size in bytes of the frames the records are batched in, {@code -1} to send each record
+    *                          on its own packet
+    * @param batchTimeoutNanos the time a batch can wait for more records before being sent to the backup
+    */
+   public ReplicationManager(ActiveMQServer server,
+                             CoreRemotingConnection remotingConnection,
+                             final long timeout,
+                             final long initialReplicationSyncTimeout,
+                             final ExecutorFactory ioExecutorFactory,
+                             final int batchMaxSize,
+                             final long batchTimeoutNanos) {
       this.server = server;
       this.ioExecutorFactory = ioExecutorFactory;
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
@@ -210,6 +246,16 @@ public final class ReplicationManager implements ActiveMQComponent {
       this.onResume = this::resume;
       this.isFlushing = false;
       this.checkSlowReplication = false;
+      if (batchMaxSize > 0 && !remotingConnection.isVersionSupportReplicationBatch()) {
+         logger.debug("The backup doesn't support replication batches: sending each record on its own packet");
+         this.batchMaxSize = -1;
+      } else {
+         this.batchMaxSize = batchMaxSize;
+      }
+      // the batches can wait just on the event loop
+      this.batchTimeoutNanos = scheduledExecutorService == null ? 0 : batchTimeoutNanos;
+      this.batch = null;
+      this.batchTimeoutScheduled = false;
    }
 
    public void appendUpdateRecord(final byte journalID,
@@ -412,6 +458,10 @@ public final class ReplicationManager implements ActiveMQComponent {
       logger.trace("clearReplicationTokens initiating");
       while (!pendingTokens.isEmpty()) {
          OperationContext ctx = pendingTokens.poll();
+         if (ctx == null) {
+            break;
+         }
+         pendingRecords.decrementAndGet();
          logger.trace("Calling ctx.replicationDone()");
          try {
             ctx.replicationDone();
@@ -537,19 +587,30 @@ public final class ReplicationManager implements ActiveMQComponent {
             checkSlowReplication = false;
             final ReplicatePacketRequest request = replicatePacketRequests.poll();
             if (request == null) {
+               if (!awaitBatchTimeout()) {
+                  sendBatch();
+               }
                replicatingChannel.flushConnection();
                // given that there isn't any more work to do, we're not interested
                // to check writability state to trigger the slow connection check
                return;
             }
             pendingTokens.add(request.context);
+            pendingRecords.incrementAndGet();
             final Packet pack = request.packet;
             final ReusableLatch done = request.done;
             if (done != null) {
                done.countDown();
             }
-            replicatingChannel.send(pack, false);
+            if (batchMaxSize > 0 && ReplicationBatchMessage.isBatchable(pack.getType())) {
+               addToBatch((PacketImpl) pack);
+            } else {
+               // the records must reach the backup in order
+               sendBatch();
+               replicatingChannel.send(pack, false);
+            }
          }
+         sendBatch();
          replicatingChannel.flushConnection();
          assert !awaitingResume;
          // we care about writability just if there is some work to do
@@ -571,6 +632,7 @@ public final class ReplicationManager implements ActiveMQComponent {
             // that's an handled state: right after this cleanup is expected to be stopped/closed
             // or get the failure listener to be called!
             logger.trace("Transport connection closed: cleaning up replicate tokens", t);
+            releaseBatch();
             releaseReplicatedPackets(replicatePacketRequests);
             // cleanup ReadyListener without triggering any further write/flush
             connection.getTransportConnection().fireReady(true);
@@ -582,6 +644,80 @@ public final class ReplicationManager implements ActiveMQComponent {
       }
    }
 
+   private void addToBatch(PacketImpl record) {
+      assert checkEventLoop();
+      if (batch == null) {
+         batch = new ReplicationBatchMessage();
+      }
+      batch.addRecord(record);
+      if (batch.expectedEncodeSize() >= batchMaxSize) {
+         sendBatch();
+      }
+   }
+
+   /**
+    * {@return {@code true} if the current batch can wait for more records, scheduling its timeout if needed}
+    */
+   private boolean awaitBatchTimeout() {
+      if (batch == null || batchTimeoutNanos <= 0) {
+         return false;
+      }
+      // a batch doesn't wait more than the timeout: a stale one can just send it earlier
+      if (!batchTimeoutScheduled) {
+         batchTimeoutScheduled = true;
+         scheduledExecutorService.schedule(this::onBatchTimeout, batchTimeoutNanos, TimeUnit.NANOSECONDS);
+      }
+      return true;
+   }
+
+   private void onBatchTimeout() {
+      assert checkEventLoop();
+      batchTimeoutScheduled = false;
+      if (batch == null) {
+         return;
+      }
+      if (!started) {
+         releaseBatch();
+         return;
+      }
+      try {
+         sendBatch();
+         replicatingChannel.flushConnection();
+      } catch (Throwable t) {
+         if (replicatingChannel.getConnection().getTransportConnection().isOpen()) {
+            logger.warn("Unexpected error while flushing a replication batch", t);
+         } else {
+            logger.trace("Transport connection closed while flushing a replication batch", t);
+         }
+      }
+   }
+
+   private void sendBatch() {
+      final ReplicationBatchMessage batch = this.batch;
+      if (batch == null) {
+         return;
+      }
+      this.batch = null;
+      final List<PacketImpl> records = batch.getRecords();
+      sentBatches.incrementAndGet();
+      sentBatchedRecords.addAndGet(records.size());
+      if (records.size() == 1) {
+         // no need to wrap it: its own response acknowledges it the same way
+         replicatingChannel.send(records.get(0), false);
+      } else {
+         replicatingChannel.send(batch, false);
+      }
+   }
+
+   private void releaseBatch() {
+      final ReplicationBatchMessage batch = this.batch;
+      if (batch != null) {
+         this.batch = null;
+         // the tokens are already pending and get completed on stop
+         batch.release();
+      }
+   }
+
    private boolean checkEventLoop() {
       if (!(replicationStream instanceof SingleThreadEventLoop eventLoop)) {
          return true;
@@ -602,9 +738,87 @@ public final class ReplicationManager implements ActiveMQComponent {
          ActiveMQServerLogger.LOGGER.missingReplicationTokenOnQueue();
          return;
       }
+      pendingRecords.decrementAndGet();
       ctx.replicationDone();
    }
 
+   /**
+    * {@return the average number of records sent to the backup in each batch, {@code 0} if none has been sent}
+    */
+   public double getAverageBatchSize() {
+      final long batches = sentBatches.get();
+      return batches == 0 ? 0 : (double) sentBatchedRecords.get() / batches;
+   }
+
+   /**
+    * {@return the number of batches sent to the backup}
+    */
+   public long getSentBatches() {
+      return sentBatches.get();
+   }
+
+   /**
+    * {@return the number of records sent to the backup which it hasn't acknowledged yet}
+    */
+   public long getPendingRecords() {
+      return pendingRecords.get();
+   }
+
+   /**
+    * Registers a file to be sent to the backup during the initial synchronization, to track its progress.
+    */
+   public void addSyncFile(long size) {
+      if (syncTotalFiles.getAndIncrement() == 0) {
+         syncStartNanos = System.nanoTime();
+      }
+      syncTotalBytes.addAndGet(size);
+   }
+
+   /**
+    * {@return the number of files sent to the backup during the initial synchronization}
+    */
+   public long getSyncFiles() {
+      return syncFiles.get();
+   }
+
+   /**
+    * {@return the number of files to send to the backup during the initial synchronization}
+    */
+   public long getSyncTotalFiles() {
+      return syncTotalFiles.get();
+   }
+
+   /**
+    * {@return the number of bytes sent to the backup during the initial synchronization}
+    */
+   public long getSyncBytes() {
+      return syncBytes.get();
+   }
+
+   /**
+    * {@return the number of bytes to send to the backup during the initial synchronization}
+    */
+   public long getSyncTotalBytes() {
+      return syncTotalBytes.get();
+   }
+
+   /**
+    * {@return the milliseconds left to complete the initial synchronization at the rate of the bytes sent so far,
+    * {@code -1} if unknown}
+    */
+   public long getSyncEstimatedTimeRemaining() {
+      if (!inSync) {
+         return 0;
+      }
+      final long bytes = syncBytes.get();
+      if (bytes == 0) {
+         return -1;
+      }
+      final long remainingBytes = Math.max(0, syncTotalBytes.get() - bytes);
+      final double elapsedNanos = System.nanoTime() - syncStartNanos;
+      return TimeUnit.NANOSECONDS.toMillis((long) (elapsedNanos * remainingBytes / bytes));
+   }
+
 
    private final class ReplicatedSessionFailureListener implements SessionFailureListener {
 
@@ -638,7 +852,12 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       @Override
       public void handlePacket(final Packet packet) {
-         if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
+         if (packet.getType() == PacketImpl.REPLICATION_BATCH_RESPONSE) {
+            // a single acknowledgement for all the records of a batch
+            for (int i = 0, records = ((ReplicationBatchResponseMessage) packet).getRecords(); i < records; i++) {
+               replicated();
+            }
+         } else if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
             replicated();
             if (packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
                ReplicationResponseMessageV2 replicationResponseMessage = (ReplicationResponseMessageV2) packet;
@@ -757,9 +976,14 @@ public final class ReplicationManager implements ActiveMQComponent {
                   sendReplicatePacket(new ReplicationSyncFileMessage(content, pageStore, id, toSend, buffer), true);
                }
                packetsSent++;
+               if (toSend > 0) {
+                  syncBytes.addAndGet(toSend);
+               }
 
-               if (lastPacket)
+               if (lastPacket) {
+                  syncFiles.incrementAndGet();
                   break;
+               }
             }
          }
       } finally {
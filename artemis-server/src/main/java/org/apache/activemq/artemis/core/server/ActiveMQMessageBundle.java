@@ -535,4 +535,7 @@ public interface ActiveMQMessageBundle {
    @Message(id = 229257, value = "IDGenerator has been stopped")
    RuntimeException idGeneratorStopped();
 
+   @Message(id = 229258, value = "journal-partitions ({}) can't be used with a replication HA policy")
+   IllegalArgumentException journalPartitionsWithReplication(int journalPartitions);
+
 }
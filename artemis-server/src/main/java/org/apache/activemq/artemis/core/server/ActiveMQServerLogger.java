@@ -21,6 +21,7 @@ import javax.transaction.xa.Xid;
 import java.io.File;
 import java.net.SocketAddress;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
 import io.netty.channel.Channel;
@@ -1504,4 +1505,13 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 224145, value = "Error looking up bindings for address {}.", level = LogMessage.Level.WARN)
    void bridgeBindingsLookupError(SimpleString address, Throwable e);
 
+   @LogMessage(id = 224146, value = "Using DSYNC Journal", level = LogMessage.Level.INFO)
+   void journalUseDSYNC();
+
+   @LogMessage(id = 224147, value = "The journal retention isn't supported with {} journal partitions and it will be ignored", level = LogMessage.Level.WARN)
+   void journalRetentionNotSupportedWithPartitions(int partitions);
+
+   @LogMessage(id = 224148, value = "The journals were loaded in {} milliseconds: {}", level = LogMessage.Level.INFO)
+   void journalLoadTimes(long totalMillis, Map<String, Long> phaseMillis);
+
 }
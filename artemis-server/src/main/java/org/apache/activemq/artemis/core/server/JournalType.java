@@ -18,7 +18,7 @@ package org.apache.activemq.artemis.core.server;
 
 
 public enum JournalType {
-   NIO, ASYNCIO, MAPPED;
+   NIO, ASYNCIO, MAPPED, DSYNC;
 
    public static final String validValues;
 
@@ -41,6 +41,7 @@ public enum JournalType {
          case "NIO" -> NIO;
          case "ASYNCIO" -> ASYNCIO;
          case "MAPPED" -> MAPPED;
+         case "DSYNC" -> DSYNC;
          default -> throw new IllegalStateException("Invalid JournalType:" + type + " valid Types: " + validValues);
       };
    }
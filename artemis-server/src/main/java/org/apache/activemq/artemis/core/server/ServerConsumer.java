@@ -88,6 +88,16 @@ public interface ServerConsumer extends Consumer, ConsumerInfo {
 
    void individualAcknowledge(Transaction tx, long messageID) throws Exception;
 
+   /**
+    * Individually acknowledges several messages, as {@link #individualAcknowledge(Transaction, long)} would do for each
+    * one of them.
+    */
+   default void individualAcknowledge(Transaction tx, long[] messageIDs) throws Exception {
+      for (long messageID : messageIDs) {
+         individualAcknowledge(tx, messageID);
+      }
+   }
+
    void reject(long messageID) throws Exception;
 
    void individualCancel(long messageID, boolean failed) throws Exception;
@@ -70,6 +70,12 @@ public interface ServerSession extends SecurityAuth {
 
    void individualAcknowledge(long consumerID, long messageID) throws Exception;
 
+   default void individualAcknowledge(long consumerID, long[] messageIDs) throws Exception {
+      for (long messageID : messageIDs) {
+         individualAcknowledge(consumerID, messageID);
+      }
+   }
+
    void individualCancel(long consumerID, long messageID, boolean failed) throws Exception;
 
    void expire(long consumerID, long messageID) throws Exception;
@@ -700,6 +700,9 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       configuration.parseProperties(propertiesFileUrl);
       updateStatus(ServerStatus.CONFIGURATION_COMPONENT, configuration.getStatus());
 
+      // the properties can change the configuration validated on creation
+      ConfigurationUtils.validateJournalPartitions(configuration);
+
       initializeExecutorServices();
 
       initializeCriticalAnalyzer();
@@ -3124,7 +3127,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
    @Override
    public PagingManager createPagingManager() throws Exception {
-      return new PagingManagerImpl(getPagingStoreFactory(), addressSettingsRepository, configuration.getGlobalMaxSize(), configuration.getGlobalMaxMessages(), configuration.getManagementAddress(), this);
+      return new PagingManagerImpl(getPagingStoreFactory(), addressSettingsRepository, configuration.getGlobalMaxSize(), configuration.getGlobalMaxMessages(), configuration.getPageReadCacheMaxSize(), configuration.getPagePrefetchMaxSize(), configuration.getManagementAddress(), this);
    }
 
    protected PagingStoreFactory getPagingStoreFactory() throws Exception {
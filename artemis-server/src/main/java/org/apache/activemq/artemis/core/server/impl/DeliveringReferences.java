@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * The references delivered to a consumer and not yet acknowledged, in delivery order.
+ * <p>
+ * The references are kept in a ring along with their message IDs in a {@code long[]}: finding the reference of an
+ * acknowledged message scans the IDs without loading each reference and its message, and removing it out of order just
+ * leaves a hole in the ring instead of shifting the following references. The holes are skipped once reaching the ends
+ * of the ring and dropped when it grows.
+ * <p>
+ * This class isn't thread-safe.
+ */
+final class DeliveringReferences implements Iterable<MessageReference> {
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   private MessageReference[] refs;
+
+   private long[] messageIDs;
+
+   private int mask;
+
+   // the positions of the first reference and after the last one, both increasing and masked to access the arrays
+   private int head;
+
+   private int tail;
+
+   // the number of references, excluding the holes between head and tail
+   private int size;
+
+   DeliveringReferences() {
+      refs = new MessageReference[INITIAL_CAPACITY];
+      messageIDs = new long[INITIAL_CAPACITY];
+      mask = INITIAL_CAPACITY - 1;
+   }
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   void addLast(final MessageReference ref) {
+      if (tail - head == refs.length) {
+         grow();
+      }
+      final int index = tail & mask;
+      refs[index] = ref;
+      messageIDs[index] = ref.getMessageID();
+      tail++;
+      size++;
+   }
+
+   void addFirst(final MessageReference ref) {
+      if (tail - head == refs.length) {
+         grow();
+      }
+      head--;
+      final int index = head & mask;
+      refs[index] = ref;
+      messageIDs[index] = ref.getMessageID();
+      size++;
+   }
+
+   MessageReference peek() {
+      return size == 0 ? null : refs[head & mask];
+   }
+
+   MessageReference poll() {
+      if (size == 0) {
+         return null;
+      }
+      final int index = head & mask;
+      final MessageReference ref = refs[index];
+      refs[index] = null;
+      head++;
+      size--;
+      skipHoles();
+      return ref;
+   }
+
+   /**
+    * Polls the references up to the one of {@code messageID} included, in delivery order.
+    *
+    * @return {@code true} if the reference of {@code messageID} was found, otherwise all the references are polled
+    */
+   boolean pollUntil(final long messageID, final Collection<? super MessageReference> polled) {
+      while (size > 0) {
+         final int index = head & mask;
+         final long polledID = messageIDs[index];
+         polled.add(refs[index]);
+         refs[index] = null;
+         head++;
+         size--;
+         skipHoles();
+         if (polledID == messageID) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * {@return the removed reference of {@code messageID} or {@code null} if it isn't delivering}
+    */
+   MessageReference removeByID(final long messageID) {
+      for (int position = head; position != tail; position++) {
+         final int index = position & mask;
+         if (messageIDs[index] == messageID && refs[index] != null) {
+            return removeAt(position);
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Removes the references of several messages, scanning the references once.
+    *
+    * @param sortedIDs the message IDs, sorted and without duplicates
+    * @param removed   receives the removed reference of each message ID, at the same index, or {@code null} if it isn't
+    *                  delivering
+    * @return the number of removed references
+    */
+   int removeByIDs(final long[] sortedIDs, final MessageReference[] removed) {
+      int count = 0;
+      for (int position = head; count < sortedIDs.length && position - tail < 0; position++) {
+         final int index = position & mask;
+         if (refs[index] == null) {
+            continue;
+         }
+         final int found = Arrays.binarySearch(sortedIDs, messageIDs[index]);
+         if (found >= 0 && removed[found] == null) {
+            removed[found] = removeAt(position);
+            count++;
+         }
+      }
+      return count;
+   }
+
+   void addTo(final Collection<? super MessageReference> collection) {
+      for (int position = head; position != tail; position++) {
+         final MessageReference ref = refs[position & mask];
+         if (ref != null) {
+            collection.add(ref);
+         }
+      }
+   }
+
+   @Override
+   public Iterator<MessageReference> iterator() {
+      return new Iterator<>() {
+
+         private int position = head;
+
+         private int lastReturned;
+
+         private boolean canRemove;
+
+         @Override
+         public boolean hasNext() {
+            while (position - tail < 0 && refs[position & mask] == null) {
+               position++;
+            }
+            return position - tail < 0;
+         }
+
+         @Override
+         public MessageReference next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            lastReturned = position;
+            canRemove = true;
+            return refs[position++ & mask];
+         }
+
+         @Override
+         public void remove() {
+            if (!canRemove) {
+               throw new IllegalStateException();
+            }
+            canRemove = false;
+            removeAt(lastReturned);
+         }
+      };
+   }
+
+   private MessageReference removeAt(final int position) {
+      final int index = position & mask;
+      final MessageReference ref = refs[index];
+      refs[index] = null;
+      size--;
+      if (position == head) {
+         head++;
+         skipHoles();
+      } else if (position == tail - 1) {
+         tail--;
+         while (tail - head > 0 && refs[(tail - 1) & mask] == null) {
+            tail--;
+         }
+      }
+      return ref;
+   }
+
+   private void skipHoles() {
+      if (size == 0) {
+         head = tail = 0;
+         return;
+      }
+      while (refs[head & mask] == null) {
+         head++;
+      }
+   }
+
+   private void grow() {
+      // the holes are dropped while copying, which could be enough to make room
+      final int capacity = size < refs.length / 2 ? refs.length : refs.length * 2;
+      final MessageReference[] newRefs = new MessageReference[capacity];
+      final long[] newMessageIDs = new long[capacity];
+      int count = 0;
+      for (int position = head; position != tail; position++) {
+         final int index = position & mask;
+         if (refs[index] != null) {
+            newRefs[count] = refs[index];
+            newMessageIDs[count] = messageIDs[index];
+            count++;
+         }
+      }
+      assert count == size;
+      refs = newRefs;
+      messageIDs = newMessageIDs;
+      mask = capacity - 1;
+      head = 0;
+      tail = count;
+   }
+}
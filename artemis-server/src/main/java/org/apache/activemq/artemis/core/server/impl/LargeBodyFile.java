@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The file of a large message body, open while its chunks are transferred to the wire as {@link FileRegion}s.
+ * <p>
+ * Each region holds a reference to this file, so it's closed only once released by its deliverer and by all of its
+ * regions, whatever the order: the regions are transferred by the event loop of the connection long after being
+ * written. Keeping it open also keeps the body readable if its file is deleted meanwhile.
+ */
+final class LargeBodyFile extends AbstractReferenceCounted {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final File file;
+
+   private final FileChannel channel;
+
+   private LargeBodyFile(final File file, final FileChannel channel) {
+      this.file = file;
+      this.channel = channel;
+   }
+
+   static LargeBodyFile open(final File file) throws IOException {
+      return new LargeBodyFile(file, FileChannel.open(file.toPath(), StandardOpenOption.READ));
+   }
+
+   /**
+    * {@return a region of {@code count} bytes of this file from {@code position}, released once transferred}
+    */
+   FileRegion region(final long position, final int count) {
+      return new Region(position, count);
+   }
+
+   @Override
+   protected void deallocate() {
+      try {
+         channel.close();
+      } catch (IOException e) {
+         logger.debug("Failed to close {}", file, e);
+      }
+   }
+
+   @Override
+   public ReferenceCounted touch(final Object hint) {
+      return this;
+   }
+
+   @Override
+   public String toString() {
+      return "LargeBodyFile[file=" + file + ", refCnt=" + refCnt() + "]";
+   }
+
+   // a DefaultFileRegion is transferred with sendfile by the native transports
+   private final class Region extends DefaultFileRegion {
+
+      private Region(final long position, final int count) {
+         super(channel, position, count);
+         LargeBodyFile.this.retain();
+      }
+
+      @Override
+      protected void deallocate() {
+         // the channel is shared with the other regions: DefaultFileRegion would close it
+         LargeBodyFile.this.release();
+      }
+   }
+}
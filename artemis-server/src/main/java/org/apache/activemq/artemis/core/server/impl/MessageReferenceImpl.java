@@ -298,7 +298,7 @@ public class MessageReferenceImpl extends AbstractProtocolReference implements M
 
    @Override
    public SimpleString getLastValueProperty() {
-      SimpleString lastValue = message.getSimpleStringProperty(queue.getLastValueKey());
+      SimpleString lastValue = message.searchSimpleStringProperty(queue.getLastValueKey());
       if (lastValue == null) {
          lastValue = message.getLastValueProperty();
       }
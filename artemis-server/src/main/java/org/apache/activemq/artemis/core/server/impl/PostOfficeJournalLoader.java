@@ -18,11 +18,18 @@ package org.apache.activemq.artemis.core.server.impl;
 
 import javax.transaction.xa.Xid;
 import java.lang.invoke.MethodHandles;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -63,6 +70,7 @@ import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -179,50 +187,98 @@ public class PostOfficeJournalLoader implements JournalLoader {
 
    @Override
    public void handleAddMessage(Map<Long, Map<Long, AddMessageRecord>> queueMap) throws Exception {
-      for (Map.Entry<Long, Map<Long, AddMessageRecord>> entry : queueMap.entrySet()) {
-         long queueID = entry.getKey();
-
-         Map<Long, AddMessageRecord> queueRecords = entry.getValue();
+      final int loadThreads = configuration != null ? configuration.getJournalLoadThreads() : 1;
 
-         Queue queue = this.queues.get(queueID);
+      if (loadThreads <= 1 || queueMap.size() <= 1) {
+         for (Map.Entry<Long, Map<Long, AddMessageRecord>> entry : queueMap.entrySet()) {
+            handleAddMessage(entry.getKey(), entry.getValue(), false);
+         }
+         return;
+      }
 
-         if (queue == null) {
-            if (queueRecords.values().size() != 0) {
-               ActiveMQServerLogger.LOGGER.journalCannotFindQueueForMessage(queueID);
+      // A message routed to several queues is shared by their references: its scheduled delivery time is resolved
+      // here, in the same order as a serial load, so the queues can be reloaded without touching the messages
+      final long currentTime = System.currentTimeMillis();
+      for (Map.Entry<Long, Map<Long, AddMessageRecord>> entry : queueMap.entrySet()) {
+         if (queues.get(entry.getKey()) != null) {
+            for (AddMessageRecord record : entry.getValue().values()) {
+               resolveScheduledDeliveryTime(record, currentTime);
             }
+         }
+      }
 
-            continue;
+      // each queue is reloaded by a single task, so its messages keep the journal order
+      final ThreadFactory factory = AccessController.doPrivileged((PrivilegedAction<ThreadFactory>) () -> new ActiveMQThreadFactory("ActiveMQ-journal-load", true, PostOfficeJournalLoader.class.getClassLoader()));
+      final ExecutorService pool = Executors.newFixedThreadPool(Math.min(loadThreads, queueMap.size()), factory);
+      try {
+         final List<Future<?>> tasks = new ArrayList<>(queueMap.size());
+         for (Map.Entry<Long, Map<Long, AddMessageRecord>> entry : queueMap.entrySet()) {
+            tasks.add(pool.submit(() -> {
+               handleAddMessage(entry.getKey(), entry.getValue(), true);
+               return null;
+            }));
+         }
+         for (Future<?> task : tasks) {
+            task.get();
+         }
+      } finally {
+         pool.shutdownNow();
+      }
+   }
+
+   /**
+    * Applies the scheduled delivery time of a record to its message and replaces it with the delivery time the
+    * reference has to be reloaded with.
+    */
+   private static void resolveScheduledDeliveryTime(AddMessageRecord record, long currentTime) {
+      final Message message = record.getMessage();
+      final long scheduledDeliveryTime = record.getScheduledDeliveryTime();
+
+      if (scheduledDeliveryTime != 0) {
+         if (scheduledDeliveryTime <= currentTime) {
+            // scheduled delivery time already passed while the broker wasn't running
+            message.setScheduledDeliveryTime(0L);
+         } else {
+            message.setScheduledDeliveryTime(scheduledDeliveryTime);
          }
+      }
 
-         // Redistribution could install a Redistributor while we are still loading records, what will be an issue with
-         // prepared ACKs
-         // We make sure te Queue is paused before we reroute values.
-         queue.pause();
+      final Long messageScheduledDeliveryTime = message.hasScheduledDeliveryTime() ? message.getScheduledDeliveryTime() : null;
+      record.setScheduledDeliveryTime(messageScheduledDeliveryTime == null ? 0 : messageScheduledDeliveryTime);
+   }
 
-         Collection<AddMessageRecord> valueRecords = queueRecords.values();
+   private void handleAddMessage(long queueID, Map<Long, AddMessageRecord> queueRecords, boolean resolved) {
+      Queue queue = this.queues.get(queueID);
 
-         long currentTime = System.currentTimeMillis();
+      if (queue == null) {
+         if (queueRecords.values().size() != 0) {
+            ActiveMQServerLogger.LOGGER.journalCannotFindQueueForMessage(queueID);
+         }
 
-         for (AddMessageRecord record : valueRecords) {
-            try {
-               long scheduledDeliveryTime = record.getScheduledDeliveryTime();
+         return;
+      }
 
-               if (scheduledDeliveryTime != 0) {
-                  if (scheduledDeliveryTime <= currentTime) {
-                     // scheduled delivery time already passed while the broker wasn't running
-                     record.getMessage().setScheduledDeliveryTime(0L);
-                  } else {
-                     record.getMessage().setScheduledDeliveryTime(scheduledDeliveryTime);
-                  }
-               }
+      // Redistribution could install a Redistributor while we are still loading records, what will be an issue with
+      // prepared ACKs
+      // We make sure te Queue is paused before we reroute values.
+      queue.pause();
 
-               MessageReference ref = postOffice.reload(record.getMessage(), queue, null);
+      Collection<AddMessageRecord> valueRecords = queueRecords.values();
 
-               ref.setDeliveryCount(record.getDeliveryCount());
-            } catch (Throwable t) {
-               ActiveMQServerLogger.LOGGER.unableToLoadMessageFromJournal(t);
-               continue;
+      long currentTime = System.currentTimeMillis();
+
+      for (AddMessageRecord record : valueRecords) {
+         try {
+            if (!resolved) {
+               resolveScheduledDeliveryTime(record, currentTime);
             }
+
+            MessageReference ref = postOffice.reload(record.getMessage(), queue, null, record.getScheduledDeliveryTime());
+
+            ref.setDeliveryCount(record.getDeliveryCount());
+         } catch (Throwable t) {
+            ActiveMQServerLogger.LOGGER.unableToLoadMessageFromJournal(t);
+            continue;
          }
       }
    }
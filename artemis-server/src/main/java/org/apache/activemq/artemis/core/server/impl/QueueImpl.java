@@ -114,6 +114,7 @@ import org.apache.activemq.artemis.utils.ReferenceCounter;
 import org.apache.activemq.artemis.utils.ReusableLatch;
 import org.apache.activemq.artemis.utils.SizeAwareMetric;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.collections.ChunkedLinkedListImpl;
 import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.apache.activemq.artemis.utils.collections.NodeStoreFactory;
@@ -178,6 +179,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    // address-settings in broker.xml
    private static final long PAGE_FLOW_CONTROL_PRINT_INTERVAL = Long.parseLong(System.getProperty("ARTEMIS_PAGE_FLOW_CONTROL_PRINT_INTERVAL", "60000"));
 
+   // When greater than 0 the references of each priority are kept in chunks of this size rather than linked to each
+   // other, see ChunkedLinkedListImpl. This is a system property as well, until it proves its value on large queues.
+   private static final int REFERENCES_CHUNK_SIZE = Integer.parseInt(System.getProperty("ARTEMIS_QUEUE_REFERENCES_CHUNK_SIZE", "0"));
+
    // Once we delivered messages from paging we need to call asyncDelivery upon acks if we flow control paging, ack more
    // messages will open the space to deliver more messages hence we will need this flag to determine if it was paging
    // before.
@@ -202,10 +207,17 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    private final MpscUnboundedArrayQueue<MessageReference> intermediateMessageReferences;
 
    // This is where messages are stored
-   protected final PriorityLinkedList<MessageReference> messageReferences = new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
+   protected final PriorityLinkedList<MessageReference> messageReferences = createMessageReferences(REFERENCES_CHUNK_SIZE);
 
    private NodeStoreFactory<MessageReference> nodeStoreFactory;
 
+   private static PriorityLinkedList<MessageReference> createMessageReferences(int chunkSize) {
+      if (chunkSize > 0) {
+         return new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, () -> new ChunkedLinkedListImpl<>(chunkSize, MessageReferenceImpl.getSequenceComparator()));
+      }
+      return new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
+   }
+
    private void checkIDSupplier(NodeStoreFactory<MessageReference> nodeStoreFactory) {
       if (this.nodeStoreFactory == null) {
          this.nodeStoreFactory = nodeStoreFactory;
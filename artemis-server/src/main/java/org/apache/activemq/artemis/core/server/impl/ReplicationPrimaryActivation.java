@@ -226,7 +226,7 @@ public class ReplicationPrimaryActivation extends PrimaryActivation implements D
          final ReplicationFailureListener listener = new ReplicationFailureListener();
          remotingConnection.addCloseListener(listener);
          remotingConnection.addFailureListener(listener);
-         final ReplicationManager replicationManager = new ReplicationManager(activeMQServer, remotingConnection, clusterConnection.getCallTimeout(), policy.getInitialReplicationSyncTimeout(), activeMQServer.getIOExecutorFactory());
+         final ReplicationManager replicationManager = new ReplicationManager(activeMQServer, remotingConnection, clusterConnection.getCallTimeout(), policy.getInitialReplicationSyncTimeout(), activeMQServer.getIOExecutorFactory(), activeMQServer.getConfiguration().getReplicationBatchMaxSize(), activeMQServer.getConfiguration().getReplicationBatchTimeout());
          this.replicationManager = replicationManager;
          replicationManager.start();
          final Thread replicatingThread = new Thread(() -> replicate(replicationManager, clusterConnection, isFailBackRequest, backupTransport));
@@ -16,10 +16,12 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -88,6 +90,10 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // whether the large message bodies are transferred from their files to the wire without copying them, when the
+   // connection allows it
+   private static final boolean ZERO_COPY_LARGE_MESSAGES = Boolean.parseBoolean(System.getProperty("ARTEMIS_ZERO_COPY_LARGE_MESSAGES", "false"));
+
    private final long id;
 
    private final long sequentialID;
@@ -142,7 +148,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final StorageManager storageManager;
 
-   private final java.util.Deque<MessageReference> deliveringRefs = new ArrayDeque<>();
+   private final DeliveringReferences deliveringRefs = new DeliveringReferences();
 
    private SessionCallback callback;
 
@@ -394,7 +400,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (refsOnConsumer != null) {
             refs.addAll(refsOnConsumer);
          }
-         refs.addAll(deliveringRefs);
+         deliveringRefs.addTo(refs);
          return refs;
       }
    }
@@ -460,7 +466,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          if (!browseOnly) {
             if (!preAcknowledge) {
-               deliveringRefs.add(ref);
+               deliveringRefs.addLast(ref);
             }
 
             metrics.addMessage(ref.getMessage().getEncodeSize());
@@ -925,28 +931,29 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       try {
 
-         MessageReference ref;
-         ackedRefs = new ArrayList<>();
-         do {
-            synchronized (lock) {
-               ref = deliveringRefs.poll();
-            }
+         // all the acknowledged references are polled at once, without contending the lock with the deliveries for each
+         final List<MessageReference> refs = new ArrayList<>();
+         final boolean found;
+         synchronized (lock) {
+            found = deliveringRefs.pollUntil(messageID, refs);
+         }
 
+         ackedRefs = new ArrayList<>(refs.size());
+         for (MessageReference ref : refs) {
             if (logger.isTraceEnabled()) {
                logger.trace("ACKing ref {} on tx={}, consumer={}", ref, tx, this);
             }
 
-            if (ref == null) {
-               ActiveMQIllegalStateException ils = ActiveMQMessageBundle.BUNDLE.consumerNoReference(id, messageID, messageQueue.getName());
-               tx.markAsRollbackOnly(ils);
-               throw ils;
-            }
-
             ref.acknowledge(tx, this);
             ackedRefs.add(ref.getMessageID());
             metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
          }
-         while (ref.getMessageID() != messageID);
+
+         if (!found) {
+            ActiveMQIllegalStateException ils = ActiveMQMessageBundle.BUNDLE.consumerNoReference(id, messageID, messageQueue.getName());
+            tx.markAsRollbackOnly(ils);
+            throw ils;
+         }
 
          if (startedTransaction) {
             tx.commit();
@@ -1036,6 +1043,102 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    }
 
+   @Override
+   public synchronized void individualAcknowledge(Transaction tx, long[] messageIDs) throws Exception {
+      if (browseOnly) {
+         return;
+      }
+
+      if (!isSortedAndDistinct(messageIDs)) {
+         messageIDs = Arrays.stream(messageIDs).sorted().distinct().toArray();
+      }
+
+      boolean startedTransaction = false;
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("individualACK {} messages", messageIDs.length);
+      }
+
+      if (tx == null) {
+         logger.trace("individualACK starting new TX");
+
+         startedTransaction = true;
+         tx = new TransactionImpl(storageManager);
+      }
+
+      long missingMessageID = -1;
+      boolean missing = false;
+
+      try {
+         // all the references are removed at once, then acknowledged on the same transaction
+         final MessageReference[] refs = new MessageReference[messageIDs.length];
+         synchronized (lock) {
+            deliveringRefs.removeByIDs(messageIDs, refs);
+         }
+
+         for (int i = 0; i < refs.length; i++) {
+            final MessageReference ref = refs[i];
+
+            if (logger.isTraceEnabled()) {
+               logger.trace("ACKing ref {} on tx={}, consumer={}", ref, tx, this);
+            }
+
+            if (ref == null) {
+               if (!missing) {
+                  missing = true;
+                  missingMessageID = messageIDs[i];
+               }
+               continue;
+            }
+
+            if (RefCountMessage.isRefTraceEnabled()) {
+               RefCountMessage.deferredDebug(ref.getMessage(), "Individually acked on tx={}", tx.getID());
+            }
+
+            metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
+            ref.acknowledge(tx, this);
+         }
+
+         if (startedTransaction) {
+            // the acknowledged references are committed as separate individual acks would have been
+            tx.commit();
+         }
+      } catch (ActiveMQException e) {
+         if (startedTransaction) {
+            tx.rollback();
+         } else if (tx != null) {
+            tx.markAsRollbackOnly(e);
+         }
+         throw e;
+      } catch (Throwable e) {
+         ActiveMQServerLogger.LOGGER.errorAckingMessage((Exception) e);
+         ActiveMQIllegalStateException hqex = new ActiveMQIllegalStateException(e.getMessage());
+         if (startedTransaction) {
+            tx.rollback();
+         } else if (tx != null) {
+            tx.markAsRollbackOnly(hqex);
+         }
+         throw hqex;
+      }
+
+      if (missing) {
+         ActiveMQIllegalStateException ils = ActiveMQMessageBundle.BUNDLE.consumerNoReference(id, missingMessageID, messageQueue.getName());
+         if (!startedTransaction) {
+            tx.markAsRollbackOnly(ils);
+         }
+         throw ils;
+      }
+   }
+
+   private static boolean isSortedAndDistinct(final long[] messageIDs) {
+      for (int i = 1; i < messageIDs.length; i++) {
+         if (messageIDs[i] <= messageIDs[i - 1]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
    @Override
    public synchronized void individualCancel(final long messageID, boolean failed) throws Exception {
       if (browseOnly) {
@@ -1092,52 +1195,15 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       // Expiries can come in out of sequence with respect to delivery order
 
       synchronized (lock) {
-         // This is an optimization, if the reference is the first one, we just poll it.
-         // But first we need to make sure deliveringRefs isn't empty
-         if (deliveringRefs.isEmpty()) {
-            logger.trace("removeReferenceByID {} return null", messageID);
-            return null;
-         }
-
-         if (deliveringRefs.peek().getMessage().getMessageID() == messageID) {
-            MessageReference ref = deliveringRefs.poll();
-            if (logger.isTraceEnabled()) {
-               logger.trace("Remove Message By ID {} return ref {} after peek call", messageID, ref);
-            }
-            return ref;
-         }
-         //slow path in a separate method
-         MessageReference ref = removeDeliveringRefById(messageID);
+         // the scan starts from the oldest reference, which is usually the one acknowledged
+         MessageReference ref = deliveringRefs.removeByID(messageID);
          if (logger.isTraceEnabled()) {
-            logger.trace("Remove Message By ID {} return ref {} after scan call", messageID, ref);
+            logger.trace("Remove Message By ID {} return ref {}", messageID, ref);
          }
          return ref;
       }
    }
 
-   private MessageReference removeDeliveringRefById(long messageID) {
-      logger.trace("RemoveDeiveringRefByID {}", messageID);
-
-      Iterator<MessageReference> iter = deliveringRefs.iterator();
-
-      MessageReference ref = null;
-
-      while (iter.hasNext()) {
-         MessageReference theRef = iter.next();
-
-         if (theRef.getMessage().getMessageID() == messageID) {
-            iter.remove();
-
-            ref = theRef;
-
-            logger.trace("Returning {}", theRef);
-
-            break;
-         }
-      }
-      return ref;
-   }
-
    /**
     * To be used on tests only
     */
@@ -1280,6 +1346,9 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       private ByteBuffer chunkBytes;
 
+      // the file of the body, when transferred without copying it
+      private LargeBodyFile bodyFile;
+
       private CoreLargeMessageDeliverer(final MessageReference ref) {
          this.ref = ref;
 
@@ -1308,6 +1377,21 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          this.chunkBytes = null;
       }
 
+      private LargeBodyFile openBodyFile() {
+         final File file = context.getFile();
+         if (file == null || file.length() < sizePendingLargeMessage) {
+            return null;
+         }
+         try {
+            final LargeBodyFile bodyFile = LargeBodyFile.open(file);
+            logger.trace("{}::delivering the body of {} from {}", this, largeMessage, bodyFile);
+            return bodyFile;
+         } catch (IOException e) {
+            logger.debug("{}::cannot open {}, copying the body instead", this, file, e);
+            return null;
+         }
+      }
+
       public boolean deliver() throws Exception {
          pendingDelivery.countUp();
          try {
@@ -1334,6 +1418,10 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                context.open();
 
+               if (ZERO_COPY_LARGE_MESSAGES && callback.supportsLargeMessageFileRegion()) {
+                  bodyFile = openBodyFile();
+               }
+
                sentInitialPacket = true;
 
                int packetSize = callback.sendLargeMessage(ref, ServerConsumerImpl.this, context.getSize(), ref.getDeliveryCount());
@@ -1366,26 +1454,40 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               final boolean continues = positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage;
+
+               final int packetSize;
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               // the connection could have changed since the delivery started
+               if (bodyFile != null && callback.supportsLargeMessageFileRegion()) {
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, bodyFile.region(positionPendingLargeMessage, localChunkLen), continues);
+               } else {
+                  if (bodyFile != null) {
+                     // the previous chunks were sent without reading them
+                     context.position(positionPendingLargeMessage);
+                  }
 
-               final int readBytes = context.readInto(bodyBuffer);
+                  final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-               assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
+                  assert bodyBuffer.remaining() == localChunkLen;
 
+                  final int readBytes = context.readInto(bodyBuffer);
 
-               final byte[] body = bodyBuffer.array();
+                  assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
 
-               assert body.length == readBytes;
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+                  final byte[] body = bodyBuffer.array();
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+                  assert body.length == readBytes;
 
-               int chunkLen = body.length;
+                  //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+                  //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+                  //resendCache != null && packet.isRequiresConfirmations()
+
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, continues, false);
+               }
+
+               final int chunkLen = localChunkLen;
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
@@ -1428,6 +1530,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
                // On that case we just ignore this call
                return;
             }
+            if (bodyFile != null) {
+               // still open until its last region is transferred
+               bodyFile.release();
+               bodyFile = null;
+            }
             if (context != null) {
                context.close();
                context = null;
@@ -1359,6 +1359,20 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
 
    }
 
+   @Override
+   public void individualAcknowledge(final long consumerID, final long[] messageIDs) throws Exception {
+      ServerConsumer consumer = findConsumer(consumerID);
+
+      if (tx != null && tx.getState() == State.ROLLEDBACK) {
+         // same as a single individual ack on a rolled back TX
+         Transaction newTX = newTransaction();
+         consumer.individualAcknowledge(tx, messageIDs);
+         newTX.rollback();
+      } else {
+         consumer.individualAcknowledge(autoCommitAcks ? null : tx, messageIDs);
+      }
+   }
+
    @Override
    public void individualCancel(final long consumerID, final long messageID, boolean failed) throws Exception {
       ServerConsumer consumer = locateConsumer(consumerID);
@@ -34,6 +34,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 import java.util.regex.Pattern;
 
 import io.micrometer.core.instrument.Tag;
@@ -64,6 +67,7 @@ import org.apache.activemq.artemis.api.core.management.RemoteBrokerConnectionCon
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.journal.Journal;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -83,9 +87,11 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.paging.impl.PageReadCache;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
+import org.apache.activemq.artemis.core.replication.ReplicationManager;
 import org.apache.activemq.artemis.core.security.CheckType;
 import org.apache.activemq.artemis.core.security.Role;
 import org.apache.activemq.artemis.core.security.SecurityAuth;
@@ -259,10 +265,40 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_COUNT, messagingServer, metrics -> (double) getMessageJournalMetric(Journal::getCompactsCompleted), ActiveMQServerControl.JOURNAL_COMPACT_COUNT_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_FILES, messagingServer, metrics -> (double) getMessageJournalMetric(Journal::getCompactFilesProcessed), ActiveMQServerControl.JOURNAL_COMPACT_FILES_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_RECLAIMED_BYTES, messagingServer, metrics -> (double) getMessageJournalMetric(Journal::getCompactBytesReclaimed), ActiveMQServerControl.JOURNAL_COMPACT_RECLAIMED_BYTES_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.JOURNAL_COMPACT_PAUSE_TIME, messagingServer, metrics -> (double) TimeUnit.NANOSECONDS.toMillis(getMessageJournalMetric(Journal::getCompactPauseNanos)), ActiveMQServerControl.JOURNAL_COMPACT_PAUSE_TIME_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.PAGE_READ_CACHE_HITS, messagingServer, metrics -> (double) getPageReadCacheMetric(PageReadCache::getHits), ActiveMQServerControl.PAGE_READ_CACHE_HITS_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.PAGE_READ_CACHE_MISSES, messagingServer, metrics -> (double) getPageReadCacheMetric(PageReadCache::getMisses), ActiveMQServerControl.PAGE_READ_CACHE_MISSES_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.PAGE_READ_CACHE_EVICTIONS, messagingServer, metrics -> (double) getPageReadCacheMetric(PageReadCache::getEvictions), ActiveMQServerControl.PAGE_READ_CACHE_EVICTIONS_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.PAGE_READ_CACHE_SIZE, messagingServer, metrics -> (double) getPageReadCacheMetric(PageReadCache::getSize), ActiveMQServerControl.PAGE_READ_CACHE_SIZE_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.REPLICATION_BATCH_SIZE, messagingServer, metrics -> getReplicationMetric(ReplicationManager::getAverageBatchSize), ActiveMQServerControl.REPLICATION_BATCH_SIZE_DESCRIPTION, Collections.emptyList());
+            builder.build(BrokerMetricNames.REPLICATION_LAG, messagingServer, metrics -> getReplicationMetric(ReplicationManager::getPendingRecords), ActiveMQServerControl.REPLICATION_LAG_DESCRIPTION, Collections.emptyList());
          });
       }
    }
 
+   private long getMessageJournalMetric(ToLongFunction<Journal> metric) {
+      // the storage manager may not be set yet, and it has no journal when persistence is disabled
+      final StorageManager storageManager = this.storageManager;
+      final Journal journal = storageManager == null ? null : storageManager.getMessageJournal();
+      return journal == null ? 0 : metric.applyAsLong(journal);
+   }
+
+   private long getPageReadCacheMetric(ToLongFunction<PageReadCache> metric) {
+      // the page read cache is disabled by default
+      final PagingManager pagingManager = this.pagingManager;
+      final PageReadCache pageReadCache = pagingManager == null ? null : pagingManager.getPageReadCache();
+      return pageReadCache == null ? 0 : metric.applyAsLong(pageReadCache);
+   }
+
+   private double getReplicationMetric(ToDoubleFunction<ReplicationManager> metric) {
+      // just a primary replicating to a backup has a replication manager
+      final ReplicationManager replicationManager = messagingServer.getReplicationManager();
+      return replicationManager == null ? 0 : metric.applyAsDouble(replicationManager);
+   }
+
    @Override
    public void unregisterServer() throws Exception {
       unregisterFromJMX(objectNameBuilder.getActiveMQServerObjectName());
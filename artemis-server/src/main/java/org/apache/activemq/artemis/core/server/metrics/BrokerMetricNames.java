@@ -29,4 +29,14 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String JOURNAL_COMPACT_COUNT = "journal.compact.count";
+   public static final String JOURNAL_COMPACT_FILES = "journal.compact.files";
+   public static final String JOURNAL_COMPACT_RECLAIMED_BYTES = "journal.compact.reclaimed.bytes";
+   public static final String JOURNAL_COMPACT_PAUSE_TIME = "journal.compact.pause.time";
+   public static final String PAGE_READ_CACHE_HITS = "page.read.cache.hits";
+   public static final String PAGE_READ_CACHE_MISSES = "page.read.cache.misses";
+   public static final String PAGE_READ_CACHE_EVICTIONS = "page.read.cache.evictions";
+   public static final String PAGE_READ_CACHE_SIZE = "page.read.cache.size";
+   public static final String REPLICATION_BATCH_SIZE = "replication.batch.size";
+   public static final String REPLICATION_LAG = "replication.lag";
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.spi.core.protocol;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
@@ -73,6 +74,24 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * {@return {@code true} if {@link #sendLargeMessageContinuation(ServerConsumer, FileRegion, boolean)} can be used}
+    */
+   default boolean supportsLargeMessageFileRegion() {
+      return false;
+   }
+
+   /**
+    * Sends a large message continuation as {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)}
+    * would, transferring its body from a file region without copying it into memory.
+    *
+    * @param body the body of the continuation, released once transferred
+    * @return the size of the sent packet
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumerID, FileRegion body, boolean continues) {
+      throw new UnsupportedOperationException();
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, String errorMessage);
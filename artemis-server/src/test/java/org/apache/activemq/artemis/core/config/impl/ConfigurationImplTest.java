@@ -179,6 +179,11 @@ public class ConfigurationImplTest extends AbstractConfigurationTestBase {
       assertEquals(conf.getJournalLocation(), conf.getNodeManagerLockLocation());
       assertNull(conf.getJournalDeviceBlockSize());
       assertEquals(ActiveMQDefaultConfiguration.isDefaultReadWholePage(), conf.isReadWholePage());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageReadCacheMaxSize(), conf.getPageReadCacheMaxSize());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPagePrefetchMaxSize(), conf.getPagePrefetchMaxSize());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationBatchMaxSize(), conf.getReplicationBatchMaxSize());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationBatchTimeout(), conf.getReplicationBatchTimeout());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationSyncThreads(), conf.getReplicationSyncThreads());
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), conf.getPageSyncTimeout());
       assertEquals(ActiveMQDefaultConfiguration.getDefaultTemporaryQueueNamespace(), conf.getTemporaryQueueNamespace());
       assertEquals(ActiveMQDefaultConfiguration.getDefaultUuidNamespace(), conf.getUuidNamespace());
@@ -105,6 +105,15 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles(), conf.getJournalCompactMinFiles());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage(), conf.getJournalCompactPercentage());
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalPartitions(), conf.getJournalPartitions());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLoadThreads(), conf.getJournalLoadThreads());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationBatchMaxSize(), conf.getReplicationBatchMaxSize());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationBatchTimeout(), conf.getReplicationBatchTimeout());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationSyncThreads(), conf.getReplicationSyncThreads());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLockAcquisitionTimeout(), conf.getJournalLockAcquisitionTimeout());
 
@@ -222,6 +222,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
 
       assertEquals(17, configInstance.getPageMaxConcurrentIO(), "max concurrent io");
       assertTrue(configInstance.isReadWholePage());
+      assertEquals(64 * 1024 * 1024, configInstance.getPageReadCacheMaxSize());
+      assertEquals(32 * 1024 * 1024, configInstance.getPagePrefetchMaxSize());
       assertEquals("somedir2", configInstance.getJournalDirectory());
       assertEquals("history", configInstance.getJournalRetentionDirectory());
       assertEquals(10L * 1024L * 1024L * 1024L, configInstance.getJournalRetentionMaxBytes());
@@ -232,6 +234,11 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(1000, configInstance.getJournalBufferTimeout_NIO());
       assertEquals(56546, configInstance.getJournalMaxIO_NIO());
       assertEquals(9876, configInstance.getJournalFileOpenTimeout());
+      assertEquals(3, configInstance.getJournalPartitions());
+      assertEquals(4, configInstance.getJournalLoadThreads());
+      assertEquals(64 * 1024, configInstance.getReplicationBatchMaxSize());
+      assertEquals(50000, configInstance.getReplicationBatchTimeout());
+      assertEquals(4, configInstance.getReplicationSyncThreads());
 
       assertFalse(configInstance.isJournalSyncTransactional());
       assertTrue(configInstance.isJournalSyncNonTransactional());
@@ -247,6 +254,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(123456, configInstance.getMqttSessionScanInterval());
       assertEquals(567890, configInstance.getMqttSessionStatePersistenceTimeout());
       assertFalse(configInstance.isMqttSubscriptionPersistenceEnabled());
+      assertTrue(configInstance.isMqttRetainedMessageStoreEnabled());
       assertEquals(98765, configInstance.getConnectionTtlCheckInterval());
       assertEquals(1234567, configInstance.getConfigurationFileRefreshPeriod());
       assertEquals("UUID", configInstance.getTemporaryQueueNamespace());
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DuplicateIDTableTest {
+
+   @Test
+   public void testFifoEviction() {
+      final DuplicateIDTable table = new DuplicateIDTable(3, true);
+      for (int i = 0; i < 5; i++) {
+         table.add(new byte[]{(byte) i}, i);
+      }
+      assertEquals(-1, table.indexOf(new byte[]{0}));
+      assertEquals(-1, table.indexOf(new byte[]{1}));
+      for (int i = 2; i < 5; i++) {
+         final int slot = table.indexOf(new byte[]{(byte) i});
+         assertEquals(i % 3, slot);
+         assertEquals(i, table.getRecordID(slot));
+      }
+      // from the oldest to the newest
+      assertEquals(3, table.usedSlots());
+      for (int i = 0; i < 3; i++) {
+         assertArrayEquals(new byte[]{(byte) (i + 2)}, table.getID(table.slotAt(i)));
+      }
+   }
+
+   @Test
+   public void testRemove() {
+      final DuplicateIDTable table = new DuplicateIDTable(4, false);
+      table.add(new byte[]{1}, DuplicateIDTable.NO_RECORD_ID);
+      table.add(new byte[]{2}, DuplicateIDTable.NO_RECORD_ID);
+      table.remove(table.indexOf(new byte[]{1}));
+      assertEquals(-1, table.indexOf(new byte[]{1}));
+      assertEquals(1, table.indexOf(new byte[]{2}));
+      assertNull(table.getID(0));
+      assertEquals(DuplicateIDTable.NO_RECORD_ID, table.getRecordID(1));
+   }
+
+   @Test
+   public void testRandomOperationsMatchModel() {
+      final SplittableRandom random = new SplittableRandom(0);
+      for (int capacity : new int[]{1, 2, 7, 64, 1000}) {
+         final DuplicateIDTable table = new DuplicateIDTable(capacity, true);
+         // the IDs held by each slot and the slot of each ID, as the table should
+         final ByteBuffer[] slots = new ByteBuffer[capacity];
+         final Map<ByteBuffer, Integer> model = new HashMap<>();
+         int nextSlot = 0;
+         // a small range of IDs makes them come back after being evicted or removed
+         final int range = capacity * 3;
+         for (int op = 0; op < 50_000; op++) {
+            final byte[] id = ByteBuffer.allocate(Integer.BYTES).putInt(random.nextInt(range)).array();
+            final ByteBuffer key = ByteBuffer.wrap(id);
+            final Integer slot = model.get(key);
+            assertEquals(slot == null ? -1 : slot.intValue(), table.indexOf(id));
+            if (slot != null) {
+               if (random.nextBoolean()) {
+                  table.remove(slot);
+                  model.remove(key);
+                  slots[slot] = null;
+               }
+            } else {
+               if (slots[nextSlot] != null) {
+                  model.remove(slots[nextSlot]);
+               }
+               assertEquals(nextSlot, table.nextSlot());
+               table.add(id, op);
+               slots[nextSlot] = key;
+               model.put(key, nextSlot);
+               nextSlot = (nextSlot + 1) % capacity;
+            }
+         }
+         for (Map.Entry<ByteBuffer, Integer> entry : model.entrySet()) {
+            final int slot = table.indexOf(entry.getKey().array());
+            assertEquals(entry.getValue().intValue(), slot);
+            assertArrayEquals(entry.getKey().array(), table.getID(slot));
+         }
+         table.clear();
+         assertEquals(0, table.usedSlots());
+         for (ByteBuffer key : model.keySet()) {
+            assertEquals(-1, table.indexOf(key.array()));
+         }
+      }
+   }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeliveringReferencesTest {
+
+   private static MessageReference newReference(long messageID) {
+      return new MessageReferenceImpl(new CoreMessage().setMessageID(messageID), null);
+   }
+
+   @Test
+   public void testPollUntil() {
+      DeliveringReferences refs = new DeliveringReferences();
+      List<MessageReference> delivered = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         MessageReference ref = newReference(i);
+         delivered.add(ref);
+         refs.addLast(ref);
+      }
+      assertSame(delivered.get(5), refs.removeByID(5));
+
+      List<MessageReference> polled = new ArrayList<>();
+      assertTrue(refs.pollUntil(6, polled));
+      assertEquals(List.of(delivered.get(0), delivered.get(1), delivered.get(2), delivered.get(3), delivered.get(4), delivered.get(6)), polled);
+      assertEquals(3, refs.size());
+
+      polled.clear();
+      assertFalse(refs.pollUntil(100, polled));
+      assertEquals(List.of(delivered.get(7), delivered.get(8), delivered.get(9)), polled);
+      assertTrue(refs.isEmpty());
+      assertNull(refs.poll());
+   }
+
+   @Test
+   public void testRandomOperationsMatchDeque() {
+      SplittableRandom random = new SplittableRandom(0);
+      DeliveringReferences refs = new DeliveringReferences();
+      Deque<MessageReference> model = new ArrayDeque<>();
+      long nextID = 0;
+      for (int op = 0; op < 100_000; op++) {
+         switch (random.nextInt(7)) {
+            case 0, 1 -> {
+               MessageReference ref = newReference(nextID++);
+               refs.addLast(ref);
+               model.addLast(ref);
+            }
+            case 2 -> {
+               MessageReference ref = newReference(nextID++);
+               refs.addFirst(ref);
+               model.addFirst(ref);
+            }
+            case 3 -> assertSame(model.poll(), refs.poll());
+            case 4 -> {
+               // delivering or already removed IDs, acknowledged out of order
+               long messageID = nextID == 0 ? 0 : random.nextLong(nextID + 1);
+               MessageReference expected = null;
+               for (Iterator<MessageReference> iterator = model.iterator(); iterator.hasNext(); ) {
+                  MessageReference ref = iterator.next();
+                  if (ref.getMessageID() == messageID) {
+                     iterator.remove();
+                     expected = ref;
+                     break;
+                  }
+               }
+               assertSame(expected, refs.removeByID(messageID));
+            }
+            case 5 -> {
+               // a batch of delivering or already removed IDs
+               long[] messageIDs = random.longs(random.nextInt(1, 8), 0, nextID + 1).sorted().distinct().toArray();
+               MessageReference[] expected = new MessageReference[messageIDs.length];
+               int expectedCount = 0;
+               for (Iterator<MessageReference> iterator = model.iterator(); iterator.hasNext(); ) {
+                  MessageReference ref = iterator.next();
+                  int found = Arrays.binarySearch(messageIDs, ref.getMessageID());
+                  if (found >= 0) {
+                     iterator.remove();
+                     expected[found] = ref;
+                     expectedCount++;
+                  }
+               }
+               MessageReference[] removed = new MessageReference[messageIDs.length];
+               assertEquals(expectedCount, refs.removeByIDs(messageIDs, removed));
+               assertArrayEquals(expected, removed);
+            }
+            default -> {
+               // remove a few references through the iterator
+               Iterator<MessageReference> expected = model.iterator();
+               Iterator<MessageReference> actual = refs.iterator();
+               int skip = random.nextInt(4);
+               while (expected.hasNext()) {
+                  assertTrue(actual.hasNext());
+                  assertSame(expected.next(), actual.next());
+                  if (skip-- == 0) {
+                     expected.remove();
+                     actual.remove();
+                     break;
+                  }
+               }
+            }
+         }
+         assertEquals(model.size(), refs.size());
+         assertSame(model.peek(), refs.peek());
+      }
+      List<MessageReference> remaining = new ArrayList<>();
+      refs.addTo(remaining);
+      assertEquals(new ArrayList<>(model), remaining);
+   }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+
+import io.netty.channel.FileRegion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LargeBodyFileTest {
+
+   @TempDir
+   public File temporaryFolder;
+
+   private static void transfer(FileRegion region, WritableByteChannel target) throws Exception {
+      while (region.transferred() < region.count()) {
+         region.transferTo(target, region.transferred());
+      }
+   }
+
+   @Test
+   public void testRegionsOutliveTheDeliverer() throws Exception {
+      byte[] body = new byte[10_000];
+      for (int i = 0; i < body.length; i++) {
+         body[i] = (byte) (i % 251);
+      }
+      File file = new File(temporaryFolder, "body.msg");
+      Files.write(file.toPath(), body);
+
+      LargeBodyFile bodyFile = LargeBodyFile.open(file);
+      FileRegion first = bodyFile.region(0, 4000);
+      FileRegion second = bodyFile.region(4000, 6000);
+      assertEquals(3, bodyFile.refCnt());
+
+      // the deliverer finishes before the regions are transferred, and the file is deleted once acknowledged
+      bodyFile.release();
+      assertTrue(file.delete());
+
+      ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+      WritableByteChannel target = Channels.newChannel(transferred);
+      transfer(first, target);
+      first.release();
+      assertEquals(1, bodyFile.refCnt());
+      transfer(second, target);
+      second.release();
+      assertEquals(0, bodyFile.refCnt());
+
+      assertArrayEquals(body, transferred.toByteArray());
+   }
+}
@@ -2430,6 +2430,49 @@ public abstract class JournalImplTestUnit extends JournalImplTestBase {
       loadAndCheck();
    }
 
+   @Test
+   public void testParallelLoad() throws Exception {
+      setup(10, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+      // spread the records across many files, with updates, deletes and transactions crossing them
+      for (long i = 1; i <= 200; i++) {
+         add(i);
+         if (i % 3 == 0) {
+            update(i - 1);
+         }
+         if (i % 5 == 0) {
+            delete(i - 2);
+         }
+      }
+      addTx(1000, 1001, 1002, 1003);
+      updateTx(1000, 1);
+      deleteTx(1000, 4);
+      commit(1000);
+      addTx(2000, 2001, 2002);
+      rollback(2000);
+      addTx(3000, 3001, 3002);
+      deleteTx(3000, 7);
+      prepare(3000, new SimpleEncoding(10, (byte) 'p'));
+      assertTrue(journal.getDataFilesCount() > 4, "the test needs several data files");
+      stopJournal(false);
+
+      createJournal();
+      ((JournalImpl) journal).setLoadThreads(4);
+      startJournal();
+      loadAndCheck();
+      add(201, 202);
+      delete(1);
+      stopJournal(false);
+
+      createJournal();
+      ((JournalImpl) journal).setLoadThreads(4);
+      startJournal();
+      loadAndCheck();
+      stopJournal();
+   }
+
    @Test
    public void testFillFileExactly() throws Exception {
       recordLength = 500;
@@ -31,7 +31,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.io.SequentialFileFactory;
-import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
 import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
 
@@ -571,7 +571,7 @@ public class FakeSequentialFileFactory implements SequentialFileFactory {
       }
 
       @Override
-      public void setTimedBuffer(final TimedBuffer buffer) {
+      public void setTimedBuffer(final AbstractTimedBuffer buffer) {
       }
 
       @Override
@@ -580,7 +580,8 @@ public class FakeSequentialFileFactory implements SequentialFileFactory {
 
       @Override
       public File getJavaFile() {
-         throw new UnsupportedOperationException();
+         // like the database files, fake files aren't on the file system
+         return null;
       }
    }
 
@@ -264,6 +264,14 @@ public class FakePostOffice implements PostOffice {
       return new MessageReferenceImpl();
    }
 
+   @Override
+   public MessageReference reload(final Message message,
+                                   final Queue queue,
+                                   final Transaction tx,
+                                   final long scheduledDeliveryTime) throws Exception {
+      return reload(message, queue, tx);
+   }
+
    @Override
    public RoutingStatus route(Message message,
                               Transaction tx,
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.buffer.ByteBuf;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -46,6 +47,7 @@ import org.apache.activemq.artemis.core.client.impl.ClientSessionInternal;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.persistence.Persister;
 import org.apache.activemq.artemis.core.protocol.core.impl.ActiveMQConsumerContext;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
@@ -275,6 +277,66 @@ public class AcknowledgeTest extends ActiveMQTestBase {
       session.close();
    }
 
+   @Test
+   public void testIndividualAckBatch() throws Exception {
+      ActiveMQServer server = createServer(false);
+      server.start();
+      AtomicInteger batches = new AtomicInteger();
+      AtomicInteger singles = new AtomicInteger();
+      ServerLocator locator = createInVMNonHALocator().setIndividualAckBatchSize(1024 * 1024).addOutgoingInterceptor((packet, connection) -> {
+         if (packet.getType() == PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE_BATCH) {
+            batches.incrementAndGet();
+         } else if (packet.getType() == PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE) {
+            singles.incrementAndGet();
+         }
+         return true;
+      });
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession sendSession = cf.createSession(false, true, true);
+      ClientSession session = cf.createSession(false, true, false);
+      sendSession.createQueue(QueueConfiguration.of(queueA).setAddress(addressA).setDurable(false));
+      ClientProducer cp = sendSession.createProducer(addressA);
+      ClientConsumer cc = session.createConsumer(queueA);
+      int numMessages = 100;
+      for (int i = 0; i < numMessages; i++) {
+         cp.send(sendSession.createMessage(false));
+      }
+      session.start();
+      Queue q = (Queue) server.getPostOffice().getBinding(queueA).getBindable();
+      ClientMessage cm = null;
+      for (int i = 0; i < numMessages; i++) {
+         cm = cc.receive(5000);
+         assertNotNull(cm);
+         if (i % 2 == 1) {
+            cm.individualAcknowledge();
+         }
+      }
+      // nothing sent until the batch is flushed
+      assertEquals(numMessages, q.getDeliveringCount());
+      session.commit();
+      assertEquals(1, batches.get());
+      assertEquals(0, singles.get());
+      assertEquals(numMessages / 2, q.getDeliveringCount());
+      assertEquals(numMessages / 2, q.getMessageCount());
+
+      // the pending individual acks are sent before the cumulative ack of the last message
+      cm.individualAcknowledge();
+      session.rollback();
+      for (int i = 0; i < numMessages / 2; i++) {
+         cm = cc.receive(5000);
+         assertNotNull(cm);
+         if (i == 10) {
+            cm.individualAcknowledge();
+         }
+      }
+      cm.acknowledge();
+      session.commit();
+      assertEquals(0, q.getDeliveringCount());
+      assertEquals(0, q.getMessageCount());
+      sendSession.close();
+      session.close();
+   }
+
    class FakeConsumerWithID implements ClientConsumer {
 
       final long id;
@@ -1459,4 +1459,77 @@ public class ConsumerWindowSizeTest extends ActiveMQTestBase {
       assertEquals(defaultConsumerWindowSize / 2, consumer.getClientWindowSize());
       assertEquals(defaultConsumerWindowSize / 2, consumer2.getClientWindowSize());
    }
+
+   @Test
+   public void testAdaptiveConsumerWindowSizeGrowsForFastConsumer() throws Exception {
+      ActiveMQServer messagingService = createServer(false, isNetty());
+
+      messagingService.start();
+      messagingService.createQueue(QueueConfiguration.of(queueA).setRoutingType(RoutingType.ANYCAST));
+
+      locator.setConsumerWindowSize(1024).setConsumerMaxWindowSize(1024 * 1024);
+
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(queueA);
+
+      for (int i = 0; i < 20000; i++) {
+         producer.send(createTextMessage(session, "m" + i));
+      }
+
+      ClientConsumerImpl consumer = (ClientConsumerImpl) session.createConsumer(queueA);
+
+      session.start();
+
+      for (int i = 0; i < 20000; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+
+      assertNull(consumer.receiveImmediate());
+
+      assertTrue(consumer.getWindowSize() > 1024, "window size " + consumer.getWindowSize());
+      assertTrue(consumer.getWindowSize() <= 1024 * 1024, "window size " + consumer.getWindowSize());
+   }
+
+   @Test
+   public void testAdaptiveConsumerWindowSizeShrinksForSlowConsumer() throws Exception {
+      ActiveMQServer messagingService = createServer(false, isNetty());
+
+      messagingService.start();
+      messagingService.createQueue(QueueConfiguration.of(queueA).setRoutingType(RoutingType.ANYCAST));
+
+      locator.setConsumerWindowSize(100 * 1024).setConsumerMinWindowSize(1024).setConsumerMaxWindowSize(1024 * 1024);
+
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(queueA);
+
+      for (int i = 0; i < 100; i++) {
+         producer.send(createTextMessage(session, "m" + i));
+      }
+
+      ClientConsumerImpl consumer = (ClientConsumerImpl) session.createConsumer(queueA);
+
+      session.start();
+
+      for (int i = 0; i < 20; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+         Thread.sleep(50);
+      }
+
+      assertTrue(consumer.getWindowSize() < 100 * 1024, "window size " + consumer.getWindowSize());
+      assertTrue(consumer.getWindowSize() >= 1024, "window size " + consumer.getWindowSize());
+
+      for (int i = 20; i < 100; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+
+      assertNull(consumer.receiveImmediate());
+   }
 }
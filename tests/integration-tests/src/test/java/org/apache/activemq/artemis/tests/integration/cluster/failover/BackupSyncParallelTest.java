@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.cluster.failover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.core.replication.ReplicationManager;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the synchronization tests sending several files to the backup at the same time.
+ */
+public class BackupSyncParallelTest extends BackupSyncLargeMessageTest {
+
+   @Override
+   protected void createReplicatedConfigs() throws Exception {
+      super.createReplicatedConfigs();
+      primaryConfig.setReplicationSyncThreads(4);
+   }
+
+   @Test
+   public void testSyncProgress() throws Exception {
+      setNumberOfMessages(50);
+      createProducerSendSomeMessages();
+      startBackupFinishSyncing();
+
+      ReplicationManager replicationManager = primaryServer.getServer().getReplicationManager();
+      assertFalse(replicationManager.isSynchronizing());
+      // the journal files and a file per large message
+      assertTrue(replicationManager.getSyncTotalFiles() > getNumberOfMessages());
+      assertEquals(replicationManager.getSyncTotalFiles(), replicationManager.getSyncFiles());
+      assertEquals(replicationManager.getSyncTotalBytes(), replicationManager.getSyncBytes());
+      assertEquals(0, replicationManager.getSyncEstimatedTimeRemaining());
+
+      finishSyncAndFailover();
+      receiveMsgsInRange(0, getNumberOfMessages());
+      assertNoMoreMessages();
+   }
+}
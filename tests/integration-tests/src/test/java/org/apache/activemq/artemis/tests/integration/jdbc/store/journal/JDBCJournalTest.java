@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -205,6 +206,44 @@ public class JDBCJournalTest extends ActiveMQTestBase {
       assertEquals(0, done.getCount());
    }
 
+   @TestTemplate
+   public void testConcurrentAppends() throws Exception {
+      final int noThreads = 8;
+      final int noTx = 50;
+      final ExecutorService appenders = Executors.newFixedThreadPool(noThreads);
+      runAfter(appenders::shutdownNow);
+      final List<Future<?>> futures = new ArrayList<>();
+
+      for (int t = 0; t < noThreads; t++) {
+         final long base = (t + 1) * 100_000L;
+         futures.add(appenders.submit(() -> {
+            for (int i = 0; i < noTx; i++) {
+               final long txId = base + i * 10;
+               // the record of each transaction is deleted by the next one
+               journal.appendAddRecordTransactional(txId, txId + 1, (byte) 1, new byte[10]);
+               if (i > 0) {
+                  journal.appendDeleteRecordTransactional(txId, txId - 9);
+               }
+               journal.appendCommitRecord(txId, true);
+               journal.appendAddRecord(txId + 2, (byte) 1, new byte[10], true);
+            }
+            return null;
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get(60, TimeUnit.SECONDS);
+      }
+      journal.sync();
+
+      List<RecordInfo> recordInfos = new ArrayList<>();
+      List<PreparedTransactionInfo> txInfos = new ArrayList<>();
+      journal.load(recordInfos, txInfos, null);
+
+      // one transactional record left and the plain records of each thread
+      assertEquals(noThreads * (1 + noTx), recordInfos.size());
+      assertEquals(0, txInfos.size());
+   }
+
    @TestTemplate
    public void testReadJournal() throws Exception {
       int noRecords = 100;
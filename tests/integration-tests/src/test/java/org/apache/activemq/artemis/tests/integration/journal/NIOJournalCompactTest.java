@@ -47,6 +47,7 @@ import org.apache.activemq.artemis.core.journal.impl.JournalCompactor;
 import org.apache.activemq.artemis.core.journal.impl.JournalFile;
 import org.apache.activemq.artemis.core.journal.impl.JournalFileImpl;
 import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.JournalRecord;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
@@ -59,7 +60,9 @@ import org.apache.activemq.artemis.utils.IDGenerator;
 import org.apache.activemq.artemis.utils.SimpleIDGenerator;
 import org.apache.activemq.artemis.utils.TokenBucketLimiter;
 import org.apache.activemq.artemis.utils.TokenBucketLimiterImpl;
+import org.apache.activemq.artemis.utils.Wait;
 import org.apache.activemq.artemis.utils.actors.OrderedExecutorFactory;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.apache.activemq.artemis.utils.critical.EmptyCriticalAnalyzer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -1450,6 +1453,151 @@ public class NIOJournalCompactTest extends JournalImplTestBase {
    }
 
 
+   @Test
+   public void testCompactMetrics() throws Exception {
+      setup(2, 60 * 1024, false);
+
+      createJournal();
+      startJournal();
+      load();
+
+      assertEquals(0, journal.getCompactsCompleted());
+
+      List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+         long id = idGenerator.generateID();
+         ids.add(id);
+         add(id);
+         if (i % 10 == 0) {
+            journal.forceMoveNextFile();
+         }
+      }
+
+      // updates sent while compacting are replayed once the compacted files are in place
+      startCompact();
+      for (int i = 0; i < ids.size(); i++) {
+         if (i % 10 == 0) {
+            update(ids.get(i));
+         } else {
+            delete(ids.get(i));
+         }
+      }
+      finishCompact();
+
+      int filesBefore = journal.getDataFilesCount();
+
+      journal.testCompact();
+
+      assertEquals(2, journal.getCompactsCompleted());
+      assertTrue(journal.getCompactFilesProcessed() >= filesBefore);
+      assertTrue(journal.getCompactBytesReclaimed() > 0);
+      assertTrue(journal.getCompactPauseNanos() > 0);
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
+   @Test
+   public void testCompactSparseFiles() throws Exception {
+      setup(2, 10 * 1024, false);
+
+      // compacting kicks in with at least 2 files and 30% of live data
+      journal = new JournalImpl(fileSize, minFiles, poolSize, 2, 30, fileFactory, filePrefix, fileExtension, maxAIO);
+      journal.setAutoReclaim(false);
+      addActiveMQComponent(journal);
+      startJournal();
+      load();
+
+      // a few files full of live data, keeping the journal above the compact percentage
+      for (int i = 0; i < 2; i++) {
+         for (int j = 0; j < 9; j++) {
+            add(idGenerator.generateID());
+         }
+         journal.forceMoveNextFile();
+      }
+
+      // files holding a single live record each
+      for (int i = 0; i < 6; i++) {
+         long[] ids = new long[9];
+         for (int j = 0; j < ids.length; j++) {
+            ids[j] = idGenerator.generateID();
+            add(ids[j]);
+         }
+         journal.forceMoveNextFile();
+         for (int j = 1; j < ids.length; j++) {
+            delete(ids[j]);
+         }
+      }
+
+      assertEquals(0, journal.getCompactsCompleted());
+
+      // filling up the current file moves to the next one, scheduling the reclaim and compacting checks
+      journal.setAutoReclaim(true);
+      for (int i = 0; i < 10; i++) {
+         add(idGenerator.generateID());
+      }
+
+      Wait.assertEquals(1L, journal::getCompactsCompleted, 5000, 10);
+      assertTrue(journal.getCompactBytesReclaimed() > 0);
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
+   @Test
+   public void testCompactInstallsFewRecordsAddedWhileCompacting() throws Exception {
+      testCompactInstallsRecordsAddedWhileCompacting(10);
+   }
+
+   @Test
+   public void testCompactInstallsManyRecordsAddedWhileCompacting() throws Exception {
+      testCompactInstallsRecordsAddedWhileCompacting(NUMBER_OF_RECORDS * 2);
+   }
+
+   private void testCompactInstallsRecordsAddedWhileCompacting(int addedWhileCompacting) throws Exception {
+      setup(2, 60 * 1024, false);
+
+      createJournal();
+      startJournal();
+      load();
+
+      List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+         long id = idGenerator.generateID();
+         ids.add(id);
+         add(id);
+         if (i % 10 == 0) {
+            journal.forceMoveNextFile();
+         }
+      }
+
+      startCompact();
+      for (int i = 0; i < addedWhileCompacting; i++) {
+         long id = idGenerator.generateID();
+         ids.add(id);
+         add(id);
+      }
+      // a compacted record deleted and another updated while compacting
+      delete(ids.remove(0));
+      update(ids.get(0));
+      finishCompact();
+
+      ConcurrentLongHashMap<JournalRecord> records = ((JournalImpl) journal).getRecords();
+      assertEquals(ids.size(), records.size());
+      for (long id : ids) {
+         assertNotNull(records.get(id), "record " + id);
+      }
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
    @Test
    public void testReconfigureJournalSize() throws Exception {
       setup(2, 30 * 4096, false);
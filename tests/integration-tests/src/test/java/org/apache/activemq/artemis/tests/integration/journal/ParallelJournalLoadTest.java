@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelJournalLoadTest extends ActiveMQTestBase {
+
+   private static final int LOAD_THREADS = 4;
+
+   private static final int QUEUES = 5;
+
+   private static final int MESSAGES = 200;
+
+   @Test
+   public void testServerWithParallelLoad() throws Exception {
+      ActiveMQServer server = createServer(true, createDefaultInVMConfig().setJournalFileSize(64 * 1024).setJournalLoadThreads(LOAD_THREADS));
+      server.start();
+      assertEquals(LOAD_THREADS, ((JournalImpl) server.getStorageManager().getMessageJournal()).getLoadThreads());
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         for (int q = 0; q < QUEUES; q++) {
+            session.createQueue(QueueConfiguration.of(getName() + q).setRoutingType(RoutingType.ANYCAST));
+         }
+         for (int q = 0; q < QUEUES; q++) {
+            ClientProducer producer = session.createProducer(getName() + q);
+            for (int i = 0; i < MESSAGES; i++) {
+               ClientMessage message = session.createMessage(true);
+               message.putIntProperty("i", i);
+               message.getBodyBuffer().writeBytes(new byte[512]);
+               producer.send(message);
+            }
+            session.commit();
+         }
+         // acknowledge some of the messages, so the deletes are spread across the files too
+         session.start();
+         ClientConsumer consumer = session.createConsumer(getName() + 0);
+         for (int i = 0; i < MESSAGES / 2; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            message.acknowledge();
+         }
+         session.commit();
+      }
+
+      assertTrue(((JournalImpl) server.getStorageManager().getMessageJournal()).getDataFilesCount() > 2, "the test needs several data files");
+
+      server.stop();
+      server.start();
+
+      Map<String, Long> loadTimes = server.getStorageManager().getLoadTimes();
+      assertTrue(loadTimes.containsKey("messageJournal"), loadTimes.toString());
+      assertTrue(loadTimes.containsKey("queueMessages"), loadTimes.toString());
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         session.start();
+         for (int q = 0; q < QUEUES; q++) {
+            ClientConsumer consumer = session.createConsumer(getName() + q);
+            for (int i = q == 0 ? MESSAGES / 2 : 0; i < MESSAGES; i++) {
+               ClientMessage message = consumer.receive(5000);
+               assertNotNull(message);
+               assertEquals(i, message.getIntProperty("i"));
+               message.acknowledge();
+            }
+            assertNull(consumer.receiveImmediate());
+            consumer.close();
+         }
+         session.commit();
+      }
+   }
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.journal;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.ha.ReplicatedPolicyConfiguration;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.core.journal.impl.PartitionedJournal;
+import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
+import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedJournalTest extends ActiveMQTestBase {
+
+   private static final int PARTITIONS = 4;
+
+   private static final byte RECORD_TYPE = 1;
+
+   private PartitionedJournal journal;
+
+   @Override
+   @AfterEach
+   public void tearDown() throws Exception {
+      if (journal != null && journal.isStarted()) {
+         journal.stop();
+      }
+      super.tearDown();
+   }
+
+   private PartitionedJournal createJournal(int partitions) throws Exception {
+      JournalImpl[] journals = new JournalImpl[partitions];
+      for (int i = 0; i < partitions; i++) {
+         File directory = new File(getTestDir(), "partition-" + i);
+         directory.mkdirs();
+         journals[i] = new JournalImpl(100 * 1024, 2, 2, 0, 0, new NIOSequentialFileFactory(directory, true, 1), "activemq-data", "amq", 1);
+      }
+      return new PartitionedJournal(journals);
+   }
+
+   private List<PreparedTransactionInfo> restart(List<RecordInfo> records) throws Exception {
+      journal.stop();
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      List<PreparedTransactionInfo> prepared = new ArrayList<>();
+      journal.load(records, prepared, null);
+      return prepared;
+   }
+
+   private static Set<Long> ids(List<RecordInfo> records) {
+      Set<Long> ids = new TreeSet<>();
+      for (RecordInfo record : records) {
+         assertEquals(RECORD_TYPE, record.getUserRecordType());
+         ids.add(record.id);
+      }
+      return ids;
+   }
+
+   private static ByteArrayEncoding data(long id) {
+      return new ByteArrayEncoding(new byte[]{(byte) id});
+   }
+
+   @Test
+   public void testRecordsArePartitionedById() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 10; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, data(id), true);
+      }
+      journal.appendDeleteRecord(3, true);
+
+      int[] expected = new int[]{2, 3, 3, 1};
+      for (int i = 0; i < PARTITIONS; i++) {
+         assertEquals(expected[i], journal.getPartition(i).getNumberOfRecords(), "partition " + i);
+      }
+
+      List<RecordInfo> records = new ArrayList<>();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(records));
+   }
+
+   @Test
+   public void testCrossPartitionCommit() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      journal.appendAddRecord(100, RECORD_TYPE, data(100), true);
+      for (long id = 1; id <= 8; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      journal.appendDeleteRecordTransactional(1000, 100);
+      journal.appendCommitRecord(1000, true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), ids(records));
+   }
+
+   @Test
+   public void testCrossPartitionRollback() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 8; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      journal.appendRollbackRecord(1000, true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      assertTrue(restart(records).isEmpty());
+      assertTrue(records.isEmpty());
+   }
+
+   @Test
+   public void testCrossPartitionPreparedTransaction() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 6; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      byte[] xid = new byte[]{1, 2, 3};
+      journal.appendPrepareRecord(1000, new ByteArrayEncoding(xid), true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      List<PreparedTransactionInfo> prepared = restart(records);
+      assertTrue(records.isEmpty());
+      assertEquals(1, prepared.size());
+      assertEquals(1000, prepared.get(0).getId());
+      assertArrayEquals(xid, prepared.get(0).getExtraData());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), ids(prepared.get(0).getRecords()));
+
+      journal.appendCommitRecord(1000, true);
+
+      records.clear();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), ids(records));
+   }
+
+   @Test
+   public void testCommitCompletedOnLoad() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 6; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      journal.appendPrepareRecord(1000, data(0), true);
+      // the broker crashes after a participant has committed
+      journal.getPartition(2).appendCommitRecord(1000, true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), ids(records));
+
+      records.clear();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), ids(records));
+      // no commit marker left behind
+      int[] expected = new int[]{1, 2, 2, 1};
+      for (int i = 0; i < PARTITIONS; i++) {
+         assertEquals(expected[i], journal.getPartition(i).getNumberOfRecords(), "partition " + i);
+      }
+   }
+
+   @Test
+   public void testNonSyncCrossPartitionCommit() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 8; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      SimpleWaitIOCallback committed = new SimpleWaitIOCallback();
+      journal.appendCommitRecord(1000, false, committed);
+      committed.waitCompletion();
+
+      // the markers are deleted once every participant has synced its commit
+      Wait.assertEquals(8, journal::getNumberOfRecords);
+
+      List<RecordInfo> records = new ArrayList<>();
+      assertTrue(restart(records).isEmpty());
+      assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), ids(records));
+   }
+
+   @Test
+   public void testSinglePartitionPreparedTransaction() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      journal.appendAddRecordTransactional(1000, 1, RECORD_TYPE, data(1));
+      journal.appendAddRecordTransactional(1000, 5, RECORD_TYPE, data(5));
+      byte[] xid = new byte[]{1, 2, 3};
+      journal.appendPrepareRecord(1000, new ByteArrayEncoding(xid), true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      List<PreparedTransactionInfo> prepared = restart(records);
+      assertTrue(records.isEmpty());
+      assertEquals(1, prepared.size());
+      assertArrayEquals(xid, prepared.get(0).getExtraData());
+      assertEquals(Set.of(1L, 5L), ids(prepared.get(0).getRecords()));
+   }
+
+   @Test
+   public void testPartialRollbackCompletedOnLoad() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+
+      for (long id = 1; id <= 6; id++) {
+         journal.appendAddRecordTransactional(1000, id, RECORD_TYPE, data(id));
+      }
+      journal.appendPrepareRecord(1000, data(0), true);
+      // the broker crashes after a participant has rolled back
+      journal.getPartition(1).appendRollbackRecord(1000, true);
+
+      List<RecordInfo> records = new ArrayList<>();
+      List<PreparedTransactionInfo> prepared = new ArrayList<>();
+      List<Long> failed = new ArrayList<>();
+      journal.stop();
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(records, prepared, (transactionID, txRecords, recordsToDelete) -> failed.add(transactionID));
+
+      assertTrue(records.isEmpty());
+      assertTrue(prepared.isEmpty());
+      assertEquals(List.of(1000L), failed);
+
+      assertTrue(restart(records).isEmpty());
+      assertTrue(records.isEmpty());
+   }
+
+   @Test
+   public void testPartitionCountCantChange() throws Exception {
+      journal = createJournal(PARTITIONS);
+      journal.start();
+      journal.load(new ArrayList<>(), new ArrayList<>(), null);
+      for (long id = 1; id <= 10; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, data(id), true);
+      }
+      journal.stop();
+
+      journal = createJournal(PARTITIONS - 1);
+      journal.start();
+      Exception e = assertThrows(Exception.class, () -> journal.load(new ArrayList<>(), new ArrayList<>(), null));
+      assertTrue(e.getMessage().contains("journal partitions"), e.getMessage());
+   }
+
+   @Test
+   public void testServerWithPartitionsRejectsReplication() throws Exception {
+      // rejected on creation
+      Exception e = assertThrows(IllegalArgumentException.class, () -> createServer(true, createDefaultInVMConfig().setJournalPartitions(PARTITIONS).setHAPolicyConfiguration(new ReplicatedPolicyConfiguration())));
+      assertTrue(e.getMessage().startsWith("AMQ229258"), e.getMessage());
+
+      // and on start, once the configuration has been changed
+      Configuration configuration = createDefaultInVMConfig().setJournalPartitions(PARTITIONS);
+      ActiveMQServer server = createServer(true, configuration);
+      configuration.setHAPolicyConfiguration(new ReplicatedPolicyConfiguration());
+      e = assertThrows(IllegalArgumentException.class, server::start);
+      assertTrue(e.getMessage().startsWith("AMQ229258"), e.getMessage());
+      assertFalse(server.isStarted());
+   }
+
+   @Test
+   public void testServerWithPartitionedJournal() throws Exception {
+      ActiveMQServer server = createServer(true, createDefaultInVMConfig().setJournalPartitions(PARTITIONS));
+      server.start();
+      assertInstanceOf(PartitionedJournal.class, server.getStorageManager().getMessageJournal());
+
+      final String queue = getName();
+      final int messages = 100;
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         session.createQueue(QueueConfiguration.of(queue).setRoutingType(RoutingType.ANYCAST));
+         ClientProducer producer = session.createProducer(queue);
+         for (int i = 0; i < messages; i++) {
+            ClientMessage message = session.createMessage(true);
+            message.putIntProperty("i", i);
+            producer.send(message);
+         }
+         session.commit();
+      }
+
+      server.stop();
+      server.start();
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         session.start();
+         ClientConsumer consumer = session.createConsumer(queue);
+         for (int i = 0; i < messages; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+            message.acknowledge();
+         }
+         assertNull(consumer.receiveImmediate());
+         session.commit();
+      }
+
+      server.stop();
+      server.start();
+      assertEquals(0, getMessageCount(server.locateQueue(queue)));
+   }
+}
@@ -245,6 +245,10 @@ public class ActiveMQServerControlTest extends ManagementTestBase {
       assertEquals(conf.getMessageExpiryScanPeriod(), serverControl.getMessageExpiryScanPeriod());
       assertEquals(conf.getJournalCompactMinFiles(), serverControl.getJournalCompactMinFiles());
       assertEquals(conf.getJournalCompactPercentage(), serverControl.getJournalCompactPercentage());
+      JsonObject loadTimes = JsonUtil.readJsonObject(serverControl.getJournalLoadTimesAsJSON());
+      assertTrue(loadTimes.containsKey("bindingsJournal"));
+      assertTrue(loadTimes.containsKey("messageJournal"));
+      assertTrue(loadTimes.containsKey("queueMessages"));
       assertEquals(conf.isPersistenceEnabled(), serverControl.isPersistenceEnabled());
       assertEquals(conf.getJournalPoolFiles(), serverControl.getJournalPoolFiles());
       assertNull(conf.getHAPolicyConfiguration());
@@ -446,6 +450,7 @@ public class ActiveMQServerControlTest extends ManagementTestBase {
    @TestTemplate
    public void testIsReplicaSync() throws Exception {
       assertFalse(createManagementControl().isReplicaSync());
+      assertTrue(JsonUtil.readJsonObject(createManagementControl().getReplicaSyncProgressAsJSON()).isEmpty());
    }
 
    @TestTemplate
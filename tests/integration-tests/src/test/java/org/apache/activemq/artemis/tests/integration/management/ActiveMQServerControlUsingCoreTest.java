@@ -547,6 +547,11 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             return false;
          }
 
+         @Override
+         public String getReplicaSyncProgressAsJSON() {
+            return (String) proxy.retrieveAttributeValue("replicaSyncProgressAsJSON");
+         }
+
          @Override
          public int getIDCacheSize() {
             return (Integer) proxy.retrieveAttributeValue("IDCacheSize", Integer.class);
@@ -863,6 +868,11 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             return (Integer) proxy.retrieveAttributeValue("JournalCompactPercentage", Integer.class);
          }
 
+         @Override
+         public String getJournalLoadTimesAsJSON() {
+            return (String) proxy.retrieveAttributeValue("journalLoadTimesAsJSON");
+         }
+
          @Override
          public boolean isPersistenceEnabled() {
             return (Boolean) proxy.retrieveAttributeValue("PersistenceEnabled");
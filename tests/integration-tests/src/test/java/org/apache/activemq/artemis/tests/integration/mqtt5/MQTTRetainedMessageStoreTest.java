@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.mqtt5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTRetainedMessageStore;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTStateManager;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil;
+import org.apache.activemq.artemis.utils.Wait;
+import org.eclipse.paho.mqttv5.client.MqttClient;
+import org.eclipse.paho.mqttv5.common.MqttMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class MQTTRetainedMessageStoreTest extends MQTT5TestSupport {
+
+   @Override
+   public void configureBroker() throws Exception {
+      super.configureBroker();
+      server.getConfiguration().setMqttRetainedMessageStoreEnabled(true);
+   }
+
+   @Test
+   @Timeout(DEFAULT_TIMEOUT_SEC)
+   public void testReplaceAndClear() throws Exception {
+      final String topic = "device/1/state";
+
+      MqttClient publisher = createPahoClient("publisher");
+      publisher.connect();
+      publisher.publish(topic, "first".getBytes(), 1, true);
+      publisher.publish(topic, "second".getBytes(), 1, true);
+
+      Wait.assertEquals(1L, () -> server.locateQueue(MQTTUtil.MQTT_RETAINED_MESSAGE_STORE).getMessageCount(), 2000, 100);
+      assertEquals(1, getStore().getRetainedMessageCount());
+      assertTrue(getStore().getMemoryEstimate() > 0);
+      assertNull(getRetainedMessageQueue(topic));
+
+      Map<String, String> received = subscribe("consumer1", topic, 1);
+      assertEquals("second", received.get(topic));
+
+      publisher.publish(topic, new byte[0], 1, true);
+      Wait.assertEquals(0L, () -> server.locateQueue(MQTTUtil.MQTT_RETAINED_MESSAGE_STORE).getMessageCount(), 2000, 100);
+      assertEquals(0, getStore().getRetainedMessageCount());
+      assertEquals(0, getStore().getMemoryEstimate());
+      assertTrue(subscribe("consumer2", topic, 0).isEmpty());
+
+      publisher.disconnect();
+      publisher.close();
+   }
+
+   @Test
+   @Timeout(DEFAULT_TIMEOUT_SEC)
+   public void testWildcardSubscription() throws Exception {
+      // more than a single delivery batch
+      final int devices = 2500;
+
+      MqttClient publisher = createPahoClient("publisher");
+      publisher.connect();
+      for (int i = 0; i < devices; i++) {
+         publisher.publish("devices/" + i + "/state", ("state" + i).getBytes(), 1, true);
+      }
+      publisher.publish("devices/0/config", "config".getBytes(), 1, true);
+      publisher.publish("$SYS/devices", "sys".getBytes(), 1, true);
+      publisher.disconnect();
+      publisher.close();
+
+      Wait.assertEquals(devices + 2, () -> getStore().getRetainedMessageCount(), 2000, 100);
+
+      Map<String, String> received = subscribe("consumer1", "devices/+/state", devices);
+      assertEquals(devices, received.size());
+      assertEquals("state42", received.get("devices/42/state"));
+      assertFalse(received.containsKey("devices/0/config"));
+
+      received = subscribe("consumer2", "#", devices + 1);
+      assertFalse(received.containsKey("$SYS/devices"));
+      assertEquals("config", received.get("devices/0/config"));
+
+      assertEquals("sys", subscribe("consumer3", "$SYS/#", 1).get("$SYS/devices"));
+
+      assertEquals(devices * 2 + 2, getStore().getDeliveredMessageCount());
+      assertTrue(getStore().getDeliveryRate() > 0);
+   }
+
+   @Test
+   @Timeout(DEFAULT_TIMEOUT_SEC)
+   public void testRetainedMessagesSurviveRestart() throws Exception {
+      MqttClient publisher = createPahoClient("publisher");
+      publisher.connect();
+      publisher.publish("a/1", "old".getBytes(), 1, true);
+      publisher.publish("a/2", "two".getBytes(), 1, true);
+      publisher.publish("a/3", "three".getBytes(), 1, true);
+      publisher.publish("a/1", "one".getBytes(), 1, true);
+      publisher.publish("a/3", new byte[0], 1, true);
+      publisher.disconnect();
+      publisher.close();
+
+      Wait.assertEquals(2L, () -> server.locateQueue(MQTTUtil.MQTT_RETAINED_MESSAGE_STORE).getMessageCount(), 2000, 100);
+
+      server.stop();
+      server.start();
+      assertTrue(server.waitForActivation(3, TimeUnit.SECONDS));
+
+      assertEquals(2, getStore().getRetainedMessageCount());
+      Map<String, String> received = subscribe("consumer", "a/#", 2);
+      assertEquals(2, received.size());
+      assertEquals("one", received.get("a/1"));
+      assertEquals("two", received.get("a/2"));
+      Wait.assertEquals(2L, () -> server.locateQueue(MQTTUtil.MQTT_RETAINED_MESSAGE_STORE).getMessageCount(), 2000, 100);
+   }
+
+   private MQTTRetainedMessageStore getStore() throws Exception {
+      return MQTTStateManager.getInstance(server).getRetainedMessageStore();
+   }
+
+   /**
+    * Subscribes a new client to {@code topicFilter} and waits for {@code expected} retained messages.
+    */
+   private Map<String, String> subscribe(String clientId, String topicFilter, int expected) throws Exception {
+      Map<String, String> received = new ConcurrentHashMap<>();
+      CountDownLatch latch = new CountDownLatch(expected);
+      MqttClient consumer = createPahoClient(clientId);
+      consumer.setCallback(new DefaultMqttCallback() {
+         @Override
+         public void messageArrived(String topic, MqttMessage message) {
+            assertTrue(message.isRetained());
+            received.put(topic, new String(message.getPayload()));
+            latch.countDown();
+         }
+      });
+      consumer.connect();
+      consumer.subscribe(topicFilter, 1);
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      if (expected == 0) {
+         // give a retained message the chance to show up
+         Thread.sleep(200);
+      }
+      consumer.disconnect();
+      consumer.close();
+      return received;
+   }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.tests.integration.mqtt5;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,10 +33,14 @@ import org.apache.activemq.artemis.api.core.client.ClientProducer;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
 import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTSessionState;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTStateManager;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil;
 import org.apache.activemq.artemis.tests.util.CFUtil;
 import org.apache.activemq.artemis.utils.RandomUtil;
+import org.apache.activemq.artemis.utils.Wait;
+import org.eclipse.paho.mqttv5.client.MqttClient;
+import org.eclipse.paho.mqttv5.client.MqttConnectionOptionsBuilder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
@@ -76,6 +81,33 @@ public class MQTTStateManagerTest extends MQTT5TestSupport {
       assertNotNull(MQTTStateManager.getInstance(server));
    }
 
+   @Test
+   @Timeout(DEFAULT_TIMEOUT_SEC)
+   public void testSubscriptionChangesPersisted() throws Exception {
+      final String clientId = RandomUtil.randomUUIDString();
+      MqttClient client = createPahoClient(clientId);
+      client.connect(new MqttConnectionOptionsBuilder().cleanStart(false).sessionExpiryInterval(999L).build());
+      for (int i = 0; i < 50; i++) {
+         client.subscribe("topic/" + i, 1);
+      }
+      for (int i = 0; i < 10; i++) {
+         client.unsubscribe("topic/" + i);
+      }
+      client.disconnect();
+      client.close();
+
+      // the changes of a state are coalesced but only the last one is kept either way
+      Wait.assertEquals(1L, () -> server.locateQueue(MQTTUtil.MQTT_SESSION_STORE).getMessageCount(), 2000, 100);
+
+      server.stop();
+      server.start();
+      assertTrue(server.waitForActivation(3, TimeUnit.SECONDS));
+
+      MQTTSessionState state = MQTTStateManager.getInstance(server).getSessionStates().get(clientId);
+      assertNotNull(state);
+      assertEquals(40, state.getSubscriptions().size());
+   }
+
    @Test
    public void testWrongStateMessageType() throws Exception {
       ConnectionFactory factory = CFUtil.createConnectionFactory("AMQP", "tcp://localhost:61616");
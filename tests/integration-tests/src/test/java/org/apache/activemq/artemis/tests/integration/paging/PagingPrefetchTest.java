@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.paging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.Test;
+
+public class PagingPrefetchTest extends ActiveMQTestBase {
+
+   private static final int PAGE_SIZE = 10 * 1024;
+
+   private static final int PAGE_MAX = 20 * 1024;
+
+   private static final int MESSAGES = 500;
+
+   @Test
+   public void testConsumeWithPrefetch() throws Exception {
+      testConsume(10 * 1024 * 1024);
+   }
+
+   @Test
+   public void testConsumeWithPrefetchBudgetExhausted() throws Exception {
+      // not even a page fits in the budget
+      testConsume(PAGE_SIZE - 1);
+   }
+
+   private void testConsume(long prefetchMaxSize) throws Exception {
+      final SimpleString address = SimpleString.of(getName());
+      Configuration config = createDefaultInVMConfig().setPagePrefetchMaxSize(prefetchMaxSize);
+      ActiveMQServer server = createServer(true, config, PAGE_SIZE, PAGE_MAX);
+      server.start();
+
+      server.addAddressInfo(new AddressInfo(address).addRoutingType(RoutingType.ANYCAST));
+      server.createQueue(QueueConfiguration.of(getName()).setAddress(address).setRoutingType(RoutingType.ANYCAST));
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         ClientProducer producer = session.createProducer(address);
+         for (int i = 0; i < MESSAGES; i++) {
+            ClientMessage message = session.createMessage(true);
+            message.putIntProperty("i", i);
+            message.getBodyBuffer().writeBytes(new byte[256]);
+            producer.send(message);
+         }
+         session.commit();
+      }
+
+      assertTrue(server.getPagingManager().getPageStore(address).getNumberOfPages() > 2, "the test needs several pages");
+
+      // the pages aren't in memory anymore after a restart
+      server.stop();
+      server.start();
+
+      final PagingManager pagingManager = server.getPagingManager();
+      assertEquals(prefetchMaxSize, pagingManager.getPrefetchMaxSize());
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(true, true, 0)) {
+         session.start();
+         ClientConsumer consumer = session.createConsumer(getName());
+         for (int i = 0; i < MESSAGES; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message, "message " + i);
+            assertEquals(i, message.getIntProperty("i"));
+            message.acknowledge();
+            assertTrue(pagingManager.getPrefetchSize() <= prefetchMaxSize, "prefetch size = " + pagingManager.getPrefetchSize());
+         }
+         assertNull(consumer.receiveImmediate());
+      }
+
+      // the pages read ahead are released once consumed
+      Wait.assertEquals(0L, pagingManager::getPrefetchSize);
+      server.stop();
+      assertEquals(0L, pagingManager.getPrefetchSize());
+   }
+
+   @Test
+   public void testDisabledByDefault() throws Exception {
+      ActiveMQServer server = createServer(true, createDefaultInVMConfig(), PAGE_SIZE, PAGE_MAX);
+      server.start();
+      assertEquals(-1L, server.getPagingManager().getPrefetchMaxSize());
+      assertEquals(0L, server.getPagingManager().getPrefetchSize());
+   }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.paging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.paging.impl.PageReadCache;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+public class PagingReadCacheTest extends ActiveMQTestBase {
+
+   private static final int PAGE_SIZE = 10 * 1024;
+
+   private static final int PAGE_MAX = 20 * 1024;
+
+   private static final int MESSAGES = 500;
+
+   @Test
+   public void testSubscriptionsReadThroughCache() throws Exception {
+      final SimpleString address = SimpleString.of(getName());
+      Configuration config = createDefaultInVMConfig().setPageReadCacheMaxSize(10 * 1024 * 1024);
+      ActiveMQServer server = createServer(true, config, PAGE_SIZE, PAGE_MAX);
+      server.start();
+
+      server.addAddressInfo(new AddressInfo(address).addRoutingType(RoutingType.MULTICAST));
+      server.createQueue(QueueConfiguration.of(getName() + "1").setAddress(address));
+      server.createQueue(QueueConfiguration.of(getName() + "2").setAddress(address));
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(false, false)) {
+         ClientProducer producer = session.createProducer(address);
+         for (int i = 0; i < MESSAGES; i++) {
+            ClientMessage message = session.createMessage(true);
+            message.putIntProperty("i", i);
+            message.getBodyBuffer().writeBytes(new byte[256]);
+            producer.send(message);
+         }
+         session.commit();
+      }
+
+      assertTrue(server.getPagingManager().getPageStore(address).isPaging());
+      assertTrue(server.getPagingManager().getPageStore(address).getNumberOfPages() > 2, "the test needs several pages");
+
+      // the pages aren't in memory anymore after a restart, so they are read through the cache
+      server.stop();
+      server.start();
+
+      try (ServerLocator locator = createInVMNonHALocator();
+           ClientSessionFactory factory = createSessionFactory(locator);
+           ClientSession session = factory.createSession(true, true, 0)) {
+         session.start();
+         for (int q = 1; q <= 2; q++) {
+            ClientConsumer consumer = session.createConsumer(getName() + q);
+            for (int i = 0; i < MESSAGES; i++) {
+               ClientMessage message = consumer.receive(5000);
+               assertNotNull(message, "queue " + q + " message " + i);
+               assertEquals(i, message.getIntProperty("i"));
+               message.acknowledge();
+            }
+            assertNull(consumer.receiveImmediate());
+            consumer.close();
+         }
+      }
+
+      PageReadCache pageReadCache = server.getPagingManager().getPageReadCache();
+      assertNotNull(pageReadCache);
+      assertTrue(pageReadCache.getMisses() > 0, "misses = " + pageReadCache.getMisses());
+      assertTrue(pageReadCache.getHits() > 0, "hits = " + pageReadCache.getHits());
+   }
+
+   @Test
+   public void testDisabledByDefault() throws Exception {
+      ActiveMQServer server = createServer(true, createDefaultInVMConfig(), PAGE_SIZE, PAGE_MAX);
+      server.start();
+      assertNull(server.getPagingManager().getPageReadCache());
+   }
+}
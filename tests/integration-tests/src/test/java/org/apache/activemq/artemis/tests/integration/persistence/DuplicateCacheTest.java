@@ -41,19 +41,23 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @ExtendWith(ParameterizedTestExtension.class)
 public class DuplicateCacheTest extends StorageManagerTestBase {
 
-   @Parameters(name = "storeType={0}")
+   private final boolean compact;
+
+   @Parameters(name = "storeType={0}, compact={1}")
    public static Collection<Object[]> data() {
-      Object[][] params = new Object[][]{{StoreConfiguration.StoreType.FILE}, {StoreConfiguration.StoreType.DATABASE}};
+      Object[][] params = new Object[][]{{StoreConfiguration.StoreType.FILE, false}, {StoreConfiguration.StoreType.DATABASE, false},
+                                         {StoreConfiguration.StoreType.FILE, true}, {StoreConfiguration.StoreType.DATABASE, true}};
       return Arrays.asList(params);
    }
 
-   public DuplicateCacheTest(StoreConfiguration.StoreType storeType) {
+   public DuplicateCacheTest(StoreConfiguration.StoreType storeType, boolean compact) {
       super(storeType);
+      this.compact = compact;
    }
 
    @TestTemplate
    public void testDuplicate() throws Exception {
-      DuplicateIDCache cache = DuplicateIDCaches.persistent(SimpleString.of("test"), 2000, journal);
+      DuplicateIDCache cache = DuplicateIDCaches.persistent(SimpleString.of("test"), 2000, journal, compact);
 
       TransactionImpl tx = new TransactionImpl(journal);
 
@@ -107,7 +111,7 @@ public class DuplicateCacheTest extends StorageManagerTestBase {
 
    @TestTemplate
    public void testDuplicateNonPersistent() throws Exception {
-      DuplicateIDCache cache = DuplicateIDCaches.inMemory(SimpleString.of("test"), 2000);
+      DuplicateIDCache cache = DuplicateIDCaches.inMemory(SimpleString.of("test"), 2000, compact);
 
       TransactionImpl tx = new TransactionImpl(journal);
 
@@ -131,7 +135,7 @@ public class DuplicateCacheTest extends StorageManagerTestBase {
    @TestTemplate
    public void testDisabledPersistentCache() throws Exception {
       createStorage();
-      DuplicateIDCache cache = DuplicateIDCaches.persistent(SimpleString.of("test"), 0, journal);
+      DuplicateIDCache cache = DuplicateIDCaches.persistent(SimpleString.of("test"), 0, journal, compact);
       byte[] bytes = RandomUtil.randomBytes();
       // Previously this would throw an ArrayIndexOutOfBoundsException
       cache.addToCache(bytes);
@@ -140,7 +144,7 @@ public class DuplicateCacheTest extends StorageManagerTestBase {
    @TestTemplate
    public void testDisabledInMemoryCache() throws Exception {
       createStorage();
-      DuplicateIDCache cache = DuplicateIDCaches.inMemory(SimpleString.of("test"), 0);
+      DuplicateIDCache cache = DuplicateIDCaches.inMemory(SimpleString.of("test"), 0, compact);
       byte[] bytes = RandomUtil.randomBytes();
       // Previously this would throw an ArrayIndexOutOfBoundsException
       cache.addToCache(bytes);
@@ -154,6 +154,16 @@ public class MetricsPluginTest extends ActiveMQTestBase {
               new Metric("artemis.authentication.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "failure"))),
               new Metric("artemis.authorization.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "success"))),
               new Metric("artemis.authorization.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"), Tag.of("result", "failure"))),
+              new Metric("artemis.journal.compact.count", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.files", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.reclaimed.bytes", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.journal.compact.pause.time", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.page.read.cache.hits", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.page.read.cache.misses", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.page.read.cache.evictions", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.page.read.cache.size", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.replication.batch.size", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
+              new Metric("artemis.replication.lag", 0.0, Arrays.asList(Tag.of("broker", "localhost"))),
               // simpleQueue metrics
               new Metric("artemis.message.count", 0.0, Arrays.asList(Tag.of("address", "simpleAddress"), Tag.of("broker", "localhost"), Tag.of("queue", "simpleQueue"))),
               new Metric("artemis.durable.message.count", 0.0, Arrays.asList(Tag.of("address", "simpleAddress"), Tag.of("broker", "localhost"), Tag.of("queue", "simpleQueue"))),
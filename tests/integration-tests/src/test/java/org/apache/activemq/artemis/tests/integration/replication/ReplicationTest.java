@@ -320,6 +320,63 @@ public final class ReplicationTest extends ActiveMQTestBase {
       assertEquals(0, store.getNumberOfPages());
    }
 
+   @TestTemplate
+   public void testSendPacketsInBatches() throws Exception {
+      testSendPacketsInBatches(0);
+   }
+
+   @TestTemplate
+   public void testSendPacketsInBatchesWithTimeout() throws Exception {
+      testSendPacketsInBatches(TimeUnit.MILLISECONDS.toNanos(10));
+   }
+
+   private void testSendPacketsInBatches(long batchTimeoutNanos) throws Exception {
+      setupServer(true, true, (primaryConfig, backupConfig) -> primaryConfig.setReplicationBatchMaxSize(16 * 1024).setReplicationBatchTimeout(batchTimeoutNanos));
+
+      JournalStorageManager storage = getStorage();
+
+      manager = liveServer.getReplicationManager();
+      waitForComponent(manager);
+
+      Journal replicatedJournal = new ReplicatedJournal((byte) 1, new FakeJournal(), manager);
+
+      for (int i = 0; i < 1000; i++) {
+         replicatedJournal.appendAddRecord(i, (byte) 1, new FakeData(), false);
+         replicatedJournal.appendUpdateRecord(i, (byte) 2, new FakeData(), false);
+      }
+      for (int i = 0; i < 1000; i++) {
+         replicatedJournal.appendDeleteRecord(i, false);
+      }
+
+      CoreMessage msg = new CoreMessage().initBuffer(1024).setMessageID(1);
+
+      SimpleString dummy = SimpleString.of("dummy");
+      msg.setAddress(dummy);
+
+      PagedMessage pgmsg = new PagedMessageImpl(msg, new long[0]);
+      manager.pageWrite(dummy, pgmsg, 1, true);
+      manager.pageWrite(dummy, pgmsg, 2, true);
+      manager.pageWrite(dummy, pgmsg, 3, true);
+      manager.pageWrite(dummy, pgmsg, 4, true);
+
+      blockOnReplication(storage, manager);
+
+      assertTrue(manager.getActiveTokens().isEmpty(), "Expecting no active tokens:" + manager.getActiveTokens());
+      assertEquals(0, manager.getPendingRecords());
+      assertTrue(manager.getSentBatches() > 0);
+      if (batchTimeoutNanos > 0) {
+         // the records wait for each other
+         assertTrue(manager.getAverageBatchSize() > 1, "Average batch size: " + manager.getAverageBatchSize());
+      }
+
+      PagingManager pagingManager = createPageManager(backupServer.getStorageManager(), backupServer.getConfiguration(), backupServer.getExecutorFactory(), backupServer.getScheduledPool(), backupServer.getAddressSettingsRepository());
+
+      PagingStore store = pagingManager.getPageStore(dummy);
+      store.start();
+      assertEquals(4, store.getNumberOfPages());
+      store.stop();
+   }
+
    @TestTemplate
    public void testSendPacketsWithFailure() throws Exception {
       final int nMsg = 100;
@@ -43,6 +43,8 @@ public class DuplicateIDCacheBenchmark {
    private int size;
    @Param({"false", "true"})
    private boolean persist;
+   @Param({"false", "true"})
+   private boolean compact;
 
    private DuplicateIDCache cache;
 
@@ -52,11 +54,15 @@ public class DuplicateIDCacheBenchmark {
    private long nextId;
    private byte[][] randomEvictedIds;
 
+   private DuplicateIDCache newCache() {
+      return persist ?
+         DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager(), compact) :
+         DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size, compact);
+   }
+
    @Setup
    public void init() throws Exception {
-      cache = persist ?
-         DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager()) :
-         DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size);
+      cache = newCache();
       final int idSize = findNextHigherPowerOf2(size);
       idsMask = idSize - 1;
       nextId = 0;
@@ -132,6 +138,19 @@ public class DuplicateIDCacheBenchmark {
       return cache.contains(nextMissingId());
    }
 
+   /**
+    * Creates a cache and fills it up: with {@code -prof gc} the {@code gc.alloc.rate.norm} of this benchmark is the
+    * footprint of a full cache, beside the IDs themselves, which are allocated upfront.
+    */
+   @Benchmark
+   public DuplicateIDCache fill() throws Exception {
+      final DuplicateIDCache cache = newCache();
+      for (int i = 0; i < size; i++) {
+         cache.addToCache(ids[i], null, true);
+      }
+      return cache;
+   }
+
    @TearDown
    public void clear() throws Exception {
       cache.clear();
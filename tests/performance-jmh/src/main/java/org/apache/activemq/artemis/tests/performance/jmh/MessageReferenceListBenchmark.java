@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.apache.activemq.artemis.utils.collections.ChunkedLinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the memory the lists of the queues need for each message, beside the references themselves.
+ * <p>
+ * The references are allocated upfront, so with {@code -prof gc} the {@code gc.alloc.rate.norm} of each benchmark is
+ * the bytes the list allocates per message: 0 for {@link LinkedListImpl} with references being their own nodes, a
+ * node per message for any other element and the amortized array slot of {@link ChunkedLinkedListImpl}.
+ * {@link #addAndRemoveWithID()} adds what the lists need to remove a message by its ID, as the mirror does: for
+ * {@link ChunkedLinkedListImpl} it includes the index of the chunk of each message.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class MessageReferenceListBenchmark {
+
+   private static final int MESSAGES = 100_000;
+
+   @Param({"linked", "chunked"})
+   private String list;
+
+   // whether the elements are LinkedListImpl.Node as the message references, or any other object
+   @Param({"true", "false"})
+   private boolean intrusive;
+
+   private Object[] elements;
+
+   private IDNode[] idNodes;
+
+   @Setup
+   public void init() {
+      elements = new Object[MESSAGES];
+      idNodes = new IDNode[MESSAGES];
+      for (int i = 0; i < MESSAGES; i++) {
+         elements[i] = intrusive ? new MessageReferenceImpl() : new Object();
+         idNodes[i] = new IDNode(i);
+      }
+   }
+
+   private LinkedList<Object> newList() {
+      return switch (list) {
+         case "linked" -> new LinkedListImpl<>();
+         case "chunked" -> new ChunkedLinkedListImpl<>();
+         default -> throw new IllegalArgumentException(list);
+      };
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(MESSAGES)
+   public int addAndPoll() {
+      final LinkedList<Object> references = newList();
+      for (Object element : elements) {
+         references.addTail(element);
+      }
+      int polled = 0;
+      while (references.poll() != null) {
+         polled++;
+      }
+      return polled;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(MESSAGES)
+   public int addAndIterateRemove() {
+      final LinkedList<Object> references = newList();
+      for (Object element : elements) {
+         references.addTail(element);
+      }
+      // as a queue delivering its messages
+      int removed = 0;
+      try (LinkedListIterator<Object> iterator = references.iterator()) {
+         while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            removed++;
+         }
+      }
+      return removed;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(MESSAGES)
+   public int addAndRemoveWithID() {
+      final LinkedList<Object> references = newList();
+      references.setNodeStore(new IDNodeStore());
+      for (IDNode node : idNodes) {
+         references.addTail(node);
+      }
+      // the acknowledgements of a mirror come in the order of the messages, with some gaps
+      int removed = 0;
+      for (int i = 0; i < MESSAGES; i += 2) {
+         if (references.removeWithID(null, i) != null) {
+            removed++;
+         }
+      }
+      for (int i = 1; i < MESSAGES; i += 2) {
+         if (references.removeWithID(null, i) != null) {
+            removed++;
+         }
+      }
+      return removed;
+   }
+
+   private static final class IDNode extends LinkedListImpl.Node<Object> {
+
+      private final long id;
+
+      IDNode(long id) {
+         this.id = id;
+      }
+   }
+
+   private static final class IDNodeStore implements NodeStore<Object> {
+
+      private final LongObjectHashMap<LinkedListImpl.Node<Object>> nodes = new LongObjectHashMap<>();
+
+      @Override
+      public void storeNode(Object element, LinkedListImpl.Node<Object> node) {
+         nodes.put(((IDNode) element).id, node);
+      }
+
+      @Override
+      public LinkedListImpl.Node<Object> getNode(String listID, long id) {
+         return nodes.get(id);
+      }
+
+      @Override
+      public void removeNode(Object element, LinkedListImpl.Node<Object> node) {
+         nodes.remove(((IDNode) element).id);
+      }
+
+      @Override
+      public void clear() {
+         nodes.clear();
+      }
+
+      @Override
+      public int size() {
+         return nodes.size();
+      }
+   }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ExpressionCompiler;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the parsed selectors, as the filters evaluate them by default, with the ones compiled by
+ * {@link ExpressionCompiler}.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class SelectorBenchmark {
+
+   @Param({"false", "true"})
+   private boolean compiled;
+
+   @Param({"price > 100 AND quantity <= 10", "region = 'EU' OR region = 'US' OR priority >= 7",
+      "NOT (discount IS NULL) AND ratio < 0.5"})
+   private String selector;
+
+   private BooleanExpression expression;
+
+   private Filterable message;
+
+   @Setup
+   public void init() throws FilterException {
+      final BooleanExpression parsed = SelectorParser.parse(selector);
+      expression = compiled ? ExpressionCompiler.compile(parsed) : parsed;
+
+      final Map<SimpleString, Object> properties = new HashMap<>();
+      properties.put(SimpleString.of("price"), 250L);
+      properties.put(SimpleString.of("quantity"), 4);
+      properties.put(SimpleString.of("region"), "US");
+      properties.put(SimpleString.of("priority"), (byte) 4);
+      properties.put(SimpleString.of("discount"), 0.1f);
+      properties.put(SimpleString.of("ratio"), 0.25d);
+      message = new Filterable() {
+         @Override
+         public <T> T getBodyAs(Class<T> type) {
+            return null;
+         }
+
+         @Override
+         public Object getProperty(SimpleString name) {
+            return properties.get(name);
+         }
+
+         @Override
+         public Object getLocalConnectionId() {
+            return null;
+         }
+      };
+   }
+
+   @Benchmark
+   public boolean matches() throws FilterException {
+      return expression.matches(message);
+   }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.protocol.stomp.ActiveMQStompException;
+import org.apache.activemq.artemis.core.protocol.stomp.StompDecoder;
+import org.apache.activemq.artemis.core.protocol.stomp.StompFrame;
+import org.apache.activemq.artemis.core.protocol.stomp.VersionedStompFrameHandler;
+import org.apache.activemq.artemis.core.protocol.stomp.v10.StompFrameV10;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes a STOMP SEND frame delivered in chunks of {@code chunkSize} bytes, as a producer would send it. Run it with
+ * {@code -prof gc} to see the allocations per frame.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class StompDecoderBenchmark {
+
+   @Param({"64", "4096", "262144"})
+   private int bodySize;
+
+   @Param({"65536"})
+   private int chunkSize;
+
+   private StompDecoder decoder;
+
+   private ActiveMQBuffer[] chunks;
+
+   @Setup
+   public void init() {
+      decoder = new StompDecoder(new DecoderOnlyFrameHandler());
+      decoder.init();
+
+      final String head = "SEND\n" +
+         "destination:exampleQueue\n" +
+         "content-type:application/octet-stream\n" +
+         "content-length:" + bodySize + "\n" +
+         "persistent:true\n" +
+         "receipt:message-12345\n" +
+         "custom-header:custom-value\n" +
+         "\n";
+      final byte[] headBytes = head.getBytes(StandardCharsets.UTF_8);
+      final byte[] frame = Arrays.copyOf(headBytes, headBytes.length + bodySize + 1);
+      Arrays.fill(frame, headBytes.length, headBytes.length + bodySize, (byte) 'x');
+
+      final int count = (frame.length + chunkSize - 1) / chunkSize;
+      chunks = new ActiveMQBuffer[count];
+      for (int i = 0; i < count; i++) {
+         chunks[i] = ActiveMQBuffers.wrappedBuffer(Arrays.copyOfRange(frame, i * chunkSize, Math.min(frame.length, (i + 1) * chunkSize)));
+      }
+   }
+
+   @Benchmark
+   public StompFrame decode() throws ActiveMQStompException {
+      StompFrame frame = null;
+      for (ActiveMQBuffer chunk : chunks) {
+         chunk.readerIndex(0);
+         frame = decoder.decode(chunk);
+      }
+      return frame;
+   }
+
+   private static final class DecoderOnlyFrameHandler extends VersionedStompFrameHandler {
+
+      DecoderOnlyFrameHandler() {
+         super(null, null, null);
+      }
+
+      @Override
+      public StompFrame onConnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onDisconnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onAck(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onUnsubscribe(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onStomp(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onNack(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame createStompFrame(String command) {
+         return new StompFrameV10(command);
+      }
+   }
+}
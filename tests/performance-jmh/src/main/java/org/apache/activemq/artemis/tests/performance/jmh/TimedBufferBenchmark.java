@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.io.DummyCallback;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.io.buffer.AbstractTimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.ConcurrentTimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the monitor based {@link TimedBuffer} with {@link ConcurrentTimedBuffer} while appending records from an
+ * increasing number of producers.
+ * <p>
+ * {@link TimedBuffer} requires {@code checkSize} and {@code addBytes} to be performed atomically, hence its producers
+ * are serialized as {@link org.apache.activemq.artemis.core.journal.impl.JournalImpl} does.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class TimedBufferBenchmark {
+
+   @Param({"false", "true"})
+   private boolean concurrent;
+   @Param({"64", "1024"})
+   private int recordSize;
+   @Param({"false", "true"})
+   private boolean sync;
+   // the time taken by the observer to write a batch, to simulate a device
+   @Param({"0", "20"})
+   private int writeMicros;
+
+   private AbstractTimedBuffer timedBuffer;
+   private ActiveMQBuffer record;
+
+   @Setup
+   public void init() {
+      final int bufferSize = 490 * 1024;
+      final int timeout = (int) TimeUnit.MICROSECONDS.toNanos(100);
+      timedBuffer = concurrent ?
+         new ConcurrentTimedBuffer(null, bufferSize, timeout, false) :
+         new TimedBuffer(null, bufferSize, timeout, false);
+      timedBuffer.start();
+      final long writeNanos = TimeUnit.MICROSECONDS.toNanos(writeMicros);
+      timedBuffer.setObserver(new TimedBufferObserver() {
+         @Override
+         public void flushBuffer(ByteBuf buffer, boolean syncRequested, List<IOCallback> callbacks) {
+            if (writeNanos > 0) {
+               final long start = System.nanoTime();
+               while (System.nanoTime() - start < writeNanos) {
+                  Thread.onSpinWait();
+               }
+            }
+            IOCallback.done(callbacks);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return Integer.MAX_VALUE;
+         }
+      });
+      record = ActiveMQBuffers.wrappedBuffer(new byte[recordSize]);
+   }
+
+   private void append() {
+      if (concurrent) {
+         timedBuffer.checkSize(recordSize);
+         timedBuffer.addBytes(record, sync, DummyCallback.getInstance());
+      } else {
+         synchronized (this) {
+            timedBuffer.checkSize(recordSize);
+            timedBuffer.addBytes(record, sync, DummyCallback.getInstance());
+         }
+      }
+   }
+
+   @Benchmark
+   @Threads(1)
+   public void oneProducer() {
+      append();
+   }
+
+   @Benchmark
+   @Threads(4)
+   public void fourProducers() {
+      append();
+   }
+
+   @Benchmark
+   @Threads(8)
+   public void eightProducers() {
+      append();
+   }
+
+   @TearDown
+   public void stop() {
+      timedBuffer.stop();
+   }
+}
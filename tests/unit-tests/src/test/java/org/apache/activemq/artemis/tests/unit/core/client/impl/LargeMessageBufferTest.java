@@ -745,6 +745,11 @@ public class LargeMessageBufferTest extends ActiveMQTestBase {
          return 0;
       }
 
+      @Override
+      public int getWindowSize() {
+         return 0;
+      }
+
       @Override
       public SimpleString getFilterString() {
 
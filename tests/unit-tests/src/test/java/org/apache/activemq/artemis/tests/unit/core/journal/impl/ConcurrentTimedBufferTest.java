@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.io.buffer.ConcurrentTimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
+import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTimedBufferTest extends ActiveMQTestBase {
+
+   private static final int ONE_SECOND_IN_NANOS = 1000000000;
+
+   private static final class CollectingObserver implements TimedBufferObserver {
+
+      final List<ByteBuffer> buffers = new CopyOnWriteArrayList<>();
+      final AtomicInteger syncs = new AtomicInteger(0);
+      final int remainingBytes;
+
+      CollectingObserver(int remainingBytes) {
+         this.remainingBytes = remainingBytes;
+      }
+
+      @Override
+      public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+         final ByteBuffer buffer = ByteBuffer.allocate(byteBuf.readableBytes());
+         byteBuf.getBytes(byteBuf.readerIndex(), buffer);
+         buffer.flip();
+         buffers.add(buffer);
+         if (sync) {
+            syncs.incrementAndGet();
+         }
+         IOCallback.done(callbacks);
+      }
+
+      @Override
+      public int getRemainingBytes() {
+         return remainingBytes;
+      }
+
+      ByteBuffer flushed() {
+         final ByteBuffer all = ByteBuffer.allocate(buffers.stream().mapToInt(ByteBuffer::remaining).sum());
+         buffers.forEach(buffer -> all.put(buffer.duplicate()));
+         all.flip();
+         return all;
+      }
+   }
+
+   /**
+    * Pads each flush to {@code alignment}, like the AIO files do.
+    */
+   private static final class PaddingObserver implements TimedBufferObserver {
+
+      final int fileSize;
+      final int alignment;
+      int position;
+
+      PaddingObserver(int fileSize, int alignment) {
+         this.fileSize = fileSize;
+         this.alignment = alignment;
+      }
+
+      @Override
+      public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+         final int bytes = byteBuf.readableBytes();
+         if (bytes > 0) {
+            position += (bytes + alignment - 1) / alignment * alignment;
+         }
+         IOCallback.done(callbacks);
+      }
+
+      @Override
+      public int getRemainingBytes() {
+         return fileSize - position;
+      }
+
+      @Override
+      public int getAlignment() {
+         return alignment;
+      }
+   }
+
+   @Test
+   public void testCheckSizeReservesPadding() {
+      final PaddingObserver observer = new PaddingObserver(2048, 512);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 1024, ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         int records = 0;
+         while (timedBuffer.checkSize(100)) {
+            records++;
+         }
+         assertTrue(records > 0);
+
+         // each record is flushed on its own, paying the whole padding
+         for (int i = 0; i < records; i++) {
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[100]), false, null);
+            timedBuffer.flush();
+         }
+
+         assertTrue(observer.position <= observer.fileSize, "written " + observer.position + " bytes on a file of " + observer.fileSize);
+
+         // the padding reserved and not used is given back
+         assertTrue(timedBuffer.checkSize(observer.getRemainingBytes() - observer.alignment + 1));
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testFailedEncodingIsZeroedAndFailsItsCallback() {
+      final CollectingObserver observer = new CollectingObserver(1024 * 1024);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 100, ONE_SECOND_IN_NANOS, false);
+      final AtomicInteger errors = new AtomicInteger(0);
+      final IOCallback callback = new IOCallback() {
+         @Override
+         public void done() {
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+            errors.incrementAndGet();
+         }
+      };
+      final EncodingSupport failingEncoding = new EncodingSupport() {
+         @Override
+         public int getEncodeSize() {
+            return 10;
+         }
+
+         @Override
+         public void encode(ActiveMQBuffer buffer) {
+            buffer.writeInt(-1);
+            throw new IllegalStateException("encoding failure");
+         }
+
+         @Override
+         public void decode(ActiveMQBuffer buffer) {
+         }
+      };
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[]{1, 2}), false, null);
+         assertThrows(IllegalStateException.class, () -> timedBuffer.addBytes(failingEncoding, false, callback));
+         assertEquals(1, errors.get());
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[]{3, 4}), false, null);
+
+         timedBuffer.flush();
+
+         ByteBuffer flushed = observer.flushed();
+         assertEquals(14, flushed.remaining());
+         assertEquals(1, flushed.get());
+         assertEquals(2, flushed.get());
+         for (int i = 0; i < 10; i++) {
+            assertEquals(0, flushed.get());
+         }
+         assertEquals(3, flushed.get());
+         assertEquals(4, flushed.get());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testFillBuffer() {
+      final CollectingObserver observer = new CollectingObserver(1024 * 1024);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 100, ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         int x = 0;
+         for (int i = 0; i < 10; i++) {
+            byte[] bytes = new byte[10];
+            for (int j = 0; j < 10; j++) {
+               bytes[j] = ActiveMQTestBase.getSamplebyte(x++);
+            }
+            assertTrue(timedBuffer.checkSize(10));
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(bytes), false, null);
+         }
+
+         // the batch is full: the next record is claimed on the other batch
+         assertTrue(timedBuffer.checkSize(1));
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[]{ActiveMQTestBase.getSamplebyte(x++)}), false, null);
+
+         timedBuffer.flush();
+
+         assertEquals(2, observer.buffers.size());
+         assertEquals(100, observer.buffers.get(0).remaining());
+
+         ByteBuffer flushed = observer.flushed();
+         assertEquals(101, flushed.remaining());
+         for (int i = 0; i < 101; i++) {
+            assertEquals(ActiveMQTestBase.getSamplebyte(i), flushed.get());
+         }
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testCheckSizeReservesRemainingBytes() {
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 100, ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new CollectingObserver(30));
+
+         assertTrue(timedBuffer.checkSize(10));
+         assertTrue(timedBuffer.checkSize(10));
+         assertTrue(timedBuffer.checkSize(10));
+         assertFalse(timedBuffer.checkSize(1));
+
+         assertThrows(IllegalStateException.class, () -> timedBuffer.checkSize(101));
+
+         timedBuffer.setObserver(new CollectingObserver(30));
+
+         assertTrue(timedBuffer.checkSize(30));
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testSyncFlushedOnTimeout() throws Exception {
+      final CollectingObserver observer = new CollectingObserver(1024 * 1024);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 1024, (int) TimeUnit.MILLISECONDS.toNanos(1), false);
+      final CountDownLatch done = new CountDownLatch(2);
+      final IOCallback callback = new IOCallback() {
+         @Override
+         public void done() {
+            done.countDown();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      };
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, callback);
+         Thread.sleep(50);
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, callback);
+
+         assertTrue(done.await(5, TimeUnit.SECONDS));
+         assertTrue(observer.syncs.get() > 0);
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testSyncsBatchedWithinTimeout() throws Exception {
+      final CollectingObserver observer = new CollectingObserver(1024 * 1024);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 1024, (int) TimeUnit.MILLISECONDS.toNanos(500), false);
+      final CountDownLatch done = new CountDownLatch(2);
+      final IOCallback callback = new IOCallback() {
+         @Override
+         public void done() {
+            done.countDown();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      };
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         // a sync request must wait for the timeout, not be flushed on its own
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, callback);
+         timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, callback);
+
+         assertTrue(done.await(5, TimeUnit.SECONDS));
+         assertEquals(1, observer.buffers.size());
+         assertEquals(1, observer.syncs.get());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testConcurrentProducers() throws Exception {
+      final int producers = 8;
+      final int records = 5000;
+      final int recordSize = Integer.BYTES * 2;
+      final CollectingObserver observer = new CollectingObserver(Integer.MAX_VALUE);
+      final ConcurrentTimedBuffer timedBuffer = new ConcurrentTimedBuffer(null, 512, (int) TimeUnit.MICROSECONDS.toNanos(100), false);
+      final AtomicInteger completed = new AtomicInteger(0);
+      final IOCallback callback = new IOCallback() {
+         @Override
+         public void done() {
+            completed.incrementAndGet();
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      };
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(observer);
+
+         final CyclicBarrier barrier = new CyclicBarrier(producers);
+         final Thread[] threads = new Thread[producers];
+         for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+               try {
+                  barrier.await();
+                  for (int i = 0; i < records; i++) {
+                     ActiveMQBuffer record = ActiveMQBuffers.fixedBuffer(recordSize);
+                     record.writeInt(producer);
+                     record.writeInt(i);
+                     assertTrue(timedBuffer.checkSize(recordSize));
+                     timedBuffer.addBytes(record, i % 100 == 0, callback);
+                  }
+               } catch (Exception e) {
+                  throw new RuntimeException(e);
+               }
+            });
+            threads[p].start();
+         }
+         for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+            assertFalse(thread.isAlive());
+         }
+
+         timedBuffer.flush();
+
+         assertEquals(producers * records, completed.get());
+
+         ByteBuffer flushed = observer.flushed();
+         assertEquals(producers * records * recordSize, flushed.remaining());
+
+         // every record is written once and in the order each producer has added it
+         final int[] next = new int[producers];
+         while (flushed.hasRemaining()) {
+            final int producer = flushed.getInt();
+            assertEquals(next[producer]++, flushed.getInt());
+         }
+         for (int p = 0; p < producers; p++) {
+            assertEquals(records, next[p]);
+         }
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+}
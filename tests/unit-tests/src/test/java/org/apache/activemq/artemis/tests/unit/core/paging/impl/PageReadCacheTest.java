@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.core.paging.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.activemq.artemis.core.paging.impl.PageReadCache;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PageReadCacheTest extends ActiveMQTestBase {
+
+   private static final int FILE_SIZE = 1024;
+
+   private File[] files;
+
+   @BeforeEach
+   public void createFiles() throws Exception {
+      recreateDirectory(getTestDir());
+      files = new File[4];
+      for (int i = 0; i < files.length; i++) {
+         files[i] = new File(getTestDirfile(), i + ".page");
+         Files.write(files[i].toPath(), new byte[FILE_SIZE]);
+      }
+   }
+
+   @Test
+   public void testHitsAndMisses() throws Exception {
+      PageReadCache cache = new PageReadCache(FILE_SIZE * 2);
+
+      PageReadCache.MappedPage page = cache.acquire(files[0], FILE_SIZE);
+      cache.release(page);
+      assertSame(page, acquireAndRelease(cache, files[0]));
+
+      assertEquals(1, cache.getMisses());
+      assertEquals(1, cache.getHits());
+      assertEquals(FILE_SIZE, cache.getSize());
+      assertEquals(FILE_SIZE, page.buffer().remaining());
+   }
+
+   @Test
+   public void testEvictionSecondChance() throws Exception {
+      PageReadCache cache = new PageReadCache(FILE_SIZE * 2);
+
+      PageReadCache.MappedPage page0 = acquireAndRelease(cache, files[0]);
+      acquireAndRelease(cache, files[1]);
+      // the clock clears the referenced bits of both pages and evicts the first one
+      acquireAndRelease(cache, files[2]);
+      assertEquals(1, cache.getEvictions());
+      assertEquals(2, cache.getCachedFiles());
+      assertEquals(FILE_SIZE * 2, cache.getSize());
+
+      // page 2 is used again, so page 1 is evicted next
+      acquireAndRelease(cache, files[2]);
+      acquireAndRelease(cache, files[3]);
+      assertEquals(2, cache.getEvictions());
+      long misses = cache.getMisses();
+      acquireAndRelease(cache, files[2]);
+      assertEquals(misses, cache.getMisses());
+      assertNotSame(page0, acquireAndRelease(cache, files[0]));
+      assertEquals(misses + 1, cache.getMisses());
+   }
+
+   @Test
+   public void testPinnedPageSurvivesEviction() throws Exception {
+      PageReadCache cache = new PageReadCache(FILE_SIZE);
+
+      PageReadCache.MappedPage page = cache.acquire(files[0], FILE_SIZE);
+      acquireAndRelease(cache, files[1]);
+      assertEquals(1, cache.getCachedFiles());
+
+      // the evicted page is still readable until it is released
+      assertEquals(FILE_SIZE, page.buffer().remaining());
+      assertEquals(0, page.buffer().get(FILE_SIZE - 1));
+      cache.release(page);
+   }
+
+   @Test
+   public void testInvalidate() throws Exception {
+      PageReadCache cache = new PageReadCache(FILE_SIZE * 10);
+
+      acquireAndRelease(cache, files[0]);
+      acquireAndRelease(cache, files[1]);
+      cache.invalidate(files[0]);
+      assertEquals(1, cache.getCachedFiles());
+      assertEquals(FILE_SIZE, cache.getSize());
+
+      cache.invalidateDirectory(getTestDirfile());
+      assertEquals(0, cache.getCachedFiles());
+      assertEquals(0, cache.getSize());
+      assertEquals(0, cache.getEvictions());
+   }
+
+   @Test
+   public void testFileBiggerThanCache() throws Exception {
+      PageReadCache cache = new PageReadCache(FILE_SIZE / 2);
+
+      acquireAndRelease(cache, files[0]);
+      assertEquals(0, cache.getCachedFiles());
+      assertEquals(0, cache.getSize());
+   }
+
+   @Test
+   public void testInvalidMaxSize() {
+      assertThrows(IllegalArgumentException.class, () -> new PageReadCache(0));
+   }
+
+   private static PageReadCache.MappedPage acquireAndRelease(PageReadCache cache, File file) throws Exception {
+      PageReadCache.MappedPage page = cache.acquire(file, FILE_SIZE);
+      cache.release(page);
+      return page;
+   }
+}
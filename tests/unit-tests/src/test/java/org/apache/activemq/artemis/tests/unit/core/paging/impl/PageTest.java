@@ -17,10 +17,15 @@
 package org.apache.activemq.artemis.tests.unit.core.paging.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -33,6 +38,8 @@ import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.message.impl.CoreMessagePersister;
 import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.PageReadCache;
+import org.apache.activemq.artemis.core.paging.impl.PageSeekChannels;
 import org.apache.activemq.artemis.core.paging.impl.PagedMessageImpl;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
@@ -92,6 +99,131 @@ public class PageTest extends ActiveMQTestBase {
       testDamagedPage(new NIOSequentialFileFactory(getTestDirfile(), 1), 1000);
    }
 
+   @Test
+   public void testPageWithReadCache() throws Exception {
+      recreateDirectory(getTestDir());
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final PageReadCache readCache = new PageReadCache(10 * 1024 * 1024);
+      final int numberOfElements = 100;
+
+      SequentialFile file = factory.createSequentialFile("00010.page");
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10, readCache);
+      page.open(true);
+      SimpleString simpleDestination = SimpleString.of("Test");
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+      page.sync();
+      page.close(false, false);
+
+      for (int read = 0; read < 2; read++) {
+         page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10, readCache);
+         LinkedList<PagedMessage> msgs = page.getMessages();
+         assertEquals(numberOfElements, msgs.size());
+         assertEquals(numberOfElements, page.getNumberOfMessages());
+         for (int i = 0; i < msgs.size(); i++) {
+            final PagedMessage pagedMessage = msgs.get(i);
+            assertSame(pagedMessage, msgs.get(i));
+            assertEquals(simpleDestination, pagedMessage.getMessage().getAddressSimpleString());
+            assertEquals(1 + i, pagedMessage.getMessage().getMessageID());
+            assertEquals(10, pagedMessage.getPageNumber());
+            assertEquals(i, pagedMessage.getMessageNumber());
+         }
+      }
+
+      assertEquals(1, readCache.getMisses());
+      assertEquals(1 + 2 * numberOfElements, readCache.getHits());
+      assertEquals(1, readCache.getCachedFiles());
+
+      assertTrue(page.delete(page.getMessages()));
+      assertEquals(0, readCache.getCachedFiles());
+      assertEquals(0, readCache.getSize());
+      assertEquals(0, factory.listFiles(".page").size());
+   }
+
+   @Test
+   public void testSeekMessageThroughIndex() throws Exception {
+      recreateDirectory(getTestDir());
+      final SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      final int numberOfElements = 100;
+
+      SequentialFile file = factory.createSequentialFile("00010.page");
+      Page page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, file, 10);
+      page.open(true);
+      SimpleString simpleDestination = SimpleString.of("Test");
+      addPageElements(simpleDestination, page, numberOfElements, 1);
+      page.sync();
+      page.writeIndex();
+      page.close(false, false);
+
+      assertEquals(1, factory.listFiles("page").size());
+      assertEquals(1, factory.listFiles("index").size());
+
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      for (int i = numberOfElements - 1; i >= 0; i--) {
+         final PagedMessage pagedMessage = page.seekMessage(i);
+         assertNotNull(pagedMessage);
+         assertEquals(simpleDestination, pagedMessage.getMessage().getAddressSimpleString());
+         assertEquals(1 + i, pagedMessage.getMessage().getMessageID());
+         assertEquals(10, pagedMessage.getPageNumber());
+         assertEquals(i, pagedMessage.getMessageNumber());
+      }
+      assertNull(page.seekMessage(numberOfElements));
+
+      // the file kept open for the reads is released, and the page isn't read through its index anymore
+      page.closeSeekChannel();
+      assertNull(page.seekMessage(0));
+
+      // the index isn't used anymore once the page doesn't match it
+      file = factory.createSequentialFile("00010.page");
+      file.open();
+      file.position(file.size());
+      file.writeDirect(ByteBuffer.wrap(new byte[10]), true);
+      file.close();
+      page = new Page(SimpleString.of("something"), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      assertNull(page.seekMessage(0));
+
+      assertTrue(page.delete(null));
+      assertEquals(0, factory.listFiles("page").size());
+      assertEquals(0, factory.listFiles("index").size());
+   }
+
+   @Test
+   public void testSeekChannelsBoundAcrossStores() throws Exception {
+      recreateDirectory(getTestDir());
+      final PageSeekChannels seekChannels = new PageSeekChannels(1);
+      final Page[] pages = new Page[2];
+      for (int i = 0; i < pages.length; i++) {
+         // the pages of different stores share the same id
+         final File directory = new File(getTestDirfile(), "store" + i);
+         directory.mkdirs();
+         final SequentialFileFactory factory = new NIOSequentialFileFactory(directory, 1);
+         Page page = new Page(SimpleString.of("store" + i), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+         page.open(true);
+         addPageElements(SimpleString.of("Test"), page, 10, 1);
+         page.sync();
+         page.writeIndex();
+         page.close(false, false);
+         pages[i] = new Page(SimpleString.of("store" + i), new NullStorageManager(), factory, factory.createSequentialFile("00010.page"), 10);
+      }
+
+      assertNotNull(pages[0].seekMessage(0));
+      assertTrue(seekChannels.touch(pages[0]).isEmpty());
+      assertNotNull(pages[1].seekMessage(0));
+      final List<Page> evicted = seekChannels.touch(pages[1]);
+      assertEquals(1, evicted.size());
+      assertSame(pages[0], evicted.get(0));
+      assertEquals(1, seekChannels.getOpenPages());
+
+      // a released page opens its file again on the next read
+      pages[0].releaseSeekChannel();
+      assertNotNull(pages[0].seekMessage(1));
+
+      seekChannels.remove(pages[1]);
+      assertEquals(0, seekChannels.getOpenPages());
+      for (Page page : pages) {
+         page.closeSeekChannel();
+      }
+   }
+
    @Test
    public void testPageFakeWithoutCallbacks() throws Exception {
       testAdd(new FakeSequentialFileFactory(1, false), 10);
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.tests.unit.core.postoffice.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import javax.transaction.xa.Xid;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
@@ -86,6 +88,51 @@ public class BindingsImplTest extends ActiveMQTestBase {
       assertEquals(0, fake.routedCount.get());
    }
 
+   @Test
+   public void testRouteThroughFilterIndex() throws Exception {
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      final List<FakeBinding> bindings = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+         final FakeBinding binding = new FakeBinding(SimpleString.of("subscription" + i));
+         binding.filter = FilterImpl.createFilter(switch (i % 5) {
+            case 0 -> "region = 'R" + (i % 10) + "'";
+            case 1 -> "type IN ('a', 'b') AND region = 'R" + (i % 10) + "'";
+            case 2 -> "region = 'R" + (i % 10) + "' OR region = 'R" + (i % 7) + "'";
+            case 3 -> "price > " + i;
+            default -> null;
+         });
+         bind.addBinding(binding);
+         bindings.add(binding);
+      }
+
+      for (int i = 0; i < 50; i++) {
+         final CoreMessage message = new CoreMessage(i, 100);
+         if (i % 3 != 0) {
+            message.putStringProperty("region", "R" + (i % 12));
+         }
+         message.putStringProperty("type", i % 2 == 0 ? "a" : "c");
+         message.putIntProperty("price", i * 4);
+         assertRoutedAsFilters(bind, bindings, message);
+      }
+
+      // the index is built again once a filter changes
+      bindings.get(0).filter = FilterImpl.createFilter("region = 'changed'");
+      bind.updated(null);
+      final CoreMessage message = new CoreMessage(100, 100);
+      message.putStringProperty("region", "changed");
+      assertRoutedAsFilters(bind, bindings, message);
+      assertEquals(1, bindings.get(0).routedCount.get());
+   }
+
+   private void assertRoutedAsFilters(Bindings bind, List<FakeBinding> bindings, Message message) throws Exception {
+      bindings.forEach(binding -> binding.routedCount.set(0));
+      bind.route(message, new RoutingContextImpl(new FakeTransaction()));
+      for (FakeBinding binding : bindings) {
+         final int expected = binding.filter == null || binding.filter.match(message) ? 1 : 0;
+         assertEquals(expected, binding.routedCount.get(), binding.getRoutingName() + " with " + binding.filter);
+      }
+   }
+
    @Test
    public void testRemoveWhileRouting() throws Exception {
       // It would require many iterations before getting a failure
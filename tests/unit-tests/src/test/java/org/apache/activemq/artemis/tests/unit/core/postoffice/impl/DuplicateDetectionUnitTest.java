@@ -46,7 +46,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
@@ -73,6 +75,15 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
    @Test
    public void testReloadDuplication() throws Exception {
+      testReloadDuplication(false);
+   }
+
+   @Test
+   public void testReloadCompactDuplication() throws Exception {
+      testReloadDuplication(true);
+   }
+
+   private void testReloadDuplication(boolean compact) throws Exception {
 
       JournalStorageManager journal = null;
 
@@ -99,7 +110,7 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
          assertEquals(0, mapDups.size());
 
-         DuplicateIDCache cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal);
+         DuplicateIDCache cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal, compact);
 
          for (int i = 0; i < 100; i++) {
             cacheID.addToCache(RandomUtil.randomBytes());
@@ -119,7 +130,7 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
 
          assertEquals(10, values.size());
 
-         cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal);
+         cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal, compact);
          cacheID.load(values);
 
          for (int i = 0; i < 100; i++) {
@@ -153,4 +164,82 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
       }
 
    }
+
+   @Test
+   public void testReloadCompactDuplicationWithPendingDeletes() throws Exception {
+      JournalStorageManager journal = null;
+
+      ScheduledExecutorService scheduledThreadPool = Executors.newScheduledThreadPool(ActiveMQDefaultConfiguration.getDefaultScheduledThreadPoolMaxSize(), ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+
+      try {
+         clearDataRecreateServerDirs();
+
+         SimpleString ADDRESS = SimpleString.of("address");
+
+         Configuration configuration = createDefaultInVMConfig();
+
+         PostOffice postOffice = new FakePostOffice();
+
+         FakePagingManager pagingManager = new FakePagingManager();
+
+         Map<SimpleString, List<Pair<byte[], Long>>> mapDups = new HashMap<>();
+
+         journal = new JournalStorageManager(configuration, EmptyCriticalAnalyzer.getInstance(), factory, factory);
+         journal.start();
+         journal.loadBindingJournal(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+         journal.loadMessageJournal(postOffice, pagingManager, new ResourceManagerImpl(null, 0, 0, scheduledThreadPool), null, mapDups, null, null, new PostOfficeJournalLoader(postOffice, pagingManager, null, null, null, null, null, null));
+
+         DuplicateIDCache cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal, true);
+
+         List<byte[]> ids = new ArrayList<>();
+         for (int i = 0; i < 15; i++) {
+            byte[] id = RandomUtil.randomBytes();
+            ids.add(id);
+            cacheID.addToCache(id);
+         }
+
+         journal.stop();
+
+         journal = new JournalStorageManager(configuration, EmptyCriticalAnalyzer.getInstance(), factory, factory);
+         journal.start();
+         journal.loadBindingJournal(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+         journal.loadMessageJournal(postOffice, pagingManager, new ResourceManagerImpl(null, 0, 0, scheduledThreadPool), null, mapDups, null, null, new PostOfficeJournalLoader(postOffice, pagingManager, null, null, null, null, null, null));
+
+         // the records of the evicted ids weren't deleted yet
+         List<Pair<byte[], Long>> values = mapDups.get(ADDRESS);
+         assertEquals(15, values.size());
+
+         cacheID = DuplicateIDCaches.persistent(ADDRESS, 10, journal, true);
+         cacheID.load(values);
+
+         // only the most recent ids are loaded
+         List<Pair<byte[], Long>> loaded = cacheID.getMap();
+         assertEquals(10, loaded.size());
+         for (int i = 0; i < 10; i++) {
+            assertArrayEquals(ids.get(i + 5), loaded.get(i).getA());
+         }
+         for (int i = 0; i < 5; i++) {
+            assertFalse(cacheID.contains(ids.get(i)));
+         }
+
+         journal.stop();
+
+         mapDups.clear();
+
+         journal = new JournalStorageManager(configuration, EmptyCriticalAnalyzer.getInstance(), factory, factory);
+         journal.start();
+         journal.loadBindingJournal(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+         journal.loadMessageJournal(postOffice, pagingManager, new ResourceManagerImpl(null, 0, 0, scheduledThreadPool), null, mapDups, null, null, new PostOfficeJournalLoader(postOffice, pagingManager, null, null, null, null, null, null));
+
+         assertEquals(10, mapDups.get(ADDRESS).size());
+      } finally {
+         scheduledThreadPool.shutdown();
+         if (journal != null) {
+            try {
+               journal.stop();
+            } catch (Throwable ignored) {
+            }
+         }
+      }
+   }
 }
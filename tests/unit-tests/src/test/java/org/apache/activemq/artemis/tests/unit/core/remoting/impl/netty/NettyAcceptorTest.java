@@ -22,13 +22,21 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.remoting.BufferHandler;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
@@ -42,8 +50,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class NettyAcceptorTest extends ActiveMQTestBase {
 
@@ -124,6 +134,31 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       assertFalse(server.getRemotingService().getAcceptor("noStart").isStarted());
    }
 
+   @Test
+   public void testIoUringAcceptorAndConnector() throws Exception {
+      assumeTrue(CheckDependencies.isIoUringAvailable(), "io_uring is not available on this system");
+
+      ActiveMQServer server = createServer(false, createDefaultInVMConfig());
+      server.getConfiguration().addAcceptorConfiguration("ioUring", "tcp://127.0.0.1:61617?useIoUring=true");
+      server.start();
+      assertTrue(server.getRemotingService().getAcceptor("ioUring").isStarted());
+
+      try (ServerLocator locator = ActiveMQClient.createServerLocator("tcp://127.0.0.1:61617?useIoUring=true");
+           ClientSessionFactory factory = locator.createSessionFactory();
+           ClientSession session = factory.createSession()) {
+         session.start();
+         assertFalse(session.isClosed());
+
+         NettyConnection clientConnection = (NettyConnection) factory.getConnection().getTransportConnection();
+         assertInstanceOf(IOUringSocketChannel.class, clientConnection.getChannel());
+
+         Wait.assertEquals(1, () -> server.getRemotingService().getConnections().size());
+         for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+            assertInstanceOf(IOUringSocketChannel.class, ((NettyConnection) connection.getTransportConnection()).getChannel());
+         }
+      }
+   }
+
    @Test
    public void testActualPort() throws Exception {
       String firstPort0 = RandomUtil.randomUUIDString();
@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.nio.ByteBuffer;
 import java.util.Collections;
@@ -29,11 +30,15 @@ import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
@@ -147,6 +152,33 @@ public class NettyConnectionTest extends ActiveMQTestBase {
       assertTrue(conn.isSameTarget(tf6, tf2));
    }
 
+   @Test
+   public void testFileRegionSupportedOnNioOnly() throws Exception {
+      assertFalse(new NettyConnection(emptyMap, createChannel(), new MyListener(), false, false).isFileRegionSupported());
+
+      NioSocketChannel nioChannel = new NioSocketChannel();
+      try {
+         nioChannel.pipeline().addLast(new ChannelInboundHandlerAdapter());
+         assertTrue(new NettyConnection(emptyMap, nioChannel, new MyListener(), false, false).isFileRegionSupported());
+         // an outbound handler would expect buffers
+         nioChannel.pipeline().addLast(new ChannelOutboundHandlerAdapter());
+         assertFalse(new NettyConnection(emptyMap, nioChannel, new MyListener(), false, false).isFileRegionSupported());
+      } finally {
+         nioChannel.unsafe().closeForcibly();
+      }
+   }
+
+   @Test
+   public void testFileRegionNotSupportedOnIOUring() throws Exception {
+      assumeTrue(CheckDependencies.isIoUringAvailable(), "io_uring isn't available");
+      IOUringSocketChannel ioUringChannel = new IOUringSocketChannel();
+      try {
+         assertFalse(new NettyConnection(emptyMap, ioUringChannel, new MyListener(), false, false).isFileRegionSupported());
+      } finally {
+         ioUringChannel.unsafe().closeForcibly();
+      }
+   }
+
    private static EmbeddedChannel createChannel() {
       return new EmbeddedChannel(new ChannelInboundHandlerAdapter());
    }
@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.unit.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.utils.collections.ChunkedLinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkedLinkedListTest {
+
+   private static final int CHUNK_SIZE = 4;
+
+   private final Comparator<Integer> integerComparator = (o1, o2) -> Integer.compare(o2, o1);
+
+   private final ChunkedLinkedListImpl<Integer> list = new ChunkedLinkedListImpl<>(CHUNK_SIZE, integerComparator);
+
+   @Test
+   public void testAddHeadAndTail() {
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+      for (int i = -1; i >= -10; i--) {
+         list.addHead(i);
+      }
+
+      assertEquals(20, list.size());
+      assertEquals(-10, list.peek().intValue());
+      assertEquals(0, list.get(10).intValue());
+      assertThrows(IndexOutOfBoundsException.class, () -> list.get(20));
+
+      for (int i = -10; i < 10; i++) {
+         assertEquals(i, list.poll().intValue());
+      }
+      assertNull(list.poll());
+      assertEquals(0, list.size());
+      assertEquals(0, list.numChunks());
+   }
+
+   @Test
+   public void testIterateThenAddMoreAndIterateAgain() {
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+
+      LinkedListIterator<Integer> iter = list.iterator();
+      for (int i = 0; i < 10; i++) {
+         assertTrue(iter.hasNext());
+         assertEquals(i, iter.next().intValue());
+      }
+      assertFalse(iter.hasNext());
+      assertThrows(NoSuchElementException.class, iter::next);
+
+      for (int i = 10; i < 20; i++) {
+         list.addTail(i);
+      }
+      // elements added to the head aren't seen by an iterator already past them
+      list.addHead(-1);
+
+      for (int i = 10; i < 20; i++) {
+         assertTrue(iter.hasNext());
+         assertEquals(i, iter.next().intValue());
+      }
+      assertFalse(iter.hasNext());
+      iter.close();
+      assertEquals(0, list.numIters());
+   }
+
+   @Test
+   public void testRemoveAll() {
+      LinkedListIterator<Integer> iter = list.iterator();
+      assertThrows(NoSuchElementException.class, iter::remove);
+
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+
+      for (int i = 0; i < 10; i++) {
+         assertTrue(iter.hasNext());
+         assertEquals(i, iter.next().intValue());
+         iter.remove();
+         assertEquals(10 - i - 1, list.size());
+      }
+      assertFalse(iter.hasNext());
+
+      // the iterator restarts from the head once the list is empty
+      for (int i = 10; i < 20; i++) {
+         list.addTail(i);
+      }
+      for (int i = 10; i < 20; i++) {
+         assertTrue(iter.hasNext());
+         assertEquals(i, iter.next().intValue());
+         iter.remove();
+      }
+      assertEquals(0, list.numChunks());
+   }
+
+   @Test
+   public void testRemoveTailMovesBack() {
+      LinkedListIterator<Integer> iter = list.iterator();
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+      for (int i = 0; i < 10; i++) {
+         assertEquals(i, iter.next().intValue());
+      }
+
+      // as LinkedListImpl, this moves the iterator back to 8, which is returned again
+      iter.remove();
+      assertThrows(NoSuchElementException.class, iter::remove);
+
+      for (int i = 10; i < 20; i++) {
+         list.addTail(i);
+      }
+      assertTrue(iter.hasNext());
+      assertEquals(8, iter.next().intValue());
+      for (int i = 10; i < 20; i++) {
+         assertTrue(iter.hasNext());
+         assertEquals(i, iter.next().intValue());
+      }
+   }
+
+   @Test
+   public void testRemoveLastNudgeNoReplay() {
+      for (int i = 0; i < 2; i++) {
+         list.addTail(i);
+      }
+      LinkedListIterator<Integer> iter = list.iterator();
+      while (iter.hasNext()) {
+         iter.next();
+      }
+
+      try (LinkedListIterator<Integer> pruneIterator = list.iterator()) {
+         while (pruneIterator.hasNext()) {
+            if (pruneIterator.next() == 1) {
+               pruneIterator.remove();
+            }
+         }
+      }
+
+      assertFalse(iter.hasNext());
+      assertEquals(1, list.size());
+   }
+
+   @Test
+   public void testRepeatAndRemove() {
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+
+      LinkedListIterator<Integer> iter1 = list.iterator();
+      LinkedListIterator<Integer> iter2 = list.iterator();
+
+      assertEquals(0, iter1.next().intValue());
+      assertEquals(0, iter2.next().intValue());
+      iter2.remove();
+
+      iter1.repeat();
+      // the repeated element was removed, so it moves to the next one
+      assertEquals(1, iter1.next().intValue());
+
+      for (int i = 0; i < 8; i++) {
+         iter1.next();
+         iter2.next();
+      }
+      assertEquals(9, iter1.next().intValue());
+      assertEquals(9, iter2.next().intValue());
+
+      iter1.remove();
+      iter2.repeat();
+      // it can't move forward, so it goes back one
+      assertEquals(8, iter2.next().intValue());
+   }
+
+   @Test
+   public void testAddSorted() {
+      for (int i = 0; i < 40; i += 2) {
+         list.addSorted(i);
+      }
+      // fill the holes, splitting the full chunks
+      for (int i = 39; i > 0; i -= 2) {
+         list.addSorted(i);
+      }
+
+      assertEquals(40, list.size());
+      for (int i = 0; i < 40; i++) {
+         assertEquals(i, list.get(i).intValue());
+      }
+   }
+
+   @Test
+   public void testAddSortedKeepsIterators() {
+      for (int i = 0; i < 40; i += 2) {
+         list.addTail(i);
+      }
+
+      LinkedListIterator<Integer> iter = list.iterator();
+      for (int i = 0; i <= 20; i += 2) {
+         assertEquals(i, iter.next().intValue());
+      }
+
+      for (int i = 1; i < 40; i += 2) {
+         list.addSorted(i);
+      }
+
+      // the elements added before the position of the iterator aren't seen
+      assertTrue(iter.hasNext());
+      for (int i = 21; i < 40; i++) {
+         assertEquals(i, iter.next().intValue());
+      }
+      assertFalse(iter.hasNext());
+   }
+
+   @Test
+   public void testSparseChunksAreMerged() {
+      final int elements = CHUNK_SIZE * 100;
+      for (int i = 0; i < elements; i++) {
+         list.addTail(i);
+      }
+      assertEquals(100, list.numChunks());
+
+      // remove 3 elements out of 4
+      try (LinkedListIterator<Integer> iter = list.iterator()) {
+         while (iter.hasNext()) {
+            if (iter.next() % 4 != 0) {
+               iter.remove();
+            }
+         }
+      }
+
+      assertEquals(elements / 4, list.size());
+      assertTrue(list.numChunks() <= 100 / 2, "chunks = " + list.numChunks());
+      for (int i = 0; i < elements / 4; i++) {
+         assertEquals(i * 4, list.get(i).intValue());
+      }
+   }
+
+   @Test
+   public void testClearResetsIterators() {
+      for (int i = 0; i < 10; i++) {
+         list.addTail(i);
+      }
+      LinkedListIterator<Integer> iter = list.iterator();
+      assertEquals(0, iter.next().intValue());
+
+      list.clear();
+      assertEquals(0, list.size());
+      assertFalse(iter.hasNext());
+
+      list.addTail(10);
+      assertTrue(iter.hasNext());
+      assertEquals(10, iter.next().intValue());
+   }
+
+   @Test
+   public void testRemoveWithID() {
+      ChunkedLinkedListImpl<IDNode> nodes = new ChunkedLinkedListImpl<>(CHUNK_SIZE, null);
+      for (int i = 0; i < 100; i++) {
+         nodes.addTail(new IDNode(i));
+      }
+
+      IDNodeStore nodeStore = new IDNodeStore();
+      nodes.setNodeStore(nodeStore);
+      assertEquals(100, nodeStore.size());
+
+      for (int i = 1; i < 100; i += 2) {
+         assertEquals(i, nodes.removeWithID(null, i).id);
+      }
+      assertNull(nodes.removeWithID(null, 1));
+      assertEquals(50, nodes.size());
+      assertEquals(50, nodeStore.size());
+
+      nodes.poll();
+      assertEquals(49, nodeStore.size());
+
+      ChunkedLinkedListImpl<Integer> values = new ChunkedLinkedListImpl<>();
+      values.addTail(1);
+      assertThrows(IllegalStateException.class, () -> values.setNodeStore(new NodeStore<>() {
+         @Override
+         public void storeNode(Integer element, LinkedListImpl.Node<Integer> node) {
+         }
+
+         @Override
+         public LinkedListImpl.Node<Integer> getNode(String listID, long id) {
+            return null;
+         }
+
+         @Override
+         public void removeNode(Integer element, LinkedListImpl.Node<Integer> node) {
+         }
+
+         @Override
+         public void clear() {
+         }
+
+         @Override
+         public int size() {
+            return 0;
+         }
+      }));
+   }
+
+   @Test
+   public void testRemoveWithIDAfterElementsMoved() {
+      ChunkedLinkedListImpl<IDNode> nodes = new ChunkedLinkedListImpl<>(CHUNK_SIZE, (o1, o2) -> Integer.compare(o2.id, o1.id));
+      IDNodeStore nodeStore = new IDNodeStore();
+      nodes.setNodeStore(nodeStore);
+
+      // the even IDs fill the chunks, then the odd IDs split them
+      for (int i = 0; i < 100; i += 2) {
+         nodes.addTail(new IDNode(i));
+      }
+      for (int i = 99; i > 0; i -= 2) {
+         nodes.addSorted(new IDNode(i));
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals(i, nodes.get(i).id);
+      }
+
+      // merge the chunks left sparse
+      try (LinkedListIterator<IDNode> iter = nodes.iterator()) {
+         while (iter.hasNext()) {
+            if (iter.next().id % 4 != 0) {
+               iter.remove();
+            }
+         }
+      }
+      assertEquals(25, nodeStore.size());
+
+      for (int i = 96; i >= 0; i -= 4) {
+         assertEquals(i, nodes.removeWithID(null, i).id);
+      }
+      assertEquals(0, nodes.size());
+      assertEquals(0, nodeStore.size());
+      assertEquals(0, nodes.numChunks());
+   }
+
+   @Test
+   public void testPriorityLinkedList() {
+      PriorityLinkedListImpl<Integer> priorityList = new PriorityLinkedListImpl<>(10, () -> new ChunkedLinkedListImpl<>(CHUNK_SIZE, integerComparator));
+      for (int i = 0; i < 100; i++) {
+         priorityList.addTail(i, i % 10);
+      }
+      assertEquals(100, priorityList.size());
+
+      try (LinkedListIterator<Integer> iter = priorityList.iterator()) {
+         for (int priority = 9; priority >= 0; priority--) {
+            for (int i = priority; i < 100; i += 10) {
+               assertTrue(iter.hasNext());
+               assertEquals(i, iter.next().intValue());
+               iter.remove();
+            }
+         }
+         assertFalse(iter.hasNext());
+      }
+      assertTrue(priorityList.isEmpty());
+   }
+
+   /**
+    * Applies the same random operations to a {@link ChunkedLinkedListImpl} and to a {@link LinkedListImpl}, with
+    * several iterators, and compares all of the results.
+    */
+   @Test
+   public void testSameBehaviourAsLinkedList() {
+      for (long seed = 0; seed < 20; seed++) {
+         compareWithLinkedList(seed, false);
+         compareWithLinkedList(seed, true);
+      }
+   }
+
+   private void compareWithLinkedList(long seed, boolean sorted) {
+      final Random random = new Random(seed);
+      final LinkedListImpl<Integer> expected = new LinkedListImpl<>(integerComparator);
+      final ChunkedLinkedListImpl<Integer> actual = new ChunkedLinkedListImpl<>(CHUNK_SIZE, integerComparator);
+      final List<LinkedListIterator<Integer>> expectedIters = new ArrayList<>();
+      final List<LinkedListIterator<Integer>> actualIters = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+         expectedIters.add(expected.iterator());
+         actualIters.add(actual.iterator());
+      }
+      final Set<Integer> values = new HashSet<>();
+      int next = 0;
+
+      for (int op = 0; op < 5_000; op++) {
+         final int iter = random.nextInt(expectedIters.size());
+         final String step = "seed " + seed + ", sorted " + sorted + ", op " + op;
+         switch (random.nextInt(sorted ? 7 : 8)) {
+            case 0 -> {
+               // the values are unique, so the sorted position of a value is always the same
+               int value;
+               do {
+                  value = random.nextInt(100_000);
+               }
+               while (!values.add(value));
+               if (sorted) {
+                  expected.addSorted(value);
+                  actual.addSorted(value);
+               } else {
+                  expected.addTail(value);
+                  actual.addTail(value);
+               }
+            }
+            case 1 -> assertEquals(expected.poll(), actual.poll(), step);
+            case 2 -> assertEquals(expectedIters.get(iter).hasNext(), actualIters.get(iter).hasNext(), step);
+            case 3, 4 -> assertEquals(call(() -> expectedIters.get(iter).next()), call(() -> actualIters.get(iter).next()), step);
+            case 5 -> assertEquals(call(() -> expectedIters.get(iter).removeLastElement()), call(() -> actualIters.get(iter).removeLastElement()), step);
+            case 6 -> {
+               expectedIters.get(iter).repeat();
+               actualIters.get(iter).repeat();
+            }
+            case 7 -> {
+               final int value = --next;
+               expected.addHead(value);
+               actual.addHead(value);
+            }
+            default -> throw new IllegalStateException();
+         }
+         assertEquals(expected.size(), actual.size(), step);
+         assertEquals(expected.peek(), actual.peek(), step);
+      }
+
+      assertEquals(toList(expected), toList(actual));
+   }
+
+   private static Object call(Supplier<Integer> operation) {
+      try {
+         return operation.get();
+      } catch (NoSuchElementException e) {
+         return e.getClass();
+      }
+   }
+
+   private static List<Integer> toList(LinkedList<Integer> list) {
+      final List<Integer> values = new ArrayList<>();
+      list.forEach(values::add);
+      return values;
+   }
+
+   private static final class IDNode extends LinkedListImpl.Node<IDNode> {
+
+      private final int id;
+
+      IDNode(int id) {
+         this.id = id;
+      }
+   }
+
+   private static final class IDNodeStore implements NodeStore<IDNode> {
+
+      private final LongObjectHashMap<LinkedListImpl.Node<IDNode>> nodes = new LongObjectHashMap<>();
+
+      @Override
+      public void storeNode(IDNode element, LinkedListImpl.Node<IDNode> node) {
+         assertNotNull(node);
+         nodes.put(element.id, node);
+      }
+
+      @Override
+      public LinkedListImpl.Node<IDNode> getNode(String listID, long id) {
+         return nodes.get(id);
+      }
+
+      @Override
+      public void removeNode(IDNode element, LinkedListImpl.Node<IDNode> node) {
+         nodes.remove(element.id);
+      }
+
+      @Override
+      public void clear() {
+         nodes.clear();
+      }
+
+      @Override
+      public int size() {
+         return nodes.size();
+      }
+   }
+}